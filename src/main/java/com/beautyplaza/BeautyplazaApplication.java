@@ -1,19 +1,35 @@
 package com.beautyplaza;
 
+import com.beautyplaza.config.StartupTimingReport;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.model.Appointment;
 import org.modelmapper.ModelMapper;
 
 @SpringBootApplication
+@EnableScheduling // Enables background jobs such as the nightly revenue rollup reconciliation.
 public class BeautyplazaApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BeautyplazaApplication.class, args);
+		SpringApplication application = new SpringApplication(BeautyplazaApplication.class);
+		// Records startup steps for StartupTimingReport and /actuator/startup.
+		application.setApplicationStartup(StartupTimingReport.applicationStartup());
+		application.run(args);
 	}
 
 	@Bean
 	public ModelMapper modelMapper() {
-		return new ModelMapper();
+		ModelMapper modelMapper = new ModelMapper();
+		// Appointment.customerPhone/customerEmail are ambiguous with customer.phone/customer.email; map them explicitly.
+		modelMapper.emptyTypeMap(Appointment.class, AppointmentDto.class)
+				.addMappings(mapper -> {
+					mapper.map(Appointment::getCustomerPhone, AppointmentDto::setCustomerPhone);
+					mapper.map(Appointment::getCustomerEmail, AppointmentDto::setCustomerEmail);
+				})
+				.implicitMappings();
+		return modelMapper;
 	}
 }
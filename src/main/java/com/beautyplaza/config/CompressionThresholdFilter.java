@@ -0,0 +1,136 @@
+// config/CompressionThresholdFilter.java
+package com.beautyplaza.config;
+
+// Importing necessary Java EE (Jakarta) and Spring Framework classes.
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Makes server.compression.min-response-size apply to the API's JSON responses.
+ *
+ * Tomcat only skips compression for a response whose Content-Length is known and below the threshold, and it only
+ * knows the length of a body that completes without being flushed. Spring's message converters flush after every
+ * body they write, which commits the response with chunked encoding, so every JSON response was compressed, however
+ * small. This filter ignores flushes of compressible responses until the threshold has been written. Smaller bodies
+ * stay in Tomcat's response buffer until the request completes; larger ones are flushed as before. Responses of
+ * other types, such as Server-Sent Events, are flushed immediately.
+ */
+@Component // Marks this class as a Spring component.
+@Order(Ordered.HIGHEST_PRECEDENCE) // Wraps the response before any other filter writes to it.
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    @Value("${server.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize minResponseSize;
+
+    @Value("${server.compression.mime-types:application/json}")
+    private Set<String> mimeTypes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, new ThresholdResponse(response));
+    }
+
+    /**
+     * Passes flushes on only once the response has reached the threshold or is not of a compressible type.
+     */
+    private final class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private long written;
+
+        private ThresholdResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!holdsFlushes()) {
+                super.flushBuffer();
+            }
+        }
+
+        private boolean holdsFlushes() {
+            String contentType = getContentType();
+            if (written >= minResponseSize.toBytes() || contentType == null) {
+                return false;
+            }
+            int parameters = contentType.indexOf(';');
+            return mimeTypes.contains((parameters < 0 ? contentType : contentType.substring(0, parameters)).trim());
+        }
+
+        private final class ThresholdOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            private ThresholdOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                delegate.write(b, off, len);
+                written += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!holdsFlushes()) {
+                    delegate.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
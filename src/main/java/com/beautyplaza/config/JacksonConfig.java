@@ -0,0 +1,33 @@
+// config/JacksonConfig.java
+package com.beautyplaza.config;
+
+// Importing Jackson modules and Spring Framework classes.
+import com.beautyplaza.util.ApiJsonSerializers;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// @Configuration indicates that this class contains Spring configuration beans.
+// Spring Boot registers every Module bean with the application's single ObjectMapper, which the REST API,
+// the exports, the availability stream and the idempotency filter all share. Module beans are registered after
+// the built-in ones (JavaTimeModule among them), so the serializers below replace the defaults for their types.
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter calls with accessors generated through LambdaMetafactory.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Writes LocalDate, LocalTime and BigDecimal values without building an intermediate String.
+     */
+    @Bean
+    public Module apiJsonSerializersModule() {
+        return ApiJsonSerializers.module();
+    }
+}
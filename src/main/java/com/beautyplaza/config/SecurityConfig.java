@@ -2,9 +2,13 @@
 package com.beautyplaza.config;
 
 // Importing necessary Spring Security and other Spring Framework classes.
+import com.beautyplaza.security.BoundedPasswordEncoder;
+import com.beautyplaza.security.IdempotencyFilter;
 import com.beautyplaza.security.JwtAuthenticationEntryPoint;
 import com.beautyplaza.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +19,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,6 +27,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import java.util.Map;
+
 
 // @Configuration indicates that this class contains Spring configuration beans.
 // @EnableWebSecurity enables Spring Security's web security support and provides the Spring Security integration.
@@ -39,6 +46,10 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter filter;
 
+    // Autowire IdempotencyFilter to replay responses of retried POST requests.
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
     /**
      * Configures the security filter chain for HTTP requests.
      * This method defines authorization rules for various endpoints, sets up JWT authentication,
@@ -55,6 +66,10 @@ public class SecurityConfig {
                 // Referencing the corsConfigurationSource bean directly
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of an already authorized async response (e.g. an availability stream) carries no token.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Logging out needs the token being revoked.
+                        .requestMatchers("/auth/logout").authenticated()
                         // Allow unauthenticated access to authentication and public endpoints.
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/public/**").permitAll()
@@ -67,18 +82,34 @@ public class SecurityConfig {
 
         // Add the JWT authentication filter before the UsernamePasswordAuthenticationFilter.
         http.addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class);
+        // Add the idempotency filter right after it, so stored responses are scoped to the authenticated user.
+        http.addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build(); // Build and return the security filter chain.
     }
 
     /**
      * Configures the PasswordEncoder bean.
-     * Uses BCryptPasswordEncoder for strong password hashing.
+     * Uses BCrypt behind a DelegatingPasswordEncoder, so new hashes carry a {bcrypt} prefix and the cost factor can be
+     * raised: older or weaker hashes are re-hashed on the user's next successful login (see CustomUserDetailsService).
+     * Hashes stored before the prefix was introduced are still verified as plain BCrypt.
+     * All hashing runs on a bounded executor, so a login storm cannot occupy every request thread.
+     * @param strength The BCrypt cost factor (log2 of the number of rounds).
+     * @param threads Number of hashing threads; 0 means half the available processors (at least one).
+     * @param queueCapacity Hash/verify calls allowed to wait for a hashing thread before failing with 503.
+     * @param waitMillis Longest a request waits for its hash before failing with 503.
      * @return A PasswordEncoder instance.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:10}") int strength,
+                                           @Value("${password.hashing.threads:0}") int threads,
+                                           @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${password.hashing.wait-ms:5000}") long waitMillis) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); // Legacy hashes without an {id} prefix.
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, waitMillis);
     }
 
     /**
@@ -0,0 +1,61 @@
+// config/SelectiveLazyInitPostProcessor.java
+package com.beautyplaza.config;
+
+// Importing Spring Framework classes.
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks beans that are not needed to serve traffic as lazy, so they are created on first use instead of during startup.
+ * A bean matches when its class, or the class declaring its @Bean method, starts with one of the prefixes in
+ * 'startup.lazy-beans' (by default SpringDoc and SwaggerConfig: the API docs are built on the first request to
+ * /v3/api-docs instead). A lazy bean that another bean needs at startup is still created then.
+ *
+ * With Spring AOT, this runs during the build and the lazy flags are part of the generated bean definitions.
+ */
+@Component // Marks this class as a Spring component.
+public class SelectiveLazyInitPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    // Read from the Environment: bean factory post-processors run before @Value injection is available.
+    private List<String> prefixes = List.of();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        prefixes = List.of(environment.getProperty("startup.lazy-beans", String[].class, new String[0]));
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (prefixes.isEmpty()) {
+            return;
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && matches(declaringClass(beanFactory, definition))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    /**
+     * @return The bean's class name, or for a @Bean method the name of the configuration class declaring it.
+     */
+    private static String declaringClass(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
+    private boolean matches(String className) {
+        return className != null && prefixes.stream().anyMatch(className::startsWith);
+    }
+}
@@ -0,0 +1,77 @@
+// config/StartupTimingReport.java
+package com.beautyplaza.config;
+
+// Importing Spring Framework classes and Java utilities.
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs how long startup took and which beans were slowest to create, from the steps recorded by the
+ * BufferingApplicationStartup set up in BeautyplazaApplication. The full timeline is also available from the
+ * actuator at /actuator/startup.
+ */
+@Component // Marks this class as a Spring component.
+public class StartupTimingReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    // Enough for every step of a full startup (about 2,000 here); steps beyond the capacity are dropped.
+    public static final int CAPACITY = 10_000;
+
+    // Number of slowest bean instantiations to log.
+    @Value("${startup.report.top:10}")
+    private int top;
+
+    /**
+     * @return The ApplicationStartup to install on the SpringApplication before it runs.
+     */
+    public static BufferingApplicationStartup applicationStartup() {
+        return new BufferingApplicationStartup(CAPACITY);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering) || top <= 0) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> slowest = slowestBeans(buffering.getBufferedTimeline(), top);
+        StringBuilder report = new StringBuilder();
+        for (StartupTimeline.TimelineEvent bean : slowest) {
+            report.append(String.format("%n  %6d ms  %s", bean.getDuration().toMillis(), tag(bean.getStartupStep(), "beanName")));
+        }
+        log.info("Ready in {} ms; slowest beans (including their dependencies):{}", event.getTimeTaken().toMillis(), report);
+    }
+
+    /**
+     * @return The 'spring.beans.instantiate' steps of the timeline, longest first.
+     */
+    static List<StartupTimeline.TimelineEvent> slowestBeans(StartupTimeline timeline, int limit) {
+        return timeline.getEvents().stream()
+                .filter(event -> "spring.beans.instantiate".equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration, Comparator.<Duration>reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static String tag(StartupStep step, String key) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> key.equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
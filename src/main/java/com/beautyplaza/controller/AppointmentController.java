@@ -3,15 +3,30 @@ package com.beautyplaza.controller;
 
 // Importing necessary Spring Framework, DTO, and security classes.
 import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.BulkBookingResultDto;
+import com.beautyplaza.dto.ExportFormat;
+import com.beautyplaza.dto.TechnicianAgendaEntryDto;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.model.Role;
+import com.beautyplaza.request.BulkBookingRequest;
+import com.beautyplaza.security.AuthenticatedUser;
 import com.beautyplaza.service.AppointmentService;
+import com.beautyplaza.service.AvailabilityStreamService;
+import com.beautyplaza.service.ExportService;
+import com.beautyplaza.service.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -23,9 +38,20 @@ import java.util.List;
 @RequestMapping("/api/appointments") // Base path for all endpoints in this controller.
 public class AppointmentController {
 
+    private static final int MAX_TIMELINE_LIMIT = 100; // Upper bound for the 'limit' of /me.
+
     @Autowired // Injects AppointmentService for business logic operations on appointments.
     private AppointmentService appointmentService;
 
+    @Autowired // Injects ExportService for streaming bulk exports.
+    private ExportService exportService;
+
+    @Autowired // Injects RateLimitService to throttle OTP guesses.
+    private RateLimitService rateLimitService;
+
+    @Autowired // Injects AvailabilityStreamService for the live availability feed.
+    private AvailabilityStreamService availabilityStreamService;
+
     /**
      * Creates a new appointment. Accessible by USER and ADMIN.
      * Users can only create appointments for themselves.
@@ -52,6 +78,31 @@ public class AppointmentController {
         return new ResponseEntity<>(createdAppointment, HttpStatus.CREATED); // Return 201 Created.
     }
 
+    /**
+     * Books several appointments in one request, optionally repeated weekly. Accessible by USER and ADMIN.
+     * Users can only book for themselves. In ALL_OR_NOTHING mode (default) nothing is booked unless every entry
+     * can be; in BEST_EFFORT mode the free slots are booked and the others reported.
+     * @param request The BulkBookingRequest with the entries, the mode and 'repeatWeeks'.
+     * @param principal The authenticated user.
+     * @return ResponseEntity with one result per booking: 201 Created if all were booked, 200 OK if some were,
+     *         409 Conflict if none were.
+     */
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkBookingResultDto> createAppointments(@Valid @RequestBody BulkBookingRequest request,
+                                                                   @AuthenticationPrincipal AuthenticatedUser principal) {
+        // If a regular user, ensure every entry is booked for themselves.
+        if (principal.getRole() != Role.ADMIN
+                && request.getAppointments().stream().anyMatch(entry -> !principal.getId().equals(entry.getCustomerId()))) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        BulkBookingResultDto result = appointmentService.createAppointments(request);
+        if (result.getBooked() == 0) {
+            return new ResponseEntity<>(result, HttpStatus.CONFLICT); // Return 409 Conflict.
+        }
+        return new ResponseEntity<>(result, result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK);
+    }
+
     /**
      * Retrieves an appointment by ID. Accessible by ADMIN, or if the authenticated user is the customer or technician.
      * @param id The ID of the appointment to retrieve.
@@ -69,43 +120,111 @@ public class AppointmentController {
     }
 
     /**
-     * Retrieves all appointments. Accessible by ADMIN only.
-     * @return ResponseEntity with a list of AppointmentDtos.
+     * Retrieves all appointments, ordered by ID. Accessible by ADMIN only.
+     * The list is written as a JSON array while it is read from the database, so it is never held in memory.
+     * @return ResponseEntity with the streamed JSON array of AppointmentDtos.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<AppointmentDto>> getAllAppointments() {
-        List<AppointmentDto> appointments = appointmentService.getAllAppointments();
-        return ResponseEntity.ok(appointments); // Return 200 OK.
+    public ResponseEntity<StreamingResponseBody> getAllAppointments() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exportService.streamAppointmentList()); // Return 200 OK with a streamed body.
+    }
+
+    /**
+     * Streams all appointments as NDJSON (default) or CSV. Accessible by ADMIN only.
+     * Rows are written while they are read from the database, so the export is never held in memory.
+     * @param format The output format, "ndjson" or "csv".
+     * @return ResponseEntity with the streaming export body.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"appointments." + exportFormat.getExtension() + "\"")
+                .body(exportService.exportAppointments(exportFormat)); // Return 200 OK with a streamed body.
     }
 
     /**
-     * Retrieves appointments for a specific customer. Accessible by ADMIN or the customer themselves.
+     * Retrieves appointments for a specific customer, optionally limited to a date range. Accessible by ADMIN or the customer themselves.
+     * Archived appointments are included when the range starts before the archive horizon.
      * @param customerId The ID of the customer.
+     * @param from The first date (format: YYYY-MM-DD, inclusive); optional.
+     * @param to The last date (format: YYYY-MM-DD, inclusive); optional.
      * @param userDetails The authenticated user's details.
-     * @return ResponseEntity with a list of AppointmentDtos.
+     * @return ResponseEntity with a list of AppointmentDtos, oldest first.
      */
     @PreAuthorize("hasRole('ADMIN') or #customerId == authentication.principal.username") // Assuming customerId is email
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<AppointmentDto>> getAppointmentsByCustomerId(@PathVariable String customerId,
+                                                                            @RequestParam(required = false) String from,
+                                                                            @RequestParam(required = false) String to,
                                                                             @AuthenticationPrincipal UserDetails userDetails) {
-        List<AppointmentDto> appointments = appointmentService.getAppointmentsByCustomerId(customerId);
+        LocalDate fromDate = from != null ? LocalDate.parse(from) : null; // Parse date strings to LocalDate.
+        LocalDate toDate = to != null ? LocalDate.parse(to) : null;
+        List<AppointmentDto> appointments = appointmentService.getAppointmentsByCustomerId(customerId, fromDate, toDate);
         return ResponseEntity.ok(appointments); // Return 200 OK.
     }
 
     /**
-     * Retrieves appointments for a specific technician. Accessible by ADMIN or the technician themselves.
-     * @param technicianId The ID of the technician.
-     * @param userDetails The authenticated user's details.
+     * Retrieves the authenticated user's own appointments: upcoming ones soonest first, or past ones newest first.
+     * @param when "upcoming" (default) or "past".
+     * @param limit The maximum number of appointments to return (1 to 100, default 20).
+     * @param principal The authenticated user.
      * @return ResponseEntity with a list of AppointmentDtos.
      */
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'USER')")
+    @GetMapping("/me")
+    public ResponseEntity<List<AppointmentDto>> getMyAppointments(@RequestParam(defaultValue = "upcoming") String when,
+                                                                  @RequestParam(defaultValue = "20") int limit,
+                                                                  @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!when.equalsIgnoreCase("upcoming") && !when.equalsIgnoreCase("past")) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Parameter 'when' must be 'upcoming' or 'past'.");
+        }
+        if (limit < 1 || limit > MAX_TIMELINE_LIMIT) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Parameter 'limit' must be between 1 and " + MAX_TIMELINE_LIMIT + ".");
+        }
+        List<AppointmentDto> appointments = appointmentService.getCustomerTimeline(principal.getId(), when.equalsIgnoreCase("upcoming"), limit);
+        return ResponseEntity.ok(appointments); // Return 200 OK.
+    }
+
+    /**
+     * Retrieves a technician's agenda for a date range. Accessible by ADMIN or the technician themselves.
+     * Without parameters the agenda of today is returned; a range may span at most
+     * 'appointments.agenda.max-range-days' days, so the full history is never sent.
+     * @param technicianId The ID of the technician.
+     * @param from Optional first date (format: YYYY-MM-DD); defaults to today.
+     * @param to Optional last date (format: YYYY-MM-DD); defaults to 'from'.
+     * @return ResponseEntity with a list of TechnicianAgendaEntryDtos.
+     */
     @PreAuthorize("hasRole('ADMIN') or " +
             "(@technicianRepository.findById(#technicianId).orElse(null)?.user?.email == authentication.principal.username)")
     @GetMapping("/technician/{technicianId}")
-    public ResponseEntity<List<AppointmentDto>> getAppointmentsByTechnicianId(@PathVariable String technicianId,
-                                                                              @AuthenticationPrincipal UserDetails userDetails) {
-        List<AppointmentDto> appointments = appointmentService.getAppointmentsByTechnicianId(technicianId);
-        return ResponseEntity.ok(appointments); // Return 200 OK.
+    public ResponseEntity<List<TechnicianAgendaEntryDto>> getTechnicianAgenda(@PathVariable String technicianId,
+                                                                            @RequestParam(required = false) String from,
+                                                                            @RequestParam(required = false) String to) {
+        LocalDate fromDate = from != null ? LocalDate.parse(from) : LocalDate.now();
+        LocalDate toDate = to != null ? LocalDate.parse(to) : fromDate;
+        List<TechnicianAgendaEntryDto> agenda = appointmentService.getTechnicianAgenda(technicianId, fromDate, toDate);
+        return ResponseEntity.ok(agenda); // Return 200 OK.
+    }
+
+    /**
+     * Streams a technician's availability for one day as Server-Sent Events. Accessible by any authenticated user.
+     * The stream starts with a 'snapshot' event listing the booked start times, followed by 'slot-taken' and
+     * 'slot-freed' events as bookings change, so the booking UI no longer needs to poll.
+     * @param technicianId The ID of the technician.
+     * @param date The date to follow (format: YYYY-MM-DD).
+     * @return ResponseEntity with the event stream.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'USER')")
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(@RequestParam String technicianId, @RequestParam String date) {
+        SseEmitter emitter = availabilityStreamService.subscribe(technicianId, LocalDate.parse(date));
+        return ResponseEntity.ok(emitter); // Return 200 OK.
     }
 
     /**
@@ -149,13 +268,16 @@ public class AppointmentController {
 
     /**
      * Verifies OTP for an appointment. Accessible by USER.
+     * Attempts are rate limited per IP and per appointment, so codes cannot be brute-forced.
      * @param id The ID of the appointment.
      * @param otp The OTP provided by the user.
+     * @param httpRequest The servlet request, used for the caller's IP address.
      * @return ResponseEntity with the updated AppointmentDto.
      */
     @PreAuthorize("hasRole('USER')") // Only users can verify OTP for their appointments
     @PostMapping("/{id}/verify-otp")
-    public ResponseEntity<AppointmentDto> verifyOtp(@PathVariable Long id, @RequestParam String otp) {
+    public ResponseEntity<AppointmentDto> verifyOtp(@PathVariable Long id, @RequestParam String otp, HttpServletRequest httpRequest) {
+        rateLimitService.checkOtpVerification(httpRequest.getRemoteAddr(), id); // 429 when over the limit.
         AppointmentDto verifiedAppointment = appointmentService.verifyOtp(id, otp);
         return ResponseEntity.ok(verifiedAppointment);
     }
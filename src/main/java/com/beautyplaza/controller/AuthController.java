@@ -7,10 +7,16 @@ import com.beautyplaza.dto.*;
 
 import com.beautyplaza.model.User;
 import com.beautyplaza.exception.ApiException;
-import com.beautyplaza.repository.UserRepository;
+import com.beautyplaza.security.AuthenticatedUser;
 import com.beautyplaza.security.CustomUserDetailsService;
 import com.beautyplaza.security.JwtHelper;
+import com.beautyplaza.request.RefreshTokenRequest;
+import com.beautyplaza.service.RateLimitService;
+import com.beautyplaza.service.RefreshTokenService;
+import com.beautyplaza.service.TokenRevocationService;
 import com.beautyplaza.service.UserService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,9 +24,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -41,49 +47,96 @@ public class AuthController {
     @Autowired // Injects JwtHelper for generating JWT tokens.
     private JwtHelper helper;
 
-    @Autowired // Injects UserRepository to fetch user details (e.g., user role).
-    private UserRepository userRepository;
-
     @Autowired // Injects UserService for user registration.
     private UserService userService;
 
+    @Autowired // Injects RateLimitService to throttle login attempts.
+    private RateLimitService rateLimitService;
+
+    @Autowired // Injects TokenRevocationService to revoke the token at logout.
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired // Injects RefreshTokenService to issue and rotate refresh tokens.
+    private RefreshTokenService refreshTokenService;
+
     /**
      * Handles user login requests.
      * Authenticates the user with provided credentials and generates a JWT token upon successful authentication.
+     * Attempts are rate limited per IP and per account before the (deliberately expensive) password check.
      * @param request The LoginRequest DTO containing user email and password.
+     * @param httpRequest The servlet request, used for the caller's IP address.
      * @return ResponseEntity with AuthResponse containing JWT token, user ID, and role, or an error.
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        this.doAuthenticate(request.getEmail(), request.getPassword()); // Authenticate credentials.
-
-        // Load user details to retrieve user ID and role for the AuthResponse.
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        String token = this.helper.generateToken(userDetails); // Generate JWT token.
-
-        // Retrieve the User entity to get the actual ID (UUID).
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "User not found after successful authentication."));
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        rateLimitService.checkLogin(httpRequest.getRemoteAddr(), request.getEmail()); // 429 when over the limit.
+        // Authenticate credentials; the principal already carries the user ID and role, so the user is loaded only once.
+        AuthenticatedUser principal = this.doAuthenticate(request.getEmail(), request.getPassword());
+        String token = this.helper.generateToken(principal); // Generate JWT token.
 
         // Build the authentication response.
         AuthResponse response = AuthResponse.builder()
                 .token(token)
-                .userId(user.getId()) // Set actual user ID.
-                .role(user.getRole().name()) // Set user's role.
+                .refreshToken(refreshTokenService.createRefreshToken(principal.getId())) // Starts a new refresh token family.
+                .userId(principal.getId()) // Set actual user ID.
+                .role(principal.getRole().name()) // Set user's role.
                 .build();
         return new ResponseEntity<>(response, HttpStatus.OK); // Return 200 OK with the token.
     }
 
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token (the old one is used up).
+     * Costs one indexed lookup and no password hashing, unlike a login.
+     * @param request The RefreshTokenRequest containing the current refresh token.
+     * @return ResponseEntity with AuthResponse containing the new tokens, user ID, and role, or 401.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+        AuthResponse response = AuthResponse.builder()
+                .token(helper.generateToken(userDetailsService.toUserDetails(user)))
+                .refreshToken(rotation.refreshToken())
+                .userId(user.getId())
+                .role(user.getRole().name())
+                .build();
+        return ResponseEntity.ok(response); // Return 200 OK.
+    }
+
+    /**
+     * Logs out by revoking the token the request was made with, and the refresh token if one is sent.
+     * Other sessions of the user stay valid.
+     * The security configuration only lets this through with a valid, unrevoked token.
+     * @param authorization The Authorization header ("Bearer <token>").
+     * @param request Optional body with the session's refresh token.
+     * @return ResponseEntity with no content.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(request.getRefreshToken());
+        }
+        Claims claims = helper.getAllClaimsFromToken(authorization.substring(7));
+        if (claims.getId() == null) {
+            // Tokens issued before token IDs were introduced can only be revoked together with the user's other sessions.
+            throw new ApiException(HttpStatus.BAD_REQUEST, "This token cannot be revoked individually.");
+        }
+        tokenRevocationService.revokeToken(claims.getId(), claims.getSubject(), claims.getExpiration());
+        return ResponseEntity.noContent().build(); // Return 204 No Content.
+    }
+
     /**
      * Performs authentication using Spring Security's AuthenticationManager.
      * @param email The user's email.
      * @param password The user's password.
+     * @return The authenticated principal, as loaded by CustomUserDetailsService.
      * @throws ApiException if authentication fails (e.g., bad credentials).
      */
-    private void doAuthenticate(String email, String password) {
+    private AuthenticatedUser doAuthenticate(String email, String password) {
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(email, password);
         try {
-            manager.authenticate(authentication); // Attempt authentication.
+            return (AuthenticatedUser) manager.authenticate(authentication).getPrincipal(); // Attempt authentication.
         } catch (BadCredentialsException e) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid Username or Password !!");
         }
@@ -1,9 +1,33 @@
 package com.beautyplaza.controller;
 
+// Importing necessary Spring Framework, DTO, and request classes.
+import com.beautyplaza.dto.GiftCardDTO;
+import com.beautyplaza.request.RedeemGiftCardRequest;
+import com.beautyplaza.service.GiftCardService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/giftcards")
 public class GiftCardController {
     // GiftCardController handles GiftCard operations
+
+    @Autowired // Injects GiftCardService for gift card operations.
+    private GiftCardService giftCardService;
+
+    /**
+     * Redeems an amount from a gift card. Clients should send an 'Idempotency-Key' header,
+     * so a retried redemption is not charged twice.
+     * @param request The RedeemGiftCardRequest with the card code and amount.
+     * @return ResponseEntity with the updated GiftCardDTO.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'USER')")
+    @PostMapping("/redeem")
+    public ResponseEntity<GiftCardDTO> redeemGiftCard(@Valid @RequestBody RedeemGiftCardRequest request) {
+        GiftCardDTO giftCard = giftCardService.redeemGiftCard(request);
+        return ResponseEntity.ok(giftCard); // Return 200 OK.
+    }
 }
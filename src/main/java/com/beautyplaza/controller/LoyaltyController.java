@@ -1,14 +1,23 @@
 package com.beautyplaza.controller;
 
 // Importing necessary Spring Framework, DTO, and security classes.
+import com.beautyplaza.dto.ExportFormat;
+import com.beautyplaza.dto.LoyaltyBalanceDto;
 import com.beautyplaza.dto.LoyaltyPointsDto;
+import com.beautyplaza.service.ExportService;
+import com.beautyplaza.service.LoyaltyBalanceService;
 import com.beautyplaza.service.LoyaltyPointsService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -23,6 +32,12 @@ public class LoyaltyController {
     @Autowired // Injects LoyaltyPointsService for business logic operations on loyalty points.
     private LoyaltyPointsService loyaltyPointsService;
 
+    @Autowired // Injects ExportService for streaming bulk exports.
+    private ExportService exportService;
+
+    @Autowired // Injects LoyaltyBalanceService for snapshot-based balance queries.
+    private LoyaltyBalanceService loyaltyBalanceService;
+
     /**
      * Records a new loyalty points transaction (earn or redeem).
      * Accessible by ADMIN for general management, or by USER for their own transactions.
@@ -62,6 +77,25 @@ public class LoyaltyController {
         return ResponseEntity.ok(transactions); // Return 200 OK.
     }
 
+    /**
+     * Streams a user's full loyalty points history as NDJSON (default) or CSV.
+     * Accessible by ADMIN or the user themselves.
+     * @param userId The ID of the user.
+     * @param format The output format, "ndjson" or "csv".
+     * @return ResponseEntity with the streaming export body.
+     */
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.username") // Assuming userId is email
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportLoyaltyTransactions(@PathVariable String userId,
+                                                                           @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = exportService.exportLoyaltyTransactions(userId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"loyalty-points." + exportFormat.getExtension() + "\"")
+                .body(body); // Return 200 OK with a streamed body.
+    }
+
     /**
      * Retrieves the total loyalty points for a specific user. Accessible by ADMIN or the user themselves.
      * @param userId The ID of the user.
@@ -74,6 +108,19 @@ public class LoyaltyController {
         return ResponseEntity.ok(totalPoints); // Return 200 OK.
     }
 
+    /**
+     * Retrieves a user's points balance, either now or at a point in time. Accessible by ADMIN or the user themselves.
+     * @param userId The ID of the user.
+     * @param asOf Optional point in time (ISO-8601, e.g. 2024-06-30T23:59:59); omit for the current balance.
+     * @return ResponseEntity with the LoyaltyBalanceDto.
+     */
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.username") // Assuming userId is email
+    @GetMapping("/user/{userId}/balance")
+    public ResponseEntity<LoyaltyBalanceDto> getBalance(@PathVariable String userId,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(loyaltyBalanceService.getBalance(userId, asOf)); // Return 200 OK.
+    }
+
     /**
      * Updates an existing loyalty points transaction. Typically for administrative corrections.
      * Accessible by ADMIN only.
@@ -0,0 +1,100 @@
+package com.beautyplaza.controller;
+
+// Importing necessary Spring Framework, DTO, and security classes.
+import com.beautyplaza.dto.DailyRevenueDto;
+import com.beautyplaza.dto.RevenueBreakdownDto;
+import com.beautyplaza.dto.TechnicianUtilizationDto;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.service.ReportService;
+import com.beautyplaza.service.RevenueRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for management reports.
+ * All endpoints are restricted to ADMIN and read pre-aggregated rollups only.
+ */
+@RestController // Marks this class as a REST controller.
+@RequestMapping("/api/reports") // Base path for all endpoints in this controller.
+@PreAuthorize("hasRole('ADMIN')") // Reports are for managers only.
+public class ReportController {
+
+    @Autowired // Injects ReportService for reading reports.
+    private ReportService reportService;
+
+    @Autowired // Injects RevenueRollupService for on-demand rollup rebuilds.
+    private RevenueRollupService revenueRollupService;
+
+    /**
+     * Retrieves revenue per day.
+     * @param from The first date (format: YYYY-MM-DD, inclusive).
+     * @param to The last date (format: YYYY-MM-DD, inclusive).
+     * @return ResponseEntity with a list of DailyRevenueDtos.
+     */
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<List<DailyRevenueDto>> getDailyRevenue(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getDailyRevenue(from, to)); // Return 200 OK.
+    }
+
+    /**
+     * Retrieves revenue per service.
+     * @param from The first date (format: YYYY-MM-DD, inclusive).
+     * @param to The last date (format: YYYY-MM-DD, inclusive).
+     * @return ResponseEntity with a list of RevenueBreakdownDtos keyed by service ID.
+     */
+    @GetMapping("/revenue/services")
+    public ResponseEntity<List<RevenueBreakdownDto>> getRevenueByService(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getRevenueByService(from, to)); // Return 200 OK.
+    }
+
+    /**
+     * Retrieves revenue per technician.
+     * @param from The first date (format: YYYY-MM-DD, inclusive).
+     * @param to The last date (format: YYYY-MM-DD, inclusive).
+     * @return ResponseEntity with a list of RevenueBreakdownDtos keyed by technician ID.
+     */
+    @GetMapping("/revenue/technicians")
+    public ResponseEntity<List<RevenueBreakdownDto>> getRevenueByTechnician(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getRevenueByTechnician(from, to)); // Return 200 OK.
+    }
+
+    /**
+     * Retrieves technician utilization (booked minutes / available minutes).
+     * @param from The first date (format: YYYY-MM-DD, inclusive).
+     * @param to The last date (format: YYYY-MM-DD, inclusive).
+     * @return ResponseEntity with a list of TechnicianUtilizationDtos.
+     */
+    @GetMapping("/utilization")
+    public ResponseEntity<List<TechnicianUtilizationDto>> getTechnicianUtilization(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getTechnicianUtilization(from, to)); // Return 200 OK.
+    }
+
+    /**
+     * Rebuilds the rollups of a date range from the appointments table,
+     * e.g. after a bulk data correction or when first enabling reports on existing data.
+     * @param from The first date (format: YYYY-MM-DD, inclusive).
+     * @param to The last date (format: YYYY-MM-DD, inclusive).
+     * @return ResponseEntity with the number of rollup rows written.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'.");
+        }
+        int rows = revenueRollupService.rebuild(from, to);
+        return ResponseEntity.ok(Map.of("rows", rows)); // Return 200 OK.
+    }
+}
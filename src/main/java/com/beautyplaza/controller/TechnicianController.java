@@ -9,6 +9,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -69,6 +71,23 @@ public class TechnicianController {
         return ResponseEntity.ok(availableTechnicians); // Return 200 OK.
     }
 
+    /**
+     * Retrieves the technicians who offer a service and are free to start it at a given date and time.
+     * Accessible by all authenticated users.
+     * @param serviceId The ID of the service.
+     * @param date The date (format: YYYY-MM-DD).
+     * @param time The start time (format: HH:mm).
+     * @return ResponseEntity with a list of TechnicianDtos, by name.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'USER')")
+    @GetMapping("/match")
+    public ResponseEntity<List<TechnicianDto>> findAvailableTechnicians(@RequestParam Long serviceId,
+                                                                        @RequestParam String date,
+                                                                        @RequestParam String time) {
+        List<TechnicianDto> technicians = technicianService.findAvailableTechnicians(serviceId, LocalDate.parse(date), LocalTime.parse(time));
+        return ResponseEntity.ok(technicians); // Return 200 OK.
+    }
+
     /**
      * Updates an existing technician. Accessible by ADMIN or the technician themselves.
      * @param id The ID of the technician to update.
@@ -95,4 +95,16 @@ public class UserController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build(); // Return 204 No Content.
     }
+
+    /**
+     * Revokes all sessions (issued tokens) of a user, e.g. after a lost device. Accessible by ADMIN only.
+     * @param id The ID of the user.
+     * @return ResponseEntity with no content.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/revoke-sessions")
+    public ResponseEntity<Void> revokeSessions(@PathVariable String id) {
+        userService.revokeAllSessions(id);
+        return ResponseEntity.noContent().build(); // Return 204 No Content.
+    }
 }
@@ -0,0 +1,88 @@
+package com.beautyplaza.controller;
+
+// Importing necessary Spring Framework, DTO, and security classes.
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.WaitlistEntryDto;
+import com.beautyplaza.request.WaitlistRequest;
+import com.beautyplaza.security.AuthenticatedUser;
+import com.beautyplaza.service.AppointmentService;
+import com.beautyplaza.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/**
+ * REST Controller for the appointment waitlist.
+ * Customers join the waitlist for a technician or service, a date and a time window instead of polling for free
+ * slots. When a matching slot is freed it is held for the first customer in line, who sees the offer on
+ * GET /api/waitlist/me and books it with POST /api/waitlist/{id}/accept.
+ */
+@RestController // Marks this class as a REST controller.
+@RequestMapping("/api/waitlist") // Base path for all endpoints in this controller.
+public class WaitlistController {
+
+    @Autowired // Injects WaitlistService for business logic operations on the waitlist.
+    private WaitlistService waitlistService;
+
+    @Autowired // Injects AppointmentService to book offered slots.
+    private AppointmentService appointmentService;
+
+    /**
+     * Adds the authenticated user to the waitlist. Accessible by USER and ADMIN.
+     * @param request The WaitlistRequest with the wanted technician or service, date and time window.
+     * @param principal The authenticated user.
+     * @return ResponseEntity with the created WaitlistEntryDto.
+     */
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> joinWaitlist(@Valid @RequestBody WaitlistRequest request,
+                                                         @AuthenticationPrincipal AuthenticatedUser principal) {
+        WaitlistEntryDto entry = waitlistService.join(principal.getId(), request);
+        return new ResponseEntity<>(entry, HttpStatus.CREATED); // Return 201 Created.
+    }
+
+    /**
+     * Retrieves the authenticated user's waitlist entries, including open offers. Accessible by USER and ADMIN.
+     * @param principal The authenticated user.
+     * @return ResponseEntity with a list of WaitlistEntryDtos.
+     */
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @GetMapping("/me")
+    public ResponseEntity<List<WaitlistEntryDto>> getMyEntries(@AuthenticationPrincipal AuthenticatedUser principal) {
+        List<WaitlistEntryDto> entries = waitlistService.getEntries(principal.getId());
+        return ResponseEntity.ok(entries); // Return 200 OK.
+    }
+
+    /**
+     * Books the slot offered for one of the authenticated user's waitlist entries. Accessible by USER and ADMIN.
+     * @param id The ID of the waitlist entry.
+     * @param principal The authenticated user.
+     * @return ResponseEntity with the created AppointmentDto.
+     */
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @PostMapping("/{id}/accept")
+    public ResponseEntity<AppointmentDto> acceptOffer(@PathVariable Long id,
+                                                      @AuthenticationPrincipal AuthenticatedUser principal) {
+        AppointmentDto appointment = appointmentService.bookWaitlistOffer(id, principal.getId());
+        return new ResponseEntity<>(appointment, HttpStatus.CREATED); // Return 201 Created.
+    }
+
+    /**
+     * Removes one of the authenticated user's waitlist entries. Accessible by USER and ADMIN.
+     * @param id The ID of the waitlist entry.
+     * @param principal The authenticated user.
+     * @return ResponseEntity with no content.
+     */
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long id,
+                                              @AuthenticationPrincipal AuthenticatedUser principal) {
+        waitlistService.leave(id, principal.getId());
+        return ResponseEntity.noContent().build(); // Return 204 No Content.
+    }
+}
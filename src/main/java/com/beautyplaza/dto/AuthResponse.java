@@ -17,6 +17,7 @@ import lombok.Setter;
 @Builder // Add @Builder to enable the builder pattern
 public class AuthResponse {
     private String token; // Field to hold the JWT token.
+    private String refreshToken; // Field to hold the opaque refresh token, exchanged at /auth/refresh for a new JWT.
     private String userId; // Field to hold the user's ID.
     private String role; // Field to hold the user's role.
 }
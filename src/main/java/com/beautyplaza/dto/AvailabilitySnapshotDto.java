@@ -0,0 +1,22 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySnapshotDto {
+    private String technicianId; // ID of the technician.
+    private LocalDate date; // Date of the snapshot.
+    private List<LocalTime> takenTimes; // Start times already booked on that date, in order.
+}
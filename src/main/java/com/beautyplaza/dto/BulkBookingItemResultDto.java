@@ -0,0 +1,25 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingItemResultDto {
+    private int index; // Position of the booking in the request, after weekly repetition.
+    private LocalDate appointmentDate; // Date of the booking.
+    private LocalTime appointmentTime; // Time of the booking.
+    private String technicianId; // ID of the technician.
+    private String status; // BOOKED, CONFLICT, INVALID or NOT_BOOKED (valid, but rolled back with the rest).
+    private String message; // Why the booking was not made; null if it was.
+    private AppointmentDto appointment; // The created appointment; null if it was not booked.
+}
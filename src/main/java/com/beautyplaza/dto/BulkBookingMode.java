@@ -0,0 +1,9 @@
+package com.beautyplaza.dto;
+
+/**
+ * Enum representing how a bulk booking handles entries that cannot be booked.
+ */
+public enum BulkBookingMode {
+    ALL_OR_NOTHING, // Book every entry or none of them.
+    BEST_EFFORT     // Book every entry that can be booked and report the rest.
+}
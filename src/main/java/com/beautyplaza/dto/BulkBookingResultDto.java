@@ -0,0 +1,21 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResultDto {
+    private BulkBookingMode mode; // The mode the request was processed in.
+    private int booked; // Number of appointments created.
+    private int failed; // Number of bookings that were not made.
+    private List<BulkBookingItemResultDto> results; // One result per booking, in request order.
+}
@@ -0,0 +1,22 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueDto {
+    private LocalDate date; // The appointment date.
+    private Long completedCount; // Appointments completed or paid on that date.
+    private Long cancelledCount; // Appointments cancelled on that date.
+    private BigDecimal revenue; // Net revenue of the completed appointments.
+}
@@ -0,0 +1,42 @@
+package com.beautyplaza.dto;
+
+import com.beautyplaza.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Enum representing the file formats supported by the streaming export endpoints.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"), // One JSON object per line.
+    CSV("text/csv", "csv");                    // Comma-separated values with a header row.
+
+    private final String contentType; // HTTP Content-Type of the export.
+    private final String extension;   // File extension used in the download file name.
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a format request parameter (case-insensitive).
+     * @param value The requested format, e.g. "ndjson" or "csv".
+     * @return The matching ExportFormat.
+     * @throws ApiException (400) if the format is not supported.
+     */
+    public static ExportFormat fromParameter(String value) {
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyBalanceDto {
+    private String userId; // ID of the user.
+    private LocalDateTime asOf; // Point in time the balance refers to (null means now).
+    private Long balance; // Points balance at that point in time.
+}
@@ -0,0 +1,22 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBreakdownDto {
+    private String key; // Service ID or technician ID the figures belong to.
+    private Long completedCount; // Appointments completed or paid in the range.
+    private Long cancelledCount; // Appointments cancelled in the range.
+    private BigDecimal revenue; // Net revenue of the completed appointments.
+    private Long bookedMinutes; // Service minutes of the completed appointments.
+}
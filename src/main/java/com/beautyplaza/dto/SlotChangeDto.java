@@ -0,0 +1,21 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotChangeDto {
+    private String technicianId; // ID of the technician.
+    private LocalDate date; // Date of the slot.
+    private LocalTime time; // Start time of the slot that was taken or freed.
+}
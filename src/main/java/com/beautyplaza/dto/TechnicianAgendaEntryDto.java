@@ -0,0 +1,25 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicianAgendaEntryDto {
+    private Long appointmentId; // ID of the appointment.
+    private LocalDate date; // Date of the appointment.
+    private LocalTime time; // Start time of the appointment.
+    private Integer durationMinutes; // Duration of the booked service in minutes.
+    private String customerName; // Full name of the customer.
+    private String serviceName; // Name of the booked service.
+    private String status; // Current status of the appointment (e.g., "SCHEDULED").
+}
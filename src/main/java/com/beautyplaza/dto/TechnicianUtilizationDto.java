@@ -0,0 +1,19 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicianUtilizationDto {
+    private String technicianId; // ID of the technician.
+    private Long bookedMinutes; // Service minutes of completed appointments in the range.
+    private Long availableMinutes; // Working minutes available in the range.
+    private Double utilization; // bookedMinutes / availableMinutes (0.0 - 1.0).
+}
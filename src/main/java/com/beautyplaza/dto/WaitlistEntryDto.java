@@ -0,0 +1,30 @@
+package com.beautyplaza.dto;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// @Getter and @Setter automatically generate getters and setters.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDto {
+    private Long id; // ID of the waitlist entry.
+    private String technicianId; // Wanted technician, or null for any technician.
+    private Long serviceId; // Service to book.
+    private String serviceType; // "IN_STORE" or "IN_HOME".
+    private LocalDate date; // Wanted date.
+    private LocalTime windowStart; // Earliest acceptable start time.
+    private LocalTime windowEnd; // Latest acceptable start time.
+    private String status; // WAITING, OFFERED, BOOKED, CANCELLED or EXPIRED.
+    private String offeredTechnicianId; // Technician of the offered slot, if OFFERED.
+    private LocalTime offeredTime; // Start time of the offered slot, if OFFERED.
+    private LocalDateTime offerExpiresAt; // End of the hold on the offered slot, if OFFERED.
+}
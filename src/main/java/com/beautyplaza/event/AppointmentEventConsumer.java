@@ -0,0 +1,21 @@
+package com.beautyplaza.event;
+
+// Importing the outbox event entity.
+import com.beautyplaza.model.AppointmentStatusEvent;
+
+import java.util.List;
+
+/**
+ * Receives batches of appointment status changes from the outbox.
+ * Every Spring bean implementing this interface is called by AppointmentEventDispatcher.
+ * All consumers of a batch run in one transaction together with marking the events processed,
+ * so a consumer either sees a batch exactly once or, after a failure, again as part of a retry.
+ */
+public interface AppointmentEventConsumer {
+    /**
+     * Handles a batch of status change events, ordered by the time they were recorded.
+     * Consumers should ignore events they are not interested in and prefer set-based writes for the batch.
+     * @param events The events of the batch.
+     */
+    void onEvents(List<AppointmentStatusEvent> events);
+}
@@ -0,0 +1,142 @@
+package com.beautyplaza.event;
+
+// Importing necessary classes for outbox dispatching.
+import com.beautyplaza.model.AppointmentStatusEvent;
+import com.beautyplaza.repository.AppointmentStatusEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the appointment status outbox in batches and hands each batch to every AppointmentEventConsumer.
+ * Runs on the scheduler thread, so none of the downstream work happens on the request thread.
+ * If a batch fails, its events are retried one by one so a single bad event cannot block the rest;
+ * events that keep failing are skipped after 'events.dispatcher.max-attempts' attempts.
+ */
+@Component // Marks this class as a Spring component.
+public class AppointmentEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentEventDispatcher.class);
+
+    @Autowired // Injects the outbox repository.
+    private AppointmentStatusEventRepository eventRepository;
+
+    @Autowired // Injects every registered consumer.
+    private List<AppointmentEventConsumer> consumers;
+
+    @Autowired // Injects the transaction manager for programmatic, per-batch transactions.
+    private PlatformTransactionManager transactionManager;
+
+    // Maximum number of events handed to the consumers in one transaction.
+    @Value("${events.dispatcher.batch-size:500}")
+    private int batchSize;
+
+    // Failed attempts after which an event is no longer retried.
+    @Value("${events.dispatcher.max-attempts:5}")
+    private int maxAttempts;
+
+    // Processed events are kept this many days before being purged.
+    @Value("${events.retention-days:7}")
+    private int retentionDays;
+
+    /**
+     * Dispatches pending events until the outbox is empty or a batch fails.
+     * Runs every 'events.dispatcher.interval-ms' milliseconds (measured from the end of the previous run).
+     */
+    @Scheduled(fixedDelayString = "${events.dispatcher.interval-ms:1000}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    /**
+     * Dispatches a single batch.
+     * @return The number of events dispatched, or -1 if the batch failed and was retried event by event.
+     */
+    private int dispatchBatch() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            Integer dispatched = transaction.execute(status -> {
+                List<AppointmentStatusEvent> events = eventRepository.lockPending(maxAttempts, PageRequest.of(0, batchSize));
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                deliver(events);
+                return events.size();
+            });
+            return dispatched == null ? 0 : dispatched;
+        } catch (RuntimeException e) {
+            log.warn("Appointment event batch failed, retrying events individually: {}", e.getMessage());
+            retryIndividually(transaction);
+            return -1;
+        }
+    }
+
+    /**
+     * Processes the pending events of a failed batch one at a time, recording failures per event.
+     */
+    private void retryIndividually(TransactionTemplate transaction) {
+        List<Long> pending = transaction.execute(status -> eventRepository.lockPending(maxAttempts, PageRequest.of(0, batchSize))
+                .stream().map(AppointmentStatusEvent::getId).toList());
+        for (Long eventId : pending) {
+            try {
+                transaction.executeWithoutResult(status -> eventRepository.findWithLockById(eventId)
+                        .filter(event -> event.getProcessedAt() == null)
+                        .ifPresent(event -> deliver(List.of(event))));
+            } catch (RuntimeException e) {
+                log.error("Appointment event {} failed: {}", eventId, e.getMessage());
+                transaction.executeWithoutResult(status -> eventRepository.findById(eventId).ifPresent(event -> {
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setLastError(truncate(String.valueOf(e.getMessage())));
+                    eventRepository.save(event);
+                }));
+            }
+        }
+    }
+
+    /**
+     * Hands the events to every consumer and marks them processed, inside the caller's transaction.
+     */
+    private void deliver(List<AppointmentStatusEvent> events) {
+        for (AppointmentEventConsumer consumer : consumers) {
+            consumer.onEvents(events);
+        }
+        eventRepository.markProcessed(events.stream().map(AppointmentStatusEvent::getId).toList(), LocalDateTime.now());
+    }
+
+    /**
+     * Deletes processed events older than the retention period, in chunks of one batch.
+     * Runs daily at 03:00 by default.
+     */
+    @Scheduled(cron = "${events.purge-cron:0 0 3 * * *}")
+    public void purgeProcessed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int purged = 0;
+        int deleted;
+        do {
+            Integer count = transaction.execute(status -> {
+                List<Long> ids = eventRepository.findProcessedBefore(cutoff, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : eventRepository.deleteByIds(ids);
+            });
+            deleted = count == null ? 0 : count;
+            purged += deleted;
+        } while (deleted > 0);
+        log.info("Purged {} processed appointment events older than {}", purged, cutoff);
+    }
+
+    private String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
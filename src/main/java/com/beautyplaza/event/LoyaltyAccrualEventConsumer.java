@@ -0,0 +1,125 @@
+package com.beautyplaza.event;
+
+// Importing necessary classes for loyalty accrual.
+import com.beautyplaza.model.AppointmentStatus;
+import com.beautyplaza.model.AppointmentStatusEvent;
+import com.beautyplaza.model.Setting;
+import com.beautyplaza.model.TransactionType;
+import com.beautyplaza.repository.SettingRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Awards loyalty points when an appointment reaches COMPLETED or PAID.
+ * Points are floor((totalAmount - loyaltyDiscount) * rate), where the rate comes from the
+ * 'loyalty_earn_rate' setting. Each dispatcher batch (flushed every 'events.dispatcher.interval-ms'
+ * or 'events.dispatcher.batch-size' events) becomes a single JDBC batch insert. Accrual is idempotent
+ * per appointment: the unique key on (appointment_id, transaction_type) admits one EARNED row, and the insert
+ * leaves an existing one untouched instead of failing the batch.
+ */
+@Component // Marks this class as a Spring component.
+public class LoyaltyAccrualEventConsumer implements AppointmentEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyAccrualEventConsumer.class);
+
+    // Setting holding the number of points earned per currency unit spent (a JSON number, e.g. 1 or 0.5).
+    public static final String EARN_RATE_SETTING = "loyalty_earn_rate";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO loyalty_points (user_id, transaction_type, points, description, appointment_id, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE appointment_id = appointment_id"; // Already credited: no-op.
+
+    @Autowired // Injects SettingRepository to read the earn rate.
+    private SettingRepository settingRepository;
+
+    @Autowired // Injects JdbcTemplate for the batch insert.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects NamedParameterJdbcTemplate for the IN-list lookup of already credited appointments.
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // Rate used when the setting is missing or invalid.
+    @Value("${loyalty.accrual.default-rate:1}")
+    private BigDecimal defaultRate;
+
+    @Override
+    public void onEvents(List<AppointmentStatusEvent> events) {
+        // Only the first move into a completed status earns points (COMPLETED -> PAID does not earn twice).
+        Map<Long, AppointmentStatusEvent> completions = new LinkedHashMap<>();
+        for (AppointmentStatusEvent event : events) {
+            if (isCompleted(event.getToStatus()) && !isCompleted(event.getFromStatus())) {
+                completions.putIfAbsent(event.getAppointmentId(), event);
+            }
+        }
+        if (completions.isEmpty()) {
+            return;
+        }
+
+        // Skip appointments that were already credited (e.g. by an earlier, partially failed batch). Redemptions
+        // against the appointment do not count. The unique key still catches a credit committed after this query.
+        List<Long> credited = namedParameterJdbcTemplate.queryForList(
+                "SELECT appointment_id FROM loyalty_points WHERE appointment_id IN (:ids) AND transaction_type = :type",
+                Map.of("ids", completions.keySet(), "type", TransactionType.EARNED.name()), Long.class);
+        credited.forEach(completions::remove);
+
+        BigDecimal rate = earnRate();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (AppointmentStatusEvent event : completions.values()) {
+            int points = pointsFor(event.getNetAmount(), rate);
+            if (points > 0) {
+                rows.add(new Object[]{event.getCustomerId(), TransactionType.EARNED.name(), points,
+                        "Earned for appointment #" + event.getAppointmentId(), event.getAppointmentId(), now});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Computes the points earned for a net amount, rounding down to whole points.
+     */
+    static int pointsFor(BigDecimal netAmount, BigDecimal rate) {
+        if (netAmount == null || netAmount.signum() <= 0) {
+            return 0;
+        }
+        return netAmount.multiply(rate).setScale(0, RoundingMode.FLOOR).intValue();
+    }
+
+    /**
+     * Reads the earn rate setting once per batch, falling back to the configured default.
+     */
+    private BigDecimal earnRate() {
+        JsonNode value = settingRepository.findById(EARN_RATE_SETTING).map(Setting::getSettingValue).orElse(null);
+        if (value == null) {
+            return defaultRate;
+        }
+        try {
+            BigDecimal rate = value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText());
+            return rate.signum() >= 0 ? rate : defaultRate;
+        } catch (NumberFormatException e) {
+            log.warn("Invalid '{}' setting {}, using default rate {}", EARN_RATE_SETTING, value, defaultRate);
+            return defaultRate;
+        }
+    }
+
+    private static boolean isCompleted(AppointmentStatus status) {
+        return status == AppointmentStatus.COMPLETED || status == AppointmentStatus.PAID;
+    }
+}
@@ -0,0 +1,30 @@
+package com.beautyplaza.event;
+
+// Importing necessary classes for rollup maintenance.
+import com.beautyplaza.model.AppointmentStatusEvent;
+import com.beautyplaza.service.RevenueRollupService;
+import com.beautyplaza.service.RevenueRollupService.Change;
+import com.beautyplaza.service.RevenueRollupService.Contribution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the revenue rollups in step with appointment status changes.
+ * A whole batch of events is merged into one set of rollup upserts.
+ */
+@Component // Marks this class as a Spring component.
+public class RevenueRollupEventConsumer implements AppointmentEventConsumer {
+
+    @Autowired // Injects RevenueRollupService to apply the deltas.
+    private RevenueRollupService revenueRollupService;
+
+    @Override
+    public void onEvents(List<AppointmentStatusEvent> events) {
+        List<Change> changes = events.stream()
+                .map(event -> new Change(Contribution.of(event, event.getFromStatus()), Contribution.of(event, event.getToStatus())))
+                .toList();
+        revenueRollupService.recordChanges(changes);
+    }
+}
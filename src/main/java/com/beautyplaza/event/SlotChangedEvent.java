@@ -0,0 +1,24 @@
+package com.beautyplaza.event;
+
+// Importing Lombok annotations and Java utilities.
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Application event published by AppointmentServiceImpl when a technician's time slot is taken or freed:
+ * an appointment is created, moved to another technician, date or time, cancelled or deleted.
+ * It is published inside the booking transaction and delivered to listeners after the commit,
+ * so a rolled-back booking never announces a change.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotChangedEvent {
+    private final String technicianId; // Technician whose slot changed.
+    private final LocalDate date; // Date of the slot.
+    private final LocalTime time; // Start time of the slot.
+    private final boolean taken; // True if the slot was taken, false if it was freed.
+    private final Long serviceId; // Service of the appointment that took or freed the slot.
+}
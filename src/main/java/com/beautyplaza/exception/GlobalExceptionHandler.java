@@ -1,6 +1,7 @@
 package com.beautyplaza.exception;
 
 // Importing Spring Framework annotations and classes for exception handling.
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -50,6 +51,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, exception.getStatus()); // Return custom HTTP status.
     }
 
+    /**
+     * Handles RateLimitExceededException.
+     * Same body as ApiException, plus a Retry-After header telling the client when to try again.
+     * @param exception The RateLimitExceededException instance.
+     * @param webRequest The current web request.
+     * @return A ResponseEntity containing the error details and TOO_MANY_REQUESTS status.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorDetails> handleRateLimitExceeded(RateLimitExceededException exception,
+                                                                WebRequest webRequest) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(),
+                webRequest.getDescription(false));
+        return ResponseEntity.status(exception.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(errorDetails); // Return 429 Too Many Requests.
+    }
+
     /**
      * Handles validation errors (e.g., from @Valid annotation).
      * This method captures validation failures and returns a map of field errors.
@@ -0,0 +1,26 @@
+package com.beautyplaza.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a caller exceeds a rate limit. Answered with 429 Too Many Requests and a Retry-After header.
+ */
+public class RateLimitExceededException extends ApiException {
+
+    private static final long serialVersionUID = 1L; // Serial version UID for serialization.
+    private final long retryAfterSeconds; // Seconds until the caller may try again.
+
+    /**
+     * Constructs a new RateLimitExceededException.
+     * @param message A descriptive message for the error.
+     * @param retryAfterSeconds Seconds until the next attempt is allowed.
+     */
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
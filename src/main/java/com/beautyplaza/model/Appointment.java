@@ -16,9 +16,16 @@ import java.time.LocalDateTime;
 /**
  * Represents an Appointment in the Beauty Plaza application.
  * This entity maps to the 'appointments' table in the database.
+ * The composite indexes serve per-customer and per-technician lookups in date/time order, and status filters
+ * over a date range; they are declared here so schema generation creates them instead of leaving it to chance.
  */
 @Entity
-@Table(name = "appointments") // Maps this entity to the 'appointments' table.
+@Table(name = "appointments", // Maps this entity to the 'appointments' table.
+        indexes = {
+                @Index(name = "idx_appointments_customer_date_time", columnList = "customer_id, appointment_date, appointment_time"),
+                @Index(name = "idx_appointments_technician_date_time", columnList = "technician_id, appointment_date, appointment_time"),
+                @Index(name = "idx_appointments_status_date", columnList = "status, appointment_date")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,12 +1,35 @@
 package com.beautyplaza.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enum representing the various statuses an appointment can have.
+ * Each status knows which statuses it may move to; PAID and CANCELLED are terminal.
  */
 public enum AppointmentStatus {
     SCHEDULED, // Appointment has been booked.
     CONFIRMED, // Appointment has been confirmed.
     COMPLETED, // Appointment service has been rendered.
     CANCELLED, // Appointment has been cancelled.
-    PAID       // Appointment has been paid for.
+    PAID;      // Appointment has been paid for.
+
+    private Set<AppointmentStatus> next; // Statuses reachable from this one in a single step.
+
+    static {
+        SCHEDULED.next = EnumSet.of(CONFIRMED, COMPLETED, CANCELLED);
+        CONFIRMED.next = EnumSet.of(COMPLETED, PAID, CANCELLED);
+        COMPLETED.next = EnumSet.of(PAID);
+        CANCELLED.next = EnumSet.noneOf(AppointmentStatus.class);
+        PAID.next = EnumSet.noneOf(AppointmentStatus.class);
+    }
+
+    /**
+     * Checks whether an appointment in this status may move to the target status.
+     * @param target The requested status.
+     * @return true if the transition is allowed.
+     */
+    public boolean canTransitionTo(AppointmentStatus target) {
+        return next.contains(target);
+    }
 }
@@ -0,0 +1,77 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents an appointment status change recorded in the transactional outbox.
+ * This entity maps to the 'appointment_status_events' table. Rows are written in the same
+ * transaction as the status change and drained in batches by AppointmentEventDispatcher.
+ * The appointment's booking details are copied into the event, so consumers see the values
+ * at the time of the change even if the appointment is edited or deleted afterwards.
+ */
+@Entity
+@Table(name = "appointment_status_events", // Maps this entity to the 'appointment_status_events' table.
+        indexes = {
+                @Index(name = "idx_appointment_status_events_pending", columnList = "processed_at, id"),
+                @Index(name = "idx_appointment_status_events_appointment", columnList = "appointment_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentStatusEvent {
+
+    @Id // Marks 'id' as the primary key.
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments the ID; also defines processing order.
+    private Long id; // Unique identifier for the event.
+
+    @Column(name = "appointment_id", nullable = false) // Plain column (no foreign key) so events survive deletes.
+    private Long appointmentId; // The appointment whose status changed.
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "from_status", nullable = false, length = 20) // 'from_status' column.
+    private AppointmentStatus fromStatus; // Status before the change.
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "to_status", nullable = false, length = 20) // 'to_status' column.
+    private AppointmentStatus toStatus; // Status after the change.
+
+    @Column(name = "customer_id", nullable = false, length = 36) // 'customer_id' column.
+    private String customerId; // Customer of the appointment at the time of the change.
+
+    @Column(name = "service_id", nullable = false) // 'service_id' column.
+    private Long serviceId; // Service of the appointment at the time of the change.
+
+    @Column(name = "technician_id", nullable = false, length = 36) // 'technician_id' column.
+    private String technicianId; // Technician of the appointment at the time of the change.
+
+    @Column(name = "appointment_date", nullable = false) // 'appointment_date' column.
+    private LocalDate appointmentDate; // Date of the appointment at the time of the change.
+
+    @Column(name = "net_amount", precision = 10, scale = 2) // 'net_amount' column.
+    private BigDecimal netAmount; // Total amount minus loyalty discount at the time of the change.
+
+    @Column(name = "service_minutes") // 'service_minutes' column.
+    private Integer serviceMinutes; // Duration of the booked service in minutes.
+
+    @Column(name = "occurred_at", nullable = false) // 'occurred_at' column.
+    private LocalDateTime occurredAt; // When the status changed.
+
+    @Column(name = "processed_at") // 'processed_at' column; null while the event is pending.
+    private LocalDateTime processedAt; // When all consumers handled the event.
+
+    @Column(name = "attempts", nullable = false) // 'attempts' column.
+    private Integer attempts = 0; // Number of failed processing attempts.
+
+    @Column(name = "last_error", length = 1000) // 'last_error' column.
+    private String lastError; // Message of the most recent processing failure.
+}
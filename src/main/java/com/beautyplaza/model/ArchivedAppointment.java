@@ -0,0 +1,88 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Represents a historical appointment moved out of the 'appointments' table by AppointmentArchiveService.
+ * This entity maps to the 'appointments_archive' table, which has the same columns as 'appointments'
+ * (plus 'archived_at') but only the index customer history reads need. The ID is the appointment's
+ * original ID, and customer, service and technician are plain columns so archived rows are never loaded
+ * through (or block deletes on) the hot tables. Archived appointments are read-only.
+ */
+@Entity
+@Table(name = "appointments_archive", // Maps this entity to the 'appointments_archive' table.
+        indexes = {
+                @Index(name = "idx_appointments_archive_customer_date_time", columnList = "customer_id, appointment_date, appointment_time")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAppointment {
+
+    @Id // Marks 'id' as the primary key; copied from the hot row, not generated.
+    private Long id; // Original identifier of the appointment.
+
+    @Column(name = "customer_id", nullable = false, length = 36) // 'customer_id' column.
+    private String customerId; // The customer who booked the appointment.
+
+    @Column(name = "service_id", nullable = false) // 'service_id' column.
+    private Long serviceId; // The service booked for the appointment.
+
+    @Column(name = "technician_id", nullable = false, length = 36) // 'technician_id' column.
+    private String technicianId; // The technician assigned to the appointment.
+
+    @Column(name = "appointment_date", nullable = false) // 'appointment_date' column.
+    private LocalDate appointmentDate; // Date of the appointment.
+
+    @Column(name = "appointment_time", nullable = false) // 'appointment_time' column.
+    private LocalTime appointmentTime; // Time of the appointment.
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "service_type", nullable = false) // 'service_type' column.
+    private ServiceType serviceType; // Type of service (e.g., IN_STORE, IN_HOME).
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "status", nullable = false) // 'status' column.
+    private AppointmentStatus status; // Final status of the appointment.
+
+    @Column(name = "notes", columnDefinition = "TEXT") // 'notes' column for additional details.
+    private String notes; // Any additional notes for the appointment.
+
+    @Column(name = "customer_phone") // 'customer_phone' column.
+    private String customerPhone; // Customer's phone number.
+
+    @Column(name = "customer_email") // 'customer_email' column.
+    private String customerEmail; // Customer's email.
+
+    @Column(name = "total_amount", precision = 10, scale = 2) // 'total_amount' column with precision and scale.
+    private BigDecimal totalAmount; // Total cost of the appointment.
+
+    @Column(name = "loyalty_points_used") // 'loyalty_points_used' column.
+    private Integer loyaltyPointsUsed; // Number of loyalty points redeemed for this appointment.
+
+    @Column(name = "loyalty_discount", precision = 10, scale = 2) // 'loyalty_discount' column.
+    private BigDecimal loyaltyDiscount; // Discount applied from loyalty points.
+
+    @Column(name = "otp_verified", nullable = false) // 'otp_verified' column.
+    private Boolean otpVerified; // Indicates if OTP verification was successful for the appointment.
+
+    @Column(name = "created_at") // 'created_at' column.
+    private LocalDateTime createdAt; // Timestamp of appointment creation.
+
+    @Column(name = "updated_at") // 'updated_at' column.
+    private LocalDateTime updatedAt; // Timestamp of the last update before archiving.
+
+    @Column(name = "archived_at", nullable = false) // 'archived_at' column.
+    private LocalDateTime archivedAt; // Timestamp of the move into the archive.
+}
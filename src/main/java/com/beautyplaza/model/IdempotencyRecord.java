@@ -0,0 +1,55 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores the response of a POST request made with an 'Idempotency-Key' header, so a retry with the same key
+ * gets the same response instead of executing the request again.
+ * This entity maps to the 'idempotency_keys' table. A row without a status code is a reservation held
+ * while the first request is still executing.
+ */
+@Entity
+@Table(name = "idempotency_keys", // Maps this entity to the 'idempotency_keys' table.
+        indexes = @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at")) // TTL purge.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id // Marks 'keyHash' as the primary key.
+    @Column(name = "key_hash", length = 64) // SHA-256 of the principal and the key, as hex.
+    private String keyHash; // Keys are scoped per user, so two users can never collide.
+
+    @Column(name = "idempotency_key", nullable = false) // 'idempotency_key' column.
+    private String idempotencyKey; // The key as sent by the client.
+
+    @Column(name = "principal", nullable = false) // 'principal' column.
+    private String principal; // The authenticated user (email) that sent the request.
+
+    @Column(name = "request_fingerprint", nullable = false, length = 64) // 'request_fingerprint' column.
+    private String requestFingerprint; // SHA-256 of the method, path, query and body of the first request.
+
+    @Column(name = "status_code") // 'status_code' column, null while the request is executing.
+    private Integer statusCode; // HTTP status of the stored response.
+
+    @Column(name = "content_type") // 'content_type' column.
+    private String contentType; // Content type of the stored response.
+
+    @Lob // Large object for the response body.
+    @Column(name = "response_body") // 'response_body' column.
+    private byte[] responseBody; // Body of the stored response.
+
+    @Column(name = "created_at", nullable = false) // 'created_at' column.
+    private LocalDateTime createdAt; // When the key was first seen (or the reservation was taken over).
+
+    @Column(name = "expires_at", nullable = false) // 'expires_at' column.
+    private LocalDateTime expiresAt; // After this time the key is forgotten and purged.
+}
@@ -0,0 +1,36 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records how far a resumable background job has progressed.
+ * This entity maps to the 'job_checkpoints' table; a restarted job continues after 'position'.
+ */
+@Entity
+@Table(name = "job_checkpoints") // Maps this entity to the 'job_checkpoints' table.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id // Marks 'jobName' as the primary key.
+    @Column(name = "job_name", nullable = false, length = 100) // 'job_name' column.
+    private String jobName; // Unique name of the job (and partition, if any).
+
+    @Column(name = "position", nullable = false) // 'position' column.
+    private Long position; // Last processed position, e.g. the highest ledger ID already handled.
+
+    @Column(name = "cursor_key") // 'cursor_key' column, nullable.
+    private String cursorKey; // Last processed key for jobs that walk a non-numeric key, e.g. a user ID.
+
+    @Column(name = "updated_at", nullable = false) // 'updated_at' column.
+    private LocalDateTime updatedAt; // When the checkpoint was last advanced.
+}
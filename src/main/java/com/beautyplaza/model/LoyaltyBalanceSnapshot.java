@@ -0,0 +1,45 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A checkpoint of a user's loyalty balance.
+ * This entity maps to the 'loyalty_balance_snapshots' table. The balance includes every ledger row of the
+ * user up to and including 'lastTransactionId', so the balance at any point is the latest snapshot before
+ * that point plus the (short) tail of ledger rows after it.
+ */
+@Entity
+@Table(name = "loyalty_balance_snapshots", // Maps this entity to the 'loyalty_balance_snapshots' table.
+        indexes = {
+                @Index(name = "idx_loyalty_snapshots_user_transaction", columnList = "user_id, last_transaction_id"),
+                @Index(name = "idx_loyalty_snapshots_user_time", columnList = "user_id, snapshot_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyBalanceSnapshot {
+
+    @Id // Marks 'id' as the primary key.
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments the ID.
+    private Long id; // Unique identifier for the snapshot.
+
+    @Column(name = "user_id", nullable = false, length = 36) // Plain column; snapshots are derived data.
+    private String userId; // The user the balance belongs to.
+
+    @Column(name = "last_transaction_id", nullable = false) // 'last_transaction_id' column.
+    private Long lastTransactionId; // Highest loyalty_points ID included in the balance.
+
+    @Column(name = "balance", nullable = false) // 'balance' column.
+    private Long balance; // Points balance after 'lastTransactionId'.
+
+    @Column(name = "snapshot_at", nullable = false) // 'snapshot_at' column.
+    private LocalDateTime snapshotAt; // Creation time of the last included transaction.
+}
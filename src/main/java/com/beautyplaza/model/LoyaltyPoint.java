@@ -17,7 +17,10 @@ import java.time.LocalDateTime;
  * This entity maps to the 'loyalty_points' table in the database.
  */
 @Entity
-@Table(name = "loyalty_points") // Maps this entity to the 'loyalty_points' table.
+@Table(name = "loyalty_points", // Maps this entity to the 'loyalty_points' table.
+        indexes = @Index(name = "idx_loyalty_points_user_created", columnList = "user_id, created_at"), // Point-in-time balance tails.
+        // An appointment is credited (or redeemed against) at most once; rows without an appointment are not limited.
+        uniqueConstraints = @UniqueConstraint(name = "uk_loyalty_points_appointment_type", columnNames = {"appointment_id", "transaction_type"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,8 +45,9 @@ public class LoyaltyPoint {
     @Column(name = "description", columnDefinition = "VARCHAR(500)") // 'description' column.
     private String description; // Description of the loyalty points transaction.
 
-    @OneToOne(fetch = FetchType.LAZY) // One-to-one relationship with Appointment.
-    @JoinColumn(name = "appointment_id") // Foreign key column to appointments table.
+    @ManyToOne(fetch = FetchType.LAZY) // An appointment has at most one row per transaction type (see the unique key).
+    // No database foreign key: the appointment may have been moved to 'appointments_archive'.
+    @JoinColumn(name = "appointment_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Appointment appointment; // The appointment related to this loyalty points transaction (can be null).
 
     @Enumerated(EnumType.STRING) // Stores enum as a String.
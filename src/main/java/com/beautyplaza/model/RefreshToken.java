@@ -0,0 +1,53 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Hibernate annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * An opaque refresh token, exchanged at /auth/refresh for a new access token without re-entering the password.
+ * This entity maps to the 'refresh_tokens' table. Only a SHA-256 hash of the token is stored.
+ *
+ * Tokens rotate: each use marks the token as used and issues a successor in the same family. Presenting a used
+ * token again means it was copied, so the whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_tokens", // Maps this entity to the 'refresh_tokens' table.
+        indexes = {
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"), // Batch purge.
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id")       // Revoking a family.
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id // Marks 'tokenHash' as the primary key.
+    @Column(name = "token_hash", length = 64) // SHA-256 of the token, as hex.
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY) // Many-to-one relationship with User.
+    @JoinColumn(name = "user_id", nullable = false) // Foreign key column to users table.
+    @OnDelete(action = OnDeleteAction.CASCADE) // Deleting a user deletes their refresh tokens.
+    private User user; // The user the token was issued to.
+
+    @Column(name = "family_id", nullable = false, length = 36) // 'family_id' column.
+    private String familyId; // Shared by all tokens rotated from the same login.
+
+    @Column(name = "created_at", nullable = false) // 'created_at' column.
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false) // 'expires_at' column.
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at") // 'used_at' column, null until the token is rotated.
+    private LocalDateTime usedAt;
+}
@@ -0,0 +1,54 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Represents one pre-aggregated day of appointment revenue for a single dimension value.
+ * This entity maps to the 'revenue_rollups' table, which is maintained incrementally on
+ * appointment status changes and reconciled nightly from the 'appointments' table.
+ */
+@Entity
+@Table(name = "revenue_rollups", // Maps this entity to the 'revenue_rollups' table.
+        uniqueConstraints = @UniqueConstraint(name = "uk_revenue_rollups_dimension_key_date",
+                columnNames = {"dimension", "dimension_key", "rollup_date"}),
+        indexes = @Index(name = "idx_revenue_rollups_dimension_date", columnList = "dimension, rollup_date"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueRollup {
+
+    @Id // Marks 'id' as the primary key.
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments the ID.
+    private Long id; // Unique identifier for the rollup row.
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "dimension", nullable = false, length = 20) // 'dimension' column.
+    private RollupDimension dimension; // What the row is aggregated by.
+
+    @Column(name = "dimension_key", nullable = false, length = 64) // 'dimension_key' column.
+    private String dimensionKey; // Service ID, technician ID, or "*" for the daily total.
+
+    @Column(name = "rollup_date", nullable = false) // 'rollup_date' column.
+    private LocalDate rollupDate; // Appointment date the row aggregates.
+
+    @Column(name = "completed_count", nullable = false) // 'completed_count' column.
+    private Long completedCount = 0L; // Appointments in COMPLETED or PAID status.
+
+    @Column(name = "cancelled_count", nullable = false) // 'cancelled_count' column.
+    private Long cancelledCount = 0L; // Appointments in CANCELLED status.
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2) // 'revenue' column.
+    private BigDecimal revenue = BigDecimal.ZERO; // Net revenue (total amount minus loyalty discount) of completed appointments.
+
+    @Column(name = "booked_minutes", nullable = false) // 'booked_minutes' column.
+    private Long bookedMinutes = 0L; // Service minutes of completed appointments.
+}
@@ -0,0 +1,40 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single JWT revoked before its expiry, e.g. at logout, identified by its 'jti' claim.
+ * This entity maps to the 'revoked_tokens' table. Rows are only needed until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", // Maps this entity to the 'revoked_tokens' table.
+        indexes = {
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"), // Polling for new revocations.
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")  // Purging expired rows.
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id // Marks 'jti' as the primary key.
+    @Column(name = "jti", length = 36) // The token's 'jti' claim (a UUID).
+    private String jti;
+
+    @Column(name = "username", nullable = false) // 'username' column.
+    private String username; // The token's subject (email).
+
+    @Column(name = "expires_at", nullable = false) // 'expires_at' column.
+    private LocalDateTime expiresAt; // When the token expires; the row can be purged after that.
+
+    @Column(name = "revoked_at", nullable = false) // 'revoked_at' column.
+    private LocalDateTime revokedAt; // When the token was revoked.
+}
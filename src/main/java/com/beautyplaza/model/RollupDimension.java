@@ -0,0 +1,9 @@
+package com.beautyplaza.model;
+/**
+ * Enum representing the dimension a revenue rollup row is aggregated by.
+ */
+public enum RollupDimension {
+    TOTAL,      // All appointments of the day (dimension key is "*").
+    SERVICE,    // Per service (dimension key is the service ID).
+    TECHNICIAN  // Per technician (dimension key is the technician ID).
+}
@@ -0,0 +1,31 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user-wide "not before" time: every JWT of the user issued before it is rejected ("revoke all sessions").
+ * This entity maps to the 'session_revocations' table, one row per user; revoking again moves the time forward.
+ */
+@Entity
+@Table(name = "session_revocations", // Maps this entity to the 'session_revocations' table.
+        indexes = @Index(name = "idx_session_revocations_not_before", columnList = "not_before")) // Polling and purging.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionRevocation {
+
+    @Id // Marks 'username' as the primary key.
+    @Column(name = "username") // The user's email, as used for the token subject.
+    private String username;
+
+    @Column(name = "not_before", nullable = false) // 'not_before' column.
+    private LocalDateTime notBefore; // Tokens issued before this time are rejected.
+}
@@ -12,7 +12,7 @@ import lombok.Setter;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.beautyplaza.util.JsonCodec;
 
 import java.time.LocalDateTime;
 
@@ -33,6 +33,7 @@ public class Setting {
     private String settingKey; // Unique key for the setting (e.g., "loyalty_conversion_rate").
 
     // @JdbcTypeCode(SqlTypes.JSON) indicates that this field should be mapped to a JSON column type.
+    // Hibernate converts the JsonNode to JSON and back with JsonCodecFormatMapper (the shared JsonCodec).
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "setting_value", columnDefinition = "json", nullable = false) // 'setting_value' column, stores JSON.
     private JsonNode settingValue; // Value of the setting, stored as a JSON object.
@@ -72,10 +73,9 @@ public class Setting {
 
     // Helper method to set JsonNode from a String (for convenience, e.g., from a request)
     public void setSettingValueFromString(String jsonString) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            this.settingValue = mapper.readTree(jsonString);
-        } catch (Exception e) {
+            this.settingValue = JsonCodec.readTree(jsonString); // Shared codec; no ObjectMapper per call.
+        } catch (IllegalArgumentException e) {
             // Log error or throw a custom exception
             System.err.println("Error converting JSON string to JsonNode: " + e.getMessage());
         }
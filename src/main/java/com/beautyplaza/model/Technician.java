@@ -9,8 +9,7 @@ import lombok.Setter;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.beautyplaza.util.JsonCodec;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,7 +37,7 @@ public class Technician {
     private String name; // Name of the technician.
 
     // @JdbcTypeCode(SqlTypes.JSON) indicates that this field should be mapped to a JSON column type in the database.
-    // The ObjectMapper is used to convert the List<String> to JSON string and vice versa.
+    // Hibernate converts the List<String> to JSON and back with JsonCodecFormatMapper (the shared JsonCodec).
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "specialties", nullable = true) // 'specialties' column, stores specialties as JSON array.
     private List<String> specialties; // List of specialties (e.g., "Hair Styling", "Manicure").
@@ -83,10 +82,9 @@ public class Technician {
 
     // Helper method to convert specialties List to JSON string for database storage
     public void setSpecialtiesJson(String jsonString) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            this.specialties = mapper.readValue(jsonString, new TypeReference<List<String>>() {});
-        } catch (Exception e) {
+            this.specialties = JsonCodec.readStringList(jsonString); // Shared codec; no ObjectMapper per call.
+        } catch (IllegalArgumentException e) {
             // Log error or throw a custom exception
             System.err.println("Error converting JSON string to List<String>: " + e.getMessage());
         }
@@ -97,10 +95,9 @@ public class Technician {
         if (this.specialties == null) {
             return null;
         }
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.writeValueAsString(this.specialties);
-        } catch (Exception e) {
+            return JsonCodec.write(this.specialties);
+        } catch (IllegalArgumentException e) {
             // Log error or throw a custom exception
             System.err.println("Error converting List<String> to JSON string: " + e.getMessage());
             return null;
@@ -0,0 +1,63 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One line of a technician's daily agenda: a denormalized copy of an appointment with the customer and service
+ * names already resolved, so the agenda is read from a single index without joins or entity mapping.
+ * This entity maps to the 'technician_agenda_entries' table. Rows are written by TechnicianAgendaService in the
+ * same transaction as the appointment change they reflect; the table is a read model and never the source of truth.
+ */
+@Entity
+@Table(name = "technician_agenda_entries", // Maps this entity to the 'technician_agenda_entries' table.
+        indexes = {
+                @Index(name = "idx_agenda_technician_date_time", columnList = "technician_id, agenda_date, start_time"),
+                @Index(name = "idx_agenda_customer", columnList = "customer_id"), // For customer renames.
+                @Index(name = "idx_agenda_service", columnList = "service_id") // For service renames.
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicianAgendaEntry {
+
+    @Id // Marks 'appointmentId' as the primary key; one entry per appointment.
+    @Column(name = "appointment_id")
+    private Long appointmentId; // ID of the appointment this entry mirrors.
+
+    @Column(name = "technician_id", nullable = false, length = 36) // 'technician_id' column.
+    private String technicianId; // The technician whose agenda this entry belongs to.
+
+    @Column(name = "agenda_date", nullable = false) // 'agenda_date' column.
+    private LocalDate agendaDate; // Date of the appointment.
+
+    @Column(name = "start_time", nullable = false) // 'start_time' column.
+    private LocalTime startTime; // Start time of the appointment.
+
+    @Column(name = "duration_minutes") // 'duration_minutes' column.
+    private Integer durationMinutes; // Duration of the booked service in minutes.
+
+    @Column(name = "customer_id", nullable = false, length = 36) // 'customer_id' column.
+    private String customerId; // The customer who booked the appointment.
+
+    @Column(name = "customer_name") // 'customer_name' column.
+    private String customerName; // Customer's full name at the time of the last write.
+
+    @Column(name = "service_id", nullable = false) // 'service_id' column.
+    private Long serviceId; // The service booked.
+
+    @Column(name = "service_name") // 'service_name' column.
+    private String serviceName; // Service name at the time of the last write.
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "status", nullable = false, length = 20) // 'status' column.
+    private AppointmentStatus status; // Current status of the appointment.
+}
@@ -0,0 +1,35 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One specialty of one technician, normalized out of the JSON 'specialties' column of 'technicians'.
+ * This entity maps to the 'technician_specialties' table, the source of truth for the in-memory specialty index
+ * kept by TechnicianSpecialtyServiceImpl. The specialty is stored trimmed and lower-cased, so it matches service
+ * names regardless of how the specialty was spelled.
+ */
+@Entity
+@Table(name = "technician_specialties", // Maps this entity to the 'technician_specialties' table.
+        uniqueConstraints = @UniqueConstraint(name = "uk_technician_specialty", columnNames = {"technician_id", "specialty"}),
+        indexes = @Index(name = "idx_technician_specialties_specialty", columnList = "specialty"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicianSpecialty {
+
+    @Id // Marks 'id' as the primary key.
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments the ID.
+    private Long id; // Unique identifier for the row.
+
+    @Column(name = "technician_id", nullable = false, length = 36) // 'technician_id' column.
+    private String technicianId; // The technician.
+
+    @Column(name = "specialty", nullable = false) // 'specialty' column.
+    private String specialty; // Normalized specialty (e.g., "hair coloring").
+}
@@ -4,5 +4,6 @@ package com.beautyplaza.model;
  */
 public enum TransactionType {
     EARNED,   // Points were earned.
-    REDEEMED  // Points were redeemed.
+    REDEEMED, // Points were redeemed.
+    EXPIRED   // Points expired unused (written by the expiry sweeper).
 }
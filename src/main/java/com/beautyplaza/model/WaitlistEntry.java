@@ -0,0 +1,79 @@
+package com.beautyplaza.model;
+
+// Importing JPA annotations, Lombok annotations, and Java utilities.
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A customer waiting for a slot on a given date: with a specific technician, or with any technician for a service.
+ * This entity maps to the 'waitlist_entries' table. Open entries are also cached in memory by WaitlistServiceImpl,
+ * which reloads them from this table periodically; holds on offered slots are only kept here.
+ */
+@Entity
+@Table(name = "waitlist_entries", // Maps this entity to the 'waitlist_entries' table.
+        indexes = {
+                @Index(name = "idx_waitlist_status_date", columnList = "status, wait_date"), // For loading open entries.
+                @Index(name = "idx_waitlist_customer", columnList = "customer_id"),
+                // For the hold check on every booking.
+                @Index(name = "idx_waitlist_offered_slot", columnList = "offered_technician_id, wait_date, offered_time, status")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id // Marks 'id' as the primary key.
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments; also the order in which customers joined.
+    private Long id; // Unique identifier for the entry.
+
+    @Column(name = "customer_id", nullable = false, length = 36) // 'customer_id' column.
+    private String customerId; // The waiting customer.
+
+    @Column(name = "technician_id", length = 36) // 'technician_id' column.
+    private String technicianId; // The wanted technician, or null for any technician offering the service.
+
+    @Column(name = "service_id", nullable = false) // 'service_id' column.
+    private Long serviceId; // The service to book.
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "service_type", nullable = false) // 'service_type' column.
+    private ServiceType serviceType; // IN_STORE or IN_HOME.
+
+    @Column(name = "wait_date", nullable = false) // 'wait_date' column.
+    private LocalDate waitDate; // The wanted date.
+
+    @Column(name = "window_start", nullable = false) // 'window_start' column.
+    private LocalTime windowStart; // Earliest acceptable start time (inclusive).
+
+    @Column(name = "window_end", nullable = false) // 'window_end' column.
+    private LocalTime windowEnd; // Latest acceptable start time (inclusive).
+
+    @Enumerated(EnumType.STRING) // Stores enum as a String.
+    @Column(name = "status", nullable = false) // 'status' column.
+    private WaitlistStatus status; // Current state of the entry.
+
+    @Column(name = "offered_technician_id", length = 36) // 'offered_technician_id' column.
+    private String offeredTechnicianId; // Technician of the offered slot.
+
+    @Column(name = "offered_time") // 'offered_time' column.
+    private LocalTime offeredTime; // Start time of the offered slot.
+
+    @Column(name = "offer_expires_at") // 'offer_expires_at' column.
+    private LocalDateTime offerExpiresAt; // When the hold on the offered slot lapses.
+
+    @Column(name = "created_at", nullable = false, updatable = false) // 'created_at' column, not updatable.
+    private LocalDateTime createdAt; // Timestamp of joining the waitlist.
+
+    @PrePersist // Callback method executed before the entity is persisted.
+    protected void onCreate() {
+        createdAt = LocalDateTime.now(); // Set creation timestamp.
+    }
+}
@@ -0,0 +1,13 @@
+package com.beautyplaza.model;
+
+/**
+ * Enum representing the states of a waitlist entry.
+ * WAITING entries are matched against freed slots; BOOKED, CANCELLED and EXPIRED are terminal.
+ */
+public enum WaitlistStatus {
+    WAITING,   // Waiting for a matching slot to become free.
+    OFFERED,   // A freed slot is held for the customer until the offer expires.
+    BOOKED,    // The customer booked the offered slot.
+    CANCELLED, // The customer left the waitlist.
+    EXPIRED    // The offer lapsed or the date passed without a booking.
+}
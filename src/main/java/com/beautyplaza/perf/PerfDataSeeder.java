@@ -0,0 +1,373 @@
+package com.beautyplaza.perf;
+
+// Importing Spring Framework, JDBC and Java utility classes.
+import com.beautyplaza.model.AppointmentStatus;
+import com.beautyplaza.model.RedemptionMethod;
+import com.beautyplaza.model.Role;
+import com.beautyplaza.model.ServiceType;
+import com.beautyplaza.model.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Synthetic data generator for the 'perf' profile.
+ * Fills the embedded database with realistic volumes of users, technicians, services,
+ * appointments and loyalty transactions using JDBC batch inserts, so that repository and
+ * endpoint benchmarks run against a reproducible dataset.
+ * Data is deterministic for a given 'perf.seed.random-seed'.
+ */
+@Component // Marks this class as a Spring component.
+@Profile("perf") // Only available when the 'perf' profile is active.
+@ConditionalOnProperty(name = "perf.seed.enabled", havingValue = "true") // Seeding is opt-in.
+public class PerfDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfDataSeeder.class);
+
+    // Service catalogue used to name the seeded services and technician specialties.
+    private static final String[] SERVICE_NAMES = {
+            "Haircut", "Hair Coloring", "Hair Styling", "Blow Dry", "Manicure", "Pedicure", "Gel Nails",
+            "Facial", "Eyebrow Threading", "Eyelash Extensions", "Waxing", "Makeup", "Bridal Makeup",
+            "Massage", "Hot Stone Massage", "Keratin Treatment", "Scalp Treatment", "Body Scrub",
+            "Henna", "Skin Peel"
+    };
+
+    // Bookable slots: every 15 minutes from 09:00 to 18:45.
+    private static final LocalTime FIRST_SLOT = LocalTime.of(9, 0);
+    private static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 40;
+
+    @Autowired // Injects JdbcTemplate for batch inserts.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects PasswordEncoder to hash the shared seed password once.
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${perf.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${perf.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${perf.seed.users:1000000}")
+    private int userCount;
+
+    @Value("${perf.seed.technicians:200}")
+    private int technicianCount;
+
+    @Value("${perf.seed.services:20}")
+    private int serviceCount;
+
+    @Value("${perf.seed.appointments:5000000}")
+    private int appointmentCount;
+
+    @Value("${perf.seed.loyalty-transactions:20000000}")
+    private int loyaltyTransactionCount;
+
+    @Value("${perf.seed.years:3}")
+    private int years;
+
+    @Value("${perf.seed.future-days:30}")
+    private int futureDays;
+
+    @Value("${perf.seed.password:perf-password}")
+    private String seedPassword;
+
+    /**
+     * Seeds the database on application startup unless it already contains users.
+     * @param args The application arguments (unused).
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existingUsers != null && existingUsers > 0) {
+            log.info("Perf seed skipped: database already contains {} users.", existingUsers);
+            return;
+        }
+
+        long started = System.nanoTime();
+        LocalDate lastDay = LocalDate.now().plusDays(futureDays);
+        LocalDate firstDay = lastDay.minusYears(years);
+
+        List<Long> serviceIds = seedServices();
+        seedUsers();
+        seedTechnicians();
+        seedAppointments(serviceIds, firstDay, lastDay);
+        seedLoyaltyTransactions(firstDay, lastDay);
+
+        log.info("Perf seed completed in {} s.", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    /**
+     * Inserts the service catalogue and returns the generated service IDs in insertion order.
+     */
+    private List<Long> seedServices() {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO services (name, description, price, duration, image_url, is_active, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, NULL, TRUE, ?, ?)",
+                new RowSetter(serviceCount) {
+                    @Override
+                    protected void setRow(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, serviceName(i));
+                        ps.setString(2, "Synthetic service " + i);
+                        ps.setBigDecimal(3, BigDecimal.valueOf(1500 + random.nextInt(18000), 2)); // 15.00 - 194.99
+                        ps.setInt(4, 15 * (1 + random.nextInt(8))); // 15 - 120 minutes
+                        ps.setTimestamp(5, now);
+                        ps.setTimestamp(6, now);
+                    }
+                });
+        List<Long> serviceIds = jdbcTemplate.queryForList("SELECT id FROM services ORDER BY id", Long.class);
+        log.info("Seeded {} services.", serviceIds.size());
+        return serviceIds;
+    }
+
+    /**
+     * Inserts one admin account plus 'perf.seed.users' customer accounts.
+     */
+    private void seedUsers() {
+        String passwordHash = passwordEncoder.encode(seedPassword); // Hashed once; BCrypt per row would dominate the run.
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO users (id, email, password, full_name, phone, role, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?)";
+
+        jdbcTemplate.update(sql, UUID.randomUUID().toString(), "admin@perf.beautyplaza.test", passwordHash,
+                "Perf Admin", "5550000000", Role.ADMIN.name(), now, now);
+
+        insertInBatches("users", userCount, sql, (ps, i) -> {
+            ps.setString(1, userId(i));
+            ps.setString(2, "user" + i + "@perf.beautyplaza.test");
+            ps.setString(3, passwordHash);
+            ps.setString(4, "Perf User " + i);
+            ps.setString(5, String.format("555%07d", i % 10_000_000));
+            ps.setString(6, Role.USER.name());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    /**
+     * Inserts technicians with two to four specialties each, taken from the service catalogue.
+     */
+    private void seedTechnicians() {
+        SplittableRandom random = new SplittableRandom(randomSeed + 1);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertInBatches("technicians", technicianCount,
+                "INSERT INTO technicians (id, name, specialties, is_available, image_url, user_id, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, TRUE, NULL, NULL, ?, ?)",
+                (ps, i) -> {
+                    StringBuilder specialties = new StringBuilder("[");
+                    int count = 2 + random.nextInt(3);
+                    for (int s = 0; s < count; s++) {
+                        if (s > 0) {
+                            specialties.append(',');
+                        }
+                        specialties.append('"').append(serviceName(random.nextInt(serviceCount))).append('"');
+                    }
+                    specialties.append(']');
+                    ps.setString(1, technicianId(i));
+                    ps.setString(2, "Perf Technician " + i);
+                    // Bound as bytes so the embedded database parses the text as JSON rather than storing a JSON string.
+                    ps.setBytes(3, specialties.toString().getBytes(StandardCharsets.UTF_8));
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                });
+    }
+
+    /**
+     * Inserts appointments spread evenly over the seeded date range.
+     * Each day's appointments are laid out technician-major over the 15 minute slots,
+     * so no technician is ever double-booked at the same date and time.
+     */
+    private void seedAppointments(List<Long> serviceIds, LocalDate firstDay, LocalDate lastDay) {
+        SplittableRandom random = new SplittableRandom(randomSeed + 2);
+        long days = ChronoUnit.DAYS.between(firstDay, lastDay);
+        LocalDate today = LocalDate.now();
+        if (appointmentCount > days * technicianCount * SLOTS_PER_DAY) {
+            throw new IllegalStateException("perf.seed.appointments exceeds the number of bookable technician slots.");
+        }
+
+        insertInBatches("appointments", appointmentCount,
+                "INSERT INTO appointments (customer_id, service_id, technician_id, appointment_date, appointment_time, " +
+                        "service_type, status, notes, customer_phone, customer_email, total_amount, loyalty_points_used, " +
+                        "loyalty_discount, otp_verified, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, NULL, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    long day = (long) i * days / appointmentCount;
+                    long firstOfDay = (day * appointmentCount + days - 1) / days; // First appointment index on this day.
+                    int indexInDay = (int) (i - firstOfDay);
+                    LocalDate date = firstDay.plusDays(day);
+                    LocalTime time = FIRST_SLOT.plusMinutes((long) (indexInDay / technicianCount) * SLOT_MINUTES);
+                    int customer = random.nextInt(userCount);
+                    BigDecimal amount = BigDecimal.valueOf(1500 + random.nextInt(18000), 2);
+                    int pointsUsed = random.nextInt(10) == 0 ? 100 * (1 + random.nextInt(5)) : 0;
+                    LocalDateTime createdAt = date.minusDays(1 + random.nextInt(14)).atTime(10, 0);
+
+                    ps.setString(1, userId(customer));
+                    ps.setLong(2, serviceIds.get(random.nextInt(serviceIds.size())));
+                    ps.setString(3, technicianId(indexInDay % technicianCount));
+                    ps.setDate(4, Date.valueOf(date));
+                    ps.setTime(5, Time.valueOf(time));
+                    ps.setString(6, random.nextInt(5) == 0 ? ServiceType.IN_HOME.name() : ServiceType.IN_STORE.name());
+                    ps.setString(7, statusFor(date, today, random).name());
+                    ps.setString(8, String.format("555%07d", customer % 10_000_000));
+                    ps.setString(9, "user" + customer + "@perf.beautyplaza.test");
+                    ps.setBigDecimal(10, amount);
+                    ps.setInt(11, pointsUsed);
+                    ps.setBigDecimal(12, BigDecimal.valueOf(pointsUsed, 2)); // 100 points = 1.00 discount.
+                    ps.setBoolean(13, !date.isAfter(today));
+                    ps.setTimestamp(14, Timestamp.valueOf(createdAt));
+                    ps.setTimestamp(15, Timestamp.valueOf(createdAt));
+                });
+    }
+
+    /**
+     * Inserts loyalty transactions in chronological order (so IDs grow with 'created_at').
+     * Roughly one in seven transactions is a redemption.
+     */
+    private void seedLoyaltyTransactions(LocalDate firstDay, LocalDate lastDay) {
+        SplittableRandom random = new SplittableRandom(randomSeed + 3);
+        long spanSeconds = ChronoUnit.SECONDS.between(firstDay.atStartOfDay(), LocalDate.now().atStartOfDay());
+        LocalDateTime start = firstDay.atStartOfDay();
+
+        insertInBatches("loyalty_points", loyaltyTransactionCount,
+                "INSERT INTO loyalty_points (user_id, transaction_type, points, description, appointment_id, " +
+                        "redemption_method, bank_account, routing_number, redemption_value, created_at) " +
+                        "VALUES (?, ?, ?, ?, NULL, ?, NULL, NULL, ?, ?)",
+                (ps, i) -> {
+                    boolean redeemed = random.nextInt(7) == 0;
+                    int points = redeemed ? 50 * (1 + random.nextInt(4)) : 10 + random.nextInt(190);
+                    LocalDateTime createdAt = start.plusSeconds(spanSeconds * i / loyaltyTransactionCount);
+
+                    ps.setString(1, userId(random.nextInt(userCount)));
+                    ps.setString(2, (redeemed ? TransactionType.REDEEMED : TransactionType.EARNED).name());
+                    ps.setInt(3, points);
+                    ps.setString(4, redeemed ? "Redeemed for gift card" : "Earned from appointment");
+                    ps.setString(5, redeemed ? RedemptionMethod.GIFT_CARD.name() : null);
+                    ps.setBigDecimal(6, redeemed ? BigDecimal.valueOf(points, 2) : null);
+                    ps.setTimestamp(7, Timestamp.valueOf(createdAt));
+                });
+    }
+
+    /**
+     * Picks a plausible status: past appointments are mostly completed or paid, future ones scheduled or confirmed.
+     */
+    private AppointmentStatus statusFor(LocalDate date, LocalDate today, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (date.isBefore(today)) {
+            return roll < 8 ? AppointmentStatus.CANCELLED : roll < 40 ? AppointmentStatus.COMPLETED : AppointmentStatus.PAID;
+        }
+        return roll < 5 ? AppointmentStatus.CANCELLED : roll < 50 ? AppointmentStatus.SCHEDULED : AppointmentStatus.CONFIRMED;
+    }
+
+    /**
+     * Executes the insert in JDBC batches of 'perf.seed.batch-size' rows, logging progress.
+     */
+    private void insertInBatches(String table, int rows, String sql, RowBinder binder) {
+        long started = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += batchSize) {
+            int base = offset;
+            jdbcTemplate.batchUpdate(sql, new RowSetter(Math.min(batchSize, rows - offset)) {
+                @Override
+                protected void setRow(PreparedStatement ps, int i) throws SQLException {
+                    binder.bind(ps, base + i);
+                }
+            });
+            int done = Math.min(offset + batchSize, rows);
+            if (done % (batchSize * 100) == 0 || done == rows) {
+                log.info("Seeded {}/{} rows into {}.", done, rows, table);
+            }
+        }
+        log.info("Seeded {} rows into {} in {} ms.", rows, table, (System.nanoTime() - started) / 1_000_000L);
+    }
+
+    /**
+     * Derives a stable, evenly distributed UUID string for the i-th seeded user.
+     * IDs are computed rather than stored so seeding millions of rows needs no lookup tables.
+     */
+    static String userId(long i) {
+        return syntheticUuid(0x5EED_0001L, i);
+    }
+
+    /**
+     * Derives a stable UUID string for the i-th seeded technician.
+     */
+    static String technicianId(long i) {
+        return syntheticUuid(0x5EED_0002L, i);
+    }
+
+    private static String syntheticUuid(long namespace, long i) {
+        long mixed = mix(namespace * 0x9E3779B97F4A7C15L + i);
+        long high = (mixed & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L; // Version 4 layout.
+        long low = (namespace << 40) ^ i;
+        low = (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // IETF variant.
+        return new UUID(high, low).toString();
+    }
+
+    // SplitMix64 finalizer: spreads sequential indexes over the whole UUID space.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private String serviceName(int i) {
+        String name = SERVICE_NAMES[i % SERVICE_NAMES.length];
+        return i < SERVICE_NAMES.length ? name : name + " " + (i / SERVICE_NAMES.length + 1);
+    }
+
+    /**
+     * Binds the parameters of one row, given its absolute row index.
+     */
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int rowIndex) throws SQLException;
+    }
+
+    /**
+     * Fixed-size BatchPreparedStatementSetter.
+     */
+    private abstract static class RowSetter implements org.springframework.jdbc.core.BatchPreparedStatementSetter {
+        private final int size;
+
+        RowSetter(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            setRow(ps, i);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+
+        protected abstract void setRow(PreparedStatement ps, int i) throws SQLException;
+    }
+}
@@ -3,8 +3,13 @@ package com.beautyplaza.repository;
 
 import com.beautyplaza.model.Appointment;
 import com.beautyplaza.model.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,6 +26,16 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      */
     List<Appointment> findByCustomerId(String customerId);
 
+    /**
+     * Finds a customer's appointments in a date range, oldest first, using the customer index.
+     * @param customerId The ID of the customer.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of Appointments.
+     */
+    List<Appointment> findByCustomerIdAndAppointmentDateBetweenOrderByAppointmentDateAscAppointmentTimeAsc(
+            String customerId, LocalDate from, LocalDate to);
+
     /**
      * Finds a list of Appointments for a specific technician.
      * @param technicianId The ID of the technician.
@@ -60,4 +75,59 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
      * @return True if an appointment exists, false otherwise.
      */
     boolean existsByTechnicianIdAndAppointmentDateAndAppointmentTime(String technicianId, LocalDate appointmentDate, java.time.LocalTime appointmentTime);
+
+    /**
+     * Checks if a technician has an appointment in any status but the given one at a specific date and time.
+     * Used for double-booking checks, where a cancelled appointment no longer holds its slot.
+     * @param technicianId The ID of the technician.
+     * @param appointmentDate The date of the appointment.
+     * @param appointmentTime The time of the appointment.
+     * @param status The status to ignore (CANCELLED).
+     * @return True if such an appointment exists, false otherwise.
+     */
+    boolean existsByTechnicianIdAndAppointmentDateAndAppointmentTimeAndStatusNot(String technicianId, LocalDate appointmentDate,
+                                                                               java.time.LocalTime appointmentTime, AppointmentStatus status);
+
+    /**
+     * Finds the booked slots of several technicians on several dates in one query, for bulk conflict checks.
+     * Reads only the (technician_id, appointment_date, appointment_time) index.
+     * @param technicianIds The IDs of the technicians.
+     * @param dates The dates.
+     * @return Rows of {technician ID, date, time}.
+     */
+    @Query("select a.technician.id, a.appointmentDate, a.appointmentTime from Appointment a " +
+            "where a.technician.id in :technicianIds and a.appointmentDate in :dates " +
+            "and a.status <> com.beautyplaza.model.AppointmentStatus.CANCELLED")
+    List<Object[]> findSlotsByTechnicianIdsAndDates(@Param("technicianIds") Collection<String> technicianIds,
+                                                    @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * Finds a customer's upcoming appointments, soonest first.
+     * Reads a range of the (customer_id, appointment_date, appointment_time) index in index order, so no sort is needed.
+     * The plain 'appointmentDate >= :today' bound lets the database use the index even though the time condition is an OR.
+     * @param customerId The ID of the customer.
+     * @param today The current date.
+     * @param now The current time.
+     * @param pageable The limit (first page only).
+     * @return Up to the limit of appointments at or after now.
+     */
+    @Query("select a from Appointment a where a.customer.id = :customerId and a.appointmentDate >= :today " +
+            "and (a.appointmentDate > :today or a.appointmentTime >= :now) " +
+            "order by a.appointmentDate asc, a.appointmentTime asc")
+    List<Appointment> findUpcomingByCustomerId(@Param("customerId") String customerId, @Param("today") LocalDate today,
+                                               @Param("now") LocalTime now, Pageable pageable);
+
+    /**
+     * Finds a customer's past appointments, newest first, reading the same index backwards.
+     * @param customerId The ID of the customer.
+     * @param today The current date.
+     * @param now The current time.
+     * @param pageable The limit (first page only).
+     * @return Up to the limit of appointments before now.
+     */
+    @Query("select a from Appointment a where a.customer.id = :customerId and a.appointmentDate <= :today " +
+            "and (a.appointmentDate < :today or a.appointmentTime < :now) " +
+            "order by a.appointmentDate desc, a.appointmentTime desc")
+    List<Appointment> findPastByCustomerId(@Param("customerId") String customerId, @Param("today") LocalDate today,
+                                           @Param("now") LocalTime now, Pageable pageable);
 }
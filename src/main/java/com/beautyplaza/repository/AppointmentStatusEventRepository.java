@@ -0,0 +1,81 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.AppointmentStatusEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for AppointmentStatusEvent entities (the appointment status outbox).
+ */
+public interface AppointmentStatusEventRepository extends JpaRepository<AppointmentStatusEvent, Long> {
+
+    /**
+     * Locks and returns the oldest pending events that have not exhausted their retries.
+     * The row locks keep a second application instance from dispatching the same batch.
+     * @param maxAttempts Events with this many failed attempts are skipped (dead-lettered).
+     * @param pageable The batch size.
+     * @return Pending events in the order they were recorded.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from AppointmentStatusEvent e where e.processedAt is null and e.attempts < :maxAttempts order by e.id")
+    List<AppointmentStatusEvent> lockPending(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    /**
+     * Locks and returns the pending events of appointments on a date range, used while the rollups of the range are rebuilt.
+     * @param maxAttempts Events with this many failed attempts are skipped (dead-lettered).
+     * @param from The first appointment date (inclusive).
+     * @param to The last appointment date (inclusive).
+     * @return Pending events in the order they were recorded.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from AppointmentStatusEvent e where e.processedAt is null and e.attempts < :maxAttempts " +
+            "and e.appointmentDate between :from and :to order by e.id")
+    List<AppointmentStatusEvent> lockPendingBetween(@Param("maxAttempts") int maxAttempts,
+                                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Locks and returns a single event, used when a failed batch is retried event by event.
+     * @param id The ID of the event.
+     * @return The locked event, if it still exists.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AppointmentStatusEvent> findWithLockById(Long id);
+
+    /**
+     * Marks a batch of events as processed.
+     * @param ids The IDs of the processed events.
+     * @param processedAt The processing timestamp.
+     * @return The number of events updated.
+     */
+    @Modifying
+    @Query("update AppointmentStatusEvent e set e.processedAt = :processedAt where e.id in :ids")
+    int markProcessed(@Param("ids") List<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Finds the IDs of processed events older than a cutoff, oldest first.
+     * @param cutoff Events processed before this time are returned.
+     * @param pageable The maximum number of IDs.
+     * @return A list of event IDs.
+     */
+    @Query("select e.id from AppointmentStatusEvent e where e.processedAt < :cutoff order by e.id")
+    List<Long> findProcessedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Deletes events by ID in a single statement.
+     * @param ids The IDs of the events to delete.
+     * @return The number of events deleted.
+     */
+    @Modifying
+    @Query("delete from AppointmentStatusEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
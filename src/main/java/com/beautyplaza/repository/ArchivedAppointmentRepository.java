@@ -0,0 +1,44 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.ArchivedAppointment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedAppointment entities.
+ * Rows are written in bulk by AppointmentArchiveServiceImpl; this repository only reads them.
+ */
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    /**
+     * Finds all archived appointments of a customer, oldest first.
+     * @param customerId The ID of the customer.
+     * @return A list of archived appointments.
+     */
+    List<ArchivedAppointment> findByCustomerIdOrderByAppointmentDateAscAppointmentTimeAsc(String customerId);
+
+    /**
+     * Finds a customer's archived appointments, newest first, reading the customer index backwards.
+     * Everything in the archive is in the past, so no time bound is needed.
+     * @param customerId The ID of the customer.
+     * @param pageable The limit (first page only).
+     * @return Up to the limit of archived appointments.
+     */
+    @Query("select a from ArchivedAppointment a where a.customerId = :customerId " +
+            "order by a.appointmentDate desc, a.appointmentTime desc")
+    List<ArchivedAppointment> findPastByCustomerId(@Param("customerId") String customerId, Pageable pageable);
+
+    /**
+     * Finds a customer's archived appointments in a date range, oldest first.
+     * @param customerId The ID of the customer.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of archived appointments.
+     */
+    List<ArchivedAppointment> findByCustomerIdAndAppointmentDateBetweenOrderByAppointmentDateAscAppointmentTimeAsc(
+            String customerId, LocalDate from, LocalDate to);
+}
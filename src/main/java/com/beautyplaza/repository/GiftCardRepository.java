@@ -2,11 +2,17 @@
 package com.beautyplaza.repository;
 
 import com.beautyplaza.model.GiftCard;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface GiftCardRepository extends JpaRepository<GiftCard, Long> {
     Optional<GiftCard> findByCode(String code);
+
+    // Row-locking lookup for redemptions, so concurrent redemptions of one card cannot overdraw it.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<GiftCard> findWithLockByCode(String code);
 }
\ No newline at end of file
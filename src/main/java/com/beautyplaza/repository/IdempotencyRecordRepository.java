@@ -0,0 +1,25 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for IdempotencyRecord entities.
+ * The generic parameters are: IdempotencyRecord (the entity type) and String (the key hash).
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Deletes all records whose TTL has passed.
+     * @param now The current time.
+     * @return The number of records deleted.
+     */
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for JobCheckpoint entities.
+ * The generic parameters are: JobCheckpoint (the entity type) and String (the job name).
+ */
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
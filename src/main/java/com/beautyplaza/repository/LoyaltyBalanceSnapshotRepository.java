@@ -0,0 +1,43 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.LoyaltyBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for LoyaltyBalanceSnapshot entities.
+ */
+public interface LoyaltyBalanceSnapshotRepository extends JpaRepository<LoyaltyBalanceSnapshot, Long> {
+
+    /**
+     * Finds a user's most recent snapshot.
+     * @param userId The ID of the user.
+     * @return The snapshot covering the most ledger rows, if any.
+     */
+    Optional<LoyaltyBalanceSnapshot> findFirstByUserIdOrderByLastTransactionIdDesc(String userId);
+
+    /**
+     * Finds a user's most recent snapshot taken at or before a point in time.
+     * @param userId The ID of the user.
+     * @param asOf The point in time.
+     * @return The latest snapshot not after 'asOf', if any.
+     */
+    Optional<LoyaltyBalanceSnapshot> findFirstByUserIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDescLastTransactionIdDesc(
+            String userId, LocalDateTime asOf);
+
+    /**
+     * Deletes a user's snapshots that include a given ledger row, e.g. after that row was corrected or deleted.
+     * Balances then fall back to an older snapshot plus a longer tail until the next snapshot run.
+     * @param userId The ID of the user.
+     * @param transactionId The ID of the changed ledger row.
+     * @return The number of snapshots deleted.
+     */
+    @Modifying
+    @Query("delete from LoyaltyBalanceSnapshot s where s.userId = :userId and s.lastTransactionId >= :transactionId")
+    int deleteCovering(@Param("userId") String userId, @Param("transactionId") Long transactionId);
+}
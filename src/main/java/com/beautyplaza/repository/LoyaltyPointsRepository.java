@@ -2,9 +2,12 @@
 package com.beautyplaza.repository;
 
 import com.beautyplaza.model.LoyaltyPoint;
+import com.beautyplaza.model.TransactionType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -32,4 +35,52 @@ public interface LoyaltyPointsRepository extends JpaRepository<LoyaltyPoint, Lon
     @Query("SELECT COALESCE(SUM(CASE WHEN lp.transactionType = 'EARNED' THEN lp.points ELSE -lp.points END), 0L) " +
             "FROM com.beautyplaza.beautyplaza.entity.LoyaltyPoints lp WHERE lp.user.id = :userId") // Corrected entity path
     Long calculateTotalPointsByUserId(String userId);    */
+
+    /**
+     * Sums a user's ledger rows after a given ledger ID (earned points count positive, everything else negative).
+     * @param userId The ID of the user.
+     * @param afterId Only rows with a higher ID are included (0 for all rows).
+     * @return The signed sum of points.
+     */
+    @Query("select coalesce(sum(case when lp.transactionType = com.beautyplaza.model.TransactionType.EARNED then lp.points else -lp.points end), 0) " +
+            "from LoyaltyPoint lp where lp.user.id = :userId and lp.id > :afterId")
+    long sumPointsAfter(@Param("userId") String userId, @Param("afterId") Long afterId);
+
+    /**
+     * Sums a user's ledger rows created after a snapshot position and not after a point in time.
+     * Rows created at the snapshot's own timestamp are included only if their ID is above the snapshot's.
+     * @param userId The ID of the user.
+     * @param afterTime Creation time of the snapshot's last row.
+     * @param afterId ID of the snapshot's last row.
+     * @param asOf The point in time.
+     * @return The signed sum of points.
+     */
+    @Query("select coalesce(sum(case when lp.transactionType = com.beautyplaza.model.TransactionType.EARNED then lp.points else -lp.points end), 0) " +
+            "from LoyaltyPoint lp where lp.user.id = :userId " +
+            "and lp.createdAt >= :afterTime and lp.createdAt <= :asOf " + // Plain range first, so the index scan starts at the snapshot.
+            "and (lp.createdAt > :afterTime or lp.id > :afterId)")
+    long sumPointsBetween(@Param("userId") String userId, @Param("afterTime") LocalDateTime afterTime,
+                          @Param("afterId") Long afterId, @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Sums all of a user's ledger rows created up to a point in time.
+     * @param userId The ID of the user.
+     * @param asOf The point in time.
+     * @return The signed sum of points.
+     */
+    @Query("select coalesce(sum(case when lp.transactionType = com.beautyplaza.model.TransactionType.EARNED then lp.points else -lp.points end), 0) " +
+            "from LoyaltyPoint lp where lp.user.id = :userId and lp.createdAt <= :asOf")
+    long sumPointsUpTo(@Param("userId") String userId, @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Checks whether an appointment already has a transaction of a type, other than the given one.
+     * @param appointmentId The ID of the appointment.
+     * @param type The transaction type.
+     * @param excludedId The ID of a transaction to ignore (the one being updated), or null.
+     * @return true if such a transaction exists.
+     */
+    @Query("select count(lp) > 0 from LoyaltyPoint lp where lp.appointment.id = :appointmentId " +
+            "and lp.transactionType = :type and (:excludedId is null or lp.id <> :excludedId)")
+    boolean existsForAppointment(@Param("appointmentId") Long appointmentId, @Param("type") TransactionType type,
+                                 @Param("excludedId") Long excludedId);
 }
@@ -0,0 +1,53 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for RefreshToken entities.
+ * The generic parameters are: RefreshToken (the entity type) and String (the token hash).
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Finds a refresh token together with its user in one query (primary key lookup plus join).
+     * @param tokenHash The SHA-256 hash of the token.
+     * @return The token, or empty if it does not exist.
+     */
+    @Query("select r from RefreshToken r join fetch r.user where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marks a token as used, unless it already is; concurrent rotations of the same token cannot both succeed.
+     * @param tokenHash The SHA-256 hash of the token.
+     * @param usedAt The time of use.
+     * @return 1 if this call marked the token, 0 if it was already used.
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :usedAt where r.tokenHash = :tokenHash and r.usedAt is null")
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("usedAt") LocalDateTime usedAt);
+
+    /**
+     * Deletes every token of a family.
+     * @param familyId The family ID.
+     * @return The number of tokens deleted.
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.familyId = :familyId")
+    int deleteByFamily(@Param("familyId") String familyId);
+
+    /**
+     * Deletes every refresh token of a user.
+     * @param userId The user's ID.
+     * @return The number of tokens deleted.
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.user.id = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+}
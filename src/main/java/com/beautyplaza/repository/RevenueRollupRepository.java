@@ -0,0 +1,44 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.dto.DailyRevenueDto;
+import com.beautyplaza.dto.RevenueBreakdownDto;
+import com.beautyplaza.model.RevenueRollup;
+import com.beautyplaza.model.RollupDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for RevenueRollup entities.
+ * All report queries read the 'revenue_rollups' table only and are served by the (dimension, rollup_date) index.
+ */
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    /**
+     * Finds the daily totals for a date range.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return One row per date that has completed or cancelled appointments, ordered by date.
+     */
+    @Query("select new com.beautyplaza.dto.DailyRevenueDto(r.rollupDate, r.completedCount, r.cancelledCount, r.revenue) " +
+            "from RevenueRollup r where r.dimension = com.beautyplaza.model.RollupDimension.TOTAL " +
+            "and r.rollupDate between :from and :to order by r.rollupDate")
+    List<DailyRevenueDto> findDailyTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Sums the rollups of one dimension over a date range, grouped by dimension key.
+     * @param dimension The dimension to break revenue down by (SERVICE or TECHNICIAN).
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return One row per service or technician, highest revenue first.
+     */
+    @Query("select new com.beautyplaza.dto.RevenueBreakdownDto(r.dimensionKey, sum(r.completedCount), sum(r.cancelledCount), " +
+            "sum(r.revenue), sum(r.bookedMinutes)) from RevenueRollup r " +
+            "where r.dimension = :dimension and r.rollupDate between :from and :to " +
+            "group by r.dimensionKey order by sum(r.revenue) desc")
+    List<RevenueBreakdownDto> sumByDimension(@Param("dimension") RollupDimension dimension,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
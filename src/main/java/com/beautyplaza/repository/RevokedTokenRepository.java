@@ -0,0 +1,40 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for RevokedToken entities.
+ * The generic parameters are: RevokedToken (the entity type) and String (the jti).
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Finds revocations recorded after a point in time (used by the polling refresh).
+     * @param since The exclusive lower bound for 'revokedAt'.
+     * @return The matching revocations.
+     */
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    /**
+     * Finds revocations of tokens that have not expired yet (used to rebuild the in-memory view).
+     * @param now The current time.
+     * @return The revocations still in effect.
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Deletes revocations of tokens that have expired anyway.
+     * @param now The current time.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,33 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.SessionRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for SessionRevocation entities.
+ * The generic parameters are: SessionRevocation (the entity type) and String (the username).
+ */
+public interface SessionRevocationRepository extends JpaRepository<SessionRevocation, String> {
+
+    /**
+     * Finds user-wide revocations made after a point in time (used by the polling refresh and the rebuild).
+     * @param since The exclusive lower bound for 'notBefore'.
+     * @return The matching revocations.
+     */
+    List<SessionRevocation> findByNotBeforeAfter(LocalDateTime since);
+
+    /**
+     * Deletes user-wide revocations older than the longest token lifetime; no token they could reject is still valid.
+     * @param cutoff Revocations with 'notBefore' before this are deleted.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Query("delete from SessionRevocation s where s.notBefore < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,51 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.TechnicianAgendaEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for TechnicianAgendaEntry entities.
+ * Entries are kept in step with appointments by TechnicianAgendaServiceImpl.
+ */
+public interface TechnicianAgendaEntryRepository extends JpaRepository<TechnicianAgendaEntry, Long> {
+
+    /**
+     * Finds a technician's agenda entries in a date range, in agenda order.
+     * @param technicianId The ID of the technician.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of agenda entries.
+     */
+    List<TechnicianAgendaEntry> findByTechnicianIdAndAgendaDateBetweenOrderByAgendaDateAscStartTimeAsc(
+            String technicianId, LocalDate from, LocalDate to);
+
+    /**
+     * Finds the agenda entries of several technicians on one day, for availability checks.
+     * @param technicianIds The IDs of the technicians.
+     * @param agendaDate The date.
+     * @return A list of agenda entries.
+     */
+    List<TechnicianAgendaEntry> findByTechnicianIdInAndAgendaDate(Collection<String> technicianIds, LocalDate agendaDate);
+
+    /**
+     * Copies a customer's new name onto all of their agenda entries.
+     * @return The number of entries updated.
+     */
+    @Modifying
+    @Query("update TechnicianAgendaEntry e set e.customerName = :name where e.customerId = :customerId")
+    int updateCustomerName(@Param("customerId") String customerId, @Param("name") String name);
+
+    /**
+     * Copies a service's new name and duration onto all agenda entries booking it.
+     * @return The number of entries updated.
+     */
+    @Modifying
+    @Query("update TechnicianAgendaEntry e set e.serviceName = :name, e.durationMinutes = :duration where e.serviceId = :serviceId")
+    int updateService(@Param("serviceId") Long serviceId, @Param("name") String name, @Param("duration") Integer duration);
+}
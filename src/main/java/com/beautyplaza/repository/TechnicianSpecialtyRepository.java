@@ -0,0 +1,23 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.TechnicianSpecialty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for TechnicianSpecialty entities.
+ * Rows are kept in step with Technician.specialties by TechnicianSpecialtyServiceImpl.
+ */
+public interface TechnicianSpecialtyRepository extends JpaRepository<TechnicianSpecialty, Long> {
+
+    /**
+     * Deletes all specialties of a technician.
+     * @param technicianId The ID of the technician.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Query("delete from TechnicianSpecialty s where s.technicianId = :technicianId")
+    int deleteByTechnicianId(@Param("technicianId") String technicianId);
+}
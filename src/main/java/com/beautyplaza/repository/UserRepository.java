@@ -4,6 +4,9 @@ package com.beautyplaza.repository;
 // Importing the User entity and Spring Data JPA's JpaRepository.
 import com.beautyplaza.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 /**
@@ -27,4 +30,14 @@ public interface UserRepository extends JpaRepository<User, String> {
      * @return True if a user with the email exists, false otherwise.
      */
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Replaces a user's password hash, e.g. when an outdated hash is upgraded at login.
+     * @param email The user's email address.
+     * @param password The new password hash.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+}
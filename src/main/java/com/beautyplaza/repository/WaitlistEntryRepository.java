@@ -0,0 +1,52 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.model.WaitlistEntry;
+import com.beautyplaza.model.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for WaitlistEntry entities.
+ */
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Finds the entries in the given states from a date on, in the order they joined.
+     * @param statuses The states to load (e.g., WAITING and OFFERED).
+     * @param from The first date (inclusive).
+     * @return A list of waitlist entries.
+     */
+    List<WaitlistEntry> findByStatusInAndWaitDateGreaterThanEqualOrderByIdAsc(Collection<WaitlistStatus> statuses, LocalDate from);
+
+    /**
+     * Finds a customer's waitlist entries.
+     * @param customerId The ID of the customer.
+     * @return A list of waitlist entries, by date and window.
+     */
+    List<WaitlistEntry> findByCustomerIdOrderByWaitDateAscWindowStartAsc(String customerId);
+
+    /**
+     * Finds the entry holding a slot: offered for that technician, date and time, and not yet lapsed.
+     * @param offeredTechnicianId The ID of the technician.
+     * @param waitDate The date of the slot.
+     * @param offeredTime The start time of the slot.
+     * @param status OFFERED.
+     * @param now The current time.
+     * @return The entry, if the slot is held.
+     */
+    Optional<WaitlistEntry> findFirstByOfferedTechnicianIdAndWaitDateAndOfferedTimeAndStatusAndOfferExpiresAtAfter(
+            String offeredTechnicianId, LocalDate waitDate, LocalTime offeredTime, WaitlistStatus status, LocalDateTime now);
+
+    /**
+     * Finds the entries in a state whose offer lapsed before the given time.
+     * @param status OFFERED.
+     * @param now The current time.
+     * @return A list of waitlist entries.
+     */
+    List<WaitlistEntry> findByStatusAndOfferExpiresAtBefore(WaitlistStatus status, LocalDateTime now);
+}
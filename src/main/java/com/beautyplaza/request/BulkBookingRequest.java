@@ -0,0 +1,23 @@
+// request/BulkBookingRequest.java
+package com.beautyplaza.request;
+
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.BulkBookingMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BulkBookingRequest {
+    @NotNull
+    private BulkBookingMode mode = BulkBookingMode.ALL_OR_NOTHING;
+    @NotEmpty
+    private List<@Valid AppointmentDto> appointments;
+    @Min(1)
+    @Max(52)
+    private int repeatWeeks = 1; // Books every entry this many weeks in a row (recurring appointments).
+}
@@ -0,0 +1,10 @@
+package com.beautyplaza.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    @NotBlank
+    private String refreshToken; // The opaque refresh token from the login or the previous refresh.
+}
@@ -0,0 +1,25 @@
+// request/WaitlistRequest.java
+package com.beautyplaza.request;
+
+import com.beautyplaza.model.ServiceType;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class WaitlistRequest {
+    private String technicianId; // Optional: without it, a freed slot of any technician for the service matches.
+    @NotNull
+    private Long serviceId;
+    @NotNull
+    private ServiceType serviceType = ServiceType.IN_STORE;
+    @NotNull
+    @FutureOrPresent
+    private LocalDate date;
+    @NotNull
+    private LocalTime windowStart; // Earliest acceptable start time.
+    @NotNull
+    private LocalTime windowEnd; // Latest acceptable start time.
+}
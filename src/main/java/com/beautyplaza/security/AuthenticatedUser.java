@@ -0,0 +1,44 @@
+package com.beautyplaza.security;
+
+// Importing necessary Spring Security classes.
+import com.beautyplaza.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The Spring Security principal for an application user.
+ * Besides the email (username), password hash and authorities, it carries the user's ID and role, so code holding
+ * the principal (e.g. the login endpoint) does not need to load the User entity again.
+ */
+public class AuthenticatedUser extends User {
+
+    private static final long serialVersionUID = 1L; // Serial version UID for serialization.
+
+    private final String id; // The user's ID (UUID).
+    private final Role role; // The user's role.
+
+    /**
+     * @param id The user's ID.
+     * @param email The user's email, used as the username.
+     * @param password The password hash.
+     * @param enabled Whether the account is active.
+     * @param role The user's role.
+     * @param authorities The authorities derived from the role.
+     */
+    public AuthenticatedUser(String id, String email, String password, boolean enabled, Role role,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, enabled, true, true, true, authorities);
+        this.id = id;
+        this.role = role;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,113 @@
+package com.beautyplaza.security;
+
+// Importing necessary Spring and Java classes.
+import com.beautyplaza.exception.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder that runs the (deliberately slow) hashing and verification of its delegate on a small,
+ * dedicated thread pool with a bounded queue.
+ *
+ * A login storm can therefore keep at most 'threads' CPUs busy with BCrypt, and at most 'threads + queueCapacity'
+ * request threads waiting for it. Anything beyond that fails fast with 503 Service Unavailable instead of piling
+ * up on Tomcat threads and starving ordinary API calls.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitMillis;
+
+    /**
+     * @param delegate The encoder doing the actual work.
+     * @param threads Number of hashing threads.
+     * @param queueCapacity Hash/verify calls allowed to wait for a free thread.
+     * @param waitMillis Longest a caller waits for its result before getting 503.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long waitMillis) {
+        this.delegate = delegate;
+        this.waitMillis = waitMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // Full queue: reject instead of queueing without bound.
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Reports a hash as needing an upgrade only while there is no backlog, because the upgrade re-hashes the
+     * password on the login request. Skipped upgrades simply happen on a later login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * @return The number of hash/verify calls waiting for a thread.
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops the hashing threads when the application context closes.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException; // E.g. IllegalArgumentException for a malformed hash.
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ApiException busy() {
+        return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests right now. Please try again shortly.");
+    }
+}
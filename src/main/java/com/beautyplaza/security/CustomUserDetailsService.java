@@ -8,9 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -18,9 +20,10 @@ import java.util.Collections;
 /**
  * Custom implementation of Spring Security's UserDetailsService.
  * This service is responsible for loading user-specific data during the authentication process.
+ * As a UserDetailsPasswordService it also stores re-hashed passwords when an outdated hash is upgraded at login.
  */
 @Service // Marks this class as a Spring Service component.
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired // Injects UserRepository to fetch user details from the database.
     private UserRepository userRepository;
@@ -37,21 +40,45 @@ public class CustomUserDetailsService implements UserDetailsService {
         // Fetch user from the database by email.
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        return toUserDetails(user);
+    }
 
+    /**
+     * Builds the Spring Security view of an already loaded user, e.g. to issue a token at refresh without
+     * loading the user a second time.
+     * @param user The user entity.
+     * @return AuthenticatedUser object containing user information and authorities.
+     */
+    public AuthenticatedUser toUserDetails(User user) {
         // Create a GrantedAuthority list from the user's role.
         // Spring Security expects roles to be prefixed with "ROLE_".
         Collection<? extends GrantedAuthority> authorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
 
-        // Return a Spring Security User object.
-        return new org.springframework.security.core.userdetails.User(
+        // Return the principal, which also carries the user's ID and role.
+        return new AuthenticatedUser(
+                user.getId(),             // User ID
                 user.getEmail(),          // Username (email)
                 user.getPassword(),       // Hashed password
                 user.getIsActive(),       // Account enabled status
-                true,                     // Account non-expired
-                true,                     // Credentials non-expired
-                true,                     // Account non-locked
+                user.getRole(),           // User's role
                 authorities               // User's authorities (roles)
         );
     }
+
+    /**
+     * Stores an upgraded password hash. Called by Spring Security after a successful login when the
+     * PasswordEncoder reports that the stored hash is outdated (no {id} prefix or a lower BCrypt cost).
+     * @param user The authenticated user.
+     * @param newPassword The new, already encoded password.
+     * @return The user details with the new password.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        AuthenticatedUser principal = (AuthenticatedUser) user; // Always built by toUserDetails().
+        return new AuthenticatedUser(principal.getId(), principal.getUsername(), newPassword, principal.isEnabled(),
+                principal.getRole(), principal.getAuthorities());
+    }
 }
@@ -0,0 +1,200 @@
+package com.beautyplaza.security;
+
+// Importing necessary Java EE (Jakarta) and Spring Framework classes.
+import com.beautyplaza.exception.ErrorDetails;
+import com.beautyplaza.service.IdempotencyService;
+import com.beautyplaza.service.IdempotencyService.Claim;
+import com.beautyplaza.service.IdempotencyService.StoredResponse;
+import com.beautyplaza.util.DigestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Makes retried POST requests safe: a request carrying an 'Idempotency-Key' header is executed once per key
+ * and user, and retries get the first response replayed (marked with 'Idempotent-Replayed: true') without
+ * reaching the controller. Runs right after JwtAuthenticationFilter, so keys are scoped to the caller.
+ * Reusing a key for a different request is rejected with 422; a retry that arrives while the first request
+ * is still running on another instance gets 409 and should be retried later.
+ */
+@Component // Marks this class as a Spring component.
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired // Injects IdempotencyService for claiming keys and storing responses.
+    private IdempotencyService idempotencyService;
+
+    @Autowired // Injects the application's ObjectMapper to write error bodies.
+    private ObjectMapper objectMapper;
+
+    // POST paths (Ant patterns) that honour the header.
+    @Value("${idempotency.paths:/api/appointments,/api/appointments/bulk,/api/loyalty-points,/api/giftcards/redeem}")
+    private List<String> paths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response); // Unauthenticated requests are rejected further down the chain.
+            return;
+        }
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = DigestUtil.sha256Hex(request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                cachedRequest.body);
+        Claim claim = idempotencyService.claim(authentication.getName(), key, fingerprint);
+
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case MISMATCH -> writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request.");
+            case IN_PROGRESS -> writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed; retry later.");
+            case PROCEED -> execute(cachedRequest, response, filterChain, claim);
+        }
+    }
+
+    /**
+     * Executes the request while capturing its response, then stores it (or releases the key).
+     */
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain, Claim claim)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            stored = new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray());
+        } finally {
+            idempotencyService.complete(claim, stored); // A null response releases the key.
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Same body shape as GlobalExceptionHandler.
+        objectMapper.writeValue(response.getOutputStream(), new ErrorDetails(new Date(), message, "uri=" + request.getRequestURI()));
+    }
+
+    /**
+     * Reads the request body up front so it can be fingerprinted and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    Objects.requireNonNull(listener, "listener");
+                    // The body is already in memory, so it is all available at once.
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
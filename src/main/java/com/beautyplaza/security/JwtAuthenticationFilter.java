@@ -2,6 +2,8 @@ package com.beautyplaza.security;
 
 
 // Importing necessary Java EE (Jakarta) and Spring Framework classes.
+import com.beautyplaza.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +32,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired // Injects CustomUserDetailsService to load user details.
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired // Injects TokenRevocationService to reject revoked tokens (checked in memory).
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Performs filtering for every request.
      * It extracts the JWT from the request header, validates it, and sets the authentication
@@ -50,14 +55,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String requestHeader = request.getHeader("Authorization");
         String username = null;
         String token = null;
+        Claims claims = null;
 
         // Check if the header exists and starts with "Bearer ".
         if (requestHeader != null && requestHeader.startsWith("Bearer")) {
             // Extract the token (remove "Bearer " prefix).
             token = requestHeader.substring(7);
             try {
-                // Extract username (email) from the token.
-                username = this.jwtHelper.getUsernameFromToken(token);
+                // Extract the claims and the username (email) from the token.
+                claims = this.jwtHelper.getAllClaimsFromToken(token);
+                username = claims.getSubject();
             } catch (IllegalArgumentException e) {
                 logger.error("Illegal Argument while fetching the username !! " + e.getMessage());
             } catch (io.jsonwebtoken.ExpiredJwtException e) {
@@ -71,6 +78,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.warn("JWT Token does not begin with Bearer String or is null");
         }
 
+        // Revoked tokens (logout, "revoke all sessions") are treated like missing ones; checked before any database access.
+        if (username != null && this.tokenRevocationService.isRevoked(claims.getId(), username, claims.getIssuedAt())) {
+            logger.warn("Revoked JWT token presented for " + username);
+            username = null;
+        }
+
         // If username is extracted and no authentication is currently set in the SecurityContext.
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
@@ -14,6 +14,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -30,7 +31,7 @@ public class JwtHelper {
 
     // Token validity duration in milliseconds, loaded from application properties.
     @Value("${jwt.expiration}")
-    private long JWT_TOKEN_VALIDITY; // 5 hours in milliseconds
+    private long JWT_TOKEN_VALIDITY; // In seconds (15 minutes by default).
 
     /**
      * Retrieves the username (subject) from the JWT token.
@@ -67,7 +68,7 @@ public class JwtHelper {
      * @param token The JWT token.
      * @return The Claims object containing all claims from the token.
      */
-    private Claims getAllClaimsFromToken(String token) {
+    public Claims getAllClaimsFromToken(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey()) // Set the signing key for parsing.
                 .build()
@@ -99,7 +100,8 @@ public class JwtHelper {
 
     /**
      * Does the actual generation of the token.
-     * Defines claims of the token, subject, issued and expiration dates, and signs the token.
+     * Defines claims of the token, subject, a unique ID (so the token can be revoked individually),
+     * issued and expiration dates, and signs the token.
      * @param claims Custom claims to be included in the token.
      * @param subject The subject of the token (username/email).
      * @return The JWT token string.
@@ -108,6 +110,7 @@ public class JwtHelper {
         return Jwts.builder()
                 .setClaims(claims) // Set custom claims.
                 .setSubject(subject) // Set the subject (username).
+                .setId(UUID.randomUUID().toString()) // Set the token ID ('jti'), used for revocation.
                 .setIssuedAt(new Date(System.currentTimeMillis())) // Set issued date to current time.
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY * 1000)) // Set expiration date.
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512) // Sign the token with HS512 algorithm and secret key.
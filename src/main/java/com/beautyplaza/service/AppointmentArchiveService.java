@@ -0,0 +1,28 @@
+package com.beautyplaza.service;
+
+import java.time.LocalDate;
+
+/**
+ * Interface for moving historical appointments from the hot 'appointments' table into 'appointments_archive'.
+ * Only finished appointments (COMPLETED, PAID or CANCELLED) dated before the horizon are moved, so everything
+ * the booking paths touch stays in the hot table and its indexes stay small. Every archived appointment is
+ * dated before the current horizon, which lets readers skip the archive for ranges that end at or after it.
+ */
+public interface AppointmentArchiveService {
+
+    /**
+     * Moves finished appointments dated before the given date into the archive.
+     * Rows are moved in chunks of 'appointments.archive.chunk-size', each copied and deleted in its own
+     * transaction, so the run can be interrupted at any point without losing or duplicating an appointment.
+     * @param before Appointments dated strictly before this date are moved.
+     * @return The number of appointments moved.
+     * @throws IllegalArgumentException if the date is after the current horizon.
+     */
+    int archiveBefore(LocalDate before);
+
+    /**
+     * @return The current archive horizon: today minus 'appointments.archive.horizon-days'.
+     * Archived appointments are all dated before it; the hot table holds everything on or after it.
+     */
+    LocalDate getHorizon();
+}
@@ -3,6 +3,9 @@ package com.beautyplaza.service;
 
 // Importing the AppointmentDto and Java utilities.
 import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.BulkBookingResultDto;
+import com.beautyplaza.dto.TechnicianAgendaEntryDto;
+import com.beautyplaza.request.BulkBookingRequest;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,6 +21,23 @@ public interface AppointmentService {
      */
     AppointmentDto createAppointment(AppointmentDto appointmentDto);
 
+    /**
+     * Books several appointments at once, e.g. a recurring weekly booking or a group booking.
+     * All entries are validated against one batched load of the referenced customers, services, technicians and the
+     * technicians' booked slots, and the accepted ones are inserted in one transaction.
+     * @param request The entries, the mode and the number of weekly repetitions.
+     * @return One result per booking, in request order.
+     */
+    BulkBookingResultDto createAppointments(BulkBookingRequest request);
+
+    /**
+     * Books the slot offered to a waitlisted customer.
+     * @param waitlistEntryId The ID of the waitlist entry holding the offer.
+     * @param customerId The ID of the customer booking.
+     * @return The created AppointmentDto.
+     */
+    AppointmentDto bookWaitlistOffer(Long waitlistEntryId, String customerId);
+
     /**
      * Retrieves an appointment by its ID.
      * @param appointmentId The ID of the appointment to retrieve.
@@ -32,18 +52,39 @@ public interface AppointmentService {
     List<AppointmentDto> getAllAppointments();
 
     /**
-     * Retrieves appointments for a specific customer.
+     * Retrieves all appointments for a specific customer, including archived ones.
      * @param customerId The ID of the customer.
      * @return A list of AppointmentDtos for the given customer.
      */
     List<AppointmentDto> getAppointmentsByCustomerId(String customerId);
 
     /**
-     * Retrieves appointments for a specific technician.
+     * Retrieves a customer's appointments in a date range, including archived ones when the range reaches
+     * before the archive horizon.
+     * @param customerId The ID of the customer.
+     * @param from The first date (inclusive), or null for no lower bound.
+     * @param to The last date (inclusive), or null for no upper bound.
+     * @return A list of AppointmentDtos, oldest first.
+     */
+    List<AppointmentDto> getAppointmentsByCustomerId(String customerId, LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves a customer's upcoming appointments (soonest first) or past appointments (newest first).
+     * @param customerId The ID of the customer.
+     * @param upcoming True for upcoming appointments, false for past ones.
+     * @param limit The maximum number of appointments to return.
+     * @return A list of AppointmentDtos.
+     */
+    List<AppointmentDto> getCustomerTimeline(String customerId, boolean upcoming, int limit);
+
+    /**
+     * Retrieves a technician's agenda for a date range from the agenda read model.
      * @param technicianId The ID of the technician.
-     * @return A list of AppointmentDtos for the given technician.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return The agenda entries, ordered by date and time.
      */
-    List<AppointmentDto> getAppointmentsByTechnicianId(String technicianId);
+    List<TechnicianAgendaEntryDto> getTechnicianAgenda(String technicianId, LocalDate from, LocalDate to);
 
     /**
      * Retrieves appointments for a specific date.
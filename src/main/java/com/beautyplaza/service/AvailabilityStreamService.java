@@ -0,0 +1,30 @@
+package com.beautyplaza.service;
+
+// Importing Spring and Java classes.
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+
+/**
+ * Interface for the live availability feed of one technician on one day (Server-Sent Events).
+ * A subscriber first receives a 'snapshot' event with the booked start times, then 'slot-taken' and
+ * 'slot-freed' events as appointments are created, moved or deleted. Connections are held asynchronously,
+ * so an open stream costs memory but no thread.
+ */
+public interface AvailabilityStreamService {
+
+    /**
+     * Opens a stream for a technician and date.
+     * @param technicianId The ID of the technician.
+     * @param date The date to follow.
+     * @return The emitter to return from the controller.
+     * @throws com.beautyplaza.exception.ResourceNotFoundException if the technician does not exist.
+     * @throws com.beautyplaza.exception.ApiException (503) if this instance already holds the maximum number of streams.
+     */
+    SseEmitter subscribe(String technicianId, LocalDate date);
+
+    /**
+     * @return The number of streams currently open on this instance.
+     */
+    int getSubscriberCount();
+}
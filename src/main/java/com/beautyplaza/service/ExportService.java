@@ -0,0 +1,34 @@
+package com.beautyplaza.service;
+
+// Importing the ExportFormat and Spring's streaming body type.
+import com.beautyplaza.dto.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Interface for bulk export business logic.
+ * Exports are streamed row by row from a forward-only cursor, so memory use stays constant
+ * regardless of how many rows are exported.
+ */
+public interface ExportService {
+    /**
+     * Prepares a streaming export of all appointments, ordered by ID.
+     * @param format The output format (NDJSON or CSV).
+     * @return A StreamingResponseBody that writes the export when invoked.
+     */
+    StreamingResponseBody exportAppointments(ExportFormat format);
+
+    /**
+     * Prepares the list of all appointments, ordered by ID, as a JSON array of AppointmentDtos that is written
+     * while it is read from the database.
+     * @return A StreamingResponseBody that writes the list when invoked.
+     */
+    StreamingResponseBody streamAppointmentList();
+
+    /**
+     * Prepares a streaming export of a user's loyalty points history, ordered by ID.
+     * @param userId The ID of the user.
+     * @param format The output format (NDJSON or CSV).
+     * @return A StreamingResponseBody that writes the export when invoked.
+     */
+    StreamingResponseBody exportLoyaltyTransactions(String userId, ExportFormat format);
+}
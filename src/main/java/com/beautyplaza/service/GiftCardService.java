@@ -2,12 +2,16 @@
 package com.beautyplaza.service;
 
 import com.beautyplaza.dto.GiftCardDTO;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.exception.ResourceNotFoundException;
 import com.beautyplaza.model.GiftCard;
 import com.beautyplaza.repository.GiftCardRepository;
 import com.beautyplaza.request.GiftCardCreateRequest;
 import com.beautyplaza.request.RedeemGiftCardRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -39,16 +43,17 @@ public class GiftCardService {
                 .map(this::toGiftCardDTO);
     }
 
+    @Transactional // The card row stays locked until the new balance is committed.
     public GiftCardDTO redeemGiftCard(RedeemGiftCardRequest request) {
-        GiftCard giftCard = giftCardRepository.findByCode(request.getCardCode())
-                .orElseThrow(() -> new RuntimeException("Gift card not found: " + request.getCardCode()));
+        GiftCard giftCard = giftCardRepository.findWithLockByCode(request.getCardCode())
+                .orElseThrow(() -> new ResourceNotFoundException("GiftCard", "code", request.getCardCode()));
 
         if (!giftCard.isActive() || (giftCard.getExpiryDate() != null && giftCard.getExpiryDate().isBefore(LocalDate.now()))) {
-            throw new RuntimeException("Gift card is inactive or expired.");
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Gift card is inactive or expired.");
         }
 
         if (giftCard.getCurrentBalance().compareTo(request.getRedeemAmount()) < 0) {
-            throw new RuntimeException("Insufficient balance on gift card.");
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Insufficient balance on gift card.");
         }
 
         giftCard.setCurrentBalance(giftCard.getCurrentBalance().subtract(request.getRedeemAmount()));
@@ -0,0 +1,52 @@
+package com.beautyplaza.service;
+
+/**
+ * Interface for the 'Idempotency-Key' store behind the IdempotencyFilter.
+ * A request first claims its key: the first request with a key proceeds, later requests with the same key get
+ * the stored response replayed, and requests arriving while the first one is still executing wait for it.
+ * Responses are kept in a bounded local cache in front of the 'idempotency_keys' table.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Claims a key for a request, waiting for an in-flight request with the same key on this instance.
+     * @param principal The authenticated user; keys are scoped per user.
+     * @param key The value of the 'Idempotency-Key' header.
+     * @param fingerprint A hash of the request, used to detect a key reused for a different request.
+     * @return The claim; when its outcome is PROCEED the caller must pass it to complete() exactly once.
+     */
+    Claim claim(String principal, String key, String fingerprint);
+
+    /**
+     * Finishes a PROCEED claim. Responses worth replaying are stored; otherwise the key is released so the
+     * client can retry (server errors, authentication failures and rate limiting).
+     * @param claim The claim returned by claim().
+     * @param response The response produced, or null if the request failed with an exception.
+     */
+    void complete(Claim claim, StoredResponse response);
+
+    /**
+     * What the caller should do with a request.
+     */
+    enum Outcome {
+        PROCEED,     // First request with this key: execute it.
+        REPLAY,      // The key was used for the same request before: return the stored response.
+        MISMATCH,    // The key was used for a different request: reject.
+        IN_PROGRESS  // The first request with this key is still executing elsewhere: ask the client to retry later.
+    }
+
+    /**
+     * The result of claiming a key.
+     * @param outcome What to do with the request.
+     * @param scope The hashed, per-user key.
+     * @param response The stored response for REPLAY, otherwise null.
+     */
+    record Claim(Outcome outcome, String scope, StoredResponse response) {
+    }
+
+    /**
+     * A response as stored for replay.
+     */
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.beautyplaza.service;
+
+// Importing the balance DTO.
+import com.beautyplaza.dto.LoyaltyBalanceDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface for loyalty balance queries backed by periodic per-user snapshots.
+ * A balance is the latest applicable snapshot plus the ledger rows recorded after it,
+ * so no query ever has to scan a user's full history.
+ */
+public interface LoyaltyBalanceService {
+    /**
+     * Computes a user's balance at a point in time.
+     * @param userId The ID of the user.
+     * @param asOf The point in time, or null for the current balance.
+     * @return The LoyaltyBalanceDto.
+     * @throws com.beautyplaza.exception.ResourceNotFoundException if the user does not exist.
+     */
+    LoyaltyBalanceDto getBalance(String userId, LocalDateTime asOf);
+
+    /**
+     * Computes a user's current balance without validating the user.
+     * @param userId The ID of the user.
+     * @return The current points balance.
+     */
+    long getCurrentBalance(String userId);
+
+    /**
+     * Snapshots the balances of all users with ledger rows added since the last run.
+     * Processes the ledger in ID chunks and records progress, so an interrupted run resumes where it stopped.
+     * @return The number of snapshots written.
+     */
+    int createSnapshots();
+
+    /**
+     * Drops a user's snapshots that include a ledger row that was corrected or deleted.
+     * Must be called inside the transaction that changes the row.
+     * @param userId The ID of the user the row belongs (or belonged) to.
+     * @param transactionId The ID of the changed row.
+     */
+    void invalidate(String userId, Long transactionId);
+}
@@ -0,0 +1,22 @@
+package com.beautyplaza.service;
+
+import java.time.LocalDate;
+
+/**
+ * Interface for expiring loyalty points that were not redeemed in time.
+ * Points expire a configurable number of months after they were earned. Redemptions (and earlier
+ * expiries) consume the oldest points first, so only the part of the old points that was never
+ * spent is expired, as an EXPIRED ledger row.
+ */
+public interface LoyaltyExpiryService {
+
+    /**
+     * Runs the expiry sweep for a run date across all users.
+     * Users are split into ranges processed in parallel; each range walks its users in ID order in
+     * chunks and records its progress, so re-running the same date after a crash resumes where it stopped.
+     * The sweep is idempotent: running it twice for the same date expires nothing the second time.
+     * @param runDate The date of the run; points earned before this date minus the expiry period expire.
+     * @return The number of EXPIRED ledger rows written.
+     */
+    int expirePoints(LocalDate runDate);
+}
@@ -0,0 +1,24 @@
+package com.beautyplaza.service;
+
+/**
+ * Interface for rate limiting the endpoints that are expensive or guessable.
+ * Each check takes a token from a per-IP and a per-account bucket and throws
+ * com.beautyplaza.exception.RateLimitExceededException (429) when either is empty.
+ */
+public interface RateLimitService {
+
+    /**
+     * Checks a login attempt before the password is verified, so a burst of bad logins
+     * cannot keep the CPU busy with password hashing.
+     * @param clientIp The caller's IP address.
+     * @param email The account being logged into.
+     */
+    void checkLogin(String clientIp, String email);
+
+    /**
+     * Checks an OTP verification attempt, limiting how many codes can be guessed per appointment.
+     * @param clientIp The caller's IP address.
+     * @param appointmentId The appointment whose OTP is being verified.
+     */
+    void checkOtpVerification(String clientIp, Long appointmentId);
+}
@@ -0,0 +1,47 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.model.User;
+
+/**
+ * Interface for opaque, rotating refresh tokens.
+ * A refresh token lets a client get a new short-lived access token without sending the password again,
+ * which avoids the BCrypt cost of a full login.
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Issues the first refresh token of a new family, at login.
+     * @param userId The authenticated user's ID.
+     * @return The opaque token to hand to the client; it is not stored in this form.
+     */
+    String createRefreshToken(String userId);
+
+    /**
+     * Rotates a refresh token: marks it as used and issues its successor.
+     * Reusing an already rotated token revokes the whole family.
+     * @param refreshToken The token presented by the client.
+     * @return The user and the new refresh token.
+     * @throws com.beautyplaza.exception.ApiException with 401 if the token is unknown, expired, reused, or the user is inactive.
+     */
+    Rotation rotate(String refreshToken);
+
+    /**
+     * Revokes the family of a refresh token, e.g. at logout. Unknown tokens are ignored.
+     * @param refreshToken The token presented by the client.
+     */
+    void revokeFamily(String refreshToken);
+
+    /**
+     * Revokes every refresh token of a user.
+     * @param userId The user's ID.
+     */
+    void revokeAllForUser(String userId);
+
+    /**
+     * Result of a rotation.
+     * @param user The token's user.
+     * @param refreshToken The new refresh token.
+     */
+    record Rotation(User user, String refreshToken) {
+    }
+}
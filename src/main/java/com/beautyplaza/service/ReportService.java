@@ -0,0 +1,47 @@
+package com.beautyplaza.service;
+
+// Importing DTOs for report results.
+import com.beautyplaza.dto.DailyRevenueDto;
+import com.beautyplaza.dto.RevenueBreakdownDto;
+import com.beautyplaza.dto.TechnicianUtilizationDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for management reports.
+ * All reports read the pre-aggregated revenue rollups only, never the appointments table.
+ */
+public interface ReportService {
+    /**
+     * Retrieves revenue per day for a date range.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of DailyRevenueDtos ordered by date.
+     */
+    List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves revenue per service for a date range.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of RevenueBreakdownDtos keyed by service ID, highest revenue first.
+     */
+    List<RevenueBreakdownDto> getRevenueByService(LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves revenue per technician for a date range.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of RevenueBreakdownDtos keyed by technician ID, highest revenue first.
+     */
+    List<RevenueBreakdownDto> getRevenueByTechnician(LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves technician utilization (booked minutes / available minutes) for a date range.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return A list of TechnicianUtilizationDtos for technicians with completed work in the range.
+     */
+    List<TechnicianUtilizationDto> getTechnicianUtilization(LocalDate from, LocalDate to);
+}
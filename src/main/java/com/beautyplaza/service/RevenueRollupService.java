@@ -0,0 +1,105 @@
+package com.beautyplaza.service;
+
+// Importing the Appointment entity, its status enum and the status outbox event.
+import com.beautyplaza.model.Appointment;
+import com.beautyplaza.model.AppointmentStatus;
+import com.beautyplaza.model.AppointmentStatusEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for maintaining the revenue rollup tables.
+ * Rollups are adjusted incrementally whenever an appointment's contribution changes (status changes
+ * arrive in batches from the status outbox, edits and deletes are applied directly) and rebuilt
+ * from the appointments table by a nightly reconciliation job.
+ */
+public interface RevenueRollupService {
+
+    /**
+     * Applies the difference between two states of the same appointment to the rollups.
+     * Must be called inside the transaction that changes the appointment. Deltas are additive,
+     * so it does not matter in which order direct edits and outbox events are applied.
+     * @param before The appointment's contribution before the change, or null for a new appointment.
+     * @param after The appointment's contribution after the change, or null for a deleted appointment.
+     */
+    void recordChange(Contribution before, Contribution after);
+
+    /**
+     * Applies many changes at once. Deltas that land on the same rollup row are merged first,
+     * so a batch of status changes on the same day costs a handful of upserts.
+     * @param changes The changes to apply.
+     */
+    void recordChanges(List<Change> changes);
+
+    /**
+     * Recomputes the rollups for a date range from the appointments table.
+     * Status changes whose outbox events are still pending are left out, since the dispatcher applies them afterwards.
+     * @param from The first appointment date to rebuild (inclusive).
+     * @param to The last appointment date to rebuild (inclusive).
+     * @return The number of rollup rows written.
+     */
+    int rebuild(LocalDate from, LocalDate to);
+
+    /**
+     * A before/after pair of contributions of the same appointment; either side may be null.
+     */
+    record Change(Contribution before, Contribution after) {
+    }
+
+    /**
+     * What a single appointment contributes to the rollups.
+     * Only COMPLETED, PAID and CANCELLED appointments contribute anything.
+     */
+    record Contribution(LocalDate date, Long serviceId, String technicianId, AppointmentStatus status,
+                        BigDecimal netAmount, int minutes) {
+
+        /**
+         * Captures an appointment's current contribution. The service is only loaded for completed appointments.
+         * @param appointment The appointment.
+         * @return The contribution snapshot.
+         */
+        public static Contribution of(Appointment appointment) {
+            if (!isCompleted(appointment.getStatus())) {
+                return new Contribution(appointment.getAppointmentDate(), appointment.getService().getId(),
+                        appointment.getTechnician().getId(), appointment.getStatus(), BigDecimal.ZERO, 0);
+            }
+            BigDecimal total = appointment.getTotalAmount() != null ? appointment.getTotalAmount() : BigDecimal.ZERO;
+            BigDecimal discount = appointment.getLoyaltyDiscount() != null ? appointment.getLoyaltyDiscount() : BigDecimal.ZERO;
+            return new Contribution(appointment.getAppointmentDate(), appointment.getService().getId(),
+                    appointment.getTechnician().getId(), appointment.getStatus(), total.subtract(discount),
+                    appointment.getService().getDuration());
+        }
+
+        /**
+         * Rebuilds an appointment's contribution in the given status from the snapshot taken by an outbox event.
+         * @param event The status change event.
+         * @param status The event's from or to status.
+         * @return The contribution snapshot.
+         */
+        public static Contribution of(AppointmentStatusEvent event, AppointmentStatus status) {
+            BigDecimal netAmount = event.getNetAmount() != null ? event.getNetAmount() : BigDecimal.ZERO;
+            int minutes = event.getServiceMinutes() != null ? event.getServiceMinutes() : 0;
+            return new Contribution(event.getAppointmentDate(), event.getServiceId(), event.getTechnicianId(), status, netAmount, minutes);
+        }
+
+        /**
+         * @return true if the appointment counts towards revenue and booked minutes.
+         */
+        public boolean completed() {
+            return isCompleted(status);
+        }
+
+        /**
+         * @return true if the appointment counts as cancelled.
+         */
+        public boolean cancelled() {
+            return status == AppointmentStatus.CANCELLED;
+        }
+
+        private static boolean isCompleted(AppointmentStatus status) {
+            return status == AppointmentStatus.COMPLETED || status == AppointmentStatus.PAID;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.beautyplaza.service;
+
+// Importing necessary classes.
+import com.beautyplaza.dto.TechnicianAgendaEntryDto;
+import com.beautyplaza.model.Appointment;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for the technician agenda read model ('technician_agenda_entries').
+ * The write methods must be called inside the transaction that changes the appointment, user or service,
+ * so the agenda commits or rolls back together with it.
+ */
+public interface TechnicianAgendaService {
+
+    /**
+     * Retrieves a technician's agenda for a date range. Today and tomorrow are served from memory.
+     * @param technicianId The ID of the technician.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return The agenda entries, ordered by date and time.
+     */
+    List<TechnicianAgendaEntryDto> getAgenda(String technicianId, LocalDate from, LocalDate to);
+
+    /**
+     * Creates or replaces the agenda entry of an appointment.
+     * @param appointment The appointment as saved.
+     */
+    void record(Appointment appointment);
+
+    /**
+     * Creates the agenda entries of newly inserted appointments with one batched statement.
+     * @param appointments The new appointments, with IDs, customers and services set.
+     */
+    void recordNew(List<Appointment> appointments);
+
+    /**
+     * Removes the agenda entry of a deleted appointment.
+     * @param appointment The deleted appointment.
+     */
+    void remove(Appointment appointment);
+
+    /**
+     * Copies a customer's new name onto their agenda entries.
+     * @param customerId The ID of the customer.
+     * @param fullName The new full name.
+     */
+    void renameCustomer(String customerId, String fullName);
+
+    /**
+     * Copies a service's new name and duration onto the agenda entries booking it.
+     * @param serviceId The ID of the service.
+     * @param name The new name.
+     * @param durationMinutes The new duration in minutes.
+     */
+    void updateService(Long serviceId, String name, Integer durationMinutes);
+
+    /**
+     * Rebuilds the agenda from the appointments table (e.g. after appointments were loaded in bulk).
+     * @return The number of entries written.
+     */
+    int rebuild();
+}
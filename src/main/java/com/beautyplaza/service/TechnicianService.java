@@ -4,6 +4,8 @@ package com.beautyplaza.service;
 
 // Importing the TechnicianDto and Java utilities.
 import com.beautyplaza.dto.TechnicianDto;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -50,4 +52,13 @@ public interface TechnicianService {
      * @param technicianId The ID of the technician to delete.
      */
     void deleteTechnician(String technicianId);
+
+    /**
+     * Retrieves the technicians who offer a service and are free to start it at a given date and time.
+     * @param serviceId The ID of the service.
+     * @param date The date.
+     * @param time The start time.
+     * @return A list of TechnicianDtos, by name.
+     */
+    List<TechnicianDto> findAvailableTechnicians(Long serviceId, LocalDate date, LocalTime time);
 }
@@ -0,0 +1,40 @@
+package com.beautyplaza.service;
+
+// Importing necessary classes.
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interface for the technician specialty index: specialty -> IDs of the technicians offering it.
+ * The write methods must be called inside the transaction that changes the technician, so the
+ * 'technician_specialties' rows commit or roll back together with it; the in-memory index follows after the commit.
+ */
+public interface TechnicianSpecialtyService {
+
+    /**
+     * Looks up the technicians offering a specialty. Answered from memory.
+     * @param specialty The specialty or service name; case and surrounding whitespace are ignored.
+     * @return The IDs of the technicians; an unmodifiable, possibly empty set.
+     */
+    Set<String> getTechnicianIds(String specialty);
+
+    /**
+     * Replaces a technician's specialties.
+     * @param technicianId The ID of the technician.
+     * @param specialties The technician's specialties as entered.
+     */
+    void replace(String technicianId, List<String> specialties);
+
+    /**
+     * Removes a deleted technician from the index.
+     * @param technicianId The ID of the technician.
+     */
+    void remove(String technicianId);
+
+    /**
+     * Rebuilds 'technician_specialties' and the index from the technicians' JSON column
+     * (e.g. after technicians were loaded directly into the database).
+     * @return The number of rows written.
+     */
+    int rebuild();
+}
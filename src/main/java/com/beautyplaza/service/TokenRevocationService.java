@@ -0,0 +1,35 @@
+package com.beautyplaza.service;
+
+import java.util.Date;
+
+/**
+ * Interface for revoking JWTs before they expire.
+ * Revocations are stored in the database and mirrored into an in-memory view on every instance (refreshed by
+ * polling), so checking a token on each request does not touch the database.
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revokes a single token, e.g. at logout.
+     * @param jti The token's 'jti' claim.
+     * @param username The token's subject (email).
+     * @param expiresAt The token's expiry; the revocation is kept until then.
+     */
+    void revokeToken(String jti, String username, Date expiresAt);
+
+    /**
+     * Revokes every token issued to a user so far ("sign out everywhere").
+     * Tokens issued within the same second as the revocation are rejected too, since 'iat' has second precision.
+     * @param username The user's email.
+     */
+    void revokeAllForUser(String username);
+
+    /**
+     * Checks a token against the in-memory view of revocations. Does not access the database.
+     * @param jti The token's 'jti' claim, or null for tokens issued before IDs were added.
+     * @param username The token's subject (email).
+     * @param issuedAt The token's 'iat' claim.
+     * @return True if the token has been revoked.
+     */
+    boolean isRevoked(String jti, String username, Date issuedAt);
+}
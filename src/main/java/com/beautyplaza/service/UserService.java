@@ -51,6 +51,12 @@ public interface UserService {
      */
     void deleteUser(String userId);
 
+    /**
+     * Revokes every token issued to a user so far, signing them out on all devices.
+     * @param userId The ID of the user.
+     */
+    void revokeAllSessions(String userId);
+
     /**
      * Checks if a user exists by email.
      * @param email The email to check.
@@ -0,0 +1,65 @@
+package com.beautyplaza.service;
+
+// Importing necessary classes.
+import com.beautyplaza.dto.WaitlistEntryDto;
+import com.beautyplaza.model.WaitlistEntry;
+import com.beautyplaza.request.WaitlistRequest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Interface for the appointment waitlist.
+ * When a slot is freed (an appointment is cancelled, deleted or moved), it is offered to the first waiting customer
+ * whose technician or service, date and time window match. The slot is then held for that customer for
+ * 'waitlist.hold-minutes'; if they do not book it in time, it is offered to the next one.
+ */
+public interface WaitlistService {
+
+    /**
+     * Adds a customer to the waitlist.
+     * @param customerId The ID of the customer.
+     * @param request The wanted technician or service, date and time window.
+     * @return The created entry.
+     */
+    WaitlistEntryDto join(String customerId, WaitlistRequest request);
+
+    /**
+     * Retrieves a customer's waitlist entries, including open offers.
+     * @param customerId The ID of the customer.
+     * @return The entries, by date and window.
+     */
+    List<WaitlistEntryDto> getEntries(String customerId);
+
+    /**
+     * Removes a customer from the waitlist. A slot held for the entry is offered to the next customer.
+     * @param entryId The ID of the entry.
+     * @param customerId The ID of the customer leaving.
+     */
+    void leave(Long entryId, String customerId);
+
+    /**
+     * Retrieves an entry whose offer is open, for booking the offered slot.
+     * @param entryId The ID of the entry.
+     * @param customerId The ID of the customer booking.
+     * @return The entry, in state OFFERED.
+     */
+    WaitlistEntry getOpenOffer(Long entryId, String customerId);
+
+    /**
+     * Marks an offer as booked, which releases its hold once the booking transaction commits.
+     * Must be called inside the transaction that books the appointment.
+     * @param entry The entry whose offered slot was booked.
+     */
+    void markBooked(WaitlistEntry entry);
+
+    /**
+     * Rejects a booking of a slot that is held for another customer.
+     * @param technicianId The ID of the technician.
+     * @param date The date of the slot.
+     * @param time The start time of the slot.
+     * @param customerId The ID of the customer booking.
+     */
+    void checkHold(String technicianId, LocalDate date, LocalTime time, String customerId);
+}
@@ -0,0 +1,144 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.service.AppointmentArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the AppointmentArchiveService interface.
+ * The hot table is walked in primary key order (keyset pagination on 'id'), reading the date and status of
+ * 'appointments.archive.chunk-size' rows at a time and picking the archivable ones in memory. The walk reads only
+ * the primary key; filtering on date and status in SQL would let the optimizer pick the status/date index and
+ * re-read every old row for each chunk. Each chunk is then moved with two set-based statements on its ID list,
+ * in one transaction: INSERT ... SELECT into the archive, and a DELETE with the same condition.
+ *
+ * The horizon must stay well beyond 'reporting.rollup.reconcile-days': the nightly rollup reconciliation
+ * recomputes recent days from the hot table only.
+ */
+@Service // Marks this class as a Spring Service component.
+public class AppointmentArchiveServiceImpl implements AppointmentArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentArchiveServiceImpl.class);
+
+    // Statuses that are never changed again, so such appointments can be archived.
+    private static final Set<String> FINISHED = Set.of("COMPLETED", "PAID", "CANCELLED");
+
+    // Re-checked when moving, in case an appointment was edited after the walk read it.
+    private static final String ARCHIVABLE =
+            "id IN (:ids) AND appointment_date < :before AND status IN ('COMPLETED', 'PAID', 'CANCELLED')";
+
+    // Next chunk of rows after the last one read, in primary key order.
+    private static final String NEXT_ROWS_SQL =
+            "SELECT id, appointment_date, status FROM appointments WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String COLUMNS =
+            "id, customer_id, service_id, technician_id, appointment_date, appointment_time, service_type, status, notes, " +
+                    "customer_phone, customer_email, total_amount, loyalty_points_used, loyalty_discount, otp_verified, " +
+                    "created_at, updated_at";
+
+    private static final String COPY_SQL =
+            "INSERT INTO appointments_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS + ", :archivedAt " +
+                    "FROM appointments WHERE " + ARCHIVABLE;
+
+    private static final String DELETE_SQL = "DELETE FROM appointments WHERE " + ARCHIVABLE;
+
+    // The agenda read model only covers the hot table.
+    private static final String AGENDA_DELETE_SQL =
+            "DELETE FROM technician_agenda_entries WHERE appointment_id IN (SELECT id FROM appointments_archive WHERE id IN (:ids))";
+
+    @Autowired // Injects JdbcTemplate for the keyset walk.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects NamedParameterJdbcTemplate for the IN-list copy and delete.
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired // Injects the transaction manager for per-chunk transactions.
+    private PlatformTransactionManager transactionManager;
+
+    // Appointments older than this many days are moved to the archive.
+    @Value("${appointments.archive.horizon-days:730}")
+    private int horizonDays;
+
+    // Number of appointments moved per chunk (and per transaction).
+    @Value("${appointments.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Nightly archive run. Runs at 03:30 by default, after the rollup reconciliation.
+     */
+    @Scheduled(cron = "${appointments.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        LocalDate horizon = getHorizon();
+        long start = System.currentTimeMillis();
+        int moved = archiveBefore(horizon);
+        log.info("Archived {} appointments dated before {} in {} ms", moved, horizon, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public int archiveBefore(LocalDate before) {
+        if (before.isAfter(getHorizon())) {
+            // Readers rely on the archive holding nothing on or after the horizon.
+            throw new IllegalArgumentException("Cannot archive appointments on or after the horizon " + getHorizon());
+        }
+        Date beforeDate = Date.valueOf(before);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+        int moved = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>();
+            long[] last = {lastId};
+            jdbcTemplate.query(NEXT_ROWS_SQL, (RowCallbackHandler) rs -> {
+                last[0] = rs.getLong(1);
+                if (rs.getDate(2).before(beforeDate) && FINISHED.contains(rs.getString(3))) {
+                    ids.add(last[0]);
+                }
+            }, lastId, chunkSize);
+            if (last[0] == lastId) {
+                return moved; // Reached the end of the table.
+            }
+            lastId = last[0];
+            if (ids.isEmpty()) {
+                continue;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("before", beforeDate)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            Integer chunk = transaction.execute(status -> {
+                int copied = namedParameterJdbcTemplate.update(COPY_SQL, params);
+                int deleted = namedParameterJdbcTemplate.update(DELETE_SQL, params);
+                if (copied != deleted) {
+                    // A row changed between the two statements; roll the chunk back and stop, the next run retries it.
+                    throw new IllegalStateException("Archived " + copied + " appointments but deleted " + deleted);
+                }
+                namedParameterJdbcTemplate.update(AGENDA_DELETE_SQL, params);
+                return deleted;
+            });
+            moved += chunk == null ? 0 : chunk;
+        }
+    }
+
+    @Override
+    public LocalDate getHorizon() {
+        return LocalDate.now().minusDays(horizonDays);
+    }
+}
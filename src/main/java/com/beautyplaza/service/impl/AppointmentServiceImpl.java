@@ -3,25 +3,56 @@ package com.beautyplaza.service.impl;
 
 // Importing necessary classes for service logic.
 import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.BulkBookingItemResultDto;
+import com.beautyplaza.dto.BulkBookingMode;
+import com.beautyplaza.dto.BulkBookingResultDto;
+import com.beautyplaza.dto.TechnicianAgendaEntryDto;
+import com.beautyplaza.event.SlotChangedEvent;
 import com.beautyplaza.model.*; // Import all entities
 import com.beautyplaza.exception.ApiException;
 import com.beautyplaza.exception.ResourceNotFoundException;
 import com.beautyplaza.repository.AppointmentRepository;
+import com.beautyplaza.repository.AppointmentStatusEventRepository;
+import com.beautyplaza.repository.ArchivedAppointmentRepository;
 import com.beautyplaza.repository.BeautyServiceRepository;
 import com.beautyplaza.repository.TechnicianRepository;
 import com.beautyplaza.repository.UserRepository;
+import com.beautyplaza.request.BulkBookingRequest;
+import com.beautyplaza.service.AppointmentArchiveService;
 import com.beautyplaza.service.AppointmentService;
+import com.beautyplaza.service.RevenueRollupService;
+import com.beautyplaza.service.TechnicianAgendaService;
+import com.beautyplaza.service.WaitlistService;
 import com.beautyplaza.util.OtpUtil; // Import OtpUtil
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +62,23 @@ import java.util.stream.Collectors;
 @Service // Marks this class as a Spring Service component.
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final Logger log = LoggerFactory.getLogger(AppointmentServiceImpl.class);
+
+    // Orders appointment DTOs by date and time, oldest first.
+    private static final Comparator<AppointmentDto> BY_DATE_TIME =
+            Comparator.comparing(AppointmentDto::getAppointmentDate).thenComparing(AppointmentDto::getAppointmentTime);
+
+    // Columns written by the batched insert of bulk bookings.
+    private static final String INSERT_SQL =
+            "INSERT INTO appointments (customer_id, service_id, technician_id, appointment_date, appointment_time, " +
+                    "service_type, status, notes, customer_phone, customer_email, total_amount, loyalty_points_used, " +
+                    "loyalty_discount, otp_verified, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Bounds used for an open-ended customer history range.
+    private static final LocalDate FIRST_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+
     @Autowired // Injects AppointmentRepository for database interaction.
     private AppointmentRepository appointmentRepository;
 
@@ -49,6 +97,38 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Autowired // Injects OtpUtil for OTP generation and verification.
     private OtpUtil otpUtil;
 
+    @Autowired // Injects RevenueRollupService to keep the reporting rollups in step with edits and deletes.
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired // Injects the status outbox; status changes are handled downstream by AppointmentEventConsumers.
+    private AppointmentStatusEventRepository statusEventRepository;
+
+    @Autowired // Injects ArchivedAppointmentRepository to read appointments older than the archive horizon.
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Autowired // Injects AppointmentArchiveService for the current archive horizon.
+    private AppointmentArchiveService appointmentArchiveService;
+
+    @Autowired // Injects the event publisher; slot changes reach the availability streams after the commit.
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired // Injects TechnicianAgendaService to keep the agenda read model in step with every write.
+    private TechnicianAgendaService technicianAgendaService;
+
+    @Autowired // Injects WaitlistService; slots offered to waitlisted customers are held for them.
+    private WaitlistService waitlistService;
+
+    @Autowired // Injects JdbcTemplate for the batched insert of bulk bookings.
+    private JdbcTemplate jdbcTemplate;
+
+    // Most appointments one bulk booking may create (after weekly repetition).
+    @Value("${appointments.bulk.max-items:200}")
+    private int bulkMaxItems;
+
+    // Longest date range, in days, one technician agenda request may cover.
+    @Value("${appointments.agenda.max-range-days:31}")
+    private int agendaMaxRangeDays;
+
     /**
      * Creates a new appointment.
      * Performs validation for customer, service, technician existence and availability.
@@ -74,11 +154,12 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Technician is not available for bookings.");
         }
 
-        // Check for existing appointments for the technician at the exact time.
-        if (appointmentRepository.existsByTechnicianIdAndAppointmentDateAndAppointmentTime(
-                technician.getId(), appointmentDto.getAppointmentDate(), appointmentDto.getAppointmentTime())) {
+        // Check for existing appointments for the technician at the exact time; cancelled ones no longer hold the slot.
+        if (appointmentRepository.existsByTechnicianIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
+                technician.getId(), appointmentDto.getAppointmentDate(), appointmentDto.getAppointmentTime(), AppointmentStatus.CANCELLED)) {
             throw new ApiException(HttpStatus.CONFLICT, "Technician already has an appointment at this date and time.");
         }
+        waitlistService.checkHold(technician.getId(), appointmentDto.getAppointmentDate(), appointmentDto.getAppointmentTime(), customer.getId());
 
         // Map DTO to Entity.
         Appointment appointment = modelMapper.map(appointmentDto, Appointment.class);
@@ -93,28 +174,176 @@ public class AppointmentServiceImpl implements AppointmentService {
             appointment.setTotalAmount(service.getPrice());
         }
 
-        // Generate and potentially send OTP (simulated here)
-        String generatedOtp = otpUtil.generateOtp(appointment.getCustomerEmail());
-        // In a real application, you would send this OTP via email/SMS.
-        System.out.println("Generated OTP for appointment " + appointment.getId() + " (" + appointment.getCustomerEmail() + "): " + generatedOtp);
-
         // Save the new appointment to the database.
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        technicianAgendaService.record(savedAppointment);
+        publishSlotChange(savedAppointment, true);
+        sendOtp(List.of(savedAppointment)); // After the save, which assigns the ID the OTP is keyed by.
         // Map the saved Entity back to DTO and return.
         return modelMapper.map(savedAppointment, AppointmentDto.class);
     }
 
     /**
-     * Retrieves an appointment by its unique ID.
+     * Books several appointments at once.
+     * Customers, services, technicians and the booked slots of the affected technicians' days are each loaded with
+     * one query; every entry is then checked in memory, including against the entries accepted before it. The accepted
+     * appointments and their agenda entries are inserted with batched statements in this transaction. In ALL_OR_NOTHING
+     * mode nothing is inserted unless every entry is valid.
+     * @param request The entries, the mode and the number of weekly repetitions.
+     * @return One result per booking, in request order.
+     * @throws ApiException (400) if the request expands to more than 'appointments.bulk.max-items' bookings.
+     */
+    @Override
+    @Transactional // All accepted bookings are inserted in one transaction.
+    public BulkBookingResultDto createAppointments(BulkBookingRequest request) {
+        // Expand recurring entries: each entry is followed by its weekly repetitions, which share the entry's DTO.
+        List<AppointmentDto> items = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        for (AppointmentDto entry : request.getAppointments()) {
+            for (int week = 0; week < request.getRepeatWeeks(); week++) {
+                items.add(entry);
+                dates.add(entry.getAppointmentDate().plusWeeks(week));
+            }
+        }
+        if (items.size() > bulkMaxItems) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "A bulk booking may create at most " + bulkMaxItems + " appointments.");
+        }
+
+        // One batched load per referenced entity type.
+        Map<String, User> customers = userRepository.findAllById(items.stream().map(AppointmentDto::getCustomerId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, user -> user));
+        Map<Long, BeautyService> services = serviceRepository.findAllById(items.stream().map(AppointmentDto::getServiceId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(BeautyService::getId, service -> service));
+        Map<String, Technician> technicians = technicianRepository.findAllById(items.stream().map(AppointmentDto::getTechnicianId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Technician::getId, technician -> technician));
+
+        // One load of the booked slots on the affected technicians' days.
+        Set<String> taken = new HashSet<>();
+        if (!technicians.isEmpty()) {
+            for (Object[] slot : appointmentRepository.findSlotsByTechnicianIdsAndDates(technicians.keySet(), new HashSet<>(dates))) {
+                taken.add(slotKey((String) slot[0], (LocalDate) slot[1], (LocalTime) slot[2]));
+            }
+        }
+
+        List<BulkBookingItemResultDto> results = new ArrayList<>();
+        List<Appointment> accepted = new ArrayList<>();
+        List<BulkBookingItemResultDto> acceptedResults = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            AppointmentDto item = items.get(i);
+            LocalDate date = dates.get(i);
+            BulkBookingItemResultDto result = new BulkBookingItemResultDto(i, date, item.getAppointmentTime(),
+                    item.getTechnicianId(), "INVALID", null, null);
+            results.add(result);
+
+            User customer = customers.get(item.getCustomerId());
+            BeautyService service = services.get(item.getServiceId());
+            Technician technician = technicians.get(item.getTechnicianId());
+            ServiceType serviceType = parseServiceType(item.getServiceType());
+            if (customer == null) {
+                result.setMessage("Customer not found with id : '" + item.getCustomerId() + "'");
+            } else if (service == null) {
+                result.setMessage("Service not found with id : '" + item.getServiceId() + "'");
+            } else if (technician == null) {
+                result.setMessage("Technician not found with id : '" + item.getTechnicianId() + "'");
+            } else if (!technician.getIsAvailable()) {
+                result.setMessage("Technician is not available for bookings.");
+            } else if (serviceType == null) {
+                result.setMessage("Invalid service type: " + item.getServiceType());
+            } else if (!taken.add(slotKey(technician.getId(), date, item.getAppointmentTime()))) {
+                result.setStatus("CONFLICT");
+                result.setMessage("Technician already has an appointment at this date and time.");
+            } else if (isHeldForOthers(technician.getId(), date, item.getAppointmentTime(), customer.getId())) {
+                result.setStatus("CONFLICT");
+                result.setMessage("This slot is held for a waitlisted customer.");
+            } else {
+                Appointment appointment = new Appointment();
+                appointment.setCustomer(customer);
+                appointment.setService(service);
+                appointment.setTechnician(technician);
+                appointment.setAppointmentDate(date);
+                appointment.setAppointmentTime(item.getAppointmentTime());
+                appointment.setServiceType(serviceType);
+                appointment.setStatus(AppointmentStatus.SCHEDULED); // Default status.
+                appointment.setNotes(item.getNotes());
+                appointment.setCustomerPhone(item.getCustomerPhone());
+                appointment.setCustomerEmail(item.getCustomerEmail());
+                appointment.setTotalAmount(item.getTotalAmount() != null ? item.getTotalAmount() : service.getPrice());
+                appointment.setOtpVerified(false); // Initially, OTP is not verified.
+                accepted.add(appointment);
+                acceptedResults.add(result);
+            }
+        }
+
+        boolean complete = accepted.size() == items.size();
+        if (request.getMode() == BulkBookingMode.ALL_OR_NOTHING && !complete) {
+            acceptedResults.forEach(result -> {
+                result.setStatus("NOT_BOOKED");
+                result.setMessage("Not booked because other appointments in the request could not be booked.");
+            });
+            return new BulkBookingResultDto(request.getMode(), 0, items.size(), results);
+        }
+
+        insertAll(accepted);
+        technicianAgendaService.recordNew(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            Appointment appointment = accepted.get(i);
+            acceptedResults.get(i).setStatus("BOOKED");
+            acceptedResults.get(i).setAppointment(modelMapper.map(appointment, AppointmentDto.class));
+            publishSlotChange(appointment, true);
+        }
+        // One OTP per customer email, valid for each of that customer's appointments in the request.
+        accepted.stream()
+                .collect(Collectors.groupingBy(appointment -> Objects.toString(appointment.getCustomerEmail(), ""),
+                        LinkedHashMap::new, Collectors.toList()))
+                .values().forEach(this::sendOtp);
+        return new BulkBookingResultDto(request.getMode(), accepted.size(), items.size() - accepted.size(), results);
+    }
+
+    /**
+     * Books the slot offered to a waitlisted customer. The slot is held for them, so only they can book it
+     * until the offer expires.
+     * @param waitlistEntryId The ID of the waitlist entry holding the offer.
+     * @param customerId The ID of the customer booking.
+     * @return The created AppointmentDto.
+     * @throws ResourceNotFoundException if the entry is not found.
+     * @throws ApiException if the entry belongs to another customer (403) or has no open offer (409).
+     */
+    @Override
+    @Transactional // The booking and the end of the offer commit together.
+    public AppointmentDto bookWaitlistOffer(Long waitlistEntryId, String customerId) {
+        WaitlistEntry entry = waitlistService.getOpenOffer(waitlistEntryId, customerId);
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", customerId));
+
+        AppointmentDto appointmentDto = new AppointmentDto();
+        appointmentDto.setCustomerId(customerId);
+        appointmentDto.setServiceId(entry.getServiceId());
+        appointmentDto.setTechnicianId(entry.getOfferedTechnicianId());
+        appointmentDto.setAppointmentDate(entry.getWaitDate());
+        appointmentDto.setAppointmentTime(entry.getOfferedTime());
+        appointmentDto.setServiceType(entry.getServiceType().name());
+        appointmentDto.setCustomerEmail(customer.getEmail());
+        appointmentDto.setCustomerPhone(customer.getPhone());
+        AppointmentDto booked = createAppointment(appointmentDto);
+        waitlistService.markBooked(entry);
+        return booked;
+    }
+
+    /**
+     * Retrieves an appointment by its unique ID, falling back to the archive for historical appointments.
      * @param appointmentId The ID of the appointment to retrieve.
      * @return The AppointmentDto of the found appointment.
      * @throws ResourceNotFoundException if no appointment is found with the given ID.
      */
     @Override
     public AppointmentDto getAppointmentById(Long appointmentId) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Optional<Appointment> appointment = appointmentRepository.findById(appointmentId);
+        if (appointment.isPresent()) {
+            return modelMapper.map(appointment.get(), AppointmentDto.class);
+        }
+        ArchivedAppointment archived = archivedAppointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
-        return modelMapper.map(appointment, AppointmentDto.class);
+        return modelMapper.map(archived, AppointmentDto.class);
     }
 
     /**
@@ -129,31 +358,88 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     /**
-     * Retrieves appointments for a specific customer.
+     * Retrieves all appointments of a specific customer, hot and archived, oldest first.
      * @param customerId The ID of the customer.
      * @return A list of AppointmentDtos for the given customer.
      * @throws ResourceNotFoundException if the customer does not exist.
      */
     @Override
     public List<AppointmentDto> getAppointmentsByCustomerId(String customerId) {
+        return getAppointmentsByCustomerId(customerId, null, null);
+    }
+
+    /**
+     * Retrieves a customer's appointments in a date range, oldest first.
+     * The archive only holds appointments dated before the horizon, so it is read only when the range starts before it.
+     * @param customerId The ID of the customer.
+     * @param from The first date (inclusive), or null for no lower bound.
+     * @param to The last date (inclusive), or null for no upper bound.
+     * @return A list of AppointmentDtos for the given customer.
+     * @throws ResourceNotFoundException if the customer does not exist.
+     */
+    @Override
+    public List<AppointmentDto> getAppointmentsByCustomerId(String customerId, LocalDate from, LocalDate to) {
         userRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", customerId));
-        List<Appointment> appointments = appointmentRepository.findByCustomerId(customerId);
-        return appointments.stream().map(appointment -> modelMapper.map(appointment, AppointmentDto.class)).collect(Collectors.toList());
+        LocalDate first = from != null ? from : FIRST_DATE;
+        LocalDate last = to != null ? to : LAST_DATE;
+        List<AppointmentDto> appointments = new ArrayList<>();
+        appointmentRepository.findByCustomerIdAndAppointmentDateBetweenOrderByAppointmentDateAscAppointmentTimeAsc(customerId, first, last)
+                .forEach(appointment -> appointments.add(modelMapper.map(appointment, AppointmentDto.class)));
+        if (first.isBefore(appointmentArchiveService.getHorizon())) {
+            archivedAppointmentRepository.findByCustomerIdAndAppointmentDateBetweenOrderByAppointmentDateAscAppointmentTimeAsc(customerId, first, last)
+                    .forEach(archived -> appointments.add(modelMapper.map(archived, AppointmentDto.class)));
+            appointments.sort(BY_DATE_TIME); // Unfinished appointments older than the horizon stay in the hot table.
+        }
+        return appointments;
+    }
+
+    /**
+     * Retrieves a customer's upcoming or past appointments, up to a limit.
+     * Both directions read the (customer_id, appointment_date, appointment_time) index in order and stop at the limit.
+     * Past appointments continue into the archive only when the hot table cannot fill the page on its own: it returned
+     * fewer rows than the limit, or its oldest row is already before the horizon (where archived rows may interleave).
+     * @param customerId The ID of the customer.
+     * @param upcoming True for upcoming appointments (soonest first), false for past ones (newest first).
+     * @param limit The maximum number of appointments to return.
+     * @return A list of AppointmentDtos.
+     */
+    @Override
+    public List<AppointmentDto> getCustomerTimeline(String customerId, boolean upcoming, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, limit);
+        List<Appointment> appointments = upcoming
+                ? appointmentRepository.findUpcomingByCustomerId(customerId, now.toLocalDate(), now.toLocalTime(), page)
+                : appointmentRepository.findPastByCustomerId(customerId, now.toLocalDate(), now.toLocalTime(), page);
+        List<AppointmentDto> timeline = appointments.stream().map(appointment -> modelMapper.map(appointment, AppointmentDto.class)).collect(Collectors.toList());
+        if (upcoming || (timeline.size() == limit
+                && !timeline.get(limit - 1).getAppointmentDate().isBefore(appointmentArchiveService.getHorizon()))) {
+            return timeline;
+        }
+        archivedAppointmentRepository.findPastByCustomerId(customerId, page)
+                .forEach(archived -> timeline.add(modelMapper.map(archived, AppointmentDto.class)));
+        timeline.sort(BY_DATE_TIME.reversed());
+        return timeline.size() > limit ? new ArrayList<>(timeline.subList(0, limit)) : timeline;
     }
 
     /**
-     * Retrieves appointments for a specific technician.
+     * Retrieves a technician's agenda for a date range.
      * @param technicianId The ID of the technician.
-     * @return A list of AppointmentDtos for the given technician.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return The agenda entries, ordered by date and time.
      * @throws ResourceNotFoundException if the technician does not exist.
+     * @throws ApiException (400) if the range is reversed or longer than 'appointments.agenda.max-range-days'.
      */
     @Override
-    public List<AppointmentDto> getAppointmentsByTechnicianId(String technicianId) {
-        technicianRepository.findById(technicianId)
-                .orElseThrow(() -> new ResourceNotFoundException("Technician", "id", technicianId));
-        List<Appointment> appointments = appointmentRepository.findByTechnicianId(technicianId);
-        return appointments.stream().map(appointment -> modelMapper.map(appointment, AppointmentDto.class)).collect(Collectors.toList());
+    public List<TechnicianAgendaEntryDto> getTechnicianAgenda(String technicianId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= agendaMaxRangeDays) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "The agenda range must run forwards and span at most " + agendaMaxRangeDays + " days.");
+        }
+        if (!technicianRepository.existsById(technicianId)) {
+            throw new ResourceNotFoundException("Technician", "id", technicianId);
+        }
+        return technicianAgendaService.getAgenda(technicianId, from, to);
     }
 
     /**
@@ -181,6 +467,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     public AppointmentDto updateAppointment(Long appointmentId, AppointmentDto appointmentDto) {
         Appointment existingAppointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
+        RevenueRollupService.Contribution before = RevenueRollupService.Contribution.of(existingAppointment);
 
         // Update customer if provided and different.
         if (appointmentDto.getCustomerId() != null && !appointmentDto.getCustomerId().equals(existingAppointment.getCustomer().getId())) {
@@ -216,24 +503,25 @@ public class AppointmentServiceImpl implements AppointmentService {
             }
 
             // Check for conflicts with other appointments, excluding the current appointment being updated
-            if (appointmentRepository.existsByTechnicianIdAndAppointmentDateAndAppointmentTime(
-                    newTechnician.getId(), newDate, newTime) &&
+            if (appointmentRepository.existsByTechnicianIdAndAppointmentDateAndAppointmentTimeAndStatusNot(
+                    newTechnician.getId(), newDate, newTime, AppointmentStatus.CANCELLED) &&
                     // Ensure we're not checking against the appointment we are currently updating
                     !(existingAppointment.getTechnician().getId().equals(newTechnician.getId()) &&
                             existingAppointment.getAppointmentDate().equals(newDate) &&
                             existingAppointment.getAppointmentTime().equals(newTime))) {
                 throw new ApiException(HttpStatus.CONFLICT, "Technician already has an appointment at this updated date and time.");
             }
+            waitlistService.checkHold(newTechnician.getId(), newDate, newTime, existingAppointment.getCustomer().getId());
+            publishSlotChange(existingAppointment, false); // The old slot is freed...
             existingAppointment.setTechnician(newTechnician);
             existingAppointment.setAppointmentDate(newDate);
             existingAppointment.setAppointmentTime(newTime);
+            publishSlotChange(existingAppointment, true); // ...and the new one taken.
         }
 
         // Update other fields if provided.
         Optional.ofNullable(appointmentDto.getServiceType())
                 .ifPresent(type -> existingAppointment.setServiceType(ServiceType.valueOf(type.toUpperCase())));
-        Optional.ofNullable(appointmentDto.getStatus())
-                .ifPresent(status -> existingAppointment.setStatus(AppointmentStatus.valueOf(status.toUpperCase())));
         Optional.ofNullable(appointmentDto.getNotes()).ifPresent(existingAppointment::setNotes);
         Optional.ofNullable(appointmentDto.getCustomerPhone()).ifPresent(existingAppointment::setCustomerPhone);
         Optional.ofNullable(appointmentDto.getCustomerEmail()).ifPresent(existingAppointment::setCustomerEmail);
@@ -242,8 +530,14 @@ public class AppointmentServiceImpl implements AppointmentService {
         Optional.ofNullable(appointmentDto.getLoyaltyDiscount()).ifPresent(existingAppointment::setLoyaltyDiscount);
         Optional.ofNullable(appointmentDto.getOtpVerified()).ifPresent(existingAppointment::setOtpVerified);
 
+        // Field edits adjust the rollups directly; the status change below goes through the outbox.
+        revenueRollupService.recordChange(before, RevenueRollupService.Contribution.of(existingAppointment));
+        if (appointmentDto.getStatus() != null) {
+            changeStatus(existingAppointment, parseStatus(appointmentDto.getStatus()));
+        }
 
         Appointment updatedAppointment = appointmentRepository.save(existingAppointment);
+        technicianAgendaService.record(updatedAppointment);
         return modelMapper.map(updatedAppointment, AppointmentDto.class);
     }
 
@@ -253,20 +547,18 @@ public class AppointmentServiceImpl implements AppointmentService {
      * @param status The new status (e.g., "CONFIRMED", "COMPLETED").
      * @return The updated AppointmentDto.
      * @throws ResourceNotFoundException if the appointment is not found.
-     * @throws ApiException if the provided status is invalid.
+     * @throws ApiException if the provided status is invalid (400) or not reachable from the current status (409).
      */
     @Override
+    @Transactional // The status change and its outbox event commit together.
     public AppointmentDto updateAppointmentStatus(Long appointmentId, String status) {
         Appointment existingAppointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
 
-        try {
-            existingAppointment.setStatus(AppointmentStatus.valueOf(status.toUpperCase()));
-        } catch (IllegalArgumentException e) {
-            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid appointment status: " + status);
-        }
+        changeStatus(existingAppointment, parseStatus(status));
 
         Appointment updatedAppointment = appointmentRepository.save(existingAppointment);
+        technicianAgendaService.record(updatedAppointment);
         return modelMapper.map(updatedAppointment, AppointmentDto.class);
     }
 
@@ -280,14 +572,16 @@ public class AppointmentServiceImpl implements AppointmentService {
      * @throws ApiException if the OTP is invalid or expired.
      */
     @Override
+    @Transactional // The status change and its outbox event commit together.
     public AppointmentDto verifyOtp(Long appointmentId, String otp) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
 
-        if (otpUtil.validateOtp(appointment.getCustomerEmail(), otp)) {
+        if (otpUtil.validateOtp(otpKey(appointmentId), otp)) {
             appointment.setOtpVerified(true);
-            appointment.setStatus(AppointmentStatus.CONFIRMED); // Automatically confirm after OTP verification.
+            changeStatus(appointment, AppointmentStatus.CONFIRMED); // Automatically confirm after OTP verification.
             Appointment updatedAppointment = appointmentRepository.save(appointment);
+            technicianAgendaService.record(updatedAppointment);
             return modelMapper.map(updatedAppointment, AppointmentDto.class);
         } else {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid or expired OTP.");
@@ -300,9 +594,159 @@ public class AppointmentServiceImpl implements AppointmentService {
      * @throws ResourceNotFoundException if no appointment is found with the given ID.
      */
     @Override
+    @Transactional // The delete and the rollup adjustment commit together.
     public void deleteAppointment(Long appointmentId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
+        revenueRollupService.recordChange(RevenueRollupService.Contribution.of(appointment), null);
         appointmentRepository.delete(appointment);
+        technicianAgendaService.remove(appointment);
+        publishSlotChange(appointment, false);
+    }
+
+    /**
+     * Issues the OTP that confirms newly booked appointments of one customer: one code, stored under each
+     * appointment so every one of them can be verified with it.
+     * In a real application, the code would be sent to the customer's email/SMS here. It is never logged.
+     */
+    private void sendOtp(List<Appointment> appointments) {
+        otpUtil.generateOtp(appointments.stream().map(appointment -> otpKey(appointment.getId())).toList());
+        log.debug("Sent OTP for appointments {}", appointments.stream().map(Appointment::getId).toList());
+    }
+
+    /**
+     * The key an appointment's OTP is stored under.
+     */
+    private static String otpKey(Long appointmentId) {
+        return "appointment:" + appointmentId;
+    }
+
+    /**
+     * Announces that an appointment's slot was taken or freed.
+     * Listeners receive the event only once the surrounding transaction commits.
+     */
+    private void publishSlotChange(Appointment appointment, boolean taken) {
+        eventPublisher.publishEvent(new SlotChangedEvent(appointment.getTechnician().getId(),
+                appointment.getAppointmentDate(), appointment.getAppointmentTime(), taken, appointment.getService().getId()));
+    }
+
+    /**
+     * Checks a bulk booking entry against the waitlist holds.
+     */
+    private boolean isHeldForOthers(String technicianId, LocalDate date, LocalTime time, String customerId) {
+        try {
+            waitlistService.checkHold(technicianId, date, time, customerId);
+            return false;
+        } catch (ApiException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Inserts new appointments with one batched statement and sets their generated IDs.
+     */
+    private void insertAll(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Appointment appointment = appointments.get(i);
+                        appointment.setCreatedAt(now);
+                        appointment.setUpdatedAt(now);
+                        ps.setString(1, appointment.getCustomer().getId());
+                        ps.setLong(2, appointment.getService().getId());
+                        ps.setString(3, appointment.getTechnician().getId());
+                        ps.setObject(4, appointment.getAppointmentDate());
+                        ps.setObject(5, appointment.getAppointmentTime());
+                        ps.setString(6, appointment.getServiceType().name());
+                        ps.setString(7, appointment.getStatus().name());
+                        ps.setString(8, appointment.getNotes());
+                        ps.setString(9, appointment.getCustomerPhone());
+                        ps.setString(10, appointment.getCustomerEmail());
+                        ps.setBigDecimal(11, appointment.getTotalAmount());
+                        ps.setInt(12, appointment.getLoyaltyPointsUsed());
+                        ps.setBigDecimal(13, appointment.getLoyaltyDiscount());
+                        ps.setBoolean(14, appointment.getOtpVerified());
+                        ps.setObject(15, now);
+                        ps.setObject(16, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return appointments.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < appointments.size(); i++) {
+            appointments.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    /**
+     * Parses a service type such as "in-store" or "IN_STORE".
+     * @return The service type, or null if the value is not a known type.
+     */
+    private static ServiceType parseServiceType(String serviceType) {
+        try {
+            return ServiceType.valueOf(serviceType.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static String slotKey(String technicianId, LocalDate date, LocalTime time) {
+        return technicianId + '|' + date + '|' + time;
+    }
+
+    /**
+     * Parses a status request value (case-insensitive).
+     * @throws ApiException (400) if the value is not a known status.
+     */
+    private AppointmentStatus parseStatus(String status) {
+        try {
+            return AppointmentStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid appointment status: " + status);
+        }
+    }
+
+    /**
+     * Moves an appointment to a new status and records the change in the outbox.
+     * Setting the current status again is a no-op.
+     * @throws ApiException (409) if the transition is not allowed.
+     */
+    private void changeStatus(Appointment appointment, AppointmentStatus target) {
+        AppointmentStatus current = appointment.getStatus();
+        if (current == target) {
+            return;
+        }
+        if (!current.canTransitionTo(target)) {
+            throw new ApiException(HttpStatus.CONFLICT, "Cannot change appointment status from " + current + " to " + target + ".");
+        }
+        appointment.setStatus(target);
+        if (target == AppointmentStatus.CANCELLED) {
+            publishSlotChange(appointment, false); // A cancelled booking no longer holds its slot.
+        }
+
+        // Snapshot the booking so consumers see the values as of this change.
+        BigDecimal total = appointment.getTotalAmount() != null ? appointment.getTotalAmount() : BigDecimal.ZERO;
+        BigDecimal discount = appointment.getLoyaltyDiscount() != null ? appointment.getLoyaltyDiscount() : BigDecimal.ZERO;
+        AppointmentStatusEvent event = new AppointmentStatusEvent();
+        event.setAppointmentId(appointment.getId());
+        event.setFromStatus(current);
+        event.setToStatus(target);
+        event.setCustomerId(appointment.getCustomer().getId());
+        event.setServiceId(appointment.getService().getId());
+        event.setTechnicianId(appointment.getTechnician().getId());
+        event.setAppointmentDate(appointment.getAppointmentDate());
+        event.setNetAmount(total.subtract(discount));
+        event.setServiceMinutes(appointment.getService().getDuration());
+        event.setOccurredAt(LocalDateTime.now());
+        statusEventRepository.save(event);
     }
 }
@@ -0,0 +1,321 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.dto.AvailabilitySnapshotDto;
+import com.beautyplaza.dto.SlotChangeDto;
+import com.beautyplaza.event.SlotChangedEvent;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.exception.ResourceNotFoundException;
+import com.beautyplaza.service.AvailabilityStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the AvailabilityStreamService interface.
+ *
+ * Subscribers are registered per technician and day in a ConcurrentHashMap of concurrent sets, so publishing
+ * is a lock-free lookup and iteration. Each change is rendered once into a complete SSE frame and the same frame
+ * is queued on every subscriber of that technician and day. A small pool of sender threads writes the queues
+ * to the connections, so the booking request that caused the change never waits for a client's socket.
+ *
+ * Each subscriber's queue is bounded by 'availability.stream.buffer-size'. A client that falls that far behind
+ * is disconnected instead of being allowed to hold memory; its EventSource reconnects and starts over from a
+ * fresh snapshot. Idle streams get a comment line every 'availability.stream.heartbeat-ms', which keeps proxies
+ * from closing them and detects clients that went away.
+ *
+ * The technician check and the snapshot are read with JdbcTemplate rather than the repositories. With open-in-view,
+ * a repository call would pin a pooled connection to the request's EntityManager until the stream ends, and a few
+ * open streams would exhaust the pool.
+ */
+@Service // Marks this class as a Spring Service component.
+public class AvailabilityStreamServiceImpl implements AvailabilityStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityStreamServiceImpl.class);
+
+    // Heartbeat frame: an SSE comment line, ignored by EventSource.
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+            Set.of(new ResponseBodyEmitter.DataWithMediaType(":\n\n", MediaType.TEXT_PLAIN));
+
+    @Autowired // Injects JdbcTemplate for the technician check and the snapshot; the connection is returned at once.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects the application's ObjectMapper so dates and times are written like in the REST API.
+    private ObjectMapper objectMapper;
+
+    @Autowired // Injects MeterRegistry for the subscriber gauge and drop counter.
+    private MeterRegistry meterRegistry;
+
+    // Longest a stream stays open; the client reconnects afterwards.
+    @Value("${availability.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    // Frames a subscriber may have queued before it is disconnected as too slow.
+    @Value("${availability.stream.buffer-size:64}")
+    private int bufferSize;
+
+    // Streams this instance accepts before answering 503.
+    @Value("${availability.stream.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    // Threads writing queued frames to the connections.
+    @Value("${availability.stream.sender-threads:2}")
+    private int senderThreads;
+
+    // Subscribers per "technicianId|date".
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private ExecutorService sender;
+    private Counter dropped;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("availability.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Availability streams currently open")
+                .register(meterRegistry);
+        dropped = Counter.builder("availability.stream.dropped")
+                .description("Availability streams closed because the client could not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Closes all streams when the application context closes.
+     */
+    @PreDestroy
+    void stop() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.close(false)));
+        sender.shutdown();
+    }
+
+    @Override
+    public SseEmitter subscribe(String technicianId, LocalDate date) {
+        if (jdbcTemplate.queryForList("SELECT id FROM technicians WHERE id = ?", String.class, technicianId).isEmpty()) {
+            throw new ResourceNotFoundException("Technician", "id", technicianId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open availability streams. Please try again shortly.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(key(technicianId, date), emitter);
+        emitter.onCompletion(subscriber::unregister);
+        emitter.onTimeout(subscriber::unregister);
+        emitter.onError(error -> subscriber.unregister());
+        subscribers.compute(subscriber.key, (key, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+
+        // The snapshot is read after registering, so no change can fall between the two. Changes that arrive
+        // meanwhile are held back and sent after the snapshot; replaying them in order leads to the same state.
+        List<LocalTime> takenTimes = jdbcTemplate.queryForList(
+                "SELECT appointment_time FROM appointments WHERE technician_id = ? AND appointment_date = ? " +
+                        "AND status <> 'CANCELLED' ORDER BY appointment_time",
+                LocalTime.class, technicianId, date);
+        try {
+            emitter.send(frame("snapshot", new AvailabilitySnapshotDto(technicianId, date, takenTimes)));
+        } catch (IOException e) {
+            subscriber.close(false);
+            return emitter;
+        }
+        subscriber.resume();
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Fans a committed slot change out to the subscribers of that technician and day.
+     * Runs on the thread that committed the booking; it only queues frames and never writes to a socket.
+     * @param event The slot change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotChanged(SlotChangedEvent event) {
+        Set<Subscriber> set = subscribers.get(key(event.getTechnicianId(), event.getDate()));
+        if (set == null || set.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(event.isTaken() ? "slot-taken" : "slot-freed",
+                new SlotChangeDto(event.getTechnicianId(), event.getDate(), event.getTime()));
+        for (Subscriber subscriber : set) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every stream with nothing queued.
+     */
+    @Scheduled(fixedDelayString = "${availability.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                if (subscriber.queued.get() == 0) {
+                    subscriber.offer(HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders one complete SSE frame. Frames are immutable, so one instance is shared by all subscribers.
+     */
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String name, Object data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+        String text = "id:" + eventIds.incrementAndGet() + "\nevent:" + name + "\ndata:" + json + "\n\n";
+        return Set.of(new ResponseBodyEmitter.DataWithMediaType(text, MediaType.TEXT_PLAIN));
+    }
+
+    private static String key(String technicianId, LocalDate date) {
+        return technicianId + '|' + date;
+    }
+
+    /**
+     * One open stream: a bounded queue of frames and a flag ensuring that at most one sender drains it at a time.
+     */
+    private final class Subscriber {
+        private final String key;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean(true); // Held until the snapshot is sent.
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(String key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                close(true); // Too slow: disconnect rather than buffer without bound.
+                return;
+            }
+            queue.add(frame);
+            schedule();
+        }
+
+        void resume() {
+            draining.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false); // Shutting down.
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!closed.get() && (frame = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(false); // The client went away (or the emitter already completed).
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule(); // A frame arrived after the last poll.
+            }
+        }
+
+        /**
+         * Removes the stream from the registry.
+         * @return True for the first call, false if it was already removed.
+         */
+        boolean unregister() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            subscriberCount.decrementAndGet();
+            queue.clear();
+            return true;
+        }
+
+        /**
+         * Unregisters the stream and completes the response. Completing may wait for a send in progress,
+         * so it is done on a sender thread rather than on the publishing request thread.
+         */
+        void close(boolean slow) {
+            if (!unregister()) {
+                return;
+            }
+            if (slow) {
+                dropped.increment();
+                log.debug("Closing slow availability stream for {}", key);
+            }
+            try {
+                sender.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -7,9 +7,13 @@ import com.beautyplaza.model.BeautyService;
 import com.beautyplaza.exception.ResourceNotFoundException;
 import com.beautyplaza.repository.BeautyServiceRepository;
 import com.beautyplaza.service.BeautyServiceService;
+import com.beautyplaza.service.TechnicianAgendaService;
+import com.beautyplaza.util.SingleFlight;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,6 +31,16 @@ public class BeautyServiceServiceImpl implements BeautyServiceService {
     @Autowired // Injects ModelMapper for object mapping (Entity <-> DTO).
     private ModelMapper modelMapper;
 
+    @Autowired // Injects TechnicianAgendaService to copy name and duration changes into the technician agendas.
+    private TechnicianAgendaService technicianAgendaService;
+
+    // Concurrent getServiceById() calls for the same ID share one query.
+    private final SingleFlight<Long, BeautyServiceDTO> serviceByIdFlight;
+
+    public BeautyServiceServiceImpl(@Value("${singleflight.service-by-id.enabled:true}") boolean singleFlight) {
+        this.serviceByIdFlight = new SingleFlight<>(singleFlight);
+    }
+
     /**
      * Creates a new service.
      * @param serviceDto The ServiceDto containing service details.
@@ -52,9 +66,11 @@ public class BeautyServiceServiceImpl implements BeautyServiceService {
      */
     @Override
     public BeautyServiceDTO getServiceById(Long serviceId) {
-        BeautyService service = serviceRepository.findById(serviceId)
-                .orElseThrow(() -> new ResourceNotFoundException("Service", "id", serviceId));
-        return modelMapper.map(service, BeautyServiceDTO.class);
+        return serviceByIdFlight.execute(serviceId, () -> {
+            BeautyService service = serviceRepository.findById(serviceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Service", "id", serviceId));
+            return modelMapper.map(service, BeautyServiceDTO.class);
+        });
     }
 
     /**
@@ -76,6 +92,7 @@ public class BeautyServiceServiceImpl implements BeautyServiceService {
      * @throws ResourceNotFoundException if no service is found with the given ID.
      */
     @Override
+    @Transactional // The service and the names copied into the technician agendas commit together.
     public BeautyServiceDTO updateService(Long serviceId, BeautyServiceDTO serviceDto) {
         BeautyService existingService = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", serviceId));
@@ -89,6 +106,9 @@ public class BeautyServiceServiceImpl implements BeautyServiceService {
         Optional.ofNullable(serviceDto.getIsActive()).ifPresent(existingService::setIsActive);
 
         BeautyService updatedService = serviceRepository.save(existingService);
+        if (serviceDto.getName() != null || serviceDto.getDuration() != null) {
+            technicianAgendaService.updateService(serviceId, updatedService.getName(), updatedService.getDuration());
+        }
         return modelMapper.map(updatedService, BeautyServiceDTO.class);
     }
 
@@ -0,0 +1,269 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.ExportFormat;
+import com.beautyplaza.exception.ResourceNotFoundException;
+import com.beautyplaza.repository.UserRepository;
+import com.beautyplaza.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the ExportService interface.
+ * Reads rows through a Hibernate StatelessSession with a FORWARD_ONLY ScrollableResults,
+ * so no persistence context or result list is built up, and writes each row to the
+ * response as soon as it is read.
+ */
+@Service // Marks this class as a Spring Service component.
+public class ExportServiceImpl implements ExportService {
+
+    // Columns of the appointment export, in query order.
+    private static final String[] APPOINTMENT_COLUMNS = {
+            "id", "customerId", "serviceId", "technicianId", "appointmentDate", "appointmentTime", "serviceType",
+            "status", "totalAmount", "loyaltyPointsUsed", "loyaltyDiscount", "otpVerified", "createdAt"
+    };
+
+    private static final String APPOINTMENT_QUERY =
+            "select a.id, a.customer.id, a.service.id, a.technician.id, a.appointmentDate, a.appointmentTime, " +
+                    "a.serviceType, a.status, a.totalAmount, a.loyaltyPointsUsed, a.loyaltyDiscount, a.otpVerified, " +
+                    "a.createdAt from Appointment a order by a.id";
+
+    // The AppointmentDto fields, in the order toAppointmentDto() reads them.
+    private static final String APPOINTMENT_LIST_QUERY =
+            "select a.id, a.customer.id, a.service.id, a.technician.id, a.appointmentDate, a.appointmentTime, " +
+                    "a.serviceType, a.status, a.notes, a.customerPhone, a.customerEmail, a.totalAmount, " +
+                    "a.loyaltyPointsUsed, a.loyaltyDiscount, a.otpVerified from Appointment a order by a.id";
+
+    // Columns of the loyalty export, in query order. Bank details are deliberately not exported.
+    private static final String[] LOYALTY_COLUMNS = {
+            "id", "userId", "transactionType", "points", "description", "appointmentId", "redemptionMethod",
+            "redemptionValue", "createdAt"
+    };
+
+    private static final String LOYALTY_QUERY =
+            "select lp.id, lp.user.id, lp.transactionType, lp.points, lp.description, lp.appointment.id, " +
+                    "lp.redemptionMethod, lp.redemptionValue, lp.createdAt from LoyaltyPoint lp " +
+                    "where lp.user.id = :userId order by lp.id";
+
+    @Autowired // Injects the EntityManagerFactory to open stateless Hibernate sessions.
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired // Injects UserRepository to validate the user before streaming starts.
+    private UserRepository userRepository;
+
+    @Autowired // Injects the application's ObjectMapper for NDJSON generation.
+    private ObjectMapper objectMapper;
+
+    // Number of rows the JDBC driver fetches per round trip.
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Prepares a streaming export of all appointments.
+     * @param format The output format.
+     * @return A StreamingResponseBody writing the export.
+     */
+    @Override
+    public StreamingResponseBody exportAppointments(ExportFormat format) {
+        return out -> stream(APPOINTMENT_QUERY, APPOINTMENT_COLUMNS, format, out, query -> { });
+    }
+
+    /**
+     * Prepares the full appointment list as a streamed JSON array.
+     * @return A StreamingResponseBody writing the list.
+     */
+    @Override
+    public StreamingResponseBody streamAppointmentList() {
+        return out -> scroll(APPOINTMENT_LIST_QUERY, query -> { }, rows -> writeAppointmentArray(rows, out));
+    }
+
+    /**
+     * Prepares a streaming export of a user's loyalty transactions.
+     * The user is validated eagerly, so a missing user still results in a 404 response.
+     * @param userId The ID of the user.
+     * @param format The output format.
+     * @return A StreamingResponseBody writing the export.
+     * @throws ResourceNotFoundException if the user does not exist.
+     */
+    @Override
+    public StreamingResponseBody exportLoyaltyTransactions(String userId, ExportFormat format) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return out -> stream(LOYALTY_QUERY, LOYALTY_COLUMNS, format, out, query -> query.setParameter("userId", userId));
+    }
+
+    /**
+     * Runs the query on a stateless session and writes every row in the requested format.
+     */
+    private void stream(String hql, String[] columns, ExportFormat format, OutputStream out,
+                        Consumer<Query<Object[]>> binder) throws IOException {
+        scroll(hql, binder, rows -> {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, columns, out);
+            } else {
+                writeNdjson(rows, columns, out);
+            }
+        });
+    }
+
+    /**
+     * Runs the query on a stateless session and hands the forward-only cursor to the writer.
+     */
+    private void scroll(String hql, Consumer<Query<Object[]>> binder, RowWriter writer) throws IOException {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            Query<Object[]> query = session.createQuery(hql, Object[].class)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true);
+            binder.accept(query);
+
+            try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                writer.write(rows);
+            }
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Writes one JSON object per line.
+     */
+    private void writeNdjson(ScrollableResults<Object[]> rows, String[] columns, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // The servlet container owns the response stream.
+        generator.setRootValueSeparator(null); // Rows are separated by newlines instead.
+        while (rows.next()) {
+            Object[] row = rows.get();
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                writeJsonValue(generator, row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    /**
+     * Writes the rows as one JSON array of AppointmentDtos, serialized exactly like a List&lt;AppointmentDto&gt;
+     * returned from a controller. Only the generator's buffer is held; it is written out each time it fills up.
+     */
+    private void writeAppointmentArray(ScrollableResults<Object[]> rows, OutputStream out) throws IOException {
+        // Without flushing after every value, which would send each DTO to the client as its own chunk.
+        ObjectWriter writer = objectMapper.writerFor(AppointmentDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // The servlet container owns the response stream.
+        generator.writeStartArray();
+        while (rows.next()) {
+            writer.writeValue(generator, toAppointmentDto(rows.get()));
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private AppointmentDto toAppointmentDto(Object[] row) {
+        AppointmentDto dto = new AppointmentDto();
+        dto.setId((Long) row[0]);
+        dto.setCustomerId((String) row[1]);
+        dto.setServiceId((Long) row[2]);
+        dto.setTechnicianId((String) row[3]);
+        dto.setAppointmentDate((LocalDate) row[4]);
+        dto.setAppointmentTime((LocalTime) row[5]);
+        dto.setServiceType(row[6] == null ? null : ((Enum<?>) row[6]).name());
+        dto.setStatus(row[7] == null ? null : ((Enum<?>) row[7]).name());
+        dto.setNotes((String) row[8]);
+        dto.setCustomerPhone((String) row[9]);
+        dto.setCustomerEmail((String) row[10]);
+        dto.setTotalAmount((BigDecimal) row[11]);
+        dto.setLoyaltyPointsUsed((Integer) row[12]);
+        dto.setLoyaltyDiscount((BigDecimal) row[13]);
+        dto.setOtpVerified((Boolean) row[14]);
+        return dto;
+    }
+
+    private void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else if (value instanceof BigDecimal number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Boolean flag) {
+            generator.writeBoolean(flag);
+        } else if (value instanceof Enum<?> constant) {
+            generator.writeString(constant.name());
+        } else {
+            generator.writeString(value.toString()); // Dates and times use their ISO-8601 form.
+        }
+    }
+
+    /**
+     * Writes a header row followed by one CSV line per row (RFC 4180 quoting).
+     */
+    private void writeCsv(ScrollableResults<Object[]> rows, String[] columns, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(String.join(",", columns));
+        writer.write('\n');
+        while (rows.next()) {
+            Object[] row = rows.get();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (row[i] != null) {
+                    writeCsvField(writer, row[i] instanceof Enum<?> constant ? constant.name() : row[i].toString());
+                }
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Writes the rows of an open cursor to the response.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ScrollableResults<Object[]> rows) throws IOException;
+    }
+}
@@ -0,0 +1,221 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.model.IdempotencyRecord;
+import com.beautyplaza.repository.IdempotencyRecordRepository;
+import com.beautyplaza.service.IdempotencyService;
+import com.beautyplaza.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementation of the IdempotencyService interface.
+ * Lookups go to a bounded LRU cache first, so replays of recent keys never touch the database.
+ * Duplicates arriving while the first request runs are coalesced on this instance through an in-flight map;
+ * across instances, the reservation row inserted before execution makes the second instance answer IN_PROGRESS.
+ */
+@Service // Marks this class as a Spring Service component.
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private static final String RESERVE_SQL =
+            "INSERT INTO idempotency_keys (key_hash, idempotency_key, principal, request_fingerprint, created_at, expires_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Takes over an expired key not purged yet, or a reservation whose owner has not finished within the lock timeout (e.g. it crashed).
+    private static final String TAKE_OVER_SQL =
+            "UPDATE idempotency_keys SET request_fingerprint = ?, status_code = NULL, content_type = NULL, response_body = NULL, " +
+                    "created_at = ?, expires_at = ? " +
+                    "WHERE key_hash = ? AND ((status_code IS NULL AND created_at < ?) OR expires_at < ?)";
+
+    private static final String STORE_SQL =
+            "UPDATE idempotency_keys SET status_code = ?, content_type = ?, response_body = ? WHERE key_hash = ?";
+
+    @Autowired // Injects IdempotencyRecordRepository for lookups and the TTL purge.
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired // Injects JdbcTemplate for the conditional reservation statements.
+    private JdbcTemplate jdbcTemplate;
+
+    // How long a key is remembered.
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // How long a duplicate waits for the in-flight request with the same key before getting IN_PROGRESS.
+    @Value("${idempotency.wait-ms:10000}")
+    private long waitMillis;
+
+    // A reservation older than this is considered abandoned and may be taken over.
+    @Value("${idempotency.lock-timeout-seconds:60}")
+    private long lockTimeoutSeconds;
+
+    // Requests currently executing on this instance, by scope; completed with null when the key is released.
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    // Bounded LRU cache of completed responses, by scope.
+    private final Map<String, Cached> cache;
+
+    public IdempotencyServiceImpl(@Value("${idempotency.cache.max-entries:10000}") int maxEntries) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Claim claim(String principal, String key, String fingerprint) {
+        String scope = DigestUtil.sha256Hex(principal, key);
+        Cached cached = cache.get(scope);
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return replayOrMismatch(scope, cached.fingerprint(), fingerprint, cached.response());
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scope, mine);
+        if (running != null) {
+            return awaitRunning(scope, running, fingerprint);
+        }
+
+        try {
+            Claim claim = reserve(scope, principal, key, fingerprint);
+            if (claim.outcome() != Outcome.PROCEED) {
+                release(scope, mine, claim.response());
+            }
+            return claim;
+        } catch (RuntimeException e) {
+            release(scope, mine, null);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the request with the same key that is executing on this instance and shares its response.
+     */
+    private Claim awaitRunning(String scope, InFlight running, String fingerprint) {
+        if (!running.fingerprint().equals(fingerprint)) {
+            return new Claim(Outcome.MISMATCH, scope, null);
+        }
+        try {
+            StoredResponse response = running.result().get(waitMillis, TimeUnit.MILLISECONDS);
+            return response != null ? new Claim(Outcome.REPLAY, scope, response) : new Claim(Outcome.IN_PROGRESS, scope, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Claim(Outcome.IN_PROGRESS, scope, null);
+        } catch (ExecutionException | TimeoutException e) {
+            return new Claim(Outcome.IN_PROGRESS, scope, null);
+        }
+    }
+
+    /**
+     * Inserts the reservation row, or resolves the key from the existing row.
+     */
+    private Claim reserve(String scope, String principal, String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp expiresAt = Timestamp.valueOf(now.plusHours(ttlHours));
+        try {
+            jdbcTemplate.update(RESERVE_SQL, scope, key, principal, fingerprint, Timestamp.valueOf(now), expiresAt);
+            return new Claim(Outcome.PROCEED, scope, null);
+        } catch (DuplicateKeyException e) {
+            // Known key: fall through to the stored row.
+        }
+
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(scope);
+        if (existing.isEmpty()) {
+            return new Claim(Outcome.IN_PROGRESS, scope, null); // Purged or released in the meantime; the client retries.
+        }
+        IdempotencyRecord record = existing.get();
+        if (record.getStatusCode() == null || !record.getExpiresAt().isAfter(now)) {
+            int taken = jdbcTemplate.update(TAKE_OVER_SQL, fingerprint, Timestamp.valueOf(now), expiresAt, scope,
+                    Timestamp.valueOf(now.minusSeconds(lockTimeoutSeconds)), Timestamp.valueOf(now));
+            if (taken == 1) {
+                return new Claim(Outcome.PROCEED, scope, null);
+            }
+            return record.getRequestFingerprint().equals(fingerprint)
+                    ? new Claim(Outcome.IN_PROGRESS, scope, null)
+                    : new Claim(Outcome.MISMATCH, scope, null);
+        }
+        StoredResponse response = new StoredResponse(record.getStatusCode(), record.getContentType(), record.getResponseBody());
+        cache.put(scope, new Cached(record.getRequestFingerprint(), response, record.getExpiresAt()));
+        return replayOrMismatch(scope, record.getRequestFingerprint(), fingerprint, response);
+    }
+
+    private Claim replayOrMismatch(String scope, String storedFingerprint, String fingerprint, StoredResponse response) {
+        return storedFingerprint.equals(fingerprint)
+                ? new Claim(Outcome.REPLAY, scope, response)
+                : new Claim(Outcome.MISMATCH, scope, null);
+    }
+
+    @Override
+    public void complete(Claim claim, StoredResponse response) {
+        String scope = claim.scope();
+        InFlight mine = inFlight.get(scope);
+        try {
+            if (response != null && isReplayable(response.status())) {
+                jdbcTemplate.update(STORE_SQL, response.status(), response.contentType(), response.body(), scope);
+                cache.put(scope, new Cached(mine != null ? mine.fingerprint() : "", response, LocalDateTime.now().plusHours(ttlHours)));
+            } else {
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE key_hash = ? AND status_code IS NULL", scope);
+                response = null;
+            }
+        } finally {
+            if (mine != null) {
+                release(scope, mine, response);
+            }
+        }
+    }
+
+    /**
+     * Only final answers are replayed: server errors, authentication failures and rate limiting may
+     * succeed when retried, so for those the key is released instead.
+     */
+    private static boolean isReplayable(int status) {
+        return status < 500 && status != 401 && status != 403 && status != 408 && status != 429;
+    }
+
+    private void release(String scope, InFlight mine, StoredResponse response) {
+        inFlight.remove(scope, mine);
+        mine.result().complete(response);
+    }
+
+    /**
+     * Purges expired keys. Runs every hour by default.
+     */
+    @Scheduled(cron = "${idempotency.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = idempotencyRecordRepository.deleteExpired(now);
+        synchronized (cache) { // Iterating a synchronized map requires holding its lock.
+            cache.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+        }
+        log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+
+    private record Cached(String fingerprint, StoredResponse response, LocalDateTime expiresAt) {
+    }
+}
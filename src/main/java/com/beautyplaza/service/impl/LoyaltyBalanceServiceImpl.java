@@ -0,0 +1,222 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.dto.LoyaltyBalanceDto;
+import com.beautyplaza.exception.ResourceNotFoundException;
+import com.beautyplaza.model.JobCheckpoint;
+import com.beautyplaza.model.LoyaltyBalanceSnapshot;
+import com.beautyplaza.model.TransactionType;
+import com.beautyplaza.repository.JobCheckpointRepository;
+import com.beautyplaza.repository.LoyaltyBalanceSnapshotRepository;
+import com.beautyplaza.repository.LoyaltyPointsRepository;
+import com.beautyplaza.repository.UserRepository;
+import com.beautyplaza.service.LoyaltyBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of the LoyaltyBalanceService interface.
+ * Snapshots are written by a chunked job that walks the ledger in ID order from a persisted watermark.
+ * Within a chunk a user gets a snapshot every 'loyalty.snapshot.every-transactions' rows and after their
+ * last row, so the tail read by a point-in-time query is bounded regardless of how long the history is.
+ */
+@Service // Marks this class as a Spring Service component.
+public class LoyaltyBalanceServiceImpl implements LoyaltyBalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyBalanceServiceImpl.class);
+
+    // Name of this job's row in 'job_checkpoints'; the position is the highest ledger ID snapshotted.
+    static final String SNAPSHOT_JOB = "loyalty-balance-snapshots";
+
+    private static final String SIGNED_POINTS = "CASE WHEN transaction_type = 'EARNED' THEN points ELSE -points END";
+
+    // Balance of every user in the chunk just before the chunk starts: latest snapshot plus any rows it does not cover.
+    private static final String OPENING_BALANCES_SQL =
+            "SELECT u.user_id, COALESCE(s.balance, 0) + COALESCE((SELECT SUM(" + SIGNED_POINTS + ") FROM loyalty_points t " +
+                    "WHERE t.user_id = u.user_id AND t.id > COALESCE(s.last_transaction_id, 0) AND t.id <= ?), 0) " +
+                    "FROM (SELECT DISTINCT user_id FROM loyalty_points WHERE id > ? AND id <= ?) u " +
+                    "LEFT JOIN loyalty_balance_snapshots s ON s.user_id = u.user_id AND s.last_transaction_id = " +
+                    "(SELECT MAX(s2.last_transaction_id) FROM loyalty_balance_snapshots s2 WHERE s2.user_id = u.user_id AND s2.last_transaction_id <= ?)";
+
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO loyalty_balance_snapshots (user_id, last_transaction_id, balance, snapshot_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired // Injects UserRepository to validate users.
+    private UserRepository userRepository;
+
+    @Autowired // Injects LoyaltyPointsRepository for tail sums.
+    private LoyaltyPointsRepository loyaltyPointsRepository;
+
+    @Autowired // Injects LoyaltyBalanceSnapshotRepository for snapshot lookups.
+    private LoyaltyBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired // Injects JobCheckpointRepository to persist the job's watermark.
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired // Injects JdbcTemplate for the set-based snapshot job.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects the transaction manager for per-chunk transactions.
+    private PlatformTransactionManager transactionManager;
+
+    // Number of ledger IDs processed per chunk (and per transaction).
+    @Value("${loyalty.snapshot.chunk-size:100000}")
+    private long chunkSize;
+
+    // A user gets an intermediate snapshot after this many of their rows within a chunk.
+    @Value("${loyalty.snapshot.every-transactions:500}")
+    private int everyTransactions;
+
+    // Minimum age of ledger rows before they are snapshotted.
+    @Value("${loyalty.snapshot.settle-seconds:60}")
+    private long settleSeconds;
+
+    /**
+     * Computes a user's balance at a point in time from the latest snapshot before it plus the tail after it.
+     * Relies on each user's ledger rows being created in ID order, which holds because 'created_at' is set on insert.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LoyaltyBalanceDto getBalance(String userId, LocalDateTime asOf) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        if (asOf == null) {
+            return new LoyaltyBalanceDto(userId, null, getCurrentBalance(userId));
+        }
+        Optional<LoyaltyBalanceSnapshot> snapshot =
+                snapshotRepository.findFirstByUserIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDescLastTransactionIdDesc(userId, asOf);
+        long balance = snapshot
+                .map(s -> s.getBalance() + loyaltyPointsRepository.sumPointsBetween(userId, s.getSnapshotAt(), s.getLastTransactionId(), asOf))
+                .orElseGet(() -> loyaltyPointsRepository.sumPointsUpTo(userId, asOf));
+        return new LoyaltyBalanceDto(userId, asOf, balance);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getCurrentBalance(String userId) {
+        return snapshotRepository.findFirstByUserIdOrderByLastTransactionIdDesc(userId)
+                .map(s -> s.getBalance() + loyaltyPointsRepository.sumPointsAfter(userId, s.getLastTransactionId()))
+                .orElseGet(() -> loyaltyPointsRepository.sumPointsAfter(userId, 0L));
+    }
+
+    /**
+     * Daily snapshot run. Runs at 01:00 by default.
+     */
+    @Scheduled(cron = "${loyalty.snapshot.cron:0 0 1 * * *}")
+    public void scheduledSnapshots() {
+        long start = System.currentTimeMillis();
+        int written = createSnapshots();
+        log.info("Wrote {} loyalty balance snapshots in {} ms", written, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public int createSnapshots() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Rows younger than the settle time are left for the next run, so a transaction that obtained a lower ID
+        // but commits late is not skipped by the watermark.
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM loyalty_points WHERE created_at < ?", Long.class,
+                LocalDateTime.now().minusSeconds(settleSeconds));
+        long position = jobCheckpointRepository.findById(SNAPSHOT_JOB).map(JobCheckpoint::getPosition).orElse(0L);
+
+        int written = 0;
+        while (position < maxId) {
+            long from = position;
+            long to = Math.min(position + chunkSize, maxId);
+            Integer chunk = transaction.execute(status -> snapshotChunk(from, to));
+            written += chunk == null ? 0 : chunk;
+            position = to;
+        }
+        return written;
+    }
+
+    /**
+     * Snapshots the ledger rows with IDs in (from, to] and advances the watermark, in the caller's transaction.
+     * @return The number of snapshots written.
+     */
+    private int snapshotChunk(long from, long to) {
+        Map<String, Long> balances = new HashMap<>();
+        jdbcTemplate.query(OPENING_BALANCES_SQL,
+                (RowCallbackHandler) rs -> balances.put(rs.getString(1), rs.getLong(2)), from, from, to, from);
+
+        SnapshotCollector collector = new SnapshotCollector(balances);
+        jdbcTemplate.query("SELECT id, user_id, transaction_type, points, created_at FROM loyalty_points " +
+                "WHERE id > ? AND id <= ? ORDER BY user_id, id", collector, from, to);
+        List<Object[]> snapshots = collector.finish();
+
+        if (!snapshots.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, snapshots);
+        }
+        jobCheckpointRepository.save(new JobCheckpoint(SNAPSHOT_JOB, to, null, LocalDateTime.now()));
+        return snapshots.size();
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void invalidate(String userId, Long transactionId) {
+        snapshotRepository.deleteCovering(userId, transactionId);
+    }
+
+    /**
+     * Walks a chunk's rows (ordered by user, then ID) and collects the snapshot rows to insert:
+     * one every 'everyTransactions' rows of a user and one after the user's last row in the chunk.
+     */
+    private class SnapshotCollector implements RowCallbackHandler {
+        private final Map<String, Long> balances; // Running balance per user, starting from the opening balance.
+        private final List<Object[]> snapshots = new ArrayList<>();
+        private String currentUser;
+        private int rowsSinceSnapshot;
+        private Object[] pending; // Latest row of the current user not yet covered by a snapshot.
+
+        SnapshotCollector(Map<String, Long> balances) {
+            this.balances = balances;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String userId = rs.getString(2);
+            if (!userId.equals(currentUser)) {
+                closeUser();
+                currentUser = userId;
+                rowsSinceSnapshot = 0;
+            }
+            long points = rs.getLong(4);
+            long balance = balances.merge(userId, TransactionType.EARNED.name().equals(rs.getString(3)) ? points : -points, Long::sum);
+            pending = new Object[]{userId, rs.getLong(1), balance, rs.getTimestamp(5)};
+            if (++rowsSinceSnapshot == everyTransactions) {
+                closeUser();
+                rowsSinceSnapshot = 0;
+            }
+        }
+
+        private void closeUser() {
+            if (pending != null) {
+                snapshots.add(pending);
+                pending = null;
+            }
+        }
+
+        List<Object[]> finish() {
+            closeUser();
+            return snapshots;
+        }
+    }
+}
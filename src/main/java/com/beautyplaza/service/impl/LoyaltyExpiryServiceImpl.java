@@ -0,0 +1,198 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.model.JobCheckpoint;
+import com.beautyplaza.model.TransactionType;
+import com.beautyplaza.repository.JobCheckpointRepository;
+import com.beautyplaza.service.LoyaltyExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the LoyaltyExpiryService interface.
+ * The user ID space (random UUIDs) is split into 'loyalty.expiry.workers' ranges by their leading hex digits.
+ * Each range is walked in keyset order, 'loyalty.expiry.chunk-size' users per transaction, and the last user
+ * of every chunk is stored in 'job_checkpoints' under a name that includes the run date and the range.
+ *
+ * For each user the amount to expire is the points earned before the cutoff minus everything ever debited
+ * (redeemed or already expired), floored at zero. Because debits consume the oldest points first, that
+ * difference is exactly the unspent part of the expired points, and previous EXPIRED rows make re-runs no-ops.
+ */
+@Service // Marks this class as a Spring Service component.
+public class LoyaltyExpiryServiceImpl implements LoyaltyExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyExpiryServiceImpl.class);
+
+    // Prefix of this job's rows in 'job_checkpoints'; the full name is prefix + run date + ':' + range.
+    static final String EXPIRY_JOB = "loyalty-points-expiry:";
+
+    // Points earned before the cutoff and total debits, per user of a chunk.
+    private static final String EXPIRABLE_SQL =
+            "SELECT user_id, " +
+                    "SUM(CASE WHEN transaction_type = 'EARNED' AND created_at < ? THEN points ELSE 0 END), " +
+                    "SUM(CASE WHEN transaction_type <> 'EARNED' THEN points ELSE 0 END) " +
+                    "FROM loyalty_points WHERE user_id >= ? AND user_id <= ? GROUP BY user_id";
+
+    private static final String INSERT_EXPIRED_SQL =
+            "INSERT INTO loyalty_points (user_id, transaction_type, points, description, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired // Injects JdbcTemplate for the keyset walk and batch inserts.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects JobCheckpointRepository to persist each range's progress.
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired // Injects the transaction manager for per-chunk transactions.
+    private PlatformTransactionManager transactionManager;
+
+    // Points expire this many months after they were earned.
+    @Value("${loyalty.expiry.months:12}")
+    private int expiryMonths;
+
+    // Number of users processed per chunk (and per transaction).
+    @Value("${loyalty.expiry.chunk-size:1000}")
+    private int chunkSize;
+
+    // Number of user ID ranges processed in parallel.
+    @Value("${loyalty.expiry.workers:4}")
+    private int workers;
+
+    /**
+     * Nightly expiry run. Runs at 00:30 by default, before the 01:00 balance snapshot run picks up the EXPIRED rows.
+     */
+    @Scheduled(cron = "${loyalty.expiry.cron:0 30 0 * * *}")
+    public void scheduledExpiry() {
+        long start = System.currentTimeMillis();
+        int written = expirePoints(LocalDate.now());
+        log.info("Wrote {} loyalty expiry entries in {} ms", written, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public int expirePoints(LocalDate runDate) {
+        LocalDateTime cutoff = runDate.atStartOfDay().minusMonths(expiryMonths);
+        String runPrefix = EXPIRY_JOB + runDate + ":";
+        // Checkpoints of earlier runs are no longer needed once a new date starts.
+        jdbcTemplate.update("DELETE FROM job_checkpoints WHERE job_name LIKE ? AND job_name NOT LIKE ?",
+                EXPIRY_JOB + "%", runPrefix + "%");
+
+        List<String> bounds = rangeBounds(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                String jobName = runPrefix + (i + 1) + "/" + workers;
+                String lower = bounds.get(i);
+                String upper = bounds.get(i + 1);
+                results.add(executor.submit(() -> expireRange(jobName, lower, upper, cutoff)));
+            }
+            int written = 0;
+            for (Future<Integer> result : results) {
+                written += result.get();
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loyalty expiry run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Loyalty expiry run failed; re-run to resume from the last checkpoint", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits the user ID space into equal ranges by the first four hex digits of the (lowercase UUID) IDs.
+     * The first range has no lower bound and the last no upper bound, so IDs in any other format are still covered.
+     * @return workers + 1 bounds; range i is [bounds[i], bounds[i + 1]), with null meaning unbounded.
+     */
+    static List<String> rangeBounds(int workers) {
+        List<String> bounds = new ArrayList<>();
+        bounds.add(null);
+        for (int i = 1; i < workers; i++) {
+            bounds.add(String.format("%04x", i * 0x10000 / workers));
+        }
+        bounds.add(null);
+        return bounds;
+    }
+
+    /**
+     * Walks one user ID range chunk by chunk, starting after the range's checkpoint.
+     * @return The number of EXPIRED rows written for the range.
+     */
+    private int expireRange(String jobName, String lower, String upper, LocalDateTime cutoff) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(jobName)
+                .orElseGet(() -> new JobCheckpoint(jobName, 0L, null, LocalDateTime.now()));
+        int written = 0;
+        while (true) {
+            Integer chunk = transaction.execute(status -> expireChunk(checkpoint, lower, upper, cutoff));
+            if (chunk == null) {
+                return written; // The range is exhausted.
+            }
+            written += chunk;
+        }
+    }
+
+    /**
+     * Expires the points of the next chunk of users and advances the checkpoint, in the caller's transaction.
+     * @return The number of EXPIRED rows written, or null when there are no users left in the range.
+     */
+    private Integer expireChunk(JobCheckpoint checkpoint, String lower, String upper, LocalDateTime cutoff) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id FROM users WHERE 1 = 1");
+        if (checkpoint.getCursorKey() != null) {
+            sql.append(" AND id > ?");
+            args.add(checkpoint.getCursorKey());
+        } else if (lower != null) {
+            sql.append(" AND id >= ?");
+            args.add(lower);
+        }
+        if (upper != null) {
+            sql.append(" AND id < ?");
+            args.add(upper);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(chunkSize);
+        List<String> userIds = jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+        if (userIds.isEmpty()) {
+            return null;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String description = "Points earned before " + cutoff.toLocalDate() + " expired";
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(EXPIRABLE_SQL, (RowCallbackHandler) rs -> {
+            long expired = rs.getLong(2) - rs.getLong(3);
+            if (expired > 0) {
+                rows.add(new Object[]{rs.getString(1), TransactionType.EXPIRED.name(), expired, description, now});
+            }
+        }, Timestamp.valueOf(cutoff), userIds.get(0), userIds.get(userIds.size() - 1));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EXPIRED_SQL, rows);
+        }
+
+        checkpoint.setPosition(checkpoint.getPosition() + userIds.size());
+        checkpoint.setCursorKey(userIds.get(userIds.size() - 1));
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        jobCheckpointRepository.save(checkpoint);
+        return rows.size();
+    }
+}
@@ -7,6 +7,7 @@ import com.beautyplaza.model.*;
 import com.beautyplaza.exception.*;
 import com.beautyplaza.exception.*;
 import com.beautyplaza.repository.*;
+import com.beautyplaza.service.LoyaltyBalanceService;
 import com.beautyplaza.service.LoyaltyPointsService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +40,9 @@ public class LoyaltyPointsServiceImpl implements LoyaltyPointsService {
     @Autowired // Injects ModelMapper for object mapping (Entity <-> DTO).
     private ModelMapper modelMapper;
 
+    @Autowired // Injects LoyaltyBalanceService for snapshot-based balances.
+    private LoyaltyBalanceService loyaltyBalanceService;
+
     /**
      * Records a new loyalty points transaction.
      * Validates user existence and handles the logic for earning or redeeming points.
@@ -112,7 +116,7 @@ public class LoyaltyPointsServiceImpl implements LoyaltyPointsService {
             loyaltyPoints.setRedemptionValue(null);
         }
 
-
+        checkOnePerAppointment(loyaltyPoints);
         LoyaltyPoint savedLoyaltyPoints = loyaltyPointsRepository.save(loyaltyPoints);
         return modelMapper.map(savedLoyaltyPoints, LoyaltyPointsDto.class);
     }
@@ -154,9 +158,8 @@ public class LoyaltyPointsServiceImpl implements LoyaltyPointsService {
     public Integer getTotalLoyaltyPointsForUser(String userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        // Using the custom query defined in the repository.
-      //  return Math.toIntExact(loyaltyPointsRepository.calculateTotalPointsByUserId(userId));
-        return 10;
+        // Latest balance snapshot plus the ledger rows recorded after it.
+        return Math.toIntExact(loyaltyBalanceService.getCurrentBalance(userId));
     }
 
     /**
@@ -174,12 +177,15 @@ public class LoyaltyPointsServiceImpl implements LoyaltyPointsService {
     public LoyaltyPointsDto updateLoyaltyTransaction(Long transactionId, LoyaltyPointsDto loyaltyPointsDto) {
         LoyaltyPoint existingTransaction = loyaltyPointsRepository.findById(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("LoyaltyPointsTransaction", "id", transactionId));
+        // Balance snapshots that include this row are no longer accurate.
+        loyaltyBalanceService.invalidate(existingTransaction.getUser().getId(), transactionId);
 
         // Update user if provided and different.
         if (loyaltyPointsDto.getUserId() != null && !loyaltyPointsDto.getUserId().equals(existingTransaction.getUser().getId())) {
             User newUser = userRepository.findById(loyaltyPointsDto.getUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("User", "id", loyaltyPointsDto.getUserId()));
             existingTransaction.setUser(newUser);
+            loyaltyBalanceService.invalidate(newUser.getId(), transactionId);
         }
 
         // Update appointment if provided and different.
@@ -213,10 +219,23 @@ public class LoyaltyPointsServiceImpl implements LoyaltyPointsService {
             }
         }
 
+        checkOnePerAppointment(existingTransaction);
         LoyaltyPoint updatedTransaction = loyaltyPointsRepository.save(existingTransaction);
         return modelMapper.map(updatedTransaction, LoyaltyPointsDto.class);
     }
 
+    /**
+     * Rejects a second transaction of the same type for one appointment, which the unique key would refuse anyway.
+     * @throws ApiException (409) if the appointment already has such a transaction.
+     */
+    private void checkOnePerAppointment(LoyaltyPoint loyaltyPoints) {
+        if (loyaltyPoints.getAppointment() != null && loyaltyPointsRepository.existsForAppointment(
+                loyaltyPoints.getAppointment().getId(), loyaltyPoints.getTransactionType(), loyaltyPoints.getId())) {
+            throw new ApiException(HttpStatus.CONFLICT, "Appointment " + loyaltyPoints.getAppointment().getId()
+                    + " already has a " + loyaltyPoints.getTransactionType() + " loyalty transaction.");
+        }
+    }
+
     /**
      * Deletes a loyalty points transaction.
      * This operation should be used with extreme caution as it affects historical data and user balances.
@@ -224,9 +243,11 @@ public class LoyaltyPointsServiceImpl implements LoyaltyPointsService {
      * @throws ResourceNotFoundException if no transaction is found with the given ID.
      */
     @Override
+    @Transactional // The delete and the snapshot invalidation commit together.
     public void deleteLoyaltyTransaction(Long transactionId) {
         LoyaltyPoint loyaltyPoints = loyaltyPointsRepository.findById(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("LoyaltyPointsTransaction", "id", transactionId));
+        loyaltyBalanceService.invalidate(loyaltyPoints.getUser().getId(), transactionId);
         loyaltyPointsRepository.delete(loyaltyPoints);
     }
 }
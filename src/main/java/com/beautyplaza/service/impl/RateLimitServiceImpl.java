@@ -0,0 +1,100 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.exception.RateLimitExceededException;
+import com.beautyplaza.service.RateLimitService;
+import com.beautyplaza.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Implementation of the RateLimitService interface.
+ * Buckets live in this instance's memory, so with several instances the effective limit is per instance.
+ * Rejections are counted in the 'rate.limit.rejected' metric and the number of live buckets is exposed
+ * as 'rate.limit.buckets', both tagged with the limiter name.
+ */
+@Service // Marks this class as a Spring Service component.
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitServiceImpl.class);
+
+    private final Limiter loginIp;
+    private final Limiter loginAccount;
+    private final Limiter otpIp;
+    private final Limiter otpAppointment;
+
+    public RateLimitServiceImpl(MeterRegistry meterRegistry,
+                                @Value("${rate-limit.stripes:16}") int stripes,
+                                @Value("${rate-limit.login-ip.capacity:20}") int loginIpCapacity,
+                                @Value("${rate-limit.login-ip.refill-per-minute:10}") int loginIpRefill,
+                                @Value("${rate-limit.login-account.capacity:5}") int loginAccountCapacity,
+                                @Value("${rate-limit.login-account.refill-per-minute:2}") int loginAccountRefill,
+                                @Value("${rate-limit.otp-ip.capacity:20}") int otpIpCapacity,
+                                @Value("${rate-limit.otp-ip.refill-per-minute:10}") int otpIpRefill,
+                                @Value("${rate-limit.otp-appointment.capacity:5}") int otpAppointmentCapacity,
+                                @Value("${rate-limit.otp-appointment.refill-per-minute:1}") int otpAppointmentRefill) {
+        this.loginIp = new Limiter("login-ip", loginIpCapacity, loginIpRefill, stripes, meterRegistry);
+        this.loginAccount = new Limiter("login-account", loginAccountCapacity, loginAccountRefill, stripes, meterRegistry);
+        this.otpIp = new Limiter("otp-ip", otpIpCapacity, otpIpRefill, stripes, meterRegistry);
+        this.otpAppointment = new Limiter("otp-appointment", otpAppointmentCapacity, otpAppointmentRefill, stripes, meterRegistry);
+    }
+
+    @Override
+    public void checkLogin(String clientIp, String email) {
+        loginIp.check(clientIp, "Too many login attempts from this address.");
+        loginAccount.check(email == null ? "" : email.toLowerCase(Locale.ROOT), "Too many login attempts for this account.");
+    }
+
+    @Override
+    public void checkOtpVerification(String clientIp, Long appointmentId) {
+        otpIp.check(clientIp, "Too many OTP attempts from this address.");
+        otpAppointment.check(String.valueOf(appointmentId), "Too many OTP attempts for this appointment.");
+    }
+
+    /**
+     * Drops buckets that have refilled completely, so memory tracks recent callers only. Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = loginIp.buckets.evictIdle() + loginAccount.buckets.evictIdle()
+                + otpIp.buckets.evictIdle() + otpAppointment.buckets.evictIdle();
+        log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    /**
+     * One named set of buckets with its rejection counter.
+     */
+    private static final class Limiter {
+        private final TokenBucketRateLimiter buckets;
+        private final Counter rejected;
+
+        Limiter(String name, int capacity, int refillPerMinute, int stripes, MeterRegistry meterRegistry) {
+            this.buckets = new TokenBucketRateLimiter(capacity, refillPerMinute, Duration.ofMinutes(1), stripes);
+            this.rejected = Counter.builder("rate.limit.rejected")
+                    .tag("limiter", name)
+                    .description("Requests rejected by the rate limiter")
+                    .register(meterRegistry);
+            Gauge.builder("rate.limit.buckets", buckets, TokenBucketRateLimiter::size)
+                    .tag("limiter", name)
+                    .description("Rate limit buckets currently held in memory")
+                    .register(meterRegistry);
+        }
+
+        void check(String key, String message) {
+            long waitNanos = buckets.tryAcquire(key);
+            if (waitNanos > 0) {
+                rejected.increment();
+                throw new RateLimitExceededException(message, TokenBucketRateLimiter.toRetryAfterSeconds(waitNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary models, repositories, and Spring/Java classes.
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.model.RefreshToken;
+import com.beautyplaza.model.User;
+import com.beautyplaza.repository.RefreshTokenRepository;
+import com.beautyplaza.service.RefreshTokenService;
+import com.beautyplaza.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Implementation of the RefreshTokenService interface.
+ * Tokens are 256 random bits, handed out Base64url-encoded and stored only as a SHA-256 hash, so a leaked table
+ * cannot be used to sign in. A refresh is one primary-key lookup (joined with the user) and involves no password hashing.
+ */
+@Service // Marks this class as a Spring Service component.
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    // Plain insert: the hash is a fresh primary key, so JPA's merge (select, then insert) would waste a lookup.
+    private static final String INSERT_SQL =
+            "INSERT INTO refresh_tokens (token_hash, user_id, family_id, created_at, expires_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String PURGE_SQL = "DELETE FROM refresh_tokens WHERE expires_at < ? LIMIT ?";
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired // Injects RefreshTokenRepository for database interaction.
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired // Injects JdbcTemplate for inserts and the batched purge.
+    private JdbcTemplate jdbcTemplate;
+
+    // How long a refresh token stays valid; every rotation starts a new period.
+    @Value("${refresh-token.ttl-days:30}")
+    private long ttlDays;
+
+    // Rows deleted per purge statement, so the purge never holds locks on a large part of the table.
+    @Value("${refresh-token.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Override
+    @Transactional
+    public String createRefreshToken(String userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = ApiException.class) // A detected reuse must still revoke the family.
+    public Rotation rotate(String refreshToken) {
+        String tokenHash = DigestUtil.sha256Hex(refreshToken);
+        RefreshToken stored = refreshTokenRepository.findWithUserByTokenHash(tokenHash)
+                .orElseThrow(RefreshTokenServiceImpl::invalid);
+        LocalDateTime now = LocalDateTime.now();
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw invalid();
+        }
+        if (stored.getUsedAt() != null || refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            // The token was rotated before, so someone else holds a copy: sign out every holder of this family.
+            refreshTokenRepository.deleteByFamily(stored.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}; revoked token family {}", stored.getUser().getId(), stored.getFamilyId());
+            throw invalid();
+        }
+        User user = stored.getUser();
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw invalid();
+        }
+        return new Rotation(user, issue(user.getId(), stored.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String refreshToken) {
+        refreshTokenRepository.findById(DigestUtil.sha256Hex(refreshToken))
+                .ifPresent(stored -> refreshTokenRepository.deleteByFamily(stored.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Deletes expired refresh tokens in batches; each batch commits on its own.
+     */
+    @Scheduled(cron = "${refresh-token.purge-cron:0 20 * * * *}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    /**
+     * Generates, stores and returns a new refresh token in the given family.
+     */
+    private String issue(String userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(INSERT_SQL, DigestUtil.sha256Hex(token), userId, familyId,
+                Timestamp.valueOf(now), Timestamp.valueOf(now.plusDays(ttlDays)));
+        return token;
+    }
+
+    private static ApiException invalid() {
+        return new ApiException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token.");
+    }
+}
@@ -0,0 +1,74 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.dto.DailyRevenueDto;
+import com.beautyplaza.dto.RevenueBreakdownDto;
+import com.beautyplaza.dto.TechnicianUtilizationDto;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.model.RollupDimension;
+import com.beautyplaza.repository.RevenueRollupRepository;
+import com.beautyplaza.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ReportService interface.
+ * Reads the 'revenue_rollups' table maintained by RevenueRollupService.
+ */
+@Service // Marks this class as a Spring Service component.
+@Transactional(readOnly = true) // Reports never write.
+public class ReportServiceImpl implements ReportService {
+
+    @Autowired // Injects RevenueRollupRepository for reading rollups.
+    private RevenueRollupRepository revenueRollupRepository;
+
+    // Working minutes each technician is available per day (default: 8 hours).
+    @Value("${reporting.technician.available-minutes-per-day:480}")
+    private long availableMinutesPerDay;
+
+    @Override
+    public List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return revenueRollupRepository.findDailyTotals(from, to);
+    }
+
+    @Override
+    public List<RevenueBreakdownDto> getRevenueByService(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return revenueRollupRepository.sumByDimension(RollupDimension.SERVICE, from, to);
+    }
+
+    @Override
+    public List<RevenueBreakdownDto> getRevenueByTechnician(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return revenueRollupRepository.sumByDimension(RollupDimension.TECHNICIAN, from, to);
+    }
+
+    @Override
+    public List<TechnicianUtilizationDto> getTechnicianUtilization(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        long availableMinutes = (ChronoUnit.DAYS.between(from, to) + 1) * availableMinutesPerDay;
+        return revenueRollupRepository.sumByDimension(RollupDimension.TECHNICIAN, from, to).stream()
+                .map(row -> new TechnicianUtilizationDto(row.getKey(), row.getBookedMinutes(), availableMinutes,
+                        availableMinutes > 0 ? (double) row.getBookedMinutes() / availableMinutes : 0.0))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ensures a report range is well formed.
+     * @throws ApiException if 'from' is after 'to'.
+     */
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'.");
+        }
+    }
+}
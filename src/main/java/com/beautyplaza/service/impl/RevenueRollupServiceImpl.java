@@ -0,0 +1,189 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.model.RollupDimension;
+import com.beautyplaza.repository.AppointmentStatusEventRepository;
+import com.beautyplaza.service.RevenueRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the RevenueRollupService interface.
+ * Incremental changes are applied as additive upserts (INSERT ... ON DUPLICATE KEY UPDATE), so concurrent
+ * status changes on the same day never overwrite each other. The nightly reconciliation recomputes the most
+ * recent days from scratch to absorb edits the incremental path does not see (e.g. price corrections).
+ */
+@Service // Marks this class as a Spring Service component.
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupServiceImpl.class);
+
+    // Dimension key used for the daily total row.
+    static final String TOTAL_KEY = "*";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO revenue_rollups (dimension, dimension_key, rollup_date, completed_count, cancelled_count, revenue, booked_minutes) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                    "completed_count = completed_count + VALUES(completed_count), " +
+                    "cancelled_count = cancelled_count + VALUES(cancelled_count), " +
+                    "revenue = revenue + VALUES(revenue), " +
+                    "booked_minutes = booked_minutes + VALUES(booked_minutes)";
+
+    // Aggregates COMPLETED/PAID/CANCELLED appointments of a date range by one key expression.
+    private static final String REBUILD_SQL =
+            "INSERT INTO revenue_rollups (dimension, dimension_key, rollup_date, completed_count, cancelled_count, revenue, booked_minutes) " +
+                    "SELECT ?, %s, a.appointment_date, " +
+                    "SUM(CASE WHEN a.status IN ('COMPLETED', 'PAID') THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN a.status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN a.status IN ('COMPLETED', 'PAID') THEN COALESCE(a.total_amount, 0) - COALESCE(a.loyalty_discount, 0) ELSE 0 END), " +
+                    "SUM(CASE WHEN a.status IN ('COMPLETED', 'PAID') THEN s.duration ELSE 0 END) " +
+                    "FROM appointments a JOIN services s ON s.id = a.service_id " +
+                    "WHERE a.appointment_date BETWEEN ? AND ? AND a.status IN ('COMPLETED', 'PAID', 'CANCELLED') " +
+                    "GROUP BY %sa.appointment_date";
+
+    @Autowired // Injects JdbcTemplate for the upsert and bulk rebuild statements.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects the status outbox repository to find events not yet dispatched.
+    private AppointmentStatusEventRepository eventRepository;
+
+    // Number of days (ending today) the nightly reconciliation recomputes.
+    @Value("${reporting.rollup.reconcile-days:35}")
+    private int reconcileDays;
+
+    // Events with this many failed attempts are never dispatched, so a rebuild does not take them out either.
+    @Value("${events.dispatcher.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Applies the difference between two contributions of the same appointment.
+     * @param before The contribution before the change, or null.
+     * @param after The contribution after the change, or null.
+     */
+    @Override
+    @Transactional // Joins the caller's transaction so the rollups commit together with the appointment.
+    public void recordChange(Contribution before, Contribution after) {
+        recordChanges(List.of(new Change(before, after)));
+    }
+
+    /**
+     * Applies a batch of changes. Deltas for the same rollup row are merged first,
+     * and rows whose delta is zero are not touched at all.
+     * @param changes The changes to apply.
+     */
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void recordChanges(List<Change> changes) {
+        Map<List<Object>, long[]> counts = new LinkedHashMap<>();
+        Map<List<Object>, BigDecimal> revenue = new LinkedHashMap<>();
+        for (Change change : changes) {
+            if (change.before() != null) {
+                accumulate(counts, revenue, change.before(), -1);
+            }
+            if (change.after() != null) {
+                accumulate(counts, revenue, change.after(), 1);
+            }
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        counts.forEach((key, delta) -> {
+            BigDecimal revenueDelta = revenue.get(key);
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0 && revenueDelta.signum() == 0) {
+                return; // Nothing changed for this row.
+            }
+            batch.add(new Object[]{key.get(0), key.get(1), key.get(2), delta[0], delta[1], revenueDelta, delta[2]});
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+    }
+
+    /**
+     * Adds one contribution (with the given sign) to the TOTAL, SERVICE and TECHNICIAN rows it belongs to.
+     */
+    private void accumulate(Map<List<Object>, long[]> counts, Map<List<Object>, BigDecimal> revenue,
+                            Contribution contribution, int sign) {
+        if (!contribution.completed() && !contribution.cancelled()) {
+            return; // Scheduled and confirmed appointments do not contribute.
+        }
+        Date date = Date.valueOf(contribution.date());
+        List<List<Object>> keys = List.of(
+                List.of(RollupDimension.TOTAL.name(), TOTAL_KEY, date),
+                List.of(RollupDimension.SERVICE.name(), String.valueOf(contribution.serviceId()), date),
+                List.of(RollupDimension.TECHNICIAN.name(), contribution.technicianId(), date));
+        for (List<Object> key : keys) {
+            long[] delta = counts.computeIfAbsent(key, k -> new long[3]);
+            if (contribution.completed()) {
+                delta[0] += sign;
+                delta[2] += (long) sign * contribution.minutes();
+                revenue.merge(key, sign < 0 ? contribution.netAmount().negate() : contribution.netAmount(), BigDecimal::add);
+            } else {
+                delta[1] += sign;
+                revenue.putIfAbsent(key, BigDecimal.ZERO);
+            }
+        }
+    }
+
+    /**
+     * Deletes and recomputes all rollup rows of a date range in a single transaction.
+     * The appointments table already shows status changes whose outbox events are still pending, and the dispatcher
+     * adds those events once more when it gets to them. Their deltas are therefore taken out again here, so the
+     * rollups of the range match what has been dispatched so far.
+     * @param from The first date (inclusive).
+     * @param to The last date (inclusive).
+     * @return The number of rollup rows written.
+     */
+    @Override
+    @Transactional // Readers never see the range half rebuilt.
+    public int rebuild(LocalDate from, LocalDate to) {
+        // Waits for a batch the dispatcher is delivering for this range, before its rollup rows are locked here.
+        eventRepository.lockPendingBetween(maxAttempts, from, to);
+
+        Date fromDate = Date.valueOf(from);
+        Date toDate = Date.valueOf(to);
+        jdbcTemplate.update("DELETE FROM revenue_rollups WHERE rollup_date BETWEEN ? AND ?", fromDate, toDate);
+
+        int rows = 0;
+        rows += jdbcTemplate.update(String.format(REBUILD_SQL, "'" + TOTAL_KEY + "'", ""),
+                RollupDimension.TOTAL.name(), fromDate, toDate);
+        rows += jdbcTemplate.update(String.format(REBUILD_SQL, "CONCAT('', a.service_id)", "a.service_id, "),
+                RollupDimension.SERVICE.name(), fromDate, toDate);
+        rows += jdbcTemplate.update(String.format(REBUILD_SQL, "a.technician_id", "a.technician_id, "),
+                RollupDimension.TECHNICIAN.name(), fromDate, toDate);
+
+        // Read after the recompute, so this includes events committed while it ran. Each is applied in reverse;
+        // the locks keep the dispatcher from delivering them until this transaction has committed.
+        List<Change> pending = eventRepository.lockPendingBetween(maxAttempts, from, to).stream()
+                .map(event -> new Change(Contribution.of(event, event.getToStatus()), Contribution.of(event, event.getFromStatus())))
+                .toList();
+        recordChanges(pending);
+        return rows;
+    }
+
+    /**
+     * Nightly reconciliation of the most recent days. Runs at 02:30 by default.
+     */
+    @Scheduled(cron = "${reporting.rollup.reconcile-cron:0 30 2 * * *}")
+    @Transactional // Self-invocation bypasses the proxy, so the transaction is opened here rather than on rebuild().
+    public void reconcile() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(reconcileDays);
+        long start = System.currentTimeMillis();
+        int rows = rebuild(from, to);
+        log.info("Reconciled revenue rollups {} to {}: {} rows in {} ms", from, to, rows, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,238 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.dto.TechnicianAgendaEntryDto;
+import com.beautyplaza.model.Appointment;
+import com.beautyplaza.model.TechnicianAgendaEntry;
+import com.beautyplaza.repository.TechnicianAgendaEntryRepository;
+import com.beautyplaza.service.TechnicianAgendaService;
+import com.beautyplaza.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the TechnicianAgendaService interface.
+ *
+ * The agenda table holds one row per hot appointment with the customer name, service name and duration copied in,
+ * so a technician's day is one index range scan mapped straight into DTOs. Today's and tomorrow's agendas are also
+ * kept in memory per technician. A write drops the affected days from memory once its transaction has committed,
+ * and the next read loads them again. Loads that raced with such a write are served but not kept: every
+ * invalidation bumps a version number, and a load is only cached if the version did not move while it ran.
+ * Writes made by other instances are not seen by this one's invalidation, so a cached day is also reloaded once it
+ * is older than appointments.agenda.cache-ttl-ms; that bounds how stale another instance's view of a day can be.
+ */
+@Service // Marks this class as a Spring Service component.
+public class TechnicianAgendaServiceImpl implements TechnicianAgendaService {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnicianAgendaServiceImpl.class);
+
+    // Rebuilds the agenda from the appointments, resolving names and durations in the same statement.
+    private static final String REBUILD_SQL =
+            "INSERT INTO technician_agenda_entries (appointment_id, technician_id, agenda_date, start_time, duration_minutes, " +
+                    "customer_id, customer_name, service_id, service_name, status) " +
+                    "SELECT a.id, a.technician_id, a.appointment_date, a.appointment_time, s.duration, " +
+                    "a.customer_id, u.full_name, a.service_id, s.name, a.status " +
+                    "FROM appointments a JOIN users u ON u.id = a.customer_id JOIN services s ON s.id = a.service_id";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO technician_agenda_entries (appointment_id, technician_id, agenda_date, start_time, duration_minutes, " +
+                    "customer_id, customer_name, service_id, service_name, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired // Injects TechnicianAgendaEntryRepository for database interaction.
+    private TechnicianAgendaEntryRepository agendaRepository;
+
+    @Autowired // Injects JdbcTemplate for the set-based rebuild and batched inserts.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects the transaction manager for the rebuild transaction.
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${appointments.agenda.cache-ttl-ms:2000}")
+    private long cacheTtlMs; // A cached day is reloaded after this long, picking up writes made on other instances.
+
+    // Agendas for today and tomorrow per "technicianId|date"; the lists are immutable and shared between requests.
+    private final Map<String, CachedDay> cachedDays = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public List<TechnicianAgendaEntryDto> getAgenda(String technicianId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        if (from.isBefore(today) || to.isAfter(today.plusDays(1))) {
+            return load(technicianId, from, to);
+        }
+        if (from.equals(to)) {
+            return cachedDay(technicianId, from); // The usual request: one day, returned without copying.
+        }
+        List<TechnicianAgendaEntryDto> agenda = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            agenda.addAll(cachedDay(technicianId, date));
+        }
+        return agenda;
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void record(Appointment appointment) {
+        TechnicianAgendaEntry entry = agendaRepository.findById(appointment.getId()).orElse(null);
+        if (entry == null) {
+            entry = new TechnicianAgendaEntry();
+            entry.setAppointmentId(appointment.getId());
+        } else {
+            invalidateAfterCommit(entry.getTechnicianId(), entry.getAgendaDate()); // The appointment may have moved.
+        }
+        entry.setTechnicianId(appointment.getTechnician().getId());
+        entry.setAgendaDate(appointment.getAppointmentDate());
+        entry.setStartTime(appointment.getAppointmentTime());
+        entry.setDurationMinutes(appointment.getService().getDuration());
+        entry.setCustomerId(appointment.getCustomer().getId());
+        entry.setCustomerName(appointment.getCustomer().getFullName());
+        entry.setServiceId(appointment.getService().getId());
+        entry.setServiceName(appointment.getService().getName());
+        entry.setStatus(appointment.getStatus());
+        agendaRepository.save(entry);
+        invalidateAfterCommit(entry.getTechnicianId(), entry.getAgendaDate());
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void recordNew(List<Appointment> appointments) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, appointments, appointments.size(), (ps, appointment) -> {
+            ps.setLong(1, appointment.getId());
+            ps.setString(2, appointment.getTechnician().getId());
+            ps.setObject(3, appointment.getAppointmentDate());
+            ps.setObject(4, appointment.getAppointmentTime());
+            ps.setObject(5, appointment.getService().getDuration());
+            ps.setString(6, appointment.getCustomer().getId());
+            ps.setString(7, appointment.getCustomer().getFullName());
+            ps.setLong(8, appointment.getService().getId());
+            ps.setString(9, appointment.getService().getName());
+            ps.setString(10, appointment.getStatus().name());
+        });
+        appointments.forEach(appointment ->
+                invalidateAfterCommit(appointment.getTechnician().getId(), appointment.getAppointmentDate()));
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void remove(Appointment appointment) {
+        agendaRepository.deleteById(appointment.getId());
+        invalidateAfterCommit(appointment.getTechnician().getId(), appointment.getAppointmentDate());
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void renameCustomer(String customerId, String fullName) {
+        if (agendaRepository.updateCustomerName(customerId, fullName) > 0) {
+            invalidateAllAfterCommit();
+        }
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void updateService(Long serviceId, String name, Integer durationMinutes) {
+        if (agendaRepository.updateService(serviceId, name, durationMinutes) > 0) {
+            invalidateAllAfterCommit();
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        Integer written = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.update("DELETE FROM technician_agenda_entries");
+            int rows = jdbcTemplate.update(REBUILD_SQL);
+            invalidateAllAfterCommit();
+            return rows;
+        });
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Builds the agenda on startup if it is empty while appointments exist, e.g. on the first start after the
+     * agenda was introduced or after appointments were loaded directly into the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (agendaRepository.count() == 0 && Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM appointments)", Boolean.class))) {
+            long start = System.currentTimeMillis();
+            int written = rebuild();
+            log.info("Built {} technician agenda entries in {} ms", written, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Drops cached days that are no longer today or tomorrow. Runs just after midnight.
+     */
+    @Scheduled(cron = "${appointments.agenda.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        version.incrementAndGet();
+        cachedDays.clear();
+    }
+
+    /**
+     * Returns one day from memory, loading it on a miss or once it has expired. The load is only kept if no write was
+     * committed meanwhile.
+     */
+    private List<TechnicianAgendaEntryDto> cachedDay(String technicianId, LocalDate date) {
+        String key = key(technicianId, date);
+        CachedDay day = cachedDays.get(key);
+        long now = System.nanoTime();
+        if (day != null && now - day.loadedAtNanos() < TimeUnit.MILLISECONDS.toNanos(cacheTtlMs)) {
+            return day.entries();
+        }
+        long loadedAt = version.get();
+        CachedDay loaded = new CachedDay(List.copyOf(load(technicianId, date, date)), now);
+        // Checked and stored atomically with respect to the removal in invalidate(), which bumps the version first.
+        cachedDays.compute(key, (k, current) -> version.get() == loadedAt ? loaded : current);
+        return loaded.entries();
+    }
+
+    private List<TechnicianAgendaEntryDto> load(String technicianId, LocalDate from, LocalDate to) {
+        return agendaRepository.findByTechnicianIdAndAgendaDateBetweenOrderByAgendaDateAscStartTimeAsc(technicianId, from, to)
+                .stream()
+                .map(entry -> new TechnicianAgendaEntryDto(entry.getAppointmentId(), entry.getAgendaDate(), entry.getStartTime(),
+                        entry.getDurationMinutes(), entry.getCustomerName(), entry.getServiceName(), entry.getStatus().name()))
+                .toList();
+    }
+
+    private void invalidateAfterCommit(String technicianId, LocalDate date) {
+        TransactionUtil.afterCommit(() -> {
+            version.incrementAndGet();
+            cachedDays.remove(key(technicianId, date));
+        });
+    }
+
+    private void invalidateAllAfterCommit() {
+        TransactionUtil.afterCommit(() -> {
+            version.incrementAndGet();
+            cachedDays.clear();
+        });
+    }
+
+
+    // One cached day and when its load started, so a write committed during the load still counts as newer.
+    private record CachedDay(List<TechnicianAgendaEntryDto> entries, long loadedAtNanos) {
+    }
+
+    private static String key(String technicianId, LocalDate date) {
+        return technicianId + '|' + date;
+    }
+}
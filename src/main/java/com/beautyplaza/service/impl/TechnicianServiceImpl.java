@@ -3,16 +3,30 @@ package com.beautyplaza.service.impl;
 
 // Importing necessary classes for service logic.
 import com.beautyplaza.dto.TechnicianDto;
+import com.beautyplaza.model.AppointmentStatus;
+import com.beautyplaza.model.BeautyService;
 import com.beautyplaza.model.Technician;
+import com.beautyplaza.model.TechnicianAgendaEntry;
 import com.beautyplaza.exception.ResourceNotFoundException;
+import com.beautyplaza.repository.BeautyServiceRepository;
+import com.beautyplaza.repository.TechnicianAgendaEntryRepository;
 import com.beautyplaza.repository.TechnicianRepository;
 import com.beautyplaza.repository.UserRepository; // Import UserRepository to link Technician to User
 import com.beautyplaza.service.TechnicianService;
+import com.beautyplaza.service.TechnicianSpecialtyService;
+import com.beautyplaza.util.SingleFlight;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +45,22 @@ public class TechnicianServiceImpl implements TechnicianService {
     @Autowired // Injects ModelMapper for object mapping (Entity <-> DTO).
     private ModelMapper modelMapper;
 
+    @Autowired // Injects TechnicianSpecialtyService to keep the specialty index in step and to match technicians to services.
+    private TechnicianSpecialtyService technicianSpecialtyService;
+
+    @Autowired // Injects BeautyServiceRepository to resolve the service being matched.
+    private BeautyServiceRepository serviceRepository;
+
+    @Autowired // Injects TechnicianAgendaEntryRepository to find the candidates' bookings of the day.
+    private TechnicianAgendaEntryRepository agendaRepository;
+
+    // Concurrent calls of getAvailableTechnicians() share one query (there is only one key).
+    private final SingleFlight<Boolean, List<TechnicianDto>> availableTechniciansFlight;
+
+    public TechnicianServiceImpl(@Value("${singleflight.available-technicians.enabled:true}") boolean singleFlight) {
+        this.availableTechniciansFlight = new SingleFlight<>(singleFlight);
+    }
+
     /**
      * Creates a new technician.
      * If a userId is provided, attempts to link the technician to an existing user.
@@ -39,6 +69,7 @@ public class TechnicianServiceImpl implements TechnicianService {
      * @throws ResourceNotFoundException if the provided userId does not correspond to an existing user.
      */
     @Override
+    @Transactional // The technician and its specialty rows commit together.
     public TechnicianDto createTechnician(TechnicianDto technicianDto) {
         // Map DTO to Entity.
         Technician technician = modelMapper.map(technicianDto, Technician.class);
@@ -52,6 +83,7 @@ public class TechnicianServiceImpl implements TechnicianService {
 
         // Save the new technician to the database.
         Technician savedTechnician = technicianRepository.save(technician);
+        technicianSpecialtyService.replace(savedTechnician.getId(), savedTechnician.getSpecialties());
         // Map the saved Entity back to DTO and return.
         return modelMapper.map(savedTechnician, TechnicianDto.class);
     }
@@ -86,8 +118,11 @@ public class TechnicianServiceImpl implements TechnicianService {
      */
     @Override
     public List<TechnicianDto> getAvailableTechnicians() {
-        List<Technician> availableTechnicians = technicianRepository.findByIsAvailable(true);
-        return availableTechnicians.stream().map(technician -> modelMapper.map(technician, TechnicianDto.class)).collect(Collectors.toList());
+        return availableTechniciansFlight.execute(Boolean.TRUE, () -> {
+            List<Technician> availableTechnicians = technicianRepository.findByIsAvailable(true);
+            // Unmodifiable, because the list is shared by all callers of the same flight.
+            return availableTechnicians.stream().map(technician -> modelMapper.map(technician, TechnicianDto.class)).toList();
+        });
     }
 
     /**
@@ -98,6 +133,7 @@ public class TechnicianServiceImpl implements TechnicianService {
      * @throws ResourceNotFoundException if no technician is found with the given ID.
      */
     @Override
+    @Transactional // The technician and its specialty rows commit together.
     public TechnicianDto updateTechnician(String technicianId, TechnicianDto technicianDto) {
         Technician existingTechnician = technicianRepository.findById(technicianId)
                 .orElseThrow(() -> new ResourceNotFoundException("Technician", "id", technicianId));
@@ -117,6 +153,9 @@ public class TechnicianServiceImpl implements TechnicianService {
         }
 
         Technician updatedTechnician = technicianRepository.save(existingTechnician);
+        if (technicianDto.getSpecialties() != null) {
+            technicianSpecialtyService.replace(technicianId, technicianDto.getSpecialties());
+        }
         return modelMapper.map(updatedTechnician, TechnicianDto.class);
     }
 
@@ -126,9 +165,50 @@ public class TechnicianServiceImpl implements TechnicianService {
      * @throws ResourceNotFoundException if no technician is found with the given ID.
      */
     @Override
+    @Transactional // The technician and its specialty rows are deleted together.
     public void deleteTechnician(String technicianId) {
         Technician technician = technicianRepository.findById(technicianId)
                 .orElseThrow(() -> new ResourceNotFoundException("Technician", "id", technicianId));
         technicianRepository.delete(technician);
+        technicianSpecialtyService.remove(technicianId);
+    }
+
+    /**
+     * Retrieves the technicians who offer a service and are free to start it at a given date and time.
+     * The candidates come from the in-memory specialty index (a technician offers a service if one of their
+     * specialties equals the service name). Their bookings of the day are then read with one indexed query on the
+     * agenda, and a candidate is free if no booking overlaps the service's duration from the requested time.
+     * @param serviceId The ID of the service.
+     * @param date The date.
+     * @param time The start time.
+     * @return A list of available TechnicianDtos, by name.
+     * @throws ResourceNotFoundException if no service is found with the given ID.
+     */
+    @Override
+    public List<TechnicianDto> findAvailableTechnicians(Long serviceId, LocalDate date, LocalTime time) {
+        BeautyService service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service", "id", serviceId));
+        Set<String> candidates = new HashSet<>(technicianSpecialtyService.getTechnicianIds(service.getName()));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Minutes of the day, so a booking running past midnight cannot wrap around.
+        int start = time.toSecondOfDay() / 60;
+        int end = start + (service.getDuration() != null ? service.getDuration() : 0);
+        for (TechnicianAgendaEntry booking : agendaRepository.findByTechnicianIdInAndAgendaDate(candidates, date)) {
+            int bookingStart = booking.getStartTime().toSecondOfDay() / 60;
+            int bookingEnd = bookingStart + (booking.getDurationMinutes() != null ? booking.getDurationMinutes() : 0);
+            boolean overlaps = bookingStart == start || (bookingStart < end && bookingEnd > start);
+            if (booking.getStatus() != AppointmentStatus.CANCELLED && overlaps) {
+                candidates.remove(booking.getTechnicianId());
+            }
+        }
+
+        return technicianRepository.findAllById(candidates).stream()
+                .filter(Technician::getIsAvailable)
+                .sorted(Comparator.comparing(Technician::getName))
+                .map(technician -> modelMapper.map(technician, TechnicianDto.class))
+                .toList();
     }
 }
@@ -0,0 +1,197 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.model.TechnicianSpecialty;
+import com.beautyplaza.repository.TechnicianRepository;
+import com.beautyplaza.repository.TechnicianSpecialtyRepository;
+import com.beautyplaza.service.TechnicianSpecialtyService;
+import com.beautyplaza.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the TechnicianSpecialtyService interface.
+ *
+ * Technician.specialties is a JSON column, which the database cannot index, so "who can do service X" would mean
+ * reading and parsing every technician. Instead the specialties are normalized into 'technician_specialties', and
+ * an inverted index (specialty -> technician IDs) is held in memory. Reads are lock-free lookups in concurrent maps;
+ * writes are rare and serialized, and reach the index only after their transaction has committed. Writes made on
+ * other instances are picked up by a periodic check of the table's row count and highest ID, which changes with
+ * every insert or delete; the index is reloaded only when it has.
+ */
+@Service // Marks this class as a Spring Service component.
+public class TechnicianSpecialtyServiceImpl implements TechnicianSpecialtyService {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnicianSpecialtyServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO technician_specialties (technician_id, specialty) VALUES (?, ?)";
+
+    @Autowired // Injects TechnicianSpecialtyRepository for database interaction.
+    private TechnicianSpecialtyRepository specialtyRepository;
+
+    @Autowired // Injects TechnicianRepository to read the specialties of all technicians on a rebuild.
+    private TechnicianRepository technicianRepository;
+
+    @Autowired // Injects JdbcTemplate for the batched rebuild.
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Injects the transaction manager for the rebuild transaction.
+    private PlatformTransactionManager transactionManager;
+
+    // Specialty -> technician IDs, and the reverse, so a technician's old entries can be dropped on a change.
+    // Replaced as a whole on a reload, so readers never see a half-loaded index.
+    private volatile Map<String, Set<String>> bySpecialty = new ConcurrentHashMap<>();
+    private volatile Map<String, Set<String>> byTechnician = new ConcurrentHashMap<>();
+    // Row count and highest ID of 'technician_specialties' when the index was last loaded.
+    private volatile String loadedVersion;
+
+    @Override
+    public Set<String> getTechnicianIds(String specialty) {
+        Set<String> ids = bySpecialty.get(normalize(specialty));
+        return ids == null ? Set.of() : Collections.unmodifiableSet(ids);
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void replace(String technicianId, List<String> specialties) {
+        Set<String> keys = normalizeAll(specialties);
+        specialtyRepository.deleteByTechnicianId(technicianId);
+        specialtyRepository.saveAll(keys.stream().map(key -> new TechnicianSpecialty(null, technicianId, key)).toList());
+        TransactionUtil.afterCommit(() -> index(technicianId, keys));
+    }
+
+    @Override
+    @Transactional // Joins the caller's transaction.
+    public void remove(String technicianId) {
+        specialtyRepository.deleteByTechnicianId(technicianId);
+        TransactionUtil.afterCommit(() -> index(technicianId, Set.of()));
+    }
+
+    @Override
+    public int rebuild() {
+        Integer written = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.update("DELETE FROM technician_specialties");
+            List<Map.Entry<String, String>> rows = technicianRepository.findAll().stream()
+                    .flatMap(technician -> normalizeAll(technician.getSpecialties()).stream()
+                            .map(key -> new AbstractMap.SimpleImmutableEntry<>(technician.getId(), key)))
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, 1000, (ps, row) -> {
+                ps.setString(1, row.getKey());
+                ps.setString(2, row.getValue());
+            });
+            return rows.size();
+        });
+        load();
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Loads the index on startup. If 'technician_specialties' is empty while technicians exist (the first start
+     * after the table was introduced, or technicians loaded directly into the database), it is built first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOrBackfill() {
+        if (specialtyRepository.count() == 0 && technicianRepository.count() > 0) {
+            long start = System.currentTimeMillis();
+            int written = rebuild();
+            log.info("Built {} technician specialty rows in {} ms", written, System.currentTimeMillis() - start);
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Reloads the index if 'technician_specialties' changed since it was loaded, e.g. on another instance.
+     * Runs every 'technicians.specialties.reload-ms' milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${technicians.specialties.reload-ms:10000}")
+    public void reloadIfChanged() {
+        if (!version().equals(loadedVersion)) {
+            load();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the contents of 'technician_specialties'.
+     */
+    private synchronized void load() {
+        // Read before the rows, so a write committed in between triggers another reload.
+        String version = version();
+        Map<String, Set<String>> rows = jdbcTemplate.query("SELECT technician_id, specialty FROM technician_specialties",
+                        (rs, rowNum) -> new AbstractMap.SimpleImmutableEntry<>(rs.getString(1), rs.getString(2)))
+                .stream()
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toSet())));
+        Map<String, Set<String>> specialties = new ConcurrentHashMap<>();
+        Map<String, Set<String>> technicians = new ConcurrentHashMap<>();
+        rows.forEach((technicianId, keys) -> index(specialties, technicians, technicianId, Set.copyOf(keys)));
+        bySpecialty = specialties;
+        byTechnician = technicians;
+        loadedVersion = version;
+    }
+
+    private String version() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), MAX(id) FROM technician_specialties",
+                (rs, rowNum) -> rs.getLong(1) + "|" + rs.getLong(2));
+    }
+
+    private synchronized void index(String technicianId, Set<String> keys) {
+        index(bySpecialty, byTechnician, technicianId, keys);
+    }
+
+    /**
+     * Moves a technician from their previous specialties to the given ones.
+     */
+    private static void index(Map<String, Set<String>> bySpecialty, Map<String, Set<String>> byTechnician,
+                              String technicianId, Set<String> keys) {
+        Set<String> previous = byTechnician.remove(technicianId);
+        if (previous != null) {
+            for (String key : previous) {
+                bySpecialty.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(technicianId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+        if (!keys.isEmpty()) {
+            byTechnician.put(technicianId, keys);
+            for (String key : keys) {
+                bySpecialty.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(technicianId);
+            }
+        }
+    }
+
+    private static Set<String> normalizeAll(List<String> specialties) {
+        if (specialties == null) {
+            return Set.of();
+        }
+        return specialties.stream()
+                .filter(Objects::nonNull)
+                .map(TechnicianSpecialtyServiceImpl::normalize)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String normalize(String specialty) {
+        return specialty.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary models, repositories, and Spring/Java classes.
+import com.beautyplaza.model.RevokedToken;
+import com.beautyplaza.model.SessionRevocation;
+import com.beautyplaza.repository.RevokedTokenRepository;
+import com.beautyplaza.repository.SessionRevocationRepository;
+import com.beautyplaza.service.TokenRevocationService;
+import com.beautyplaza.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of the TokenRevocationService interface.
+ *
+ * The in-memory view holds revoked token IDs in a Bloom filter plus an exact set, and user-wide "not before"
+ * times in a map. Nearly every request carries a token that was never revoked, and the Bloom filter answers those
+ * with a few bit reads; only the rare filter hit is confirmed against the exact set.
+ *
+ * Each instance applies its own revocations immediately and picks up other instances' revocations by polling for
+ * rows newer than its last poll (minus an overlap, so rows committed late or by a host with a skewed clock are not
+ * missed). An hourly job purges revocations of tokens that have expired anyway and rebuilds the view.
+ */
+@Service // Marks this class as a Spring Service component.
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    @Autowired // Injects RevokedTokenRepository for single-token revocations.
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired // Injects SessionRevocationRepository for user-wide revocations.
+    private SessionRevocationRepository sessionRevocationRepository;
+
+    // Token lifetime in seconds; user-wide revocations older than this no longer match any valid token.
+    @Value("${jwt.expiration}")
+    private long tokenValiditySeconds;
+
+    // How far back each poll looks beyond the previous poll.
+    @Value("${token-revocation.poll-overlap-ms:10000}")
+    private long pollOverlapMillis;
+
+    // Revoked tokens the Bloom filter is sized for (at least); the rebuild grows it when there are more.
+    @Value("${token-revocation.bloom.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${token-revocation.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile View view = new View(new BloomFilter(1, 0.01));
+    private volatile LocalDateTime lastPoll;
+
+    /**
+     * The in-memory revocation state; replaced as a whole by a rebuild.
+     */
+    private static final class View {
+        final BloomFilter filter;
+        final Set<String> revokedIds = ConcurrentHashMap.newKeySet();
+        final Map<String, Long> notBeforeMillis = new ConcurrentHashMap<>();
+
+        View(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        void addToken(String jti) {
+            revokedIds.add(jti); // Exact set first, so a concurrent filter hit always finds the ID.
+            filter.put(jti);
+        }
+
+        void addSessionRevocation(String username, long millis) {
+            notBeforeMillis.merge(username, millis, Math::max);
+        }
+    }
+
+    /**
+     * Loads the current revocations when the application starts.
+     */
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @Override
+    public void revokeToken(String jti, String username, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, username, expiry, LocalDateTime.now()));
+        view.addToken(jti); // Effective on this instance right away; other instances see it on their next poll.
+    }
+
+    @Override
+    public void revokeAllForUser(String username) {
+        LocalDateTime notBefore = LocalDateTime.now();
+        sessionRevocationRepository.save(new SessionRevocation(username, notBefore));
+        view.addSessionRevocation(username, toNotBeforeMillis(notBefore));
+    }
+
+    @Override
+    public boolean isRevoked(String jti, String username, Date issuedAt) {
+        View current = view;
+        if (jti != null && current.filter.mightContain(jti) && current.revokedIds.contains(jti)) {
+            return true;
+        }
+        Long notBefore = current.notBeforeMillis.get(username);
+        return notBefore != null && (issuedAt == null || issuedAt.getTime() < notBefore);
+    }
+
+    /**
+     * Picks up revocations made on other instances since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.poll-interval-ms:5000}",
+            initialDelayString = "${token-revocation.poll-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime pollStarted = LocalDateTime.now();
+        LocalDateTime since = lastPoll.minus(pollOverlapMillis, ChronoUnit.MILLIS);
+        View current = view;
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfter(since)) {
+            current.addToken(token.getJti());
+        }
+        for (SessionRevocation revocation : sessionRevocationRepository.findByNotBeforeAfter(since)) {
+            current.addSessionRevocation(revocation.getUsername(), toNotBeforeMillis(revocation.getNotBefore()));
+        }
+        lastPoll = pollStarted;
+    }
+
+    /**
+     * Deletes revocations that can no longer match a valid token, then rebuilds the in-memory view, which also
+     * drops them from the Bloom filter and resizes it.
+     */
+    @Scheduled(cron = "${token-revocation.purge-cron:0 45 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = revokedTokenRepository.deleteExpired(now);
+        int sessions = sessionRevocationRepository.deleteOlderThan(now.minusSeconds(tokenValiditySeconds));
+        log.info("Purged {} expired token revocations and {} session revocations", tokens, sessions);
+        rebuild();
+    }
+
+    /**
+     * Replaces the in-memory view with one loaded from the database.
+     */
+    private void rebuild() {
+        LocalDateTime loadStarted = LocalDateTime.now();
+        List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(loadStarted);
+        List<SessionRevocation> sessions = sessionRevocationRepository.findByNotBeforeAfter(
+                loadStarted.minusSeconds(tokenValiditySeconds));
+
+        View fresh = new View(new BloomFilter(Math.max(expectedEntries, tokens.size() * 2), falsePositiveRate));
+        tokens.forEach(token -> fresh.addToken(token.getJti()));
+        sessions.forEach(revocation -> fresh.addSessionRevocation(revocation.getUsername(),
+                toNotBeforeMillis(revocation.getNotBefore())));
+        view = fresh;
+        if (lastPoll == null) {
+            lastPoll = loadStarted;
+        }
+        // Revocations made here between loadStarted and the swap went into the old view; the next poll re-reads
+        // them because it looks back beyond loadStarted.
+    }
+
+    /**
+     * Rounds a "not before" time up to the next whole second, because 'iat' only has second precision: a token
+     * issued earlier in the same second must not slip through.
+     */
+    private static long toNotBeforeMillis(LocalDateTime notBefore) {
+        long millis = notBefore.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.floorDiv(millis + 999, 1000) * 1000;
+    }
+}
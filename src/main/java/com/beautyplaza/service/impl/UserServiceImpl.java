@@ -8,13 +8,18 @@ import com.beautyplaza.model.User;
 import com.beautyplaza.exception.ApiException;
 import com.beautyplaza.exception.ResourceNotFoundException;
 import com.beautyplaza.repository.UserRepository;
+import com.beautyplaza.service.RefreshTokenService;
+import com.beautyplaza.service.TechnicianAgendaService;
+import com.beautyplaza.service.TokenRevocationService;
 import com.beautyplaza.service.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,6 +39,15 @@ public class UserServiceImpl implements UserService {
     @Autowired // Injects PasswordEncoder for hashing passwords.
     private PasswordEncoder passwordEncoder;
 
+    @Autowired // Injects TokenRevocationService to sign users out everywhere.
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired // Injects RefreshTokenService so revoked sessions cannot be refreshed.
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired // Injects TechnicianAgendaService to copy name changes into the technician agendas.
+    private TechnicianAgendaService technicianAgendaService;
+
     /**
      * Creates a new user in the system.
      * Validates if an email already exists, hashes the password, and sets default role.
@@ -109,9 +123,11 @@ public class UserServiceImpl implements UserService {
      * @throws ApiException if the new email is already in use by another user.
      */
     @Override
+    @Transactional // The user and the names copied into the technician agendas commit together.
     public UserDto updateUser(String userId, UserDto userDto) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        String previousName = existingUser.getFullName();
 
         // Update fields if provided in DTO.
         Optional.ofNullable(userDto.getFullName()).ifPresent(existingUser::setFullName);
@@ -141,6 +157,9 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(existingUser);
+        if (!Objects.equals(previousName, updatedUser.getFullName())) {
+            technicianAgendaService.renameCustomer(userId, updatedUser.getFullName());
+        }
         return modelMapper.map(updatedUser, UserDto.class);
     }
 
@@ -156,6 +175,19 @@ public class UserServiceImpl implements UserService {
         userRepository.delete(user);
     }
 
+    /**
+     * Revokes every token issued to a user so far, including refresh tokens.
+     * @param userId The ID of the user.
+     * @throws ResourceNotFoundException if no user is found with the given ID.
+     */
+    @Override
+    public void revokeAllSessions(String userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        refreshTokenService.revokeAllForUser(userId); // First, so no new access token can be minted afterwards.
+        tokenRevocationService.revokeAllForUser(user.getEmail());
+    }
+
     /**
      * Checks if a user exists with the given email.
      * @param email The email to check.
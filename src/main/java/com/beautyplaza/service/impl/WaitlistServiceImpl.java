@@ -0,0 +1,318 @@
+package com.beautyplaza.service.impl;
+
+// Importing necessary classes for service logic.
+import com.beautyplaza.dto.WaitlistEntryDto;
+import com.beautyplaza.event.SlotChangedEvent;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.exception.ResourceNotFoundException;
+import com.beautyplaza.model.WaitlistEntry;
+import com.beautyplaza.model.WaitlistStatus;
+import com.beautyplaza.repository.BeautyServiceRepository;
+import com.beautyplaza.repository.TechnicianRepository;
+import com.beautyplaza.repository.WaitlistEntryRepository;
+import com.beautyplaza.request.WaitlistRequest;
+import com.beautyplaza.service.WaitlistService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implementation of the WaitlistService interface.
+ *
+ * Open entries are cached in memory per date, ordered by entry ID (the order customers joined), so matching a freed
+ * slot scans only the waiters of that day and stops at the first match. The table is the source of truth and is
+ * shared by all instances: the cache is reloaded from it on every sweep, picking up entries joined elsewhere, and an
+ * offer is only made if the entry's row still moves from WAITING to OFFERED, so a customer leaving (or matched by
+ * another instance) at the same moment is never offered a slot. Holds are only kept in the table; the booking path
+ * looks up an open OFFERED row for the slot, so a hold made on one instance is honoured by all of them.
+ *
+ * Freed slots are matched on a single background thread after the freeing transaction commits, so cancelling
+ * never waits for the waitlist and offers for the same slot never race each other.
+ */
+@Service // Marks this class as a Spring Service component.
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    // Orders waiters by the time they joined.
+    private static final Comparator<Waiter> JOIN_ORDER = Comparator.comparing(Waiter::id);
+
+    @Autowired // Injects WaitlistEntryRepository for database interaction.
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Autowired // Injects BeautyServiceRepository to validate the wanted service.
+    private BeautyServiceRepository serviceRepository;
+
+    @Autowired // Injects TechnicianRepository to validate the wanted technician.
+    private TechnicianRepository technicianRepository;
+
+    @Autowired // Injects JdbcTemplate for the slot check and the state changes made off the request thread.
+    private JdbcTemplate jdbcTemplate;
+
+    // How long a freed slot is held for the customer it was offered to.
+    @Value("${waitlist.hold-minutes:10}")
+    private long holdMinutes;
+
+    // Open (WAITING) entries per date, in join order; replaced as a whole on every reload.
+    private volatile Map<LocalDate, NavigableSet<Waiter>> waiting = new ConcurrentHashMap<>();
+    private ExecutorService matcher;
+
+    @PostConstruct
+    void start() {
+        matcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-matcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        matcher.shutdown();
+    }
+
+    /**
+     * Loads the open entries into memory once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = reloadWaiting();
+        if (loaded > 0) {
+            log.info("Loaded {} open waitlist entries", loaded);
+        }
+    }
+
+    @Override
+    public WaitlistEntryDto join(String customerId, WaitlistRequest request) {
+        if (!serviceRepository.existsById(request.getServiceId())) {
+            throw new ResourceNotFoundException("Service", "id", request.getServiceId());
+        }
+        if (request.getTechnicianId() != null && !technicianRepository.existsById(request.getTechnicianId())) {
+            throw new ResourceNotFoundException("Technician", "id", request.getTechnicianId());
+        }
+        if (request.getWindowEnd().isBefore(request.getWindowStart())) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "'windowEnd' must not be before 'windowStart'.");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setCustomerId(customerId);
+        entry.setTechnicianId(request.getTechnicianId());
+        entry.setServiceId(request.getServiceId());
+        entry.setServiceType(request.getServiceType());
+        entry.setWaitDate(request.getDate());
+        entry.setWindowStart(request.getWindowStart());
+        entry.setWindowEnd(request.getWindowEnd());
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        add(saved);
+        return toDto(saved);
+    }
+
+    @Override
+    public List<WaitlistEntryDto> getEntries(String customerId) {
+        return waitlistRepository.findByCustomerIdOrderByWaitDateAscWindowStartAsc(customerId).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    public void leave(Long entryId, String customerId) {
+        WaitlistEntry entry = findOwned(entryId, customerId);
+        // Conditional, so an offer made by the matcher meanwhile is cancelled as well.
+        int left = jdbcTemplate.update("UPDATE waitlist_entries SET status = 'CANCELLED' WHERE id = ? AND status IN ('WAITING', 'OFFERED')", entryId);
+        if (left == 0) {
+            throw new ApiException(HttpStatus.CONFLICT, "Waitlist entry is no longer open.");
+        }
+        NavigableSet<Waiter> day = waiting.get(entry.getWaitDate());
+        if (day != null) {
+            day.removeIf(waiter -> waiter.id().equals(entryId));
+        }
+        // An entry is only ever offered once, so an offered slot on the row means it was held at the moment it was
+        // cancelled, possibly by an offer made after findOwned() read it. That slot goes to the next customer in line.
+        // Read with JDBC, as the persistence context may still hold the entity read above.
+        jdbcTemplate.query("SELECT offered_technician_id, offered_time FROM waitlist_entries WHERE id = ? AND offered_technician_id IS NOT NULL",
+                (RowCallbackHandler) rs -> submitOffer(rs.getString(1), entry.getWaitDate(), rs.getObject(2, LocalTime.class), entry.getServiceId()),
+                entryId);
+    }
+
+    @Override
+    public WaitlistEntry getOpenOffer(Long entryId, String customerId) {
+        WaitlistEntry entry = findOwned(entryId, customerId);
+        if (entry.getStatus() != WaitlistStatus.OFFERED || entry.getOfferExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ApiException(HttpStatus.CONFLICT, "There is no open offer for this waitlist entry.");
+        }
+        return entry;
+    }
+
+    @Override
+    public void markBooked(WaitlistEntry entry) {
+        entry.setStatus(WaitlistStatus.BOOKED); // Releases the hold when the booking transaction commits.
+        waitlistRepository.save(entry);
+    }
+
+    @Override
+    public void checkHold(String technicianId, LocalDate date, LocalTime time, String customerId) {
+        WaitlistEntry hold = findHold(technicianId, date, time);
+        if (hold != null && !hold.getCustomerId().equals(customerId)) {
+            throw new ApiException(HttpStatus.CONFLICT, "This slot is held for a waitlisted customer until " + hold.getOfferExpiresAt() + ".");
+        }
+    }
+
+    /**
+     * Queues a freed slot for matching once the freeing transaction has committed.
+     * @param event The slot change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotChanged(SlotChangedEvent event) {
+        if (!event.isTaken()) {
+            submitOffer(event.getTechnicianId(), event.getDate(), event.getTime(), event.getServiceId());
+        }
+    }
+
+    /**
+     * Ends offers whose hold lapsed, offering their slots to the next customers, expires entries for past dates and
+     * reloads the open entries. Runs every 'waitlist.sweep-ms' milliseconds on every instance; the conditional
+     * update lets only one of them pass a lapsed slot on.
+     */
+    @Scheduled(fixedDelayString = "${waitlist.sweep-ms:30000}")
+    public void sweep() {
+        for (WaitlistEntry lapsed : waitlistRepository.findByStatusAndOfferExpiresAtBefore(WaitlistStatus.OFFERED, LocalDateTime.now())) {
+            if (jdbcTemplate.update("UPDATE waitlist_entries SET status = 'EXPIRED' WHERE id = ? AND status = 'OFFERED'", lapsed.getId()) == 1) {
+                submitOffer(lapsed.getOfferedTechnicianId(), lapsed.getWaitDate(), lapsed.getOfferedTime(), lapsed.getServiceId());
+            }
+        }
+        jdbcTemplate.update("UPDATE waitlist_entries SET status = 'EXPIRED' WHERE status = 'WAITING' AND wait_date < ?", LocalDate.now());
+        reloadWaiting();
+    }
+
+    private void submitOffer(String technicianId, LocalDate date, LocalTime time, Long serviceId) {
+        try {
+            matcher.execute(() -> offer(technicianId, date, time, serviceId));
+        } catch (RejectedExecutionException e) {
+            log.debug("Waitlist matcher stopped; slot {} not offered", key(technicianId, date, time));
+        }
+    }
+
+    /**
+     * Offers a freed slot to the first matching waiter. Runs on the matcher thread.
+     */
+    private void offer(String technicianId, LocalDate date, LocalTime time, Long serviceId) {
+        NavigableSet<Waiter> day = waiting.get(date);
+        if (day == null || day.isEmpty() || date.isBefore(LocalDate.now()) || findHold(technicianId, date, time) != null) {
+            return;
+        }
+        // The slot may have been booked again between the commit and now.
+        Boolean taken = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM appointments WHERE technician_id = ? AND appointment_date = ? " +
+                        "AND appointment_time = ? AND status <> 'CANCELLED')", Boolean.class, technicianId, date, time);
+        if (Boolean.TRUE.equals(taken)) {
+            return;
+        }
+        for (Waiter waiter : day) {
+            if (!waiter.matches(technicianId, serviceId, time) || !day.remove(waiter)) {
+                continue;
+            }
+            LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(holdMinutes);
+            int offered = jdbcTemplate.update("UPDATE waitlist_entries SET status = 'OFFERED', offered_technician_id = ?, " +
+                    "offered_time = ?, offer_expires_at = ? WHERE id = ? AND status = 'WAITING'", technicianId, time, expiresAt, waiter.id());
+            if (offered == 1) {
+                // In a real application, the customer would be notified by email/SMS here.
+                log.info("Offered slot {} to waitlist entry {} until {}", key(technicianId, date, time), waiter.id(), expiresAt);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the cached open entries with those in the table, including entries joined on other instances.
+     * @return The number of open entries loaded.
+     */
+    private int reloadWaiting() {
+        List<WaitlistEntry> open = waitlistRepository.findByStatusInAndWaitDateGreaterThanEqualOrderByIdAsc(
+                List.of(WaitlistStatus.WAITING), LocalDate.now());
+        Map<LocalDate, NavigableSet<Waiter>> reloaded = new ConcurrentHashMap<>();
+        open.forEach(entry -> add(reloaded, entry));
+        waiting = reloaded;
+        return open.size();
+    }
+
+    private void add(WaitlistEntry entry) {
+        add(waiting, entry);
+    }
+
+    private static void add(Map<LocalDate, NavigableSet<Waiter>> byDate, WaitlistEntry entry) {
+        byDate.computeIfAbsent(entry.getWaitDate(), date -> new ConcurrentSkipListSet<>(JOIN_ORDER)).add(Waiter.of(entry));
+    }
+
+    /**
+     * Finds the open offer holding a slot, if any.
+     */
+    private WaitlistEntry findHold(String technicianId, LocalDate date, LocalTime time) {
+        return waitlistRepository.findFirstByOfferedTechnicianIdAndWaitDateAndOfferedTimeAndStatusAndOfferExpiresAtAfter(
+                technicianId, date, time, WaitlistStatus.OFFERED, LocalDateTime.now()).orElse(null);
+    }
+
+    private WaitlistEntry findOwned(Long entryId, String customerId) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", "id", entryId));
+        if (!entry.getCustomerId().equals(customerId)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, "Waitlist entry belongs to another customer.");
+        }
+        return entry;
+    }
+
+    private WaitlistEntryDto toDto(WaitlistEntry entry) {
+        return new WaitlistEntryDto(entry.getId(), entry.getTechnicianId(), entry.getServiceId(), entry.getServiceType().name(),
+                entry.getWaitDate(), entry.getWindowStart(), entry.getWindowEnd(), entry.getStatus().name(),
+                entry.getOfferedTechnicianId(), entry.getOfferedTime(), entry.getOfferExpiresAt());
+    }
+
+    private static String key(String technicianId, LocalDate date, LocalTime time) {
+        return technicianId + '|' + date + '|' + time;
+    }
+
+    /**
+     * An open entry as matched in memory.
+     */
+    private record Waiter(Long id, String customerId, String technicianId, Long serviceId,
+                          LocalTime windowStart, LocalTime windowEnd) {
+
+        static Waiter of(WaitlistEntry entry) {
+            return new Waiter(entry.getId(), entry.getCustomerId(), entry.getTechnicianId(), entry.getServiceId(),
+                    entry.getWindowStart(), entry.getWindowEnd());
+        }
+
+        /**
+         * A waiter for a technician matches that technician's slots; one without matches slots freed for its service.
+         */
+        boolean matches(String slotTechnicianId, Long slotServiceId, LocalTime time) {
+            boolean who = technicianId != null ? technicianId.equals(slotTechnicianId) : serviceId.equals(slotServiceId);
+            return who && !time.isBefore(windowStart) && !time.isAfter(windowEnd);
+        }
+    }
+}
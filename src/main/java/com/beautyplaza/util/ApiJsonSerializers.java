@@ -0,0 +1,180 @@
+package com.beautyplaza.util;
+
+// Importing Jackson classes and Java utilities.
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Serializers for the scalar types every API response is full of: LocalDate, LocalTime and BigDecimal.
+ *
+ * The defaults format each value into a new String (through a DateTimeFormatter or BigDecimal.toString()) and then
+ * copy that String into the output buffer. These write the digits into a small char array handed straight to the
+ * generator instead. The output is identical to the defaults: ISO-8601 dates and times, and BigDecimal.toString().
+ * Values outside the fast path (years beyond 0-9999, times with fractional seconds, large or scientific decimals),
+ * timestamp output and @JsonFormat overrides are passed on to the default serializers.
+ */
+public final class ApiJsonSerializers {
+
+    private ApiJsonSerializers() {
+    }
+
+    /**
+     * @return A module registering the serializers; registered after JavaTimeModule, it takes precedence over it.
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("ApiJsonSerializers");
+        module.addSerializer(LocalDate.class, new LocalDateSerializer());
+        module.addSerializer(LocalTime.class, new LocalTimeSerializer());
+        module.addSerializer(BigDecimal.class, new BigDecimalSerializer());
+        return module;
+    }
+
+    /**
+     * Writes a LocalDate as yyyy-MM-dd.
+     */
+    public static class LocalDateSerializer extends StdScalarSerializer<LocalDate> implements ContextualSerializer {
+
+        public LocalDateSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            int year = value.getYear();
+            if (year < 0 || year > 9999 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer.INSTANCE.serialize(value, generator, provider);
+                return;
+            }
+            char[] chars = new char[10];
+            writeDigits(chars, 0, year, 4);
+            chars[4] = '-';
+            writeDigits(chars, 5, value.getMonthValue(), 2);
+            chars[7] = '-';
+            writeDigits(chars, 8, value.getDayOfMonth(), 2);
+            generator.writeString(chars, 0, chars.length);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            return hasFormatOverride(provider, property, LocalDate.class)
+                    ? com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer.INSTANCE.createContextual(provider, property)
+                    : this;
+        }
+    }
+
+    /**
+     * Writes a LocalTime as HH:mm:ss, like DateTimeFormatter.ISO_LOCAL_TIME does for whole seconds.
+     */
+    public static class LocalTimeSerializer extends StdScalarSerializer<LocalTime> implements ContextualSerializer {
+
+        public LocalTimeSerializer() {
+            super(LocalTime.class);
+        }
+
+        @Override
+        public void serialize(LocalTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value.getNano() != 0 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer.INSTANCE.serialize(value, generator, provider);
+                return;
+            }
+            char[] chars = new char[8];
+            writeDigits(chars, 0, value.getHour(), 2);
+            chars[2] = ':';
+            writeDigits(chars, 3, value.getMinute(), 2);
+            chars[5] = ':';
+            writeDigits(chars, 6, value.getSecond(), 2);
+            generator.writeString(chars, 0, chars.length);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            return hasFormatOverride(provider, property, LocalTime.class)
+                    ? com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer.INSTANCE.createContextual(provider, property)
+                    : this;
+        }
+    }
+
+    /**
+     * Writes a BigDecimal with a scale of 0 to 6 and at most 18 digits (every amount the API returns) from its
+     * unscaled long value. For these, BigDecimal.toString() never uses exponent notation, so the output is the same.
+     */
+    public static class BigDecimalSerializer extends StdScalarSerializer<BigDecimal> implements ContextualSerializer {
+
+        public BigDecimalSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            int scale = value.scale();
+            if (scale < 0 || scale > 6 || value.precision() > 18) {
+                NumberSerializer.instance.serialize(value, generator, provider);
+                return;
+            }
+            long unscaled = value.unscaledValue().longValue();
+            boolean negative = unscaled < 0;
+            if (negative) {
+                unscaled = -unscaled;
+            }
+            // Filled from the right: digits, the decimal point after 'scale' digits, at least one integer digit, the sign.
+            char[] chars = new char[21];
+            int position = chars.length;
+            int digits = 0;
+            do {
+                chars[--position] = (char) ('0' + unscaled % 10);
+                unscaled /= 10;
+                if (++digits == scale) {
+                    chars[--position] = '.';
+                }
+            } while (unscaled != 0 || digits <= scale);
+            if (chars[position] == '.') {
+                chars[--position] = '0';
+            }
+            if (negative) {
+                chars[--position] = '-';
+            }
+            generator.writeNumber(chars, position, chars.length - position);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            return hasFormatOverride(provider, property, BigDecimal.class)
+                    ? NumberSerializer.instance.createContextual(provider, property)
+                    : this;
+        }
+    }
+
+    /**
+     * Writes a non-negative value as a fixed number of decimal digits, zero-padded on the left.
+     */
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Checks for a pattern or shape set with @JsonFormat or a config override, which the default serializers handle.
+     */
+    private static boolean hasFormatOverride(SerializerProvider provider, BeanProperty property, Class<?> type) {
+        JsonFormat.Value format = property == null
+                ? provider.getDefaultPropertyFormat(type)
+                : property.findPropertyFormat(provider.getConfig(), type);
+        return format.hasPattern() || format.hasShape() || format.hasLocale() || format.hasTimeZone();
+    }
+}
@@ -0,0 +1,40 @@
+package com.beautyplaza.util;
+
+// Importing Java utilities.
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility methods for hashing request data into fixed-length keys.
+ */
+public final class DigestUtil {
+
+    private DigestUtil() {
+    }
+
+    /**
+     * Hashes a sequence of parts with SHA-256. Each part is followed by a zero byte, so
+     * ("ab", "c") and ("a", "bc") produce different hashes. Null parts hash like empty ones.
+     * @param parts The parts to hash, either Strings (hashed as UTF-8) or byte arrays.
+     * @return The hash as 64 lowercase hex characters.
+     */
+    public static String sha256Hex(Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JRE must provide it.
+        }
+        for (Object part : parts) {
+            if (part instanceof byte[] bytes) {
+                digest.update(bytes);
+            } else if (part != null) {
+                digest.update(part.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
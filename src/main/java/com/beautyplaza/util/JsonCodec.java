@@ -0,0 +1,105 @@
+package com.beautyplaza.util;
+
+// Importing Jackson classes and Java utilities.
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared JSON codec for entity attributes stored as JSON (technician specialties, setting values).
+ *
+ * Building an ObjectMapper is expensive (module setup, serializer caches warmed from scratch), so there is exactly
+ * one, configured once. ObjectReaders and ObjectWriters are immutable and thread-safe; one per Java type is created
+ * on first use and reused afterwards. JsonCodecFormatMapper routes Hibernate's JSON columns through the same
+ * instances, so the entity helpers and the persistence layer read and write JSON identically.
+ */
+public final class JsonCodec {
+
+    // Modules are registered explicitly rather than discovered, so startup does not scan the classpath.
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Type, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private static final ObjectReader STRING_LIST_READER = MAPPER.readerFor(new TypeReference<List<String>>() {});
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+
+    private JsonCodec() {
+    }
+
+    /**
+     * @return The shared, preconfigured ObjectMapper. It must not be reconfigured.
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * @param type The Java type to read, including generic parameters (e.g. List&lt;String&gt;).
+     * @return The reader for the type, created on first use.
+     */
+    public static ObjectReader reader(Type type) {
+        return READERS.computeIfAbsent(type, t -> MAPPER.readerFor(MAPPER.constructType(t)));
+    }
+
+    /**
+     * @param type The declared Java type of the values to write.
+     * @return The writer for the type, created on first use.
+     */
+    public static ObjectWriter writer(Type type) {
+        return WRITERS.computeIfAbsent(type, t -> MAPPER.writerFor(MAPPER.constructType(t)));
+    }
+
+    /**
+     * Parses a JSON array of strings.
+     * @throws IllegalArgumentException if the text is not a JSON array of strings.
+     */
+    public static List<String> readStringList(String json) {
+        try {
+            return STRING_LIST_READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON string array: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Parses any JSON document into a tree.
+     * @throws IllegalArgumentException if the text is not valid JSON.
+     */
+    public static JsonNode readTree(String json) {
+        try {
+            return TREE_READER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a value as JSON text.
+     * @throws IllegalArgumentException if the value cannot be serialized.
+     */
+    public static String write(Object value) {
+        try {
+            return WRITER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value cannot be written as JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.beautyplaza.util;
+
+// Importing Hibernate and Jackson classes.
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.format.FormatMapper;
+
+/**
+ * Hibernate JSON format mapper backed by JsonCodec. It converts every @JdbcTypeCode(SqlTypes.JSON) attribute
+ * (e.g. Technician.specialties, Setting.settingValue) with the shared ObjectMapper and its cached per-type readers
+ * and writers. Registered with 'spring.jpa.properties.hibernate.type.json_format_mapper'.
+ *
+ * A plain JPA AttributeConverter cannot be used for these columns: it would bind a VARCHAR, which MySQL accepts
+ * for a JSON column but the embedded H2 database stores as a JSON string. Behind the format mapper, Hibernate
+ * keeps binding the value the way each dialect expects.
+ */
+public class JsonCodecFormatMapper implements FormatMapper {
+
+    @Override
+    public <T> T fromString(CharSequence charSequence, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        if (isRawText(javaType)) {
+            @SuppressWarnings("unchecked") // T is String or Object.
+            T text = (T) charSequence.toString(); // String and Object attributes hold the JSON text itself.
+            return text;
+        }
+        try {
+            return JsonCodec.reader(javaType.getJavaType()).readValue(charSequence.toString());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not read JSON into " + javaType.getJavaType().getTypeName(), e);
+        }
+    }
+
+    @Override
+    public <T> String toString(T value, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        if (isRawText(javaType) && value instanceof String text) {
+            return text;
+        }
+        try {
+            return JsonCodec.writer(javaType.getJavaType()).writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not write " + javaType.getJavaType().getTypeName() + " as JSON", e);
+        }
+    }
+
+    private static boolean isRawText(JavaType<?> javaType) {
+        return javaType.getJavaType() == String.class || javaType.getJavaType() == Object.class;
+    }
+}
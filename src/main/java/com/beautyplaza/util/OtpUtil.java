@@ -3,68 +3,96 @@ package com.beautyplaza.util;
 // Importing Java utilities.
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for generating and validating One-Time Passwords (OTPs).
  * This class provides a basic in-memory OTP storage for demonstration purposes.
  * In a production environment, OTPs would be stored more securely (e.g., Redis)
  * and sent via external services (SMS, email).
+ * OTPs are stored per key (e.g. per appointment), so validating one key never consumes the OTP of another.
  */
 @Component // Marks this class as a Spring component.
 public class OtpUtil {
 
-    // In-memory map to store OTPs. Key: email, Value: OTP.
-    private final Map<String, String> otpStore = new HashMap<>();
-    // In-memory map to store OTP generation timestamps. Key: email, Value: timestamp.
-    private final Map<String, Long> otpTimestamps = new HashMap<>();
+    // In-memory map to store OTPs. Key: the caller's key, Value: OTP. Requests generate and validate concurrently.
+    private final Map<String, String> otpStore = new ConcurrentHashMap<>();
+    // In-memory map to store OTP generation timestamps. Key: the caller's key, Value: timestamp.
+    private final Map<String, Long> otpTimestamps = new ConcurrentHashMap<>();
     // OTP validity duration in milliseconds (e.g., 5 minutes).
     private static final long OTP_VALIDITY_DURATION_MS = 5 * 60 * 1000; // 5 minutes
 
     /**
      * Generates a 6-digit OTP and stores it with a timestamp.
-     * @param email The email address for which the OTP is generated.
+     * @param key The key (e.g. "appointment:42") for which the OTP is generated.
      * @return The generated OTP string.
      */
-    public String generateOtp(String email) {
+    public String generateOtp(String key) {
+        return generateOtp(List.of(key));
+    }
+
+    /**
+     * Generates one 6-digit OTP and stores it under each of the keys, so a customer who receives one code can
+     * verify every key with it. Each key is consumed separately.
+     * @param keys The keys for which the OTP is generated.
+     * @return The generated OTP string.
+     */
+    public String generateOtp(Collection<String> keys) {
+        long now = System.currentTimeMillis();
+        removeExpired(now); // OTPs that are never validated would otherwise stay forever.
         // Generate a 6-digit random number.
         String otp = String.format("%06d", new Random().nextInt(1000000));
-        otpStore.put(email, otp); // Store the OTP.
-        otpTimestamps.put(email, System.currentTimeMillis()); // Store the generation timestamp.
+        for (String key : keys) {
+            otpTimestamps.put(key, now); // Store the generation timestamp first, so a stored OTP always has one.
+            otpStore.put(key, otp); // Store the OTP.
+        }
         return otp;
     }
 
     /**
-     * Validates an OTP for a given email.
+     * Validates an OTP for a given key.
      * Checks if the OTP exists, matches, and is still valid (not expired).
-     * @param email The email for which the OTP is to be validated.
+     * @param key The key for which the OTP is to be validated.
      * @param otp The OTP provided by the user.
      * @return True if the OTP is valid, false otherwise.
      */
-    public boolean validateOtp(String email, String otp) {
-        // Check if OTP exists for the email.
-        if (!otpStore.containsKey(email)) {
+    public boolean validateOtp(String key, String otp) {
+        String stored = otpStore.get(key);
+        // Check if OTP exists for the key.
+        if (stored == null) {
             return false;
         }
 
         // Check if OTP has expired.
-        long generationTime = otpTimestamps.getOrDefault(email, 0L);
+        long generationTime = otpTimestamps.getOrDefault(key, 0L);
         if (System.currentTimeMillis() - generationTime > OTP_VALIDITY_DURATION_MS) {
             // OTP expired, remove it.
-            otpStore.remove(email);
-            otpTimestamps.remove(email);
+            otpStore.remove(key, stored);
+            otpTimestamps.remove(key, generationTime);
             return false;
         }
 
-        // Validate if the provided OTP matches the stored one.
-        boolean isValid = otpStore.get(email).equals(otp);
+        // Validate if the provided OTP matches the stored one. Removing it only succeeds once,
+        // so two concurrent validations of the same OTP cannot both pass.
+        boolean isValid = stored.equals(otp) && otpStore.remove(key, stored);
         if (isValid) {
-            // Remove OTP after successful validation to prevent reuse.
-            otpStore.remove(email);
-            otpTimestamps.remove(email);
+            otpTimestamps.remove(key, generationTime);
         }
         return isValid;
     }
+
+    /**
+     * Removes the OTPs that have expired.
+     */
+    private void removeExpired(long now) {
+        otpTimestamps.forEach((key, generationTime) -> {
+            if (now - generationTime > OTP_VALIDITY_DURATION_MS && otpTimestamps.remove(key, generationTime)) {
+                otpStore.remove(key);
+            }
+        });
+    }
 }
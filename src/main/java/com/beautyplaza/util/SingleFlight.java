@@ -0,0 +1,94 @@
+package com.beautyplaza.util;
+
+// Importing Java utilities.
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a load for a key is in flight, further callers with the same key
+ * wait for it and get the same result (or exception) instead of starting their own load.
+ * Nothing is cached once the load completes, so the next call after that loads fresh data.
+ * Callers share the returned object, so results must not be modified by the caller.
+ * @param <K> The key type; calls with equal keys are coalesced.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+
+    private final boolean enabled;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * @param enabled When false, every call runs its own load (used to switch coalescing off per method).
+     */
+    public SingleFlight(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs the loader for a key, or joins the load already in flight for it.
+     * @param key The key identifying the call.
+     * @param loader Loads the result; runs on the calling thread of the first caller.
+     * @return The result of the load.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            loads.incrementAndGet();
+            return loader.get();
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.incrementAndGet();
+            return join(running);
+        }
+
+        loads.incrementAndGet();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine); // Later callers start a new load.
+        }
+    }
+
+    /**
+     * Waits for another caller's load and rethrows its exception unchanged, e.g. ResourceNotFoundException.
+     */
+    private V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of loads actually executed.
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    /**
+     * @return The number of calls that joined another caller's load instead of executing their own.
+     */
+    public long getShared() {
+        return shared.get();
+    }
+}
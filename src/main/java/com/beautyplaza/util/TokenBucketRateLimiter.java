@@ -0,0 +1,121 @@
+package com.beautyplaza.util;
+
+// Importing Java utilities.
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token-bucket rate limiter with one bucket per key (e.g. an IP address or an account).
+ *
+ * Each bucket is a single AtomicLong holding the bucket's "theoretical arrival time" (the generic cell rate
+ * algorithm, equivalent to a token bucket): taking a token moves it one refill interval into the future, and a
+ * request is rejected when that would put it more than 'capacity' intervals ahead of now. Acquiring is one CAS
+ * loop, with no locks and no background refill thread.
+ *
+ * Buckets are spread over independent stripes so the idle-bucket sweep walks one small map at a time.
+ * A bucket is idle once it has refilled completely; evicting it loses nothing, because a new bucket starts full.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos; // Time to refill one token.
+    private final long burstNanos;    // capacity * intervalNanos: how far ahead of now a bucket may be.
+    private final LongSupplier clock;
+    private final Map<String, AtomicLong>[] stripes;
+
+    /**
+     * @param capacity Maximum number of tokens (the allowed burst).
+     * @param refillTokens Tokens added per refill period.
+     * @param refillPeriod Length of the refill period.
+     * @param stripeCount Number of stripes; rounded up to a power of two.
+     */
+    public TokenBucketRateLimiter(int capacity, int refillTokens, Duration refillPeriod, int stripeCount) {
+        this(capacity, refillTokens, refillPeriod, stripeCount, System::nanoTime);
+    }
+
+    /**
+     * Same as above with an explicit nanosecond clock (for tests).
+     */
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(int capacity, int refillTokens, Duration refillPeriod, int stripeCount, LongSupplier clock) {
+        if (capacity < 1 || refillTokens < 1) {
+            throw new IllegalArgumentException("capacity and refillTokens must be positive");
+        }
+        this.intervalNanos = Math.max(1, refillPeriod.toNanos() / refillTokens);
+        this.burstNanos = capacity * intervalNanos;
+        this.clock = clock;
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Takes a token from the key's bucket if one is available.
+     * @param key The bucket key.
+     * @return 0 if a token was taken, otherwise the number of nanoseconds until one will be available.
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = stripe(key).computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos; // Rejected; the bucket is left unchanged.
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely. A request racing with the removal of its bucket may
+     * land on the removed bucket and be counted against a fresh one, which can only grant one extra token.
+     * @return The number of buckets removed.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            for (Map.Entry<String, AtomicLong> entry : stripe.entrySet()) {
+                if (entry.getValue().get() <= now && stripe.remove(entry.getKey(), entry.getValue())) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return The number of buckets currently held.
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Converts a rejection's wait time into whole seconds, for a Retry-After header.
+     */
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private Map<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,32 @@
+package com.beautyplaza.util;
+
+// Importing Spring transaction support classes.
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility methods for tying in-memory state to the outcome of the current transaction.
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or right away outside a transaction.
+     * Used to update in-memory indexes and caches only with changes that are actually in the database.
+     * @param action The action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
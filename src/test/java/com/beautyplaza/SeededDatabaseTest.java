@@ -0,0 +1,34 @@
+package com.beautyplaza;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Boots the application against an in-memory H2 database filled by the perf seeder.
+ * Every test class carrying this annotation shares one cached context and one database, so each test
+ * restores the rows it changes and must not assume it runs before or after any other class.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:seeded;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.batch-size=500",
+		"perf.seed.users=200",
+		"perf.seed.technicians=10",
+		"perf.seed.services=8",
+		"perf.seed.appointments=5000",
+		"perf.seed.loyalty-transactions=100"
+})
+@ActiveProfiles("perf")
+public @interface SeededDatabaseTest {
+}
@@ -0,0 +1,43 @@
+package com.beautyplaza;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Copies whole tables aside so a test on the shared seeded database can put them back as it found them.
+ * Meant for the small tables a test rewrites (ledgers, rollups, checkpoints); copies are plain tables
+ * named 'backup_' + table, created by {@link #of} and dropped again by {@link #restore}.
+ */
+public final class TableBackup {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final List<String> tables;
+
+	private TableBackup(JdbcTemplate jdbcTemplate, List<String> tables) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.tables = tables;
+	}
+
+	/**
+	 * Copies the current rows of the given tables.
+	 */
+	public static TableBackup of(JdbcTemplate jdbcTemplate, String... tables) {
+		for (String table : tables) {
+			jdbcTemplate.execute("DROP TABLE IF EXISTS backup_" + table);
+			jdbcTemplate.execute("CREATE TABLE backup_" + table + " AS SELECT * FROM " + table);
+		}
+		return new TableBackup(jdbcTemplate, List.of(tables));
+	}
+
+	/**
+	 * Replaces the rows of every table with the copied ones and drops the copies.
+	 */
+	public void restore() {
+		for (String table : tables) {
+			jdbcTemplate.update("DELETE FROM " + table);
+			jdbcTemplate.update("INSERT INTO " + table + " SELECT * FROM backup_" + table);
+			jdbcTemplate.execute("DROP TABLE backup_" + table);
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.beautyplaza.config;
+
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.security.CustomUserDetailsService;
+import com.beautyplaza.security.JwtHelper;
+import com.beautyplaza.service.AppointmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures what response compression costs and saves, to choose server.compression.min-response-size.
+ * gzipCostBySize() compresses appointment lists of increasing length the way Tomcat does (GZIPOutputStream with
+ * sync flush) and reports the compressed size and the CPU time per response. endpointsOverHttp() requests the large
+ * list endpoints through the embedded Tomcat with and without 'Accept-Encoding: gzip' and reports the bytes on the
+ * wire and the process CPU time per request (server and client share the JVM; the client does the same work in both).
+ * Run with: ./mvnw test -Pbenchmark -Dtest=ResponseCompressionBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:compression-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=2000",
+		"perf.seed.technicians=50",
+		"perf.seed.appointments=10000",
+		"perf.seed.loyalty-transactions=20000"
+})
+@ActiveProfiles("perf")
+class ResponseCompressionBenchmarkTest {
+
+	private static final int[] LIST_SIZES = {1, 2, 5, 10, 20, 100, 1000, 10_000};
+	private static final int REQUESTS = 20;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void gzipCostBySize() throws Exception {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		List<AppointmentDto> appointments = appointmentService.getAllAppointments();
+		System.out.printf("%8s %12s %12s %7s %14s %12s%n", "items", "raw bytes", "gzip bytes", "ratio", "gzip CPU us", "us per KB");
+		for (int size : LIST_SIZES) {
+			byte[] json = objectMapper.writeValueAsBytes(appointments.subList(0, size));
+			int iterations = Math.max(20, 2_000_000 / json.length);
+			gzip(json, iterations); // Warm-up.
+			long cpu = threads.getCurrentThreadCpuTime();
+			int compressed = gzip(json, iterations);
+			double micros = (threads.getCurrentThreadCpuTime() - cpu) / 1000.0 / iterations;
+			System.out.printf("%8d %,12d %,12d %6.1f%% %14.1f %12.2f%n", size, json.length, compressed,
+					100.0 * compressed / json.length, micros, micros * 1024 / json.length);
+		}
+	}
+
+	@Test
+	void endpointsOverHttp() throws Exception {
+		String token = jwtHelper.generateToken(userDetailsService.loadUserByUsername("admin@perf.beautyplaza.test"));
+		String userId = jdbcTemplate.queryForObject(
+				"SELECT user_id FROM loyalty_points GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		for (String path : List.of("/api/appointments", "/api/users", "/api/loyalty-points/user/" + userId)) {
+			for (int round = 0; round < 2; round++) { // The first round warms up both variants.
+				Result plain = measure(client, path, token, false);
+				Result gzip = measure(client, path, token, true);
+				if (round == 1) {
+					System.out.printf("%-40s identity: %,10d bytes %,8d us CPU | gzip: %,10d bytes %,8d us CPU%n",
+							path.startsWith("/api/loyalty-points") ? "/api/loyalty-points/user/{id}" : path,
+							plain.bytes, plain.cpuMicros, gzip.bytes, gzip.cpuMicros);
+					assertTrue(gzip.bytes < plain.bytes);
+				}
+			}
+		}
+	}
+
+	private Result measure(HttpClient client, String path, String token, boolean gzip) throws Exception {
+		com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Authorization", "Bearer " + token);
+		if (gzip) {
+			request.header("Accept-Encoding", "gzip");
+		}
+		long bytes = 0;
+		long cpu = os.getProcessCpuTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+			assertEquals(200, response.statusCode());
+			assertEquals(gzip, response.headers().firstValue("Content-Encoding").isPresent());
+			bytes += response.body().length;
+		}
+		return new Result(bytes / REQUESTS, (os.getProcessCpuTime() - cpu) / 1000 / REQUESTS);
+	}
+
+	/**
+	 * @return The compressed size of one response.
+	 */
+	private static int gzip(byte[] json, int iterations) throws Exception {
+		int size = 0;
+		for (int i = 0; i < iterations; i++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out, true)) {
+				gzip.write(json);
+			}
+			size = out.size();
+		}
+		return size;
+	}
+
+	private record Result(long bytes, long cpuMicros) {
+	}
+}
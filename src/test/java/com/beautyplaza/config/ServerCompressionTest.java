@@ -0,0 +1,82 @@
+package com.beautyplaza.config;
+
+import com.beautyplaza.security.CustomUserDetailsService;
+import com.beautyplaza.security.JwtHelper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:compression;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=50",
+		"perf.seed.technicians=5",
+		"perf.seed.appointments=500",
+		"perf.seed.loyalty-transactions=50"
+})
+@ActiveProfiles("perf")
+class ServerCompressionTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void compressesLargeResponsesOnly() throws Exception {
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		String token = jwtHelper.generateToken(userDetailsService.loadUserByUsername("admin@perf.beautyplaza.test"));
+
+		// The streamed appointment list has no Content-Length and is always compressed.
+		HttpResponse<byte[]> list = client.send(get("/api/appointments", token), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, list.statusCode());
+		assertEquals("gzip", list.headers().firstValue("Content-Encoding").orElse(null));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(list.body()))) {
+			byte[] json = in.readAllBytes();
+			assertTrue(json.length > 4 * list.body().length);
+			assertEquals('[', json[0]);
+		}
+
+		// A single user is below the 2 KB threshold.
+		String userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'user1@perf.beautyplaza.test'", String.class);
+		HttpResponse<byte[]> user = client.send(get("/api/users/" + userId, token), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, user.statusCode());
+		assertTrue(user.headers().firstValue("Content-Encoding").isEmpty());
+	}
+
+	@Test
+	void upgradesPlainConnectionsToHttp2() throws Exception {
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v3/api-docs")).build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		assertEquals(HttpClient.Version.HTTP_2, response.version());
+	}
+
+	private HttpRequest get(String path, String token) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Authorization", "Bearer " + token)
+				.header("Accept-Encoding", "gzip")
+				.build();
+	}
+}
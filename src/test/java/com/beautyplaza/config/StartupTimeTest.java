@@ -0,0 +1,50 @@
+package com.beautyplaza.config;
+
+import com.beautyplaza.BeautyplazaApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the whole application (web server, JPA, security, actuator) against an empty embedded database and checks
+ * the time to ready against a budget. The default budget allows for a single-CPU CI container, where a cold start in
+ * the test JVM takes about 30 seconds; set the budget of the target machines with -Dstartup.budget-ms=N.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=StartupTimeTest
+ */
+@Tag("benchmark")
+class StartupTimeTest {
+
+	private static final Logger log = LoggerFactory.getLogger(StartupTimeTest.class);
+
+	private static final long BUDGET_MS = Long.getLong("startup.budget-ms", 60_000L);
+
+	@Test
+	void startsWithinBudgetWithDocsDeferred() {
+		BufferingApplicationStartup startup = StartupTimingReport.applicationStartup();
+		long begin = System.nanoTime();
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeautyplazaApplication.class)
+				.applicationStartup(startup)
+				.profiles("perf")
+				.run("--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+						"--server.port=0")) {
+			long millis = (System.nanoTime() - begin) / 1_000_000;
+
+			log.info("Started in {} ms (budget {} ms)", millis, BUDGET_MS);
+			assertFalse(StartupTimingReport.slowestBeans(startup.getBufferedTimeline(), 10).isEmpty());
+
+			// SpringDoc and SwaggerConfig are lazy: nothing of them was created while starting.
+			assertFalse(context.getBeanFactory().containsSingleton("beautyPlazaOpenAPI"));
+			assertFalse(context.getBeanFactory().containsSingleton("openApiResource"));
+			assertTrue(context.containsBean("openApiResource"));
+
+			assertTrue(millis < BUDGET_MS, "Startup took " + millis + " ms, budget is " + BUDGET_MS + " ms");
+		}
+	}
+}
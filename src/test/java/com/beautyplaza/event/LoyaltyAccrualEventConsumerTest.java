@@ -0,0 +1,88 @@
+package com.beautyplaza.event;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.TableBackup;
+import com.beautyplaza.model.Setting;
+import com.beautyplaza.repository.SettingRepository;
+import com.beautyplaza.service.AppointmentService;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SeededDatabaseTest
+class LoyaltyAccrualEventConsumerTest {
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private AppointmentEventDispatcher appointmentEventDispatcher;
+
+	@Autowired
+	private SettingRepository settingRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void creditsEachCompletedAppointmentOnce() {
+		// Beyond tomorrow, so the in-memory agenda of today and tomorrow is not involved.
+		List<Long> ids = jdbcTemplate.queryForList("SELECT a.id FROM appointments a WHERE a.status = 'CONFIRMED' " +
+				"AND a.appointment_date > ? AND a.total_amount > 0 " +
+				"AND NOT EXISTS (SELECT 1 FROM loyalty_points lp WHERE lp.appointment_id = a.id) " +
+				"ORDER BY a.id DESC LIMIT 3", Long.class, LocalDate.now().plusDays(1));
+		assertEquals(3, ids.size());
+		TableBackup backup = TableBackup.of(jdbcTemplate, "settings", "loyalty_points", "appointment_status_events", "revenue_rollups");
+		try {
+			assertCreditedOnce(ids);
+		} finally {
+			backup.restore();
+			for (Long id : ids) {
+				jdbcTemplate.update("UPDATE appointments SET status = 'CONFIRMED' WHERE id = ?", id);
+				jdbcTemplate.update("UPDATE technician_agenda_entries SET status = 'CONFIRMED' WHERE appointment_id = ?", id);
+			}
+		}
+	}
+
+	private void assertCreditedOnce(List<Long> ids) {
+		Setting rate = new Setting();
+		rate.setSettingKey(LoyaltyAccrualEventConsumer.EARN_RATE_SETTING);
+		rate.setSettingValue(JsonNodeFactory.instance.numberNode(new BigDecimal("2")));
+		settingRepository.save(rate);
+		// A redemption against an appointment is not a credit.
+		jdbcTemplate.update("INSERT INTO loyalty_points (user_id, transaction_type, points, appointment_id, created_at) " +
+				"SELECT customer_id, 'REDEEMED', 10, id, CURRENT_TIMESTAMP FROM appointments WHERE id = ?", ids.get(1));
+
+		ids.forEach(id -> appointmentService.updateAppointmentStatus(id, "COMPLETED"));
+		appointmentService.updateAppointmentStatus(ids.get(0), "PAID"); // Must not earn a second time.
+		appointmentEventDispatcher.dispatchPending();
+
+		// Redelivering the same events must not credit the appointments again.
+		jdbcTemplate.update("UPDATE appointment_status_events SET processed_at = NULL WHERE appointment_id IN (?, ?, ?)",
+				ids.get(0), ids.get(1), ids.get(2));
+		appointmentEventDispatcher.dispatchPending();
+
+		for (Long id : ids) {
+			BigDecimal net = jdbcTemplate.queryForObject(
+					"SELECT total_amount - COALESCE(loyalty_discount, 0) FROM appointments WHERE id = ?", BigDecimal.class, id);
+			List<Integer> points = jdbcTemplate.queryForList(
+					"SELECT points FROM loyalty_points WHERE appointment_id = ? AND transaction_type = 'EARNED'", Integer.class, id);
+			assertEquals(List.of(net.multiply(BigDecimal.valueOf(2)).setScale(0, RoundingMode.FLOOR).intValue()), points);
+		}
+
+		// The database refuses a second credit, whichever path it comes from.
+		assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+				"INSERT INTO loyalty_points (user_id, transaction_type, points, appointment_id, created_at) " +
+						"SELECT customer_id, 'EARNED', 1, id, CURRENT_TIMESTAMP FROM appointments WHERE id = ?", ids.get(2)));
+	}
+}
@@ -0,0 +1,33 @@
+package com.beautyplaza.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppointmentStatusTest {
+
+	@Test
+	void allowsTheBookingLifecycle() {
+		assertTrue(AppointmentStatus.SCHEDULED.canTransitionTo(AppointmentStatus.CONFIRMED));
+		assertTrue(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.COMPLETED));
+		assertTrue(AppointmentStatus.COMPLETED.canTransitionTo(AppointmentStatus.PAID));
+		assertTrue(AppointmentStatus.SCHEDULED.canTransitionTo(AppointmentStatus.CANCELLED));
+		assertTrue(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.PAID)); // Paid up front.
+	}
+
+	@Test
+	void rejectsMovesOutOfTerminalStatuses() {
+		for (AppointmentStatus target : AppointmentStatus.values()) {
+			assertFalse(AppointmentStatus.PAID.canTransitionTo(target));
+			assertFalse(AppointmentStatus.CANCELLED.canTransitionTo(target));
+		}
+	}
+
+	@Test
+	void rejectsGoingBackwards() {
+		assertFalse(AppointmentStatus.COMPLETED.canTransitionTo(AppointmentStatus.SCHEDULED));
+		assertFalse(AppointmentStatus.COMPLETED.canTransitionTo(AppointmentStatus.CANCELLED));
+		assertFalse(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.SCHEDULED));
+	}
+}
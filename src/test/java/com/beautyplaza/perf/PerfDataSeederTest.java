@@ -0,0 +1,45 @@
+package com.beautyplaza.perf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:perf-seeder;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.batch-size=100",
+		"perf.seed.users=250",
+		"perf.seed.technicians=10",
+		"perf.seed.services=25",
+		"perf.seed.appointments=3000",
+		"perf.seed.loyalty-transactions=1000"
+})
+@ActiveProfiles("perf")
+class PerfDataSeederTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void seedsConfiguredVolumes() {
+		assertEquals(251, count("SELECT COUNT(*) FROM users")); // Customers plus the admin account.
+		assertEquals(10, count("SELECT COUNT(*) FROM technicians"));
+		assertEquals(25, count("SELECT COUNT(*) FROM services"));
+		assertEquals(3000, count("SELECT COUNT(*) FROM appointments"));
+		assertEquals(1000, count("SELECT COUNT(*) FROM loyalty_points"));
+	}
+
+	@Test
+	void neverDoubleBooksATechnician() {
+		assertEquals(0, count("SELECT COUNT(*) FROM (SELECT technician_id, appointment_date, appointment_time " +
+				"FROM appointments GROUP BY technician_id, appointment_date, appointment_time HAVING COUNT(*) > 1) d"));
+	}
+
+	private long count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Long.class);
+	}
+}
@@ -0,0 +1,98 @@
+package com.beautyplaza.repository;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.service.AppointmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with EXPLAIN that the appointment lookups use the declared indexes rather than scanning the table.
+ * The statements mirror the SQL generated for the repository methods.
+ */
+@SeededDatabaseTest
+class AppointmentQueryPlanTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Test
+	void customerTimelineUsesTheCustomerIndex() {
+		String customerId = customerWithAppointments();
+		String upcoming = explain("SELECT * FROM appointments a WHERE a.customer_id = '" + customerId + "' "
+				+ "AND a.appointment_date >= CURRENT_DATE AND (a.appointment_date > CURRENT_DATE OR a.appointment_time >= CURRENT_TIME) "
+				+ "ORDER BY a.appointment_date, a.appointment_time LIMIT 20");
+		String past = explain("SELECT * FROM appointments a WHERE a.customer_id = '" + customerId + "' "
+				+ "AND a.appointment_date <= CURRENT_DATE AND (a.appointment_date < CURRENT_DATE OR a.appointment_time < CURRENT_TIME) "
+				+ "ORDER BY a.appointment_date DESC, a.appointment_time DESC LIMIT 20");
+
+		assertUsesIndex(upcoming, "idx_appointments_customer_date_time");
+		assertUsesIndex(past, "idx_appointments_customer_date_time");
+	}
+
+	@Test
+	void technicianAndStatusLookupsUseTheirIndexes() {
+		String technicianId = jdbcTemplate.queryForObject("SELECT MIN(technician_id) FROM appointments", String.class);
+		// An equality lookup on technician_id alone may equally use the foreign key's index; either way no scan.
+		assertNoTableScan(explain("SELECT * FROM appointments a WHERE a.technician_id = '" + technicianId + "'"));
+		assertUsesIndex(explain("SELECT * FROM appointments a WHERE a.technician_id = '" + technicianId + "' "
+				+ "AND a.appointment_date = CURRENT_DATE"), "idx_appointments_technician_date_time");
+		assertUsesIndex(explain("SELECT * FROM appointments a WHERE a.status = 'SCHEDULED'"), "idx_appointments_status_date");
+		assertUsesIndex(explain("SELECT * FROM appointments a WHERE a.status = 'COMPLETED' "
+				+ "AND a.appointment_date BETWEEN CURRENT_DATE - 30 AND CURRENT_DATE"), "idx_appointments_status_date");
+	}
+
+	@Test
+	void timelineIsOrderedAndLimited() {
+		String customerId = customerWithAppointments();
+		LocalDateTime now = LocalDateTime.now();
+
+		List<AppointmentDto> past = appointmentService.getCustomerTimeline(customerId, false, 5);
+		List<AppointmentDto> upcoming = appointmentService.getCustomerTimeline(customerId, true, 5);
+
+		assertTrue(past.size() <= 5 && upcoming.size() <= 5);
+		assertFalse(past.isEmpty() && upcoming.isEmpty());
+		for (int i = 1; i < past.size(); i++) {
+			assertTrue(!start(past.get(i)).isAfter(start(past.get(i - 1)))); // Newest first.
+		}
+		for (int i = 1; i < upcoming.size(); i++) {
+			assertTrue(!start(upcoming.get(i)).isBefore(start(upcoming.get(i - 1)))); // Soonest first.
+		}
+		past.forEach(appointment -> assertTrue(start(appointment).isBefore(now)));
+		upcoming.forEach(appointment -> assertFalse(start(appointment).isBefore(now.minusMinutes(1))));
+		assertEquals(customerId, past.isEmpty() ? upcoming.get(0).getCustomerId() : past.get(0).getCustomerId());
+	}
+
+	private String customerWithAppointments() {
+		return jdbcTemplate.queryForObject(
+				"SELECT customer_id FROM appointments GROUP BY customer_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+	}
+
+	private String explain(String sql) {
+		return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+	}
+
+	private static void assertUsesIndex(String plan, String index) {
+		assertNoTableScan(plan);
+		assertTrue(plan.contains(index), plan);
+	}
+
+	private static void assertNoTableScan(String plan) {
+		assertFalse(plan.contains("tablescan"), plan);
+	}
+
+	private static LocalDateTime start(AppointmentDto appointment) {
+		return appointment.getAppointmentDate().atTime(appointment.getAppointmentTime());
+	}
+}
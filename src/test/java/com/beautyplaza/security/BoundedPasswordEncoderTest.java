@@ -0,0 +1,76 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+	@Test
+	void fullQueueFailsFastWith503() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+		PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return true;
+			}
+		};
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 10_000)) {
+			callers.submit(() -> encoder.matches("a", "x")); // Occupies the only thread.
+			callers.submit(() -> encoder.matches("b", "x")); // Fills the queue.
+			while (encoder.getQueued() < 1) {
+				Thread.sleep(1);
+			}
+
+			long begin = System.nanoTime();
+			ApiException error = assertThrows(ApiException.class, () -> encoder.matches("c", "x"));
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatus());
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) < 1_000);
+			assertFalse(encoder.upgradeEncoding(weakHash)); // No upgrades while backlogged.
+			release.countDown();
+		} finally {
+			callers.shutdownNow();
+		}
+	}
+
+	@Test
+	void legacyAndWeakHashesVerifyAndAskForAnUpgrade() {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(6);
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+		delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+		try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegating, 1, 4, 10_000)) {
+			String legacy = new BCryptPasswordEncoder(6).encode("secret"); // Stored before the {bcrypt} prefix.
+			String weak = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+			String current = encoder.encode("secret");
+
+			assertTrue(current.startsWith("{bcrypt}"));
+			assertTrue(encoder.matches("secret", legacy));
+			assertTrue(encoder.matches("secret", weak));
+			assertFalse(encoder.matches("wrong", current));
+			assertTrue(encoder.upgradeEncoding(legacy));
+			assertTrue(encoder.upgradeEncoding(weak));
+			assertFalse(encoder.upgradeEncoding(current));
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.service.AppointmentService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SeededDatabaseTest
+class IdempotencyFilterTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MockMvc mockMvc;
+	private String token;
+	private String code;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+		token = jwtHelper.generateToken(userDetailsService.loadUserByUsername("user5@perf.beautyplaza.test"));
+		code = UUID.randomUUID().toString().substring(0, 12).toUpperCase();
+		jdbcTemplate.update("INSERT INTO gift_cards (code, initial_amount, current_balance, expiry_date, is_active) VALUES (?, ?, ?, ?, ?)",
+				code, new BigDecimal("100.00"), new BigDecimal("100.00"), LocalDate.now().plusYears(1), true);
+	}
+
+	@AfterEach
+	void deleteCardAndKeys() {
+		jdbcTemplate.update("DELETE FROM idempotency_keys WHERE principal = ?", "user5@perf.beautyplaza.test");
+		jdbcTemplate.update("DELETE FROM gift_cards WHERE code = ?", code);
+	}
+
+	@Test
+	void retriesAreReplayedWithoutRedeemingAgain() throws Exception {
+		String key = UUID.randomUUID().toString();
+		MockHttpServletResponse first = redeem(key, "10.00");
+		MockHttpServletResponse retry = redeem(key, "10.00");
+
+		assertEquals(200, first.getStatus());
+		assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(200, retry.getStatus());
+		assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(first.getContentAsString(), retry.getContentAsString());
+		assertEquals(0, new BigDecimal("90.00").compareTo(balance()));
+
+		// The same key with a different body is rejected; a new key redeems again.
+		assertEquals(422, redeem(key, "20.00").getStatus());
+		assertEquals(200, redeem(UUID.randomUUID().toString(), "20.00").getStatus());
+		assertEquals(0, new BigDecimal("70.00").compareTo(balance()));
+	}
+
+	@Test
+	void clientErrorsAreReplayedToo() throws Exception {
+		String key = UUID.randomUUID().toString();
+		assertEquals(400, redeem(key, "500.00").getStatus()); // Insufficient balance is a final answer, so it is stored.
+		assertEquals("true", redeem(key, "500.00").getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys WHERE status_code IS NULL", Integer.class));
+	}
+
+	@Test
+	void concurrentDuplicatesExecuteOnce() throws Exception {
+		String key = UUID.randomUUID().toString();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				responses.add(executor.submit((Callable<MockHttpServletResponse>) () -> redeem(key, "5.00")));
+			}
+			String body = null;
+			for (Future<MockHttpServletResponse> response : responses) {
+				assertEquals(200, response.get().getStatus());
+				if (body == null) {
+					body = response.get().getContentAsString();
+				}
+				assertEquals(body, response.get().getContentAsString());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(0, new BigDecimal("95.00").compareTo(balance()));
+	}
+
+	@Test
+	void bulkBookingRetriesAreReplayed() throws Exception {
+		String customerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "user5@perf.beautyplaza.test");
+		String technicianId = jdbcTemplate.queryForObject(
+				"SELECT id FROM technicians WHERE is_available = TRUE ORDER BY id LIMIT 1 OFFSET 9", String.class);
+		Long serviceId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class);
+		LocalDate date = LocalDate.now().plusDays(405);
+		String body = "{\"mode\":\"ALL_OR_NOTHING\",\"repeatWeeks\":2,\"appointments\":[{\"customerId\":\"" + customerId +
+				"\",\"serviceId\":" + serviceId + ",\"technicianId\":\"" + technicianId + "\",\"appointmentDate\":\"" + date +
+				"\",\"appointmentTime\":\"09:00:00\",\"serviceType\":\"in-store\",\"customerEmail\":\"user5@perf.beautyplaza.test\"}]}";
+		String key = UUID.randomUUID().toString();
+		try {
+			MockHttpServletResponse first = bulk(key, body);
+			MockHttpServletResponse retry = bulk(key, body);
+
+			assertEquals(201, first.getStatus());
+			assertEquals(201, retry.getStatus());
+			assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+			assertEquals(first.getContentAsString(), retry.getContentAsString());
+			assertEquals(2, bookedFrom(technicianId, date).size()); // Booked once: two weeks, not four.
+		} finally {
+			bookedFrom(technicianId, date).forEach(appointmentService::deleteAppointment);
+		}
+	}
+
+	private MockHttpServletResponse bulk(String key, String body) throws Exception {
+		return mockMvc.perform(post("/api/appointments/bulk")
+						.header("Authorization", "Bearer " + token)
+						.header(IdempotencyFilter.HEADER, key)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body))
+				.andReturn().getResponse();
+	}
+
+	private List<Long> bookedFrom(String technicianId, LocalDate date) {
+		return jdbcTemplate.queryForList("SELECT id FROM appointments WHERE technician_id = ? AND appointment_date >= ?",
+				Long.class, technicianId, date);
+	}
+
+	private MockHttpServletResponse redeem(String key, String amount) throws Exception {
+		return mockMvc.perform(post("/api/giftcards/redeem")
+						.header("Authorization", "Bearer " + token)
+						.header(IdempotencyFilter.HEADER, key)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"cardCode\":\"" + code + "\",\"redeemAmount\":" + amount + "}"))
+				.andReturn().getResponse();
+	}
+
+	private BigDecimal balance() {
+		return jdbcTemplate.queryForObject("SELECT current_balance FROM gift_cards WHERE code = ?", BigDecimal.class, code);
+	}
+}
@@ -0,0 +1,61 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.SeededDatabaseTest;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SeededDatabaseTest
+class LoginPasswordUpgradeTest {
+
+	private static final String EMAIL = "user7@perf.beautyplaza.test";
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String originalHash;
+
+	@BeforeEach
+	void saveHash() {
+		originalHash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = ?", String.class, EMAIL);
+	}
+
+	@AfterEach
+	void restoreHash() {
+		jdbcTemplate.update("UPDATE users SET password = ? WHERE email = ?", originalHash, EMAIL);
+		jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = (SELECT id FROM users WHERE email = ?)", EMAIL);
+	}
+
+	@Test
+	void legacyHashIsUpgradedOnSuccessfulLogin() throws Exception {
+		// A hash as stored before the {bcrypt} prefix, with a lower cost than configured.
+		jdbcTemplate.update("UPDATE users SET password = ? WHERE email = ?", new BCryptPasswordEncoder(4).encode("perf-password"), EMAIL);
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+
+		int status = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + EMAIL + "\",\"password\":\"perf-password\"}"))
+				.andReturn().getResponse().getStatus();
+
+		assertEquals(200, status);
+		String stored = jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = ?", String.class, EMAIL);
+		assertTrue(stored.startsWith("{bcrypt}$2a$10$"), stored);
+	}
+}
@@ -0,0 +1,62 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SeededDatabaseTest
+class LoginQueryCountTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void successfulLoginQueriesTheUserOnce() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		try {
+			int status = mockMvc.perform(post("/auth/login")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"email\":\"user31@perf.beautyplaza.test\",\"password\":\"perf-password\"}"))
+					.andReturn().getResponse().getStatus();
+
+			assertEquals(200, status);
+			// Only queries on the users table count; background jobs may run other queries meanwhile.
+			long userQueries = Arrays.stream(statistics.getQueries())
+					.filter(query -> query.contains(" from users ") || query.contains(" from User "))
+					.mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+					.sum();
+			assertEquals(1, userQueries);
+			assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+		} finally {
+			statistics.setStatisticsEnabled(false);
+			jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = (SELECT id FROM users WHERE email = ?)",
+					"user31@perf.beautyplaza.test");
+		}
+	}
+}
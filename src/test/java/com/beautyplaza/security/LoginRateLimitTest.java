@@ -0,0 +1,50 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.SeededDatabaseTest;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SeededDatabaseTest
+class LoginRateLimitTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Test
+	void badLoginsForOneAccountAreThrottledBeforeThePasswordCheck() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+		String email = UUID.randomUUID() + "@perf.beautyplaza.test";
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(400, login(mockMvc, email).getStatus()); // Wrong password, within the account's burst.
+		}
+		MockHttpServletResponse throttled = login(mockMvc, email);
+		assertEquals(429, throttled.getStatus());
+		assertTrue(Long.parseLong(throttled.getHeader("Retry-After")) > 0);
+	}
+
+	private MockHttpServletResponse login(MockMvc mockMvc, String email) throws Exception {
+		return mockMvc.perform(post("/auth/login")
+						.with(request -> {
+							request.setRemoteAddr("192.0.2." + (int) (Math.random() * 250)); // Stay under the per-IP limit.
+							return request;
+						})
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"))
+				.andReturn().getResponse();
+	}
+}
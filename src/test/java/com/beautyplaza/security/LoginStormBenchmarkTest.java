@@ -0,0 +1,145 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.exception.ApiException;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Measures the latency of an ordinary authenticated API call while a login storm is hashing passwords.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=LoginStormBenchmarkTest
+ * The storm verifies BCrypt hashes either directly on the request threads (the old behaviour) or through the
+ * bounded hashing executor; rejected logins back off briefly, like a client retrying after a 503.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:login-storm-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=100",
+		"perf.seed.technicians=10",
+		"perf.seed.services=8",
+		"perf.seed.appointments=100",
+		"perf.seed.loyalty-transactions=100"
+})
+@ActiveProfiles("perf")
+class LoginStormBenchmarkTest {
+
+	private static final int STORM_THREADS = 32;
+	private static final int PROBES = 200;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void nonLoginLatencyDuringLoginStorm() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+		String token = jwtHelper.generateToken(userDetailsService.loadUserByUsername("user1@perf.beautyplaza.test"));
+		Long serviceId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class);
+		String hash = new BCryptPasswordEncoder(10).encode("perf-password");
+
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+		DelegatingPasswordEncoder inline = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+		inline.setDefaultPasswordEncoderForMatches(bcrypt);
+		int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+		probe(mockMvc, token, serviceId); // Warm-up.
+		long[] quiet = probe(mockMvc, token, serviceId);
+		long[] onRequestThreads = storm(inline, hash, () -> probe(mockMvc, token, serviceId));
+		long[] bounded;
+		try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(inline, poolSize, 64, 5_000)) {
+			bounded = storm(encoder, hash, () -> probe(mockMvc, token, serviceId));
+		}
+
+		System.out.printf("GET /api/services/{id} p50/p99 in ms: quiet %.1f/%.1f, login storm hashing on request threads %.1f/%.1f, "
+						+ "with bounded hashing executor (%d threads) %.1f/%.1f; logins verified %d vs %d%n",
+				quiet[0] / 1e6, quiet[1] / 1e6, onRequestThreads[0] / 1e6, onRequestThreads[1] / 1e6,
+				poolSize, bounded[0] / 1e6, bounded[1] / 1e6, onRequestThreads[2], bounded[2]);
+		assertTrue(bounded[1] < onRequestThreads[1]);
+	}
+
+	/**
+	 * Runs the probe while STORM_THREADS threads verify passwords, and returns {p50, p99, verified logins}.
+	 */
+	private long[] storm(PasswordEncoder encoder, String hash, ProbeRun probeRun) throws Exception {
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicLong verified = new AtomicLong();
+		ExecutorService stormThreads = Executors.newFixedThreadPool(STORM_THREADS);
+		try {
+			for (int i = 0; i < STORM_THREADS; i++) {
+				stormThreads.submit(() -> {
+					while (running.get()) {
+						try {
+							if (encoder.matches("perf-password", hash)) {
+								verified.incrementAndGet();
+							}
+						} catch (ApiException e) {
+							Thread.sleep(10); // 503: back off and retry.
+						}
+					}
+					return null;
+				});
+			}
+			Thread.sleep(200); // Let the storm build up.
+			long[] latencies = probeRun.run();
+			return new long[]{latencies[0], latencies[1], verified.get()};
+		} finally {
+			running.set(false);
+			stormThreads.shutdown();
+		}
+	}
+
+	/**
+	 * Issues PROBES sequential requests and returns {p50, p99} in nanoseconds.
+	 */
+	private long[] probe(MockMvc mockMvc, String token, Long serviceId) throws Exception {
+		List<Long> nanos = new ArrayList<>();
+		for (int i = 0; i < PROBES; i++) {
+			long begin = System.nanoTime();
+			int status = mockMvc.perform(get("/api/services/" + serviceId).header("Authorization", "Bearer " + token))
+					.andReturn().getResponse().getStatus();
+			nanos.add(System.nanoTime() - begin);
+			assertEquals(200, status);
+		}
+		long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+		Arrays.sort(sorted);
+		return new long[]{sorted[sorted.length / 2], sorted[(int) (sorted.length * 0.99) - 1]};
+	}
+
+	private interface ProbeRun {
+		long[] run() throws Exception;
+	}
+}
@@ -0,0 +1,106 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.service.impl.RefreshTokenServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SeededDatabaseTest
+class RefreshTokenTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RefreshTokenServiceImpl refreshTokenService;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+	}
+
+	@AfterEach
+	void deleteTokens() {
+		jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id IN (SELECT id FROM users WHERE email IN (?, ?))",
+				"user21@perf.beautyplaza.test", "user22@perf.beautyplaza.test");
+	}
+
+	@Test
+	void refreshRotatesTokensAndReuseRevokesTheFamily() throws Exception {
+		JsonNode login = json(mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"user21@perf.beautyplaza.test\",\"password\":\"perf-password\"}"))
+				.andReturn().getResponse());
+		String first = login.get("refreshToken").asText();
+
+		MockHttpServletResponse refreshed = refresh(first);
+		assertEquals(200, refreshed.getStatus());
+		JsonNode tokens = json(refreshed);
+		String second = tokens.get("refreshToken").asText();
+		assertNotEquals(first, second);
+		assertEquals(login.get("userId").asText(), tokens.get("userId").asText());
+		assertEquals(200, mockMvc.perform(get("/api/services/" + jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class))
+						.header("Authorization", "Bearer " + tokens.get("token").asText()))
+				.andReturn().getResponse().getStatus());
+
+		// Replaying the used token signs out the whole family, including its legitimate successor.
+		assertEquals(401, refresh(first).getStatus());
+		assertEquals(401, refresh(second).getStatus());
+		assertEquals(401, refresh("not-a-token").getStatus());
+	}
+
+	@Test
+	void expiredTokensArePurgedInBatches() {
+		String userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'user22@perf.beautyplaza.test'", String.class);
+		Timestamp past = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+		for (int i = 0; i < 2_500; i++) {
+			jdbcTemplate.update("INSERT INTO refresh_tokens (token_hash, user_id, family_id, created_at, expires_at) VALUES (?, ?, ?, ?, ?)",
+					UUID.randomUUID().toString(), userId, "expired-family", past, past);
+		}
+
+		refreshTokenService.purgeExpired();
+
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE expires_at < CURRENT_TIMESTAMP", Integer.class));
+	}
+
+	private MockHttpServletResponse refresh(String refreshToken) throws Exception {
+		return mockMvc.perform(post("/auth/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+				.andReturn().getResponse();
+	}
+
+	private JsonNode json(MockHttpServletResponse response) throws Exception {
+		return objectMapper.readTree(response.getContentAsString());
+	}
+}
@@ -0,0 +1,81 @@
+package com.beautyplaza.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Compares the cost of renewing an access token by logging in again (BCrypt) with using a refresh token.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=RefreshVsLoginBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:refresh-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=200",
+		"perf.seed.technicians=10",
+		"perf.seed.services=8",
+		"perf.seed.appointments=100",
+		"perf.seed.loyalty-transactions=100"
+})
+@ActiveProfiles("perf")
+class RefreshVsLoginBenchmarkTest {
+
+	private static final int USERS = 100;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void refreshIsCheaperThanLogin() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+		String[] refreshTokens = new String[USERS];
+
+		long begin = System.nanoTime();
+		for (int i = 0; i < USERS; i++) {
+			String remoteAddr = "198.51.100." + i; // One client per user, so the login rate limits are not hit.
+			MockHttpServletResponse response = mockMvc.perform(post("/auth/login")
+							.with(request -> {
+								request.setRemoteAddr(remoteAddr);
+								return request;
+							})
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"email\":\"user" + i + "@perf.beautyplaza.test\",\"password\":\"perf-password\"}"))
+					.andReturn().getResponse();
+			assertEquals(200, response.getStatus());
+			refreshTokens[i] = objectMapper.readTree(response.getContentAsString()).get("refreshToken").asText();
+		}
+		double loginMillis = (System.nanoTime() - begin) / 1e6 / USERS;
+
+		begin = System.nanoTime();
+		for (int i = 0; i < USERS; i++) {
+			MockHttpServletResponse response = mockMvc.perform(post("/auth/refresh")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"refreshToken\":\"" + refreshTokens[i] + "\"}"))
+					.andReturn().getResponse();
+			assertEquals(200, response.getStatus());
+		}
+		double refreshMillis = (System.nanoTime() - begin) / 1e6 / USERS;
+
+		System.out.printf("Token renewal: /auth/login %.1f ms, /auth/refresh %.1f ms per request%n", loginMillis, refreshMillis);
+		assertTrue(refreshMillis < loginMillis);
+	}
+}
@@ -0,0 +1,92 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.service.TokenRevocationService;
+import com.beautyplaza.service.impl.TokenRevocationServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the per-request cost of the revocation check with a large revocation list.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TokenRevocationBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:revocation-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=100",
+		"perf.seed.technicians=10",
+		"perf.seed.services=8",
+		"perf.seed.appointments=100",
+		"perf.seed.loyalty-transactions=100"
+})
+@ActiveProfiles("perf")
+class TokenRevocationBenchmarkTest {
+
+	private static final int REVOKED = 100_000;
+	private static final int CHECKS = 5_000_000;
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void revocationCheckCost() {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		Timestamp expires = Timestamp.valueOf(LocalDateTime.now().plusHours(1));
+		List<Object[]> rows = new ArrayList<>();
+		String[] revoked = new String[1_000];
+		for (int i = 0; i < REVOKED; i++) {
+			String jti = UUID.randomUUID().toString();
+			if (i < revoked.length) {
+				revoked[i] = jti;
+			}
+			rows.add(new Object[]{jti, "user" + (i % 100) + "@perf.beautyplaza.test", expires, now});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO revoked_tokens (jti, username, expires_at, revoked_at) VALUES (?, ?, ?, ?)", rows);
+		((TokenRevocationServiceImpl) tokenRevocationService).purgeExpired(); // Rebuilds the view.
+
+		String[] valid = new String[10_000];
+		for (int i = 0; i < valid.length; i++) {
+			valid[i] = UUID.randomUUID().toString();
+		}
+		Date issuedAt = new Date();
+		assertTrue(tokenRevocationService.isRevoked(revoked[0], "user0@perf.beautyplaza.test", issuedAt));
+		assertFalse(tokenRevocationService.isRevoked(valid[0], "user0@perf.beautyplaza.test", issuedAt));
+
+		run(valid, issuedAt); // Warm-up.
+		double validNanos = run(valid, issuedAt);
+		double revokedNanos = run(revoked, issuedAt);
+		System.out.printf("Revocation check with %d revoked tokens: %.1f ns for a valid token, %.1f ns for a revoked one%n",
+				REVOKED, validNanos, revokedNanos);
+		assertTrue(validNanos < 10_000);
+	}
+
+	private double run(String[] jtis, Date issuedAt) {
+		int revokedCount = 0;
+		long begin = System.nanoTime();
+		for (int i = 0; i < CHECKS; i++) {
+			if (tokenRevocationService.isRevoked(jtis[i % jtis.length], "user1@perf.beautyplaza.test", issuedAt)) {
+				revokedCount++;
+			}
+		}
+		long nanos = System.nanoTime() - begin;
+		assertTrue(revokedCount >= 0);
+		return (double) nanos / CHECKS;
+	}
+}
@@ -0,0 +1,94 @@
+package com.beautyplaza.security;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.service.impl.TokenRevocationServiceImpl;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SeededDatabaseTest
+class TokenRevocationTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TokenRevocationServiceImpl tokenRevocationService;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+	}
+
+	@AfterEach
+	void deleteRevocations() {
+		jdbcTemplate.update("DELETE FROM revoked_tokens WHERE username = ?", "user11@perf.beautyplaza.test");
+		jdbcTemplate.update("DELETE FROM session_revocations WHERE username = ?", "user12@perf.beautyplaza.test");
+		tokenRevocationService.purgeExpired(); // Reloads the in-memory view from the table.
+	}
+
+	@Test
+	void logoutRevokesOnlyThatToken() throws Exception {
+		String email = "user11@perf.beautyplaza.test";
+		String loggedOut = token(email);
+		String otherDevice = token(email);
+
+		assertEquals(204, mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + loggedOut))
+				.andReturn().getResponse().getStatus());
+
+		assertEquals(401, status(loggedOut));
+		assertEquals(200, status(otherDevice));
+		assertEquals(401, mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + loggedOut))
+				.andReturn().getResponse().getStatus());
+	}
+
+	@Test
+	void adminCanRevokeAllSessionsOfAUser() throws Exception {
+		String email = "user12@perf.beautyplaza.test";
+		String userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, email);
+		String first = token(email);
+		String second = token(email);
+
+		assertEquals(204, mockMvc.perform(post("/api/users/" + userId + "/revoke-sessions")
+						.header("Authorization", "Bearer " + token("admin@perf.beautyplaza.test")))
+				.andReturn().getResponse().getStatus());
+
+		assertEquals(401, status(first));
+		assertEquals(401, status(second));
+		Thread.sleep(1_100); // 'iat' has second precision; tokens from the revocation's second are rejected too.
+		assertEquals(200, status(token(email)));
+	}
+
+	private String token(String email) {
+		return jwtHelper.generateToken(userDetailsService.loadUserByUsername(email));
+	}
+
+	private int status(String token) throws Exception {
+		Long serviceId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class);
+		return mockMvc.perform(get("/api/services/" + serviceId).header("Authorization", "Bearer " + token))
+				.andReturn().getResponse().getStatus();
+	}
+}
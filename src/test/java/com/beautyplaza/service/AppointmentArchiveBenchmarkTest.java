@@ -0,0 +1,116 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.repository.AppointmentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the hot-path appointment queries on a multi-million row table before and after archiving.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=AppointmentArchiveBenchmarkTest -DargLine=-Xmx8g
+ * Five years of appointments are seeded and everything finished more than a year ago is archived. The database is
+ * in memory (an H2 file store grows far beyond the data under this write load), so every run starts unarchived and
+ * needs a large heap: about 1 GB per million rows. Override the volume with -Dbenchmark.archive.rows=N.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:archive-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=10000",
+		"perf.seed.technicians=200",
+		"perf.seed.years=5",
+		"perf.seed.loyalty-transactions=1000",
+		"appointments.archive.horizon-days=365",
+		"appointments.archive.chunk-size=5000"
+})
+@ActiveProfiles("perf")
+class AppointmentArchiveBenchmarkTest {
+
+	private static final long ROWS = Long.getLong("benchmark.archive.rows", 5_000_000L);
+	private static final long MEASURE_NANOS = 2_000_000_000L; // Time spent measuring each query.
+
+	@Autowired
+	private AppointmentArchiveService appointmentArchiveService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void volumes(DynamicPropertyRegistry registry) {
+		registry.add("perf.seed.appointments", () -> ROWS);
+	}
+
+	@Test
+	void hotPathLatencyBeforeAndAfterArchiving() {
+		LocalDate today = LocalDate.now();
+		String technicianId = jdbcTemplate.queryForObject(
+				"SELECT technician_id FROM appointments WHERE appointment_date = ? LIMIT 1", String.class, today);
+		String customerId = jdbcTemplate.queryForObject(
+				"SELECT customer_id FROM appointments WHERE appointment_date > ? LIMIT 1", String.class, today);
+
+		Map<String, Runnable> queries = new LinkedHashMap<>();
+		queries.put("Day view (GET /api/appointments/date/{today})", () -> appointmentService.getAppointmentsByDate(today));
+		queries.put("Technician day (availability)", () -> appointmentRepository.findByTechnicianIdAndAppointmentDate(technicianId, today));
+		queries.put("Double-booking check", () -> appointmentRepository.existsByTechnicianIdAndAppointmentDateAndAppointmentTime(
+				technicianId, today, LocalTime.of(10, 0)));
+		queries.put("Upcoming timeline (GET /api/appointments/me)", () -> appointmentRepository.findUpcomingByCustomerId(
+				customerId, today, LocalTime.now(), PageRequest.of(0, 20)));
+
+		jdbcTemplate.execute("ANALYZE"); // Give H2 selectivity statistics for the seeded table.
+		long hotBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class);
+		Map<String, Double> before = new LinkedHashMap<>();
+		queries.forEach((name, query) -> before.put(name, measure(query)));
+
+		long start = System.nanoTime();
+		int moved = appointmentArchiveService.archiveBefore(appointmentArchiveService.getHorizon());
+		long archiveMillis = (System.nanoTime() - start) / 1_000_000;
+		long hotAfter = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class);
+		jdbcTemplate.execute("ANALYZE"); // Refresh H2's selectivity statistics after the bulk delete.
+
+		Map<String, Double> after = new LinkedHashMap<>();
+		queries.forEach((name, query) -> after.put(name, measure(query)));
+
+		System.out.printf("Archived %d of %d appointments in %d ms; %d remain in the hot table%n", moved, hotBefore, archiveMillis, hotAfter);
+		queries.keySet().forEach(name -> System.out.printf("%s: %.1f us before, %.1f us after archiving%n",
+				name, before.get(name), after.get(name)));
+
+		assertEquals(hotBefore, hotAfter + moved);
+		assertTrue(after.get("Day view (GET /api/appointments/date/{today})") < before.get("Day view (GET /api/appointments/date/{today})"));
+	}
+
+	/**
+	 * Warms the query up, then runs it for about MEASURE_NANOS and returns the mean latency in microseconds.
+	 */
+	private static double measure(Runnable query) {
+		for (int i = 0; i < 5; i++) {
+			query.run();
+		}
+		long start = System.nanoTime();
+		long runs = 0;
+		while (System.nanoTime() - start < MEASURE_NANOS) {
+			query.run();
+			runs++;
+		}
+		return (System.nanoTime() - start) / 1_000.0 / runs;
+	}
+}
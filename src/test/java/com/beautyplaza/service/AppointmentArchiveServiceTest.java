@@ -0,0 +1,120 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.dto.AppointmentDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uses its own database, because archiving moves seeded appointments that other tests count.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=20",
+		"perf.seed.technicians=5",
+		"perf.seed.services=4",
+		"perf.seed.appointments=3000",
+		"perf.seed.loyalty-transactions=100",
+		"appointments.archive.horizon-days=365",
+		"appointments.archive.chunk-size=100"
+})
+@ActiveProfiles("perf")
+class AppointmentArchiveServiceTest {
+
+	private static final String FINISHED = "status IN ('COMPLETED', 'PAID', 'CANCELLED')";
+
+	@Autowired
+	private AppointmentArchiveService appointmentArchiveService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private LocalDate horizon;
+	private String customerId;
+
+	@BeforeEach
+	void archive() {
+		horizon = appointmentArchiveService.getHorizon();
+		appointmentArchiveService.archiveBefore(horizon); // Idempotent, so every test can start from an archived database.
+		customerId = jdbcTemplate.queryForObject(
+				"SELECT customer_id FROM appointments_archive GROUP BY customer_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+	}
+
+	@Test
+	void movesOnlyFinishedAppointmentsBeforeTheHorizon() {
+		Long total = jdbcTemplate.queryForObject(
+				"SELECT (SELECT COUNT(*) FROM appointments) + (SELECT COUNT(*) FROM appointments_archive)", Long.class);
+		assertEquals(3000L, total);
+		assertEquals(0L, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM appointments WHERE appointment_date < ? AND " + FINISHED, Long.class, Date.valueOf(horizon)));
+		assertEquals(0L, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM appointments_archive WHERE appointment_date >= ? OR NOT " + FINISHED, Long.class, Date.valueOf(horizon)));
+		assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments_archive", Long.class) > 1000);
+		assertEquals(count("appointments"), count("technician_agenda_entries")); // The agenda follows the hot table.
+
+		assertEquals(0, appointmentArchiveService.archiveBefore(horizon));
+		assertThrows(IllegalArgumentException.class, () -> appointmentArchiveService.archiveBefore(horizon.plusDays(1)));
+	}
+
+	@Test
+	void customerHistoryUnionsTheArchiveOnlyWhenTheRangeReachesPastTheHorizon() {
+		List<AppointmentDto> all = appointmentService.getAppointmentsByCustomerId(customerId);
+		assertEquals(count("appointments") + count("appointments_archive"), all.size());
+		assertOldestFirst(all);
+
+		List<AppointmentDto> recent = appointmentService.getAppointmentsByCustomerId(customerId, horizon, null);
+		assertEquals(count("appointments"), recent.size());
+
+		LocalDate from = horizon.minusDays(90);
+		List<AppointmentDto> range = appointmentService.getAppointmentsByCustomerId(customerId, from, horizon.plusDays(90));
+		assertTrue(range.stream().anyMatch(a -> a.getAppointmentDate().isBefore(horizon)));
+		assertTrue(range.stream().allMatch(a -> !a.getAppointmentDate().isBefore(from) && !a.getAppointmentDate().isAfter(horizon.plusDays(90))));
+		assertOldestFirst(range);
+	}
+
+	@Test
+	void pastTimelineContinuesIntoTheArchive() {
+		int limit = (int) count("appointments") + 5;
+		List<AppointmentDto> past = appointmentService.getCustomerTimeline(customerId, false, limit);
+		assertEquals(limit, past.size());
+		assertTrue(past.get(limit - 1).getAppointmentDate().isBefore(horizon));
+		for (int i = 1; i < past.size(); i++) {
+			AppointmentDto newer = past.get(i - 1);
+			AppointmentDto older = past.get(i);
+			assertFalse(newer.getAppointmentDate().atTime(newer.getAppointmentTime())
+					.isBefore(older.getAppointmentDate().atTime(older.getAppointmentTime())));
+		}
+
+		Long archivedId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM appointments_archive", Long.class);
+		assertEquals(archivedId, appointmentService.getAppointmentById(archivedId).getId());
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE customer_id = ?", Long.class, customerId);
+	}
+
+	private static void assertOldestFirst(List<AppointmentDto> appointments) {
+		Comparator<AppointmentDto> order = Comparator.comparing(AppointmentDto::getAppointmentDate)
+				.thenComparing(AppointmentDto::getAppointmentTime);
+		for (int i = 1; i < appointments.size(); i++) {
+			assertTrue(order.compare(appointments.get(i - 1), appointments.get(i)) <= 0);
+		}
+	}
+}
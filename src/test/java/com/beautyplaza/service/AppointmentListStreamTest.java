@@ -0,0 +1,42 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SeededDatabaseTest
+class AppointmentListStreamTest {
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void streamedListMatchesTheMappedList() throws Exception {
+		assertTrue(objectMapper.getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+
+		List<AppointmentDto> mapped = appointmentService.getAllAppointments().stream()
+				.sorted(Comparator.comparing(AppointmentDto::getId))
+				.toList();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.streamAppointmentList().writeTo(out);
+
+		assertEquals(objectMapper.writeValueAsString(mapped), out.toString(StandardCharsets.UTF_8));
+	}
+}
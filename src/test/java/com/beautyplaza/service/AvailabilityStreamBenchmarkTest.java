@@ -0,0 +1,143 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.event.SlotChangedEvent;
+import com.beautyplaza.security.CustomUserDetailsService;
+import com.beautyplaza.security.JwtHelper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Holds 10,000 availability streams of one technician and day open against the embedded Tomcat, then measures how
+ * long a slot change takes to reach all of them. The streams are opened by AvailabilityStreamLoadClient in a
+ * separate JVM. Run with: ./mvnw test -Pbenchmark -Dtest=AvailabilityStreamBenchmarkTest -DargLine=-Xmx2g
+ * Tomcat keeps its request and socket buffers for every open async request (roughly 100 KB), hence the larger heap.
+ * Override the number of streams with -Dbenchmark.stream.subscribers=N.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:stream-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=100",
+		"perf.seed.technicians=10",
+		"perf.seed.appointments=1000",
+		"perf.seed.loyalty-transactions=100"
+})
+@ActiveProfiles("perf")
+class AvailabilityStreamBenchmarkTest {
+
+	private static final int SUBSCRIBERS = Integer.getInteger("benchmark.stream.subscribers", 10_000);
+	private static final int CHANGES = 20;
+	private static final int WORKER_THREADS = 200; // Tomcat's default server.tomcat.threads.max.
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private AvailabilityStreamService availabilityStreamService;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void fansOutToTenThousandStreams() throws Exception {
+		String technicianId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM technicians", String.class);
+		LocalDate date = LocalDate.now().plusDays(1);
+		String token = jwtHelper.generateToken(userDetailsService.loadUserByUsername("user1@perf.beautyplaza.test"));
+		String url = "http://localhost:" + port + "/api/appointments/availability/stream?technicianId=" + technicianId + "&date=" + date;
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+		memory.gc();
+		long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+		Process client = new ProcessBuilder(
+				System.getProperty("java.home") + File.separator + "bin" + File.separator + "java", "-Xmx1g",
+				"-cp", System.getProperty("java.class.path"),
+				AvailabilityStreamLoadClient.class.getName(), url, token, String.valueOf(SUBSCRIBERS))
+				.redirectErrorStream(true)
+				.start();
+		try (BufferedReader totals = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8))) {
+			long start = System.nanoTime();
+			awaitTotals(totals, t -> t >= SUBSCRIBERS, 0);
+			long connectMillis = (System.nanoTime() - start) / 1_000_000;
+			assertEquals(SUBSCRIBERS, availabilityStreamService.getSubscriberCount());
+
+			int threadsOpen = ManagementFactory.getThreadMXBean().getThreadCount();
+			memory.gc();
+			long heapOpen = memory.getHeapMemoryUsage().getUsed();
+
+			// One change at a time: latency until every stream has it.
+			long firstNanos = 0;
+			long worstNanos = 0;
+			for (int i = 1; i <= CHANGES; i++) {
+				int expected = i * SUBSCRIBERS;
+				long published = System.nanoTime();
+				eventPublisher.publishEvent(new SlotChangedEvent(technicianId, date, LocalTime.of(8, 0).plusMinutes(15L * i), i % 2 == 1, null));
+				awaitTotals(totals, t -> t >= expected, 1);
+				long nanos = System.nanoTime() - published;
+				firstNanos = i == 1 ? nanos : firstNanos;
+				worstNanos = Math.max(worstNanos, nanos);
+			}
+
+			System.out.printf("%d streams opened in %d ms; server threads %d -> %d; heap %d KB -> %d KB (%d bytes per stream)%n",
+					SUBSCRIBERS, connectMillis, threadsBefore, threadsOpen, heapBefore / 1024, heapOpen / 1024,
+					(heapOpen - heapBefore) / SUBSCRIBERS);
+			System.out.printf("Slot change delivered to all %d streams: first %d ms, worst of %d %d ms%n",
+					SUBSCRIBERS, firstNanos / 1_000_000, CHANGES, worstNanos / 1_000_000);
+			// The worker pool grows to its maximum during the connect burst; the open streams themselves hold no thread.
+			assertTrue(threadsOpen - threadsBefore < WORKER_THREADS + 50, "Streams must not hold a thread each");
+		} finally {
+			client.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Reads the client's "snapshots events failures" lines until the selected total matches.
+	 */
+	private static int[] awaitTotals(BufferedReader totals, IntPredicate done, int index) throws Exception {
+		String line;
+		while ((line = totals.readLine()) != null) {
+			String[] parts = line.split(" ");
+			if (parts.length != 3) {
+				System.out.println(line); // Client output other than totals, e.g. an exception.
+				continue;
+			}
+			int[] values = {Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+			if (values[2] > 0) {
+				throw new IllegalStateException(values[2] + " streams failed");
+			}
+			if (done.test(values[index])) {
+				return values;
+			}
+		}
+		throw new IllegalStateException("Load client exited");
+	}
+}
@@ -0,0 +1,96 @@
+package com.beautyplaza.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens many availability streams for AvailabilityStreamBenchmarkTest. It runs in its own JVM, because every stream
+ * costs a file descriptor on each side and the two sides together would exceed a typical per-process limit.
+ * Prints "snapshots events failures" whenever the totals over all streams change.
+ * Arguments: stream URL, bearer token, number of streams.
+ */
+public final class AvailabilityStreamLoadClient {
+
+	private static final int CONNECTING = 200; // Streams connecting at once, to stay within the server's accept backlog.
+
+	public static void main(String[] args) throws Exception {
+		URI uri = URI.create(args[0]);
+		String token = args[1];
+		int streams = Integer.parseInt(args[2]);
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		AtomicInteger snapshots = new AtomicInteger();
+		AtomicInteger events = new AtomicInteger();
+		AtomicInteger failures = new AtomicInteger();
+		Semaphore connecting = new Semaphore(CONNECTING);
+
+		for (int i = 0; i < streams; i++) {
+			connecting.acquire();
+			HttpRequest request = HttpRequest.newBuilder(uri)
+					.header("Authorization", "Bearer " + token)
+					.header("Accept", "text/event-stream")
+					.build();
+			client.sendAsync(request, info -> {
+				connecting.release();
+				if (info.statusCode() != 200) {
+					failures.incrementAndGet();
+				}
+				return HttpResponse.BodySubscribers.fromLineSubscriber(new Counter(snapshots, events));
+			}).whenComplete((response, error) -> {
+				if (error != null) {
+					connecting.release();
+					failures.incrementAndGet();
+				}
+			});
+		}
+
+		String last = "";
+		while (true) {
+			String totals = snapshots.get() + " " + events.get() + " " + failures.get();
+			if (!totals.equals(last)) {
+				System.out.println(totals);
+				last = totals;
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Counts the event lines of one stream.
+	 */
+	private static final class Counter implements Flow.Subscriber<String> {
+		private final AtomicInteger snapshots;
+		private final AtomicInteger events;
+
+		Counter(AtomicInteger snapshots, AtomicInteger events) {
+			this.snapshots = snapshots;
+			this.events = events;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(String line) {
+			if (line.equals("event:snapshot")) {
+				snapshots.incrementAndGet();
+			} else if (line.startsWith("event:slot-")) {
+				events.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.event.SlotChangedEvent;
+import com.beautyplaza.security.CustomUserDetailsService;
+import com.beautyplaza.security.JwtHelper;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SeededDatabaseTest
+class AvailabilityStreamTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private AvailabilityStreamService availabilityStreamService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MockMvc mockMvc;
+
+	// Appointments created by the current test, deleted again afterwards.
+	private final List<Long> created = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+				.build();
+	}
+
+	@AfterEach
+	void deleteCreatedAppointments() {
+		created.forEach(appointmentService::deleteAppointment);
+		created.clear();
+	}
+
+	@Test
+	void streamsSnapshotThenCommittedSlotChanges() throws Exception {
+		String technicianId = technicianId(0);
+		LocalDate date = LocalDate.now().plusDays(200); // Beyond the seeded appointments.
+		MockHttpServletResponse stream = open(technicianId, date);
+		awaitContent(stream, "event:snapshot");
+		assertTrue(stream.getContentAsString().contains("\"takenTimes\":[]"));
+
+		AppointmentDto booked = appointmentService.createAppointment(appointment(technicianId, date, LocalTime.of(10, 0)));
+		created.add(appointmentService.createAppointment(appointment(technicianId, date.plusDays(1), LocalTime.of(11, 0))).getId()); // Other day.
+		awaitContent(stream, "event:slot-taken");
+
+		appointmentService.deleteAppointment(booked.getId());
+		awaitContent(stream, "event:slot-freed");
+
+		String content = stream.getContentAsString();
+		assertTrue(content.contains("\"time\":\"10:00:00\""));
+		assertFalse(content.contains("11:00:00"));
+		assertTrue(content.indexOf("event:snapshot") < content.indexOf("event:slot-taken"));
+	}
+
+	@Test
+	void snapshotListsBookedTimes() throws Exception {
+		String technicianId = technicianId(1);
+		LocalDate date = LocalDate.now().plusDays(201);
+		created.add(appointmentService.createAppointment(appointment(technicianId, date, LocalTime.of(9, 30))).getId());
+
+		MockHttpServletResponse stream = open(technicianId, date);
+		awaitContent(stream, "event:snapshot");
+		assertTrue(stream.getContentAsString().contains("\"takenTimes\":[\"09:30:00\"]"));
+	}
+
+	@Test
+	void slowSubscriberIsDisconnected() throws Exception {
+		Object target = AopTestUtils.getTargetObject(availabilityStreamService);
+		ReflectionTestUtils.setField(target, "bufferSize", 2);
+		ExecutorService sender = (ExecutorService) ReflectionTestUtils.getField(target, "sender");
+		String technicianId = technicianId(2);
+		LocalDate date = LocalDate.now().plusDays(202);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			open(technicianId, date);
+			int open = availabilityStreamService.getSubscriberCount();
+			// Occupy the sender threads so nothing is written, as with a client that stopped reading.
+			for (int i = 0; i < 2; i++) {
+				sender.execute(() -> await(release));
+			}
+			for (int i = 0; i < 3; i++) {
+				context.publishEvent(new SlotChangedEvent(technicianId, date, LocalTime.of(9 + i, 0), true, null));
+			}
+			assertEquals(open - 1, availabilityStreamService.getSubscriberCount());
+		} finally {
+			release.countDown();
+			ReflectionTestUtils.setField(target, "bufferSize", 64);
+		}
+	}
+
+	@Test
+	void requiresAuthentication() throws Exception {
+		assertEquals(401, mockMvc.perform(get("/api/appointments/availability/stream")
+						.param("technicianId", technicianId(0)).param("date", LocalDate.now().toString()))
+				.andReturn().getResponse().getStatus());
+	}
+
+	private MockHttpServletResponse open(String technicianId, LocalDate date) throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/appointments/availability/stream")
+						.param("technicianId", technicianId)
+						.param("date", date.toString())
+						.header("Authorization", "Bearer " + jwtHelper.generateToken(
+								userDetailsService.loadUserByUsername("user21@perf.beautyplaza.test"))))
+				.andReturn();
+		assertTrue(result.getRequest().isAsyncStarted());
+		assertEquals("text/event-stream", result.getResponse().getContentType());
+		return result.getResponse();
+	}
+
+	private AppointmentDto appointment(String technicianId, LocalDate date, LocalTime time) {
+		AppointmentDto dto = new AppointmentDto();
+		dto.setCustomerId(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "user21@perf.beautyplaza.test"));
+		dto.setServiceId(jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class));
+		dto.setTechnicianId(technicianId);
+		dto.setAppointmentDate(date);
+		dto.setAppointmentTime(time);
+		dto.setServiceType("IN_STORE");
+		dto.setCustomerEmail("user21@perf.beautyplaza.test");
+		return dto;
+	}
+
+	private String technicianId(int index) {
+		return jdbcTemplate.queryForObject(
+				"SELECT id FROM technicians WHERE is_available = TRUE ORDER BY id LIMIT 1 OFFSET ?", String.class, index);
+	}
+
+	private static void awaitContent(MockHttpServletResponse response, String text) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!response.getContentAsString().contains(text)) {
+			assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + text);
+			Thread.sleep(10);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
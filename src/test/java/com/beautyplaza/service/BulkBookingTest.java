@@ -0,0 +1,164 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.BulkBookingItemResultDto;
+import com.beautyplaza.dto.BulkBookingMode;
+import com.beautyplaza.dto.BulkBookingResultDto;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.request.BulkBookingRequest;
+import com.beautyplaza.util.OtpUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SeededDatabaseTest
+class BulkBookingTest {
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private OtpUtil otpUtil;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void allOrNothingBooksNothingWhenOneSlotIsTaken() {
+		String technicianId = technicianId(6);
+		LocalDate date = LocalDate.now().plusDays(400);
+		AppointmentDto existing = appointmentService.createAppointment(appointment(technicianId, date, LocalTime.of(10, 0)));
+
+		BulkBookingResultDto result = appointmentService.createAppointments(request(BulkBookingMode.ALL_OR_NOTHING, 1,
+				appointment(technicianId, date, LocalTime.of(9, 0)),
+				appointment(technicianId, date, LocalTime.of(10, 0))));
+
+		assertEquals(0, result.getBooked());
+		assertEquals(2, result.getFailed());
+		assertEquals("NOT_BOOKED", result.getResults().get(0).getStatus());
+		assertEquals("CONFLICT", result.getResults().get(1).getStatus());
+		assertEquals(1, countOn(technicianId, date));
+		appointmentService.deleteAppointment(existing.getId());
+	}
+
+	@Test
+	void bestEffortBooksTheFreeSlotsAndReportsTheRest() {
+		String technicianId = technicianId(7);
+		LocalDate date = LocalDate.now().plusDays(401);
+
+		BulkBookingResultDto result = appointmentService.createAppointments(request(BulkBookingMode.BEST_EFFORT, 1,
+				appointment(technicianId, date, LocalTime.of(9, 0)),
+				appointment(technicianId, date, LocalTime.of(9, 0)), // Conflicts with the entry before it.
+				appointment("no-such-technician", date, LocalTime.of(9, 0))));
+
+		assertEquals(1, result.getBooked());
+		assertEquals(2, result.getFailed());
+		List<BulkBookingItemResultDto> items = result.getResults();
+		assertEquals("BOOKED", items.get(0).getStatus());
+		assertNotNull(items.get(0).getAppointment().getId());
+		assertEquals("CONFLICT", items.get(1).getStatus());
+		assertEquals("INVALID", items.get(2).getStatus());
+
+		// The booking is in the appointments table and in the technician's agenda.
+		assertEquals(1, countOn(technicianId, date));
+		assertEquals(1, appointmentService.getTechnicianAgenda(technicianId, date, date).size());
+		appointmentService.deleteAppointment(items.get(0).getAppointment().getId());
+	}
+
+	@Test
+	void recurringBookingRepeatsWeekly() {
+		String technicianId = technicianId(8);
+		LocalDate date = LocalDate.now().plusDays(402);
+
+		BulkBookingResultDto result = appointmentService.createAppointments(request(BulkBookingMode.ALL_OR_NOTHING, 4,
+				appointment(technicianId, date, LocalTime.of(11, 0))));
+
+		assertEquals(4, result.getBooked());
+		for (int week = 0; week < 4; week++) {
+			BulkBookingItemResultDto item = result.getResults().get(week);
+			assertEquals(date.plusWeeks(week), item.getAppointmentDate());
+			assertEquals(1, countOn(technicianId, date.plusWeeks(week)));
+			appointmentService.deleteAppointment(item.getAppointment().getId());
+		}
+	}
+
+	@Test
+	void everyAppointmentOfACustomerCanBeVerifiedWithTheirOtp() {
+		String technicianId = technicianId(9);
+		LocalDate date = LocalDate.now().plusDays(404);
+
+		BulkBookingResultDto result = appointmentService.createAppointments(request(BulkBookingMode.ALL_OR_NOTHING, 1,
+				appointment(technicianId, date, LocalTime.of(9, 0)),
+				appointment(technicianId, date, LocalTime.of(10, 0)),
+				appointment(technicianId, date, LocalTime.of(11, 0))));
+		List<Long> ids = result.getResults().stream().map(item -> item.getAppointment().getId()).toList();
+		try {
+			// One code is issued for the customer's whole request; it is not exposed, so it is read from the store.
+			@SuppressWarnings("unchecked")
+			Map<String, String> issued = (Map<String, String>) ReflectionTestUtils.getField(otpUtil, "otpStore");
+			String otp = issued.get("appointment:" + ids.get(0));
+			assertNotNull(otp);
+
+			for (Long id : ids) {
+				AppointmentDto verified = appointmentService.verifyOtp(id, otp);
+				assertEquals("CONFIRMED", verified.getStatus());
+				assertTrue(verified.getOtpVerified());
+			}
+			// Each appointment's OTP is used up by its own verification.
+			assertThrows(ApiException.class, () -> appointmentService.verifyOtp(ids.get(0), otp));
+		} finally {
+			ids.forEach(appointmentService::deleteAppointment);
+		}
+	}
+
+	@Test
+	void rejectsTooManyBookings() {
+		assertThrows(ApiException.class, () -> appointmentService.createAppointments(request(BulkBookingMode.BEST_EFFORT, 52,
+				appointment(technicianId(9), LocalDate.now().plusDays(403), LocalTime.of(9, 0)),
+				appointment(technicianId(9), LocalDate.now().plusDays(403), LocalTime.of(10, 0)),
+				appointment(technicianId(9), LocalDate.now().plusDays(403), LocalTime.of(11, 0)),
+				appointment(technicianId(9), LocalDate.now().plusDays(403), LocalTime.of(12, 0)))));
+	}
+
+	private BulkBookingRequest request(BulkBookingMode mode, int repeatWeeks, AppointmentDto... appointments) {
+		BulkBookingRequest request = new BulkBookingRequest();
+		request.setMode(mode);
+		request.setRepeatWeeks(repeatWeeks);
+		request.setAppointments(List.of(appointments));
+		return request;
+	}
+
+	private AppointmentDto appointment(String technicianId, LocalDate date, LocalTime time) {
+		AppointmentDto dto = new AppointmentDto();
+		dto.setCustomerId(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "user23@perf.beautyplaza.test"));
+		dto.setServiceId(jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class));
+		dto.setTechnicianId(technicianId);
+		dto.setAppointmentDate(date);
+		dto.setAppointmentTime(time);
+		dto.setServiceType("IN_STORE");
+		dto.setCustomerEmail("user23@perf.beautyplaza.test");
+		return dto;
+	}
+
+	private int countOn(String technicianId, LocalDate date) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments WHERE technician_id = ? AND appointment_date = ?",
+				Integer.class, technicianId, date);
+	}
+
+	private String technicianId(int index) {
+		return jdbcTemplate.queryForObject(
+				"SELECT id FROM technicians WHERE is_available = TRUE ORDER BY id LIMIT 1 OFFSET ?", String.class, index);
+	}
+}
@@ -0,0 +1,110 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.dto.ExportFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports every appointment of a multi-million row database through the streaming export.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=ExportServiceBenchmarkTest
+ * The benchmark profile caps the heap at 256 MB, so the test fails with an OutOfMemoryError
+ * if the export ever buffers the result set. Override the volume with -Dbenchmark.export.rows=N.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:file:./target/perf-db/export-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=10000",
+		"perf.seed.technicians=200",
+		"perf.seed.loyalty-transactions=100000"
+})
+@ActiveProfiles("perf")
+class ExportServiceBenchmarkTest {
+
+	private static final long ROWS = Long.getLong("benchmark.export.rows", 5_000_000L);
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void volumes(DynamicPropertyRegistry registry) {
+		registry.add("perf.seed.appointments", () -> ROWS);
+	}
+
+	@Test
+	void streamsAllAppointmentsAsNdjson() throws Exception {
+		long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class);
+		LineCountingOutputStream out = new LineCountingOutputStream();
+
+		long start = System.nanoTime();
+		exportService.exportAppointments(ExportFormat.NDJSON).writeTo(out);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		System.out.printf("NDJSON export: %d rows, %d bytes in %d ms%n", out.lines, out.bytes, millis);
+		assertEquals(expected, out.lines);
+	}
+
+	@Test
+	void streamsAllAppointmentsAsCsv() throws Exception {
+		long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class);
+		LineCountingOutputStream out = new LineCountingOutputStream();
+
+		long start = System.nanoTime();
+		exportService.exportAppointments(ExportFormat.CSV).writeTo(out);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		System.out.printf("CSV export: %d rows, %d bytes in %d ms%n", out.lines - 1, out.bytes, millis);
+		assertEquals(expected + 1, out.lines); // Data rows plus the header.
+	}
+
+	@Test
+	void streamsLoyaltyHistoryOfOneUser() throws Exception {
+		String userId = jdbcTemplate.queryForObject(
+				"SELECT user_id FROM loyalty_points GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+		long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loyalty_points WHERE user_id = ?", Long.class, userId);
+		LineCountingOutputStream out = new LineCountingOutputStream();
+
+		exportService.exportLoyaltyTransactions(userId, ExportFormat.NDJSON).writeTo(out);
+
+		assertEquals(expected, out.lines);
+	}
+
+	/**
+	 * Discards the export while counting bytes and lines, so only the exporter's memory is measured.
+	 */
+	private static final class LineCountingOutputStream extends OutputStream {
+		private long lines;
+		private long bytes;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+			for (int i = off; i < off + len; i++) {
+				if (b[i] == '\n') {
+					lines++;
+				}
+			}
+		}
+	}
+}
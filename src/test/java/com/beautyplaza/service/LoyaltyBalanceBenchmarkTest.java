@@ -0,0 +1,94 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.repository.LoyaltyPointsRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares point-in-time balance queries (snapshot + tail) with summing the full ledger,
+ * for users with long histories.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=LoyaltyBalanceBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:loyalty-balance-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=2000",
+		"perf.seed.technicians=20",
+		"perf.seed.appointments=10000",
+		"perf.seed.loyalty-transactions=200000"
+})
+@ActiveProfiles("perf")
+class LoyaltyBalanceBenchmarkTest {
+
+	private static final int HEAVY_USERS = 10;
+	private static final int TRANSACTIONS_PER_USER = 20_000;
+	private static final int QUERIES = 2_000;
+
+	@Autowired
+	private LoyaltyBalanceService loyaltyBalanceService;
+
+	@Autowired
+	private LoyaltyPointsRepository loyaltyPointsRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void snapshotQueriesBeatFullLedgerScans() {
+		List<String> users = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT " + HEAVY_USERS, String.class);
+		LocalDateTime start = LocalDateTime.now().minusYears(2);
+		users.forEach(userId -> insertLedger(userId, start));
+
+		long snapshotStart = System.nanoTime();
+		int snapshots = loyaltyBalanceService.createSnapshots();
+		System.out.printf("Snapshot job: %d snapshots in %d ms%n", snapshots, (System.nanoTime() - snapshotStart) / 1_000_000);
+
+		SplittableRandom random = new SplittableRandom(1);
+		long snapshotNanos = 0;
+		long scanNanos = 0;
+		for (int i = 0; i < QUERIES; i++) {
+			String userId = users.get(random.nextInt(users.size()));
+			LocalDateTime asOf = start.plusMinutes(random.nextLong(TRANSACTIONS_PER_USER * 30L));
+
+			long t0 = System.nanoTime();
+			long fromSnapshot = loyaltyBalanceService.getBalance(userId, asOf).getBalance();
+			long t1 = System.nanoTime();
+			long fromLedger = loyaltyPointsRepository.sumPointsUpTo(userId, asOf);
+			long t2 = System.nanoTime();
+
+			assertEquals(fromLedger, fromSnapshot);
+			snapshotNanos += t1 - t0;
+			scanNanos += t2 - t1;
+		}
+		System.out.printf("asOf balance over %d queries: snapshot+tail %.3f ms avg, full ledger %.3f ms avg%n",
+				QUERIES, snapshotNanos / 1e6 / QUERIES, scanNanos / 1e6 / QUERIES);
+	}
+
+	private void insertLedger(String userId, LocalDateTime start) {
+		// Start from an empty history: the seeded rows were not created in ID order for this user.
+		jdbcTemplate.update("DELETE FROM loyalty_points WHERE user_id = ?", userId);
+		SplittableRandom random = new SplittableRandom(userId.hashCode());
+		List<Object[]> batch = new ArrayList<>();
+		for (int i = 0; i < TRANSACTIONS_PER_USER; i++) {
+			batch.add(new Object[]{userId, i % 4 == 3 ? "REDEEMED" : "EARNED", 1 + random.nextInt(40),
+					Timestamp.valueOf(start.plusMinutes(i * 30L))});
+			if (batch.size() == 5_000) {
+				jdbcTemplate.batchUpdate("INSERT INTO loyalty_points (user_id, transaction_type, points, created_at) VALUES (?, ?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.TableBackup;
+import com.beautyplaza.repository.LoyaltyPointsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SeededDatabaseTest
+class LoyaltyBalanceServiceTest {
+
+	@Autowired
+	private LoyaltyBalanceService loyaltyBalanceService;
+
+	@Autowired
+	private LoyaltyPointsService loyaltyPointsService;
+
+	@Autowired
+	private LoyaltyPointsRepository loyaltyPointsRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private TableBackup backup;
+
+	@BeforeEach
+	void backUpLedger() {
+		backup = TableBackup.of(jdbcTemplate, "loyalty_points", "loyalty_balance_snapshots", "job_checkpoints");
+	}
+
+	@AfterEach
+	void restoreLedger() {
+		backup.restore();
+	}
+
+	@Test
+	void pointInTimeBalancesMatchTheFullLedger() {
+		String userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'user7@perf.beautyplaza.test'", String.class);
+		LocalDateTime start = LocalDateTime.now().minusDays(30);
+		insertLedger(userId, start, 1_200);
+
+		loyaltyBalanceService.createSnapshots();
+		assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loyalty_balance_snapshots WHERE user_id = ?", Long.class, userId) >= 3);
+
+		assertBalancesMatch(userId, start);
+
+		// Deleting a row in the middle of the history drops the snapshots that include it.
+		Long middle = jdbcTemplate.queryForObject("SELECT id FROM loyalty_points WHERE user_id = ? ORDER BY id LIMIT 1 OFFSET 600",
+				Long.class, userId);
+		loyaltyPointsService.deleteLoyaltyTransaction(middle);
+		assertBalancesMatch(userId, start);
+
+		// The next run snapshots the remaining rows again.
+		jdbcTemplate.update("DELETE FROM job_checkpoints WHERE job_name = 'loyalty-balance-snapshots'");
+		loyaltyBalanceService.createSnapshots();
+		assertBalancesMatch(userId, start);
+	}
+
+	private void assertBalancesMatch(String userId, LocalDateTime start) {
+		assertEquals(loyaltyPointsRepository.sumPointsAfter(userId, 0L), loyaltyBalanceService.getBalance(userId, null).getBalance());
+		SplittableRandom random = new SplittableRandom(7);
+		for (int i = 0; i < 50; i++) {
+			LocalDateTime asOf = start.plusMinutes(random.nextInt(1_300 * 10));
+			assertEquals(loyaltyPointsRepository.sumPointsUpTo(userId, asOf), loyaltyBalanceService.getBalance(userId, asOf).getBalance());
+		}
+	}
+
+	private void insertLedger(String userId, LocalDateTime start, int rows) {
+		// Start from an empty history: the seeded rows were not created in ID order for this user.
+		jdbcTemplate.update("DELETE FROM loyalty_points WHERE user_id = ?", userId);
+		SplittableRandom random = new SplittableRandom(42);
+		List<Object[]> batch = new ArrayList<>();
+		for (int i = 0; i < rows; i++) {
+			boolean redeem = i % 5 == 4;
+			batch.add(new Object[]{userId, redeem ? "REDEEMED" : "EARNED", 1 + random.nextInt(50),
+					Timestamp.valueOf(start.plusMinutes(i * 10L))});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO loyalty_points (user_id, transaction_type, points, created_at) VALUES (?, ?, ?, ?)", batch);
+	}
+}
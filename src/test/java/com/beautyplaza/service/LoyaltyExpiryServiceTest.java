@@ -0,0 +1,100 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.TableBackup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SeededDatabaseTest
+class LoyaltyExpiryServiceTest {
+
+	@Autowired
+	private LoyaltyExpiryService loyaltyExpiryService;
+
+	@Autowired
+	private LoyaltyBalanceService loyaltyBalanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private TableBackup backup;
+
+	@BeforeEach
+	void backUpLedger() {
+		// The run expires old points of every seeded user, not only the two below.
+		backup = TableBackup.of(jdbcTemplate, "loyalty_points", "loyalty_balance_snapshots", "job_checkpoints");
+	}
+
+	@AfterEach
+	void restoreLedger() {
+		backup.restore();
+	}
+
+	@Test
+	void expiresUnspentOldPointsOldestFirst() {
+		LocalDate today = LocalDate.now();
+		String userId = userId(9);
+		String spentUserId = userId(10);
+		replaceLedger(userId,
+				row("EARNED", 100, today.minusMonths(24)),
+				row("EARNED", 50, today.minusMonths(13)),
+				row("REDEEMED", 120, today.minusMonths(6)),
+				row("EARNED", 30, today.minusMonths(1)));
+		replaceLedger(spentUserId,
+				row("EARNED", 40, today.minusMonths(24)),
+				row("REDEEMED", 40, today.minusMonths(2)));
+
+		loyaltyExpiryService.expirePoints(today);
+
+		// 150 points are older than a year and 120 of them were redeemed, so 30 expire.
+		assertEquals(30L, expiredPoints(userId));
+		assertEquals(30L, loyaltyBalanceService.getCurrentBalance(userId));
+		assertEquals(0L, expiredPoints(spentUserId));
+		Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+		assertEquals(users, jdbcTemplate.queryForObject(
+				"SELECT SUM(position) FROM job_checkpoints WHERE job_name LIKE ?", Long.class, "loyalty-points-expiry:" + today + ":%"));
+
+		// Re-running the same date resumes after the checkpoints and finds nothing; so does a fresh run of the same date.
+		assertEquals(0, loyaltyExpiryService.expirePoints(today));
+		jdbcTemplate.update("DELETE FROM job_checkpoints WHERE job_name LIKE 'loyalty-points-expiry:%'");
+		assertEquals(0, loyaltyExpiryService.expirePoints(today));
+
+		// A year later the remaining 30 points expire as well.
+		loyaltyExpiryService.expirePoints(today.plusMonths(12));
+		assertEquals(60L, expiredPoints(userId));
+		assertEquals(0L, loyaltyBalanceService.getCurrentBalance(userId));
+		assertEquals(0L, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM job_checkpoints WHERE job_name LIKE ?", Long.class, "loyalty-points-expiry:" + today + ":%"));
+	}
+
+	private String userId(int index) {
+		return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class,
+				"user" + index + "@perf.beautyplaza.test");
+	}
+
+	private long expiredPoints(String userId) {
+		return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(points), 0) FROM loyalty_points " +
+				"WHERE user_id = ? AND transaction_type = 'EXPIRED'", Long.class, userId);
+	}
+
+	private Object[] row(String type, int points, LocalDate date) {
+		return new Object[]{type, points, Timestamp.valueOf(date.atStartOfDay())};
+	}
+
+	private void replaceLedger(String userId, Object[]... rows) {
+		jdbcTemplate.update("DELETE FROM loyalty_balance_snapshots WHERE user_id = ?", userId);
+		jdbcTemplate.update("DELETE FROM loyalty_points WHERE user_id = ?", userId);
+		for (Object[] row : rows) {
+			jdbcTemplate.update("INSERT INTO loyalty_points (user_id, transaction_type, points, created_at) VALUES (?, ?, ?, ?)",
+					userId, row[0], row[1], row[2]);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.TableBackup;
+import com.beautyplaza.dto.DailyRevenueDto;
+import com.beautyplaza.dto.RevenueBreakdownDto;
+import com.beautyplaza.dto.TechnicianUtilizationDto;
+import com.beautyplaza.event.AppointmentEventDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SeededDatabaseTest
+class ReportServiceTest {
+
+	@Autowired
+	private ReportService reportService;
+
+	@Autowired
+	private RevenueRollupService revenueRollupService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private AppointmentEventDispatcher appointmentEventDispatcher;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private LocalDate first;
+	private LocalDate last;
+
+	@BeforeEach
+	void rebuildAll() {
+		first = jdbcTemplate.queryForObject("SELECT MIN(appointment_date) FROM appointments", LocalDate.class);
+		last = jdbcTemplate.queryForObject("SELECT MAX(appointment_date) FROM appointments", LocalDate.class);
+		revenueRollupService.rebuild(first, last);
+	}
+
+	@Test
+	void rollupsMatchTheAppointmentsTable() {
+		BigDecimal expected = jdbcTemplate.queryForObject("SELECT SUM(COALESCE(total_amount, 0) - COALESCE(loyalty_discount, 0)) " +
+				"FROM appointments WHERE status IN ('COMPLETED', 'PAID')", BigDecimal.class);
+
+		BigDecimal daily = reportService.getDailyRevenue(first, last).stream()
+				.map(DailyRevenueDto::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+		BigDecimal byService = reportService.getRevenueByService(first, last).stream()
+				.map(RevenueBreakdownDto::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+		BigDecimal byTechnician = reportService.getRevenueByTechnician(first, last).stream()
+				.map(RevenueBreakdownDto::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+		assertEquals(0, expected.compareTo(daily));
+		assertEquals(0, expected.compareTo(byService));
+		assertEquals(0, expected.compareTo(byTechnician));
+	}
+
+	@Test
+	void statusChangesAreAppliedIncrementally() {
+		onConfirmedAppointment(this::assertIncrementalMatchesRebuild);
+	}
+
+	@Test
+	void rebuildLeavesPendingEventsToTheDispatcher() {
+		onConfirmedAppointment((id, date) -> {
+			appointmentService.updateAppointmentStatus(id, "COMPLETED");
+			revenueRollupService.rebuild(date, date); // Usually before the scheduled dispatcher has seen the event.
+			appointmentEventDispatcher.dispatchPending();
+			DailyRevenueDto dispatched = reportService.getDailyRevenue(date, date).get(0);
+
+			revenueRollupService.rebuild(date, date);
+			DailyRevenueDto rebuilt = reportService.getDailyRevenue(date, date).get(0);
+
+			assertEquals(rebuilt.getCompletedCount(), dispatched.getCompletedCount());
+			assertEquals(0, rebuilt.getRevenue().compareTo(dispatched.getRevenue()));
+		});
+	}
+
+	/**
+	 * Runs a test on a confirmed seeded appointment and puts the appointment and everything derived from it back afterwards.
+	 */
+	private void onConfirmedAppointment(BiConsumer<Long, LocalDate> test) {
+		// Beyond tomorrow, so the in-memory agenda of today and tomorrow is not involved.
+		Map<String, Object> appointment = jdbcTemplate.queryForMap(
+				"SELECT id, appointment_date FROM appointments WHERE status = 'CONFIRMED' AND appointment_date > ? ORDER BY id LIMIT 1",
+				LocalDate.now().plusDays(1));
+		Long id = ((Number) appointment.get("id")).longValue();
+		LocalDate date = ((java.sql.Date) appointment.get("appointment_date")).toLocalDate();
+		TableBackup backup = TableBackup.of(jdbcTemplate, "loyalty_points", "appointment_status_events", "revenue_rollups");
+		try {
+			test.accept(id, date);
+		} finally {
+			backup.restore();
+			jdbcTemplate.update("UPDATE appointments SET status = 'CONFIRMED' WHERE id = ?", id);
+			jdbcTemplate.update("UPDATE technician_agenda_entries SET status = 'CONFIRMED' WHERE appointment_id = ?", id);
+		}
+	}
+
+	private void assertIncrementalMatchesRebuild(Long id, LocalDate date) {
+		appointmentService.updateAppointmentStatus(id, "COMPLETED");
+		appointmentService.updateAppointmentStatus(id, "PAID");
+		appointmentEventDispatcher.dispatchPending();
+		List<RevenueBreakdownDto> incremental = reportService.getRevenueByTechnician(date, date);
+		DailyRevenueDto incrementalTotal = reportService.getDailyRevenue(date, date).get(0);
+
+		revenueRollupService.rebuild(date, date);
+		List<RevenueBreakdownDto> rebuilt = reportService.getRevenueByTechnician(date, date);
+		DailyRevenueDto rebuiltTotal = reportService.getDailyRevenue(date, date).get(0);
+
+		assertEquals(rebuiltTotal.getCompletedCount(), incrementalTotal.getCompletedCount());
+		assertEquals(0, rebuiltTotal.getRevenue().compareTo(incrementalTotal.getRevenue()));
+		assertEquals(rebuilt.size(), incremental.size());
+		for (int i = 0; i < rebuilt.size(); i++) {
+			assertEquals(rebuilt.get(i).getKey(), incremental.get(i).getKey());
+			assertEquals(rebuilt.get(i).getBookedMinutes(), incremental.get(i).getBookedMinutes());
+			assertEquals(0, rebuilt.get(i).getRevenue().compareTo(incremental.get(i).getRevenue()));
+		}
+	}
+
+	@Test
+	void utilizationIsBookedOverAvailableMinutes() {
+		LocalDate from = last.minusYears(1);
+		long days = ChronoUnit.DAYS.between(from, last) + 1;
+		List<TechnicianUtilizationDto> rows = reportService.getTechnicianUtilization(from, last);
+
+		assertTrue(!rows.isEmpty());
+		rows.forEach(row -> {
+			assertEquals(days * 480, row.getAvailableMinutes());
+			assertEquals((double) row.getBookedMinutes() / row.getAvailableMinutes(), row.getUtilization(), 1e-9);
+		});
+	}
+}
@@ -0,0 +1,113 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.util.SingleFlight;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Simulates the top-of-the-hour burst: many clients request the available technicians and the same service at once.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=SingleFlightBurstBenchmarkTest
+ * Each burst is run with coalescing switched off and on, reporting database loads and wall time.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:singleflight-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"perf.seed.enabled=true",
+		"perf.seed.users=1000",
+		"perf.seed.technicians=100",
+		"perf.seed.services=20",
+		"perf.seed.appointments=1000",
+		"perf.seed.loyalty-transactions=1000"
+})
+@ActiveProfiles("perf")
+class SingleFlightBurstBenchmarkTest {
+
+	private static final int CLIENTS = 200;
+	private static final int BURSTS = 10;
+
+	@Autowired
+	private TechnicianService technicianService;
+
+	@Autowired
+	private BeautyServiceService beautyServiceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void availableTechniciansBurst() throws Exception {
+		Object target = AopTestUtils.getTargetObject(technicianService);
+		int expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM technicians WHERE is_available = TRUE", Integer.class);
+
+		long[] off = burst(target, "availableTechniciansFlight", false, () -> technicianService.getAvailableTechnicians(), expected);
+		long[] on = burst(target, "availableTechniciansFlight", true, () -> technicianService.getAvailableTechnicians(), expected);
+
+		report("GET /api/technicians/available", off, on);
+		assertTrue(on[0] < off[0]);
+	}
+
+	@Test
+	void serviceByIdBurst() throws Exception {
+		Object target = AopTestUtils.getTargetObject(beautyServiceService);
+		Long serviceId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class);
+
+		long[] off = burst(target, "serviceByIdFlight", false, () -> List.of(beautyServiceService.getServiceById(serviceId)), 1);
+		long[] on = burst(target, "serviceByIdFlight", true, () -> List.of(beautyServiceService.getServiceById(serviceId)), 1);
+
+		report("GET /api/services/{id}", off, on);
+		assertTrue(on[0] < off[0]);
+	}
+
+	/**
+	 * Installs a fresh flight, releases CLIENTS callers at once BURSTS times, and returns {loads, total millis}.
+	 */
+	private long[] burst(Object target, String field, boolean enabled, Supplier<List<?>> call, int expectedSize) throws Exception {
+		SingleFlight<?, ?> flight = new SingleFlight<>(enabled);
+		ReflectionTestUtils.setField(target, field, flight);
+		ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+		long nanos = 0;
+		try {
+			for (int b = 0; b < BURSTS; b++) {
+				CyclicBarrier start = new CyclicBarrier(CLIENTS + 1);
+				List<Future<List<?>>> results = new ArrayList<>();
+				for (int i = 0; i < CLIENTS; i++) {
+					results.add(executor.submit(() -> {
+						start.await();
+						return call.get();
+					}));
+				}
+				start.await();
+				long begin = System.nanoTime();
+				for (Future<List<?>> result : results) {
+					assertEquals(expectedSize, result.get().size());
+				}
+				nanos += System.nanoTime() - begin;
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return new long[]{flight.getLoads(), nanos / 1_000_000};
+	}
+
+	private static void report(String endpoint, long[] off, long[] on) {
+		System.out.printf("%s, %d bursts of %d clients: without single-flight %d loads in %d ms, with single-flight %d loads in %d ms%n",
+				endpoint, BURSTS, CLIENTS, off[0], off[1], on[0], on[1]);
+	}
+}
@@ -0,0 +1,148 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.TechnicianAgendaEntryDto;
+import com.beautyplaza.dto.UserDto;
+import com.beautyplaza.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SeededDatabaseTest
+class TechnicianAgendaTest {
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private TechnicianAgendaService technicianAgendaService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void seededAppointmentsAreBackfilled() {
+		// The seeder writes appointments directly; the agenda is built from them on startup.
+		assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class),
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM technician_agenda_entries", Long.class));
+
+		String technicianId = technicianId(3);
+		LocalDate from = LocalDate.now().minusDays(30);
+		List<TechnicianAgendaEntryDto> agenda = appointmentService.getTechnicianAgenda(technicianId, from, LocalDate.now());
+		assertEquals(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM appointments WHERE technician_id = ? AND appointment_date BETWEEN ? AND ?",
+				Long.class, technicianId, from, LocalDate.now()).intValue(), agenda.size());
+		agenda.forEach(entry -> assertTrue(entry.getCustomerName() != null && entry.getServiceName() != null));
+	}
+
+	@Test
+	void todayIsServedFromMemoryUntilAWriteCommits() {
+		String technicianId = technicianId(4);
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		List<TechnicianAgendaEntryDto> before = technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow);
+		assertSame(before, technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow));
+
+		AppointmentDto booked = appointmentService.createAppointment(appointment(technicianId, tomorrow, LocalTime.of(23, 45)));
+		List<TechnicianAgendaEntryDto> after = technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow);
+		assertEquals(before.size() + 1, after.size());
+		TechnicianAgendaEntryDto entry = after.get(after.size() - 1);
+		assertEquals(booked.getId(), entry.getAppointmentId());
+		assertEquals("SCHEDULED", entry.getStatus());
+
+		appointmentService.updateAppointmentStatus(booked.getId(), "CONFIRMED");
+		after = technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow);
+		assertEquals("CONFIRMED", after.get(after.size() - 1).getStatus());
+
+		// Moving the booking to another day takes it off this one.
+		AppointmentDto move = new AppointmentDto();
+		move.setAppointmentDate(tomorrow.plusDays(300));
+		appointmentService.updateAppointment(booked.getId(), move);
+		assertEquals(before.size(), technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow).size());
+
+		appointmentService.deleteAppointment(booked.getId());
+		assertEquals(0, appointmentService.getTechnicianAgenda(technicianId, tomorrow.plusDays(300), tomorrow.plusDays(300)).size());
+	}
+
+	@Test
+	void writesFromAnotherInstanceAreSeenOnceTheCachedDayExpires() throws Exception {
+		String technicianId = technicianId(6);
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		Object target = AopTestUtils.getTargetObject(technicianAgendaService);
+		long ttlMs = (long) ReflectionTestUtils.getField(target, "cacheTtlMs");
+		ReflectionTestUtils.setField(target, "cacheTtlMs", 200L);
+		int before = technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow).size();
+		// Written directly, as another instance would: this instance's cache is not invalidated.
+		jdbcTemplate.update("INSERT INTO technician_agenda_entries (appointment_id, technician_id, agenda_date, start_time, " +
+				"customer_id, service_id, status) SELECT -1, ?, ?, '23:50:00', MIN(id), ?, 'SCHEDULED' FROM users",
+				technicianId, tomorrow, jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class));
+		try {
+			assertEquals(before, technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow).size());
+			Thread.sleep(250);
+			assertEquals(before + 1, technicianAgendaService.getAgenda(technicianId, tomorrow, tomorrow).size());
+		} finally {
+			jdbcTemplate.update("DELETE FROM technician_agenda_entries WHERE appointment_id = -1");
+			ReflectionTestUtils.setField(target, "cacheTtlMs", ttlMs);
+		}
+	}
+
+	@Test
+	void customerRenameReachesTheAgenda() {
+		String technicianId = technicianId(5);
+		LocalDate today = LocalDate.now();
+		AppointmentDto booked = appointmentService.createAppointment(appointment(technicianId, today, LocalTime.of(23, 30)));
+		String originalName = jdbcTemplate.queryForObject("SELECT full_name FROM users WHERE id = ?", String.class, booked.getCustomerId());
+		try {
+			technicianAgendaService.getAgenda(technicianId, today, today); // Cache the day.
+			UserDto rename = new UserDto();
+			rename.setFullName("Renamed Customer");
+			userService.updateUser(booked.getCustomerId(), rename);
+
+			assertTrue(technicianAgendaService.getAgenda(technicianId, today, today).stream()
+					.anyMatch(entry -> entry.getAppointmentId().equals(booked.getId()) && "Renamed Customer".equals(entry.getCustomerName())));
+		} finally {
+			appointmentService.deleteAppointment(booked.getId());
+			UserDto restore = new UserDto();
+			restore.setFullName(originalName);
+			userService.updateUser(booked.getCustomerId(), restore);
+		}
+	}
+
+	@Test
+	void rejectsLongRanges() {
+		LocalDate today = LocalDate.now();
+		assertThrows(ApiException.class, () -> appointmentService.getTechnicianAgenda(technicianId(0), today, today.plusDays(31)));
+		assertThrows(ApiException.class, () -> appointmentService.getTechnicianAgenda(technicianId(0), today, today.minusDays(1)));
+	}
+
+	private AppointmentDto appointment(String technicianId, LocalDate date, LocalTime time) {
+		AppointmentDto dto = new AppointmentDto();
+		dto.setCustomerId(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "user22@perf.beautyplaza.test"));
+		dto.setServiceId(jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class));
+		dto.setTechnicianId(technicianId);
+		dto.setAppointmentDate(date);
+		dto.setAppointmentTime(time);
+		dto.setServiceType("IN_STORE");
+		dto.setCustomerEmail("user22@perf.beautyplaza.test");
+		return dto;
+	}
+
+	private String technicianId(int index) {
+		return jdbcTemplate.queryForObject(
+				"SELECT id FROM technicians WHERE is_available = TRUE ORDER BY id LIMIT 1 OFFSET ?", String.class, index);
+	}
+}
@@ -0,0 +1,131 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.TechnicianDto;
+import com.beautyplaza.model.Technician;
+import com.beautyplaza.repository.TechnicianRepository;
+import com.beautyplaza.service.impl.TechnicianSpecialtyServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SeededDatabaseTest
+class TechnicianMatchingTest {
+
+	@Autowired
+	private TechnicianService technicianService;
+
+	@Autowired
+	private TechnicianSpecialtyService technicianSpecialtyService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private TechnicianRepository technicianRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void seededSpecialtiesAreIndexed() {
+		for (String service : jdbcTemplate.queryForList("SELECT name FROM services", String.class)) {
+			Set<String> expected = technicianRepository.findAll().stream()
+					.filter(technician -> technician.getSpecialties().stream().anyMatch(service::equalsIgnoreCase))
+					.map(Technician::getId)
+					.collect(Collectors.toSet());
+			assertEquals(expected, technicianSpecialtyService.getTechnicianIds(service));
+			assertEquals(expected, technicianSpecialtyService.getTechnicianIds(" " + service.toUpperCase() + " "));
+		}
+	}
+
+	@Test
+	void bookedTechniciansAreNotOffered() {
+		Long serviceId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class);
+		String service = jdbcTemplate.queryForObject("SELECT name FROM services WHERE id = ?", String.class, serviceId);
+		int duration = jdbcTemplate.queryForObject("SELECT duration FROM services WHERE id = ?", Integer.class, serviceId);
+		LocalDate date = LocalDate.now().plusDays(420);
+		LocalTime time = LocalTime.of(10, 0);
+
+		List<TechnicianDto> free = technicianService.findAvailableTechnicians(serviceId, date, time);
+		assertEquals(technicianSpecialtyService.getTechnicianIds(service).size(), free.size());
+		String technicianId = free.get(0).getId();
+
+		AppointmentDto booked = appointmentService.createAppointment(appointment(serviceId, technicianId, date, time));
+		try {
+			assertFalse(ids(technicianService.findAvailableTechnicians(serviceId, date, time)).contains(technicianId));
+			// A booking starting during the service overlaps; one starting when it ends does not.
+			assertFalse(ids(technicianService.findAvailableTechnicians(serviceId, date, time.plusMinutes(duration - 1))).contains(technicianId));
+			assertTrue(ids(technicianService.findAvailableTechnicians(serviceId, date, time.plusMinutes(duration))).contains(technicianId));
+		} finally {
+			appointmentService.deleteAppointment(booked.getId());
+		}
+	}
+
+	@Test
+	void specialtyChangesReachTheIndex() {
+		String technicianId = jdbcTemplate.queryForObject("SELECT id FROM technicians ORDER BY id LIMIT 1", String.class);
+		List<String> original = new ArrayList<>(technicianService.getTechnicianById(technicianId).getSpecialties());
+		TechnicianDto change = new TechnicianDto();
+		change.setSpecialties(List.of("Aromatherapy"));
+		change.setUserId(technicianService.getTechnicianById(technicianId).getUserId());
+		technicianService.updateTechnician(technicianId, change);
+		try {
+			assertEquals(Set.of(technicianId), technicianSpecialtyService.getTechnicianIds("aromatherapy"));
+			for (String specialty : original) {
+				assertFalse(technicianSpecialtyService.getTechnicianIds(specialty).contains(technicianId));
+			}
+		} finally {
+			change.setSpecialties(original);
+			technicianService.updateTechnician(technicianId, change);
+		}
+		assertTrue(technicianSpecialtyService.getTechnicianIds("aromatherapy").isEmpty());
+		assertTrue(technicianSpecialtyService.getTechnicianIds(original.get(0)).contains(technicianId));
+	}
+
+	@Test
+	void changesFromAnotherInstanceAreReloaded() {
+		String technicianId = jdbcTemplate.queryForObject("SELECT id FROM technicians ORDER BY id LIMIT 1 OFFSET 1", String.class);
+		TechnicianSpecialtyServiceImpl index = (TechnicianSpecialtyServiceImpl) AopTestUtils.getTargetObject(technicianSpecialtyService);
+		// Written directly, as another instance would: this instance's index is not told.
+		jdbcTemplate.update("INSERT INTO technician_specialties (technician_id, specialty) VALUES (?, 'reflexology')", technicianId);
+		try {
+			assertTrue(technicianSpecialtyService.getTechnicianIds("reflexology").isEmpty());
+			index.reloadIfChanged();
+			assertEquals(Set.of(technicianId), technicianSpecialtyService.getTechnicianIds("reflexology"));
+		} finally {
+			jdbcTemplate.update("DELETE FROM technician_specialties WHERE specialty = 'reflexology'");
+			index.reloadIfChanged();
+		}
+		assertTrue(technicianSpecialtyService.getTechnicianIds("reflexology").isEmpty());
+	}
+
+	private AppointmentDto appointment(Long serviceId, String technicianId, LocalDate date, LocalTime time) {
+		AppointmentDto dto = new AppointmentDto();
+		dto.setCustomerId(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "user28@perf.beautyplaza.test"));
+		dto.setServiceId(serviceId);
+		dto.setTechnicianId(technicianId);
+		dto.setAppointmentDate(date);
+		dto.setAppointmentTime(time);
+		dto.setServiceType("IN_STORE");
+		dto.setCustomerEmail("user28@perf.beautyplaza.test");
+		return dto;
+	}
+
+	private static Set<String> ids(List<TechnicianDto> technicians) {
+		return technicians.stream().map(TechnicianDto::getId).collect(Collectors.toSet());
+	}
+}
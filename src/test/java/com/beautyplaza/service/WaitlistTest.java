@@ -0,0 +1,169 @@
+package com.beautyplaza.service;
+
+import com.beautyplaza.SeededDatabaseTest;
+import com.beautyplaza.dto.AppointmentDto;
+import com.beautyplaza.dto.WaitlistEntryDto;
+import com.beautyplaza.exception.ApiException;
+import com.beautyplaza.request.WaitlistRequest;
+import com.beautyplaza.service.impl.WaitlistServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SeededDatabaseTest
+class WaitlistTest {
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private WaitlistServiceImpl waitlistService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void deleteClosedEntries() {
+		// Booked, left and expired entries stay in the table as history; the test dates are not used elsewhere.
+		jdbcTemplate.update("DELETE FROM waitlist_entries WHERE wait_date BETWEEN ? AND ? AND status IN ('BOOKED', 'CANCELLED', 'EXPIRED')",
+				LocalDate.now().plusDays(410), LocalDate.now().plusDays(412));
+	}
+
+	@Test
+	void cancelledSlotIsHeldForTheFirstMatchingWaiter() throws InterruptedException {
+		String technicianId = technicianId(1);
+		LocalDate date = LocalDate.now().plusDays(410);
+		LocalTime time = LocalTime.of(14, 0);
+		AppointmentDto cancelled = appointmentService.createAppointment(appointment("user24", technicianId, date, time));
+
+		WaitlistEntryDto first = waitlistService.join(customerId("user25"), request(technicianId, date, LocalTime.of(13, 0), LocalTime.of(15, 0)));
+		WaitlistEntryDto second = waitlistService.join(customerId("user26"), request(null, date, time, time));
+		WaitlistEntryDto otherWindow = waitlistService.join(customerId("user27"), request(technicianId, date, LocalTime.of(16, 0), LocalTime.of(17, 0)));
+
+		appointmentService.updateAppointmentStatus(cancelled.getId(), "CANCELLED");
+		WaitlistEntryDto offer = awaitStatus("user25", first.getId(), "OFFERED");
+		assertEquals(technicianId, offer.getOfferedTechnicianId());
+		assertEquals(time, offer.getOfferedTime());
+		assertEquals("WAITING", entry("user26", second.getId()).getStatus());
+		assertEquals("WAITING", entry("user27", otherWindow.getId()).getStatus());
+
+		// The slot is held: others cannot book it, the customer it was offered to can.
+		assertThrows(ApiException.class, () -> appointmentService.createAppointment(appointment("user26", technicianId, date, time)));
+		AppointmentDto booked = appointmentService.bookWaitlistOffer(first.getId(), customerId("user25"));
+		assertEquals(time, booked.getAppointmentTime());
+		assertEquals("BOOKED", entry("user25", first.getId()).getStatus());
+
+		waitlistService.leave(second.getId(), customerId("user26"));
+		waitlistService.leave(otherWindow.getId(), customerId("user27"));
+		appointmentService.deleteAppointment(booked.getId());
+		appointmentService.deleteAppointment(cancelled.getId());
+	}
+
+	@Test
+	void leavingWithAnOfferPassesTheSlotOn() throws InterruptedException {
+		String technicianId = technicianId(2);
+		LocalDate date = LocalDate.now().plusDays(411);
+		LocalTime time = LocalTime.of(15, 0);
+		AppointmentDto deleted = appointmentService.createAppointment(appointment("user24", technicianId, date, time));
+
+		WaitlistEntryDto first = waitlistService.join(customerId("user25"), request(null, date, time, time));
+		WaitlistEntryDto second = waitlistService.join(customerId("user26"), request(null, date, time, time));
+
+		appointmentService.deleteAppointment(deleted.getId());
+		awaitStatus("user25", first.getId(), "OFFERED");
+		assertEquals("WAITING", entry("user26", second.getId()).getStatus());
+
+		waitlistService.leave(first.getId(), customerId("user25"));
+		awaitStatus("user26", second.getId(), "OFFERED");
+		assertThrows(ApiException.class, () -> waitlistService.getOpenOffer(second.getId(), customerId("user25")));
+		waitlistService.leave(second.getId(), customerId("user26"));
+	}
+
+	@Test
+	void holdsAndEntriesWrittenByAnotherInstanceAreHonoured() throws InterruptedException {
+		String technicianId = technicianId(3);
+		LocalDate date = LocalDate.now().plusDays(412);
+		LocalTime held = LocalTime.of(10, 0);
+		LocalTime freed = LocalTime.of(11, 0);
+		AppointmentDto cancelled = appointmentService.createAppointment(appointment("user24", technicianId, date, freed));
+
+		// Rows as another instance would have written them, without going through this instance's memory.
+		jdbcTemplate.update("INSERT INTO waitlist_entries (customer_id, technician_id, service_id, service_type, wait_date, window_start, " +
+				"window_end, status, offered_technician_id, offered_time, offer_expires_at, created_at) " +
+				"VALUES (?, ?, ?, 'IN_STORE', ?, ?, ?, 'OFFERED', ?, ?, ?, CURRENT_TIMESTAMP)",
+				customerId("user25"), technicianId, serviceId(), date, held, held, technicianId, held, LocalDateTime.now().plusMinutes(10));
+		jdbcTemplate.update("INSERT INTO waitlist_entries (customer_id, technician_id, service_id, service_type, wait_date, window_start, " +
+				"window_end, status, created_at) VALUES (?, ?, ?, 'IN_STORE', ?, ?, ?, 'WAITING', CURRENT_TIMESTAMP)",
+				customerId("user26"), technicianId, serviceId(), date, freed, freed);
+		Long waiting = jdbcTemplate.queryForObject("SELECT MAX(id) FROM waitlist_entries", Long.class);
+
+		assertThrows(ApiException.class, () -> appointmentService.createAppointment(appointment("user27", technicianId, date, held)));
+
+		waitlistService.sweep(); // Picks up the entry joined elsewhere.
+		appointmentService.updateAppointmentStatus(cancelled.getId(), "CANCELLED");
+		awaitStatus("user26", waiting, "OFFERED");
+
+		jdbcTemplate.update("UPDATE waitlist_entries SET status = 'CANCELLED' WHERE wait_date = ?", date);
+		appointmentService.deleteAppointment(cancelled.getId());
+	}
+
+	private WaitlistEntryDto awaitStatus(String user, Long entryId, String status) throws InterruptedException {
+		// Offers are made on a background thread after the commit.
+		for (int attempt = 0; attempt < 50 && !status.equals(entry(user, entryId).getStatus()); attempt++) {
+			Thread.sleep(100);
+		}
+		WaitlistEntryDto entry = entry(user, entryId);
+		assertEquals(status, entry.getStatus());
+		return entry;
+	}
+
+	private WaitlistEntryDto entry(String user, Long entryId) {
+		return waitlistService.getEntries(customerId(user)).stream()
+				.filter(entry -> entry.getId().equals(entryId))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private WaitlistRequest request(String technicianId, LocalDate date, LocalTime windowStart, LocalTime windowEnd) {
+		WaitlistRequest request = new WaitlistRequest();
+		request.setTechnicianId(technicianId);
+		request.setServiceId(serviceId());
+		request.setDate(date);
+		request.setWindowStart(windowStart);
+		request.setWindowEnd(windowEnd);
+		return request;
+	}
+
+	private AppointmentDto appointment(String user, String technicianId, LocalDate date, LocalTime time) {
+		AppointmentDto dto = new AppointmentDto();
+		dto.setCustomerId(customerId(user));
+		dto.setServiceId(serviceId());
+		dto.setTechnicianId(technicianId);
+		dto.setAppointmentDate(date);
+		dto.setAppointmentTime(time);
+		dto.setServiceType("IN_STORE");
+		dto.setCustomerEmail(user + "@perf.beautyplaza.test");
+		return dto;
+	}
+
+	private String customerId(String user) {
+		return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, user + "@perf.beautyplaza.test");
+	}
+
+	private Long serviceId() {
+		return jdbcTemplate.queryForObject("SELECT MIN(id) FROM services", Long.class);
+	}
+
+	private String technicianId(int index) {
+		return jdbcTemplate.queryForObject(
+				"SELECT id FROM technicians WHERE is_available = TRUE ORDER BY id LIMIT 1 OFFSET ?", String.class, index);
+	}
+}
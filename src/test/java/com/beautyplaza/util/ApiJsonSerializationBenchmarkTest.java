@@ -0,0 +1,124 @@
+package com.beautyplaza.util;
+
+import com.beautyplaza.dto.AppointmentDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serializes a List&lt;AppointmentDto&gt; of 10,000 items, the body of a large appointment list response, with an
+ * ObjectMapper configured like Spring Boot's default and with the tuned one (Blackbird accessors and
+ * ApiJsonSerializers). Reports bytes, CPU time and allocated bytes per response.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=ApiJsonSerializationBenchmarkTest
+ */
+@Tag("benchmark")
+class ApiJsonSerializationBenchmarkTest {
+
+	private static final int ITEMS = 10_000;
+	private static final int RESPONSES = 300;
+
+	@Test
+	void tunedMapperAgainstDefault() throws Exception {
+		ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+		ObjectMapper tunedMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.postConfigurer(mapper -> mapper.registerModules(new BlackbirdModule(), ApiJsonSerializers.module())).build();
+		TypeReference<List<AppointmentDto>> listType = new TypeReference<>() {};
+		ObjectWriter defaultWriter = defaultMapper.writerFor(listType);
+		ObjectWriter tunedWriter = tunedMapper.writerFor(listType);
+		List<AppointmentDto> appointments = appointments();
+
+		assertEquals(defaultWriter.writeValueAsString(appointments), tunedWriter.writeValueAsString(appointments));
+
+		// Alternated, so both see the same JIT and GC conditions.
+		Result tuned = null;
+		Result standard = null;
+		for (int round = 0; round < 3; round++) {
+			standard = measure(defaultWriter, appointments);
+			tuned = measure(tunedWriter, appointments);
+		}
+
+		System.out.printf("Default mapper: %,d bytes, %,d us CPU, %,d bytes allocated per response%n",
+				standard.bytes, standard.cpuNanos / 1000, standard.allocated);
+		System.out.printf("Tuned mapper:   %,d bytes, %,d us CPU, %,d bytes allocated per response%n",
+				tuned.bytes, tuned.cpuNanos / 1000, tuned.allocated);
+		assertTrue(tuned.allocated < standard.allocated);
+	}
+
+	private static Result measure(ObjectWriter writer, List<AppointmentDto> appointments) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		CountingOutputStream out = new CountingOutputStream();
+		long cpu = threads.getCurrentThreadCpuTime();
+		long allocated = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < RESPONSES; i++) {
+			writer.writeValue(out, appointments);
+		}
+		return new Result(out.bytes / RESPONSES,
+				(threads.getCurrentThreadCpuTime() - cpu) / RESPONSES,
+				(threads.getCurrentThreadAllocatedBytes() - allocated) / RESPONSES);
+	}
+
+	/**
+	 * Builds fresh DTOs, like the ones read from the database for each response.
+	 */
+	private static List<AppointmentDto> appointments() {
+		List<AppointmentDto> appointments = new ArrayList<>(ITEMS);
+		LocalDate start = LocalDate.of(2025, 1, 1);
+		for (int i = 0; i < ITEMS; i++) {
+			AppointmentDto dto = new AppointmentDto();
+			dto.setId(1_000_000L + i);
+			dto.setCustomerId("5f0c7a52-3b1e-4c8e-9d6a-" + String.format("%012d", i % 5000));
+			dto.setServiceId((long) (i % 40 + 1));
+			dto.setTechnicianId("a81bc81b-dead-4e5d-abff-" + String.format("%012d", i % 200));
+			dto.setAppointmentDate(start.plusDays(i % 365));
+			dto.setAppointmentTime(LocalTime.of(9 + i % 9, (i % 4) * 15));
+			dto.setServiceType(i % 3 == 0 ? "IN_HOME" : "IN_STORE");
+			dto.setStatus(i % 5 == 0 ? "COMPLETED" : "SCHEDULED");
+			dto.setCustomerPhone("98765" + String.format("%05d", i % 100_000));
+			dto.setCustomerEmail("user" + i + "@example.com");
+			dto.setTotalAmount(BigDecimal.valueOf(2_500 + (i % 200) * 125L, 2));
+			dto.setLoyaltyPointsUsed(i % 7 == 0 ? 100 : 0);
+			dto.setLoyaltyDiscount(i % 7 == 0 ? new BigDecimal("10.00") : BigDecimal.ZERO);
+			dto.setOtpVerified(i % 2 == 0);
+			appointments.add(dto);
+		}
+		return appointments;
+	}
+
+	private record Result(long bytes, long cpuNanos, long allocated) {
+	}
+
+	/**
+	 * Discards the output while counting bytes, so only the serializer's work is measured.
+	 */
+	private static final class CountingOutputStream extends OutputStream {
+		private long bytes;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.beautyplaza.util;
+
+import com.beautyplaza.dto.AppointmentDto;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApiJsonSerializersTest {
+
+	// Configured like Spring Boot's ObjectMapper, with and without the fast serializers.
+	private static final ObjectMapper DEFAULT = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+	private static final ObjectMapper FAST = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.postConfigurer(mapper -> mapper.registerModule(ApiJsonSerializers.module())).build();
+
+	@Test
+	void writesTheSameTextAsTheDefaultSerializers() throws Exception {
+		List<Object> values = List.of(
+				LocalDate.of(2025, 1, 9), LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(10000, 1, 1),
+				LocalDate.of(-42, 6, 15),
+				LocalTime.MIDNIGHT, LocalTime.of(9, 5), LocalTime.of(23, 59, 59), LocalTime.of(10, 15, 30, 500_000_000),
+				LocalTime.of(10, 15, 30, 123_456_789),
+				BigDecimal.ZERO, new BigDecimal("0.00"), new BigDecimal("-0.05"), new BigDecimal("12.30"),
+				new BigDecimal("1500"), new BigDecimal("0.000001"), new BigDecimal("0.0000001"), new BigDecimal("1E+3"),
+				new BigDecimal("-123456789012.345678"), new BigDecimal("1234567890123456789.12"),
+				new BigDecimal("99999999999999999999999999.5"));
+		for (Object value : values) {
+			assertEquals(DEFAULT.writeValueAsString(value), FAST.writeValueAsString(value), value.toString());
+		}
+
+		AppointmentDto dto = new AppointmentDto();
+		dto.setId(7L);
+		dto.setCustomerId("c-1");
+		dto.setAppointmentDate(LocalDate.of(2025, 3, 4));
+		dto.setAppointmentTime(LocalTime.of(14, 30));
+		dto.setTotalAmount(new BigDecimal("85.50"));
+		dto.setLoyaltyDiscount(BigDecimal.ZERO);
+		assertEquals(DEFAULT.writeValueAsString(List.of(dto)), FAST.writeValueAsString(List.of(dto)));
+		assertEquals(DEFAULT.writeValueAsString(Map.of(LocalDate.of(2025, 3, 4), dto)),
+				FAST.writeValueAsString(Map.of(LocalDate.of(2025, 3, 4), dto)));
+	}
+
+	@Test
+	void leavesFormatOverridesAndTimestampsToTheDefaults() throws Exception {
+		Formatted formatted = new Formatted();
+		assertEquals(DEFAULT.writeValueAsString(formatted), FAST.writeValueAsString(formatted));
+
+		Object[] values = {LocalDate.of(2025, 3, 4), LocalTime.of(14, 30)};
+		assertEquals(DEFAULT.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(values),
+				FAST.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(values));
+	}
+
+	static class Formatted {
+		@JsonFormat(pattern = "dd/MM/yyyy")
+		public LocalDate date = LocalDate.of(2025, 3, 4);
+		@JsonFormat(pattern = "HH:mm")
+		public LocalTime time = LocalTime.of(14, 30);
+		@JsonFormat(shape = JsonFormat.Shape.STRING)
+		public BigDecimal amount = new BigDecimal("85.50");
+	}
+}
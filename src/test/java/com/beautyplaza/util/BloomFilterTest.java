@@ -0,0 +1,31 @@
+package com.beautyplaza.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	void addedValuesAreAlwaysFoundAndFalsePositivesStayNearTheTarget() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		String[] added = new String[10_000];
+		for (int i = 0; i < added.length; i++) {
+			added[i] = UUID.randomUUID().toString();
+			filter.put(added[i]);
+		}
+		for (String value : added) {
+			assertTrue(filter.mightContain(value));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, "false positives: " + falsePositives); // Target 1%, allow 2%.
+	}
+}
@@ -0,0 +1,89 @@
+package com.beautyplaza.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the entity JSON helpers before and after the shared codec: a new ObjectMapper per call against
+ * JsonCodec's shared mapper and cached readers and writers, for technician specialties and setting values.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=JsonCodecBenchmarkTest
+ */
+@Tag("benchmark")
+class JsonCodecBenchmarkTest {
+
+	private static final int PER_CALL_ITERATIONS = 20_000;
+	private static final int SHARED_ITERATIONS = 2_000_000;
+
+	private static final String SPECIALTIES = "[\"Haircut\",\"Hair Coloring\",\"Blow Dry\",\"Keratin Treatment\"]";
+	private static final String SETTING = "{\"points_per_currency_unit\":1.5,\"tiers\":[{\"name\":\"gold\",\"min\":1000}]}";
+
+	@Test
+	void sharedCodecAgainstMapperPerCall() {
+		List<String> list = JsonCodec.readStringList(SPECIALTIES);
+		TypeReference<List<String>> listType = new TypeReference<>() {};
+
+		double perCallRead = measure(PER_CALL_ITERATIONS, () -> {
+			try {
+				return new ObjectMapper().readValue(SPECIALTIES, listType);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		double perCallWrite = measure(PER_CALL_ITERATIONS, () -> {
+			try {
+				return new ObjectMapper().writeValueAsString(list);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		double perCallTree = measure(PER_CALL_ITERATIONS, () -> {
+			try {
+				return new ObjectMapper().readTree(SETTING);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		double sharedRead = measure(SHARED_ITERATIONS, () -> JsonCodec.readStringList(SPECIALTIES));
+		double sharedWrite = measure(SHARED_ITERATIONS, () -> JsonCodec.write(list));
+		double sharedTree = measure(SHARED_ITERATIONS, () -> JsonCodec.readTree(SETTING));
+		// The path Hibernate takes for the JSON columns.
+		double cachedReader = measure(SHARED_ITERATIONS, () -> {
+			try {
+				return JsonCodec.reader(JsonNode.class).readValue(SETTING);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		System.out.printf("Specialties read:  %,.0f ns/op with a new ObjectMapper, %,.0f ns/op shared%n", perCallRead, sharedRead);
+		System.out.printf("Specialties write: %,.0f ns/op with a new ObjectMapper, %,.0f ns/op shared%n", perCallWrite, sharedWrite);
+		System.out.printf("Setting readTree:  %,.0f ns/op with a new ObjectMapper, %,.0f ns/op shared, %,.0f ns/op cached reader%n",
+				perCallTree, sharedTree, cachedReader);
+		assertTrue(sharedRead < perCallRead && sharedWrite < perCallWrite && sharedTree < perCallTree);
+	}
+
+	/**
+	 * @return Average nanoseconds per call, after a warm-up of the same length.
+	 */
+	private static double measure(int iterations, Supplier<Object> call) {
+		long sink = 0;
+		for (int i = 0; i < iterations; i++) {
+			sink += call.get().hashCode();
+		}
+		long begin = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += call.get().hashCode();
+		}
+		long elapsed = System.nanoTime() - begin;
+		assertTrue(sink != 42); // Keeps the results alive.
+		return (double) elapsed / iterations;
+	}
+}
@@ -0,0 +1,41 @@
+package com.beautyplaza.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonCodecTest {
+
+	@Test
+	void roundTripsStringLists() {
+		List<String> specialties = List.of("Haircut", "Hair Coloring", "Facial \"Deluxe\"");
+		String json = JsonCodec.write(specialties);
+		assertEquals("[\"Haircut\",\"Hair Coloring\",\"Facial \\\"Deluxe\\\"\"]", json);
+		assertEquals(specialties, JsonCodec.readStringList(json));
+	}
+
+	@Test
+	void readsTrees() {
+		JsonNode value = JsonCodec.readTree("{\"rate\":1.5,\"tiers\":[1,2]}");
+		assertEquals(1.5, value.get("rate").asDouble());
+		assertEquals(2, value.get("tiers").size());
+	}
+
+	@Test
+	void rejectsInvalidJson() {
+		assertThrows(IllegalArgumentException.class, () -> JsonCodec.readStringList("[\"unterminated"));
+		assertThrows(IllegalArgumentException.class, () -> JsonCodec.readTree("{"));
+	}
+
+	@Test
+	void reusesReadersAndWritersPerType() {
+		assertSame(JsonCodec.reader(Map.class), JsonCodec.reader(Map.class));
+		assertSame(JsonCodec.writer(Map.class), JsonCodec.writer(Map.class));
+	}
+}
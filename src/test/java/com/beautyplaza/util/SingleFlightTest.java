@@ -0,0 +1,107 @@
+package com.beautyplaza.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+	@Test
+	void concurrentCallsShareOneLoad() throws Exception {
+		SingleFlight<String, Object> flight = new SingleFlight<>(true);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				results.add(executor.submit(() -> flight.execute("key", () -> {
+					loads.incrementAndGet();
+					await(release);
+					return new Object();
+				})));
+			}
+			// Let every caller arrive before the single load finishes.
+			while (flight.getLoads() + flight.getShared() < 16) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			Object first = results.get(0).get();
+			for (Future<Object> result : results) {
+				assertSame(first, result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(15, flight.getShared());
+	}
+
+	@Test
+	void completedLoadsAreNotCached() {
+		SingleFlight<String, Integer> flight = new SingleFlight<>(true);
+		AtomicInteger loads = new AtomicInteger();
+		flight.execute("key", loads::incrementAndGet);
+		flight.execute("key", loads::incrementAndGet);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void waitersGetTheLoadersException() throws Exception {
+		SingleFlight<String, Object> flight = new SingleFlight<>(true);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> loader = executor.submit(() -> flight.execute("key", () -> {
+				await(release);
+				throw new IllegalStateException("boom");
+			}));
+			while (flight.getLoads() == 0) {
+				Thread.sleep(1);
+			}
+			Future<Object> waiter = executor.submit(() -> flight.execute("key", Object::new));
+			while (flight.getShared() == 0) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			Exception loaderError = assertThrows(Exception.class, loader::get);
+			Exception waiterError = assertThrows(Exception.class, waiter::get);
+			assertTrue(loaderError.getCause() instanceof IllegalStateException);
+			assertSame(loaderError.getCause(), waiterError.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void disabledFlightLoadsEveryTime() {
+		SingleFlight<String, Integer> flight = new SingleFlight<>(false);
+		flight.execute("key", () -> 1);
+		flight.execute("key", () -> 2);
+		assertEquals(2, flight.getLoads());
+		assertEquals(0, flight.getShared());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
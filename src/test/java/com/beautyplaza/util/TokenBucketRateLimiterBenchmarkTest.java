@@ -0,0 +1,76 @@
+package com.beautyplaza.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the per-request overhead of the rate limiter, single threaded and under contention.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TokenBucketRateLimiterBenchmarkTest
+ */
+@Tag("benchmark")
+class TokenBucketRateLimiterBenchmarkTest {
+
+	private static final int KEYS = 10_000;
+	private static final int CALLS = 5_000_000;
+
+	@Test
+	void overheadPerRequest() throws Exception {
+		String[] keys = new String[KEYS];
+		for (int i = 0; i < KEYS; i++) {
+			keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+		}
+		// Generous limits, so the measurement covers the common (allowed) path as well as rejections.
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 10, Duration.ofMinutes(1), 16);
+
+		run(limiter, keys, 1); // Warm-up.
+		double single = run(limiter, keys, 1);
+		int threads = Math.max(8, Runtime.getRuntime().availableProcessors());
+		double contended = run(limiter, keys, threads);
+		double hotKey = run(limiter, new String[]{"10.0.0.1"}, threads);
+
+		System.out.printf("Rate limiter overhead: %.1f ns/request single-threaded, %.1f ns/request with %d threads, " +
+				"%.1f ns/request with %d threads on one key%n", single, contended, threads, hotKey, threads);
+		assertTrue(single < 10_000); // Sanity bound; the real number is printed above.
+	}
+
+	/**
+	 * @return Average wall-clock nanoseconds per tryAcquire call across all threads.
+	 */
+	private static double run(TokenBucketRateLimiter limiter, String[] keys, int threads) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		int perThread = CALLS / threads;
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int offset = t * 7919;
+				results.add(executor.submit(() -> {
+					start.await();
+					long sink = 0;
+					for (int i = 0; i < perThread; i++) {
+						sink += limiter.tryAcquire(keys[(offset + i) % keys.length]);
+					}
+					return sink;
+				}));
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			for (Future<Long> result : results) {
+				result.get();
+			}
+			return (double) (System.nanoTime() - begin) / ((long) perThread * threads);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
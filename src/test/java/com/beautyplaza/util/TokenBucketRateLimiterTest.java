@@ -0,0 +1,82 @@
+package com.beautyplaza.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	@Test
+	void allowsTheBurstThenRefillsAtTheConfiguredRate() {
+		// 5 tokens, 1 more every 10 seconds.
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 6, Duration.ofMinutes(1), 4, now::get);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("ip"));
+		}
+		long wait = limiter.tryAcquire("ip");
+		assertEquals(TimeUnit.SECONDS.toNanos(10), wait);
+		assertEquals(10, TokenBucketRateLimiter.toRetryAfterSeconds(wait));
+
+		// Other keys have their own bucket.
+		assertEquals(0, limiter.tryAcquire("other"));
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertEquals(0, limiter.tryAcquire("ip"));
+		assertTrue(limiter.tryAcquire("ip") > 0);
+	}
+
+	@Test
+	void evictsOnlyFullyRefilledBuckets() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, Duration.ofMinutes(1), 4, now::get);
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+		limiter.tryAcquire("b");
+		assertEquals(0, limiter.evictIdle());
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1)); // "a" is full again, "b" still owes one token.
+		assertEquals(1, limiter.evictIdle());
+		assertEquals(1, limiter.size());
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertEquals(1, limiter.evictIdle());
+		assertEquals(0, limiter.size());
+	}
+
+	@Test
+	void concurrentCallersNeverGetMoreThanTheCapacity() throws Exception {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000, 1, Duration.ofDays(1), 16, now::get);
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (int t = 0; t < 8; t++) {
+				executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 1_000; i++) {
+						if (limiter.tryAcquire("shared") == 0) {
+							granted.incrementAndGet();
+						}
+					}
+					return null;
+				});
+			}
+			start.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1_000, granted.get());
+	}
+}